@@ -967,6 +967,12 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf {
         }
 
         int i = toComponentIndex(index);
+        if (i != toComponentIndex(index + length - 1)) {
+            // Spans several components, so let the channel scatter the bytes over them with a single read.
+            long readBytes = in.read(nioBuffers(index, length));
+            return readBytes < 0 ? -1 : (int) readBytes;
+        }
+
         int readBytes = 0;
         do {
             Component c = components.get(i);
@@ -17,6 +17,7 @@
 package io.netty.buffer;
 
 import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.internal.NumaTopology;
 import io.netty.util.internal.PlatformDependent;
 import io.netty.util.internal.SystemPropertyUtil;
 import io.netty.util.internal.logging.InternalLogger;
@@ -38,6 +39,7 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator {
     private static final int DEFAULT_NORMAL_CACHE_SIZE;
     private static final int DEFAULT_MAX_CACHED_BUFFER_CAPACITY;
     private static final int DEFAULT_CACHE_TRIM_INTERVAL;
+    private static final boolean DEFAULT_NUMA_AWARE;
 
     private static final int MIN_PAGE_SIZE = 4096;
     private static final int MAX_CHUNK_SIZE = (int) (((long) Integer.MAX_VALUE + 1) / 2);
@@ -94,6 +96,9 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator {
         DEFAULT_CACHE_TRIM_INTERVAL = SystemPropertyUtil.getInt(
                 "io.netty.allocator.cacheTrimInterval", 8192);
 
+        // pick the arena which belongs to the NUMA node of the thread, if the thread was bound to a CPU
+        DEFAULT_NUMA_AWARE = SystemPropertyUtil.getBoolean("io.netty.allocator.numaAware", false);
+
         if (logger.isDebugEnabled()) {
             logger.debug("-Dio.netty.allocator.numHeapArenas: {}", DEFAULT_NUM_HEAP_ARENA);
             logger.debug("-Dio.netty.allocator.numDirectArenas: {}", DEFAULT_NUM_DIRECT_ARENA);
@@ -113,6 +118,7 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator {
             logger.debug("-Dio.netty.allocator.normalCacheSize: {}", DEFAULT_NORMAL_CACHE_SIZE);
             logger.debug("-Dio.netty.allocator.maxCachedBufferCapacity: {}", DEFAULT_MAX_CACHED_BUFFER_CAPACITY);
             logger.debug("-Dio.netty.allocator.cacheTrimInterval: {}", DEFAULT_CACHE_TRIM_INTERVAL);
+            logger.debug("-Dio.netty.allocator.numaAware: {}", DEFAULT_NUMA_AWARE);
         }
     }
 
@@ -124,6 +130,7 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator {
     private final int tinyCacheSize;
     private final int smallCacheSize;
     private final int normalCacheSize;
+    private final boolean numaAware;
 
     final PoolThreadLocalCache threadCache;
 
@@ -146,11 +153,23 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator {
 
     public PooledByteBufAllocator(boolean preferDirect, int nHeapArena, int nDirectArena, int pageSize, int maxOrder,
                                   int tinyCacheSize, int smallCacheSize, int normalCacheSize) {
+        this(preferDirect, nHeapArena, nDirectArena, pageSize, maxOrder,
+                tinyCacheSize, smallCacheSize, normalCacheSize, DEFAULT_NUMA_AWARE);
+    }
+
+    /**
+     * @param numaAware {@code true} if a thread which was bound to a CPU should use an arena which belongs to the
+     *                  NUMA node of that CPU. The arenas are distributed evenly across all NUMA nodes, so it is
+     *                  advised to use at least as many arenas as there are NUMA nodes.
+     */
+    public PooledByteBufAllocator(boolean preferDirect, int nHeapArena, int nDirectArena, int pageSize, int maxOrder,
+                                  int tinyCacheSize, int smallCacheSize, int normalCacheSize, boolean numaAware) {
         super(preferDirect);
         threadCache = new PoolThreadLocalCache();
         this.tinyCacheSize = tinyCacheSize;
         this.smallCacheSize = smallCacheSize;
         this.normalCacheSize = normalCacheSize;
+        this.numaAware = numaAware;
         final int chunkSize = validateAndCalculateChunkSize(pageSize, maxOrder);
 
         if (nHeapArena < 0) {
@@ -261,17 +280,18 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator {
         @Override
         protected PoolThreadCache initialValue() {
             final int idx = index.getAndIncrement();
+            final int node = numaAware ? NumaTopology.currentNode() : -1;
             final PoolArena<byte[]> heapArena;
             final PoolArena<ByteBuffer> directArena;
 
             if (heapArenas != null) {
-                heapArena = heapArenas[Math.abs(idx % heapArenas.length)];
+                heapArena = heapArenas[arenaIndex(idx, heapArenas.length, node)];
             } else {
                 heapArena = null;
             }
 
             if (directArenas != null) {
-                directArena = directArenas[Math.abs(idx % directArenas.length)];
+                directArena = directArenas[arenaIndex(idx, directArenas.length, node)];
             } else {
                 directArena = null;
             }
@@ -285,6 +305,21 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator {
         protected void onRemoval(PoolThreadCache value) {
             value.free();
         }
+
+        /**
+         * Arenas are assigned to NUMA nodes in a round-robin fashion, so arena {@code i} belongs to node
+         * {@code i % nodeCount}. As chunks are allocated lazily by the first thread which uses an arena, the memory
+         * of an arena ends up being local to its node.
+         */
+        private int arenaIndex(int idx, int numArenas, int node) {
+            final int nodeCount = NumaTopology.nodeCount();
+            if (node < 0 || node >= nodeCount || numArenas < nodeCount) {
+                return Math.abs(idx % numArenas);
+            }
+            // Number of arenas which belong to the given node.
+            final int nodeArenas = (numArenas - node + nodeCount - 1) / nodeCount;
+            return node + Math.abs(idx % nodeArenas) * nodeCount;
+        }
     }
 
 //    Too noisy at the moment.
@@ -19,6 +19,7 @@ import org.junit.Test;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.ScatteringByteChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -812,4 +813,52 @@ public abstract class AbstractCompositeByteBufTest extends AbstractByteBufTest {
 
         cbuf.discardSomeReadBytes();
     }
+
+    @Test
+    public void testScatteringReadSpanningComponents() throws Exception {
+        CompositeByteBuf cbuf = releaseLater(compositeBuffer());
+        // Components cover the readable bytes of the added buffers.
+        cbuf.addComponents(buffer(4).writerIndex(4), buffer(4).writerIndex(4), buffer(4).writerIndex(4));
+
+        final byte[] data = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+        final int[] scatteringReads = new int[1];
+        ScatteringByteChannel in = new ScatteringByteChannel() {
+            @Override
+            public long read(ByteBuffer[] dsts) {
+                scatteringReads[0] ++;
+                return read(dsts, 0, dsts.length);
+            }
+
+            @Override
+            public long read(ByteBuffer[] dsts, int offset, int length) {
+                int written = 0;
+                for (int i = offset; i < offset + length && written < data.length; i ++) {
+                    int len = Math.min(dsts[i].remaining(), data.length - written);
+                    dsts[i].put(data, written, len);
+                    written += len;
+                }
+                return written;
+            }
+
+            @Override
+            public int read(ByteBuffer dst) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() { }
+        };
+
+        assertEquals(10, cbuf.writeBytes(in, cbuf.writableBytes()));
+        assertEquals(1, scatteringReads[0]);
+        assertEquals(10, cbuf.readableBytes());
+        for (byte b: data) {
+            assertEquals(b, cbuf.readByte());
+        }
+    }
 }
@@ -0,0 +1,736 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufProcessor;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.AsciiString;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.DecoderResult;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.HttpHeaders.Names;
+import io.netty.handler.codec.http.HttpHeaders.Values;
+import io.netty.util.CharsetUtil;
+
+import java.util.List;
+
+/**
+ * Decodes {@link ByteBuf}s into {@link HttpMessage}s and {@link HttpContent}s, like {@link HttpObjectDecoder},
+ * but without replaying the input.
+ * <p>
+ * {@link HttpObjectDecoder} is a {@link io.netty.handler.codec.ReplayingDecoder} which re-parses the whole initial
+ * line or header block whenever it arrives in more than one read, and builds every header name and value through an
+ * intermediate {@link StringBuilder}-like sequence and a {@link String}.  This decoder is a plain state machine on top
+ * of {@link ByteToMessageDecoder} instead:
+ * <ul>
+ * <li>Only complete lines are consumed, so a partial read never causes anything to be parsed twice.  The number of
+ *     bytes already scanned for the line terminator is remembered as well.</li>
+ * <li>Tokens are copied straight from the input into {@link AsciiString}s, one array copy each.  Well-known methods,
+ *     versions, header names and header values are interned, so no object is allocated for them at all.</li>
+ * <li>Content is passed on as retained slices of the input rather than as copies.</li>
+ * </ul>
+ * The parameters {@code maxInitialLineLength}, {@code maxHeaderSize} and {@code maxChunkSize} have the same meaning
+ * as for {@link HttpObjectDecoder}, except that {@code maxHeaderSize} bounds the whole header block rather than
+ * each header line.
+ */
+public abstract class AsciiHttpObjectDecoder extends ByteToMessageDecoder {
+
+    private static final AsciiString[] KNOWN_TOKENS = new AsciiString[512];
+
+    static {
+        AsciiString[] tokens = {
+                // Methods
+                new AsciiString(HttpMethod.OPTIONS.name()), new AsciiString(HttpMethod.GET.name()),
+                new AsciiString(HttpMethod.HEAD.name()), new AsciiString(HttpMethod.POST.name()),
+                new AsciiString(HttpMethod.PUT.name()), new AsciiString(HttpMethod.PATCH.name()),
+                new AsciiString(HttpMethod.DELETE.name()), new AsciiString(HttpMethod.TRACE.name()),
+                new AsciiString(HttpMethod.CONNECT.name()),
+                // Versions and the most common reason phrase
+                new AsciiString(HttpVersion.HTTP_1_0.text()), new AsciiString(HttpVersion.HTTP_1_1.text()),
+                new AsciiString(HttpResponseStatus.OK.reasonPhrase()),
+                // Header names
+                Names.ACCEPT, Names.ACCEPT_CHARSET, Names.ACCEPT_ENCODING, Names.ACCEPT_LANGUAGE, Names.ACCEPT_RANGES,
+                Names.AGE, Names.ALLOW, Names.AUTHORIZATION, Names.CACHE_CONTROL, Names.CONNECTION,
+                Names.CONTENT_ENCODING, Names.CONTENT_LANGUAGE, Names.CONTENT_LENGTH, Names.CONTENT_LOCATION,
+                Names.CONTENT_RANGE, Names.CONTENT_TYPE, Names.COOKIE, Names.DATE, Names.ETAG, Names.EXPECT,
+                Names.EXPIRES, Names.HOST, Names.IF_MATCH, Names.IF_MODIFIED_SINCE, Names.IF_NONE_MATCH,
+                Names.IF_RANGE, Names.IF_UNMODIFIED_SINCE, new AsciiString("Keep-Alive"), Names.LAST_MODIFIED,
+                Names.LOCATION, Names.ORIGIN, Names.PRAGMA, new AsciiString("Proxy-Connection"), Names.RANGE,
+                Names.REFERER, Names.SERVER, Names.SET_COOKIE, Names.TE, Names.TRAILER, Names.TRANSFER_ENCODING,
+                Names.UPGRADE, Names.USER_AGENT, Names.VARY, Names.VIA, new AsciiString("X-Forwarded-For"),
+                // Header values
+                Values.CHUNKED, Values.CLOSE, Values.CONTINUE, Values.GZIP, Values.KEEP_ALIVE, Values.NO_CACHE,
+                new AsciiString("*/*"), new AsciiString("gzip, deflate"), new AsciiString("gzip,deflate"),
+        };
+
+        for (AsciiString token: tokens) {
+            addKnownToken(token);
+            AsciiString lowerCase = token.toLowerCase();
+            if (!lowerCase.equals(token)) {
+                // HTTP/2 gateways and some clients send the names in lower case.
+                addKnownToken(lowerCase);
+            }
+        }
+    }
+
+    private static void addKnownToken(AsciiString token) {
+        byte[] bytes = token.array();
+        int mask = KNOWN_TOKENS.length - 1;
+        int i = hash(bytes, 0, bytes.length) & mask;
+        while (KNOWN_TOKENS[i] != null) {
+            if (KNOWN_TOKENS[i].equals(token)) {
+                return;
+            }
+            i = i + 1 & mask;
+        }
+        KNOWN_TOKENS[i] = token;
+    }
+
+    private static int hash(byte[] bytes, int start, int end) {
+        int hash = end - start;
+        for (int i = start; i < end; i ++) {
+            hash = hash * 31 + bytes[i];
+        }
+        return hash;
+    }
+
+    private static final int INITIAL_LINE_BUFFER_SIZE = 128;
+
+    private final int maxInitialLineLength;
+    private final int maxHeaderSize;
+    private final int maxChunkSize;
+    private final boolean chunkedSupported;
+    protected final boolean validateHeaders;
+
+    private State state = State.SKIP_CONTROL_CHARS;
+    private byte[] line = new byte[INITIAL_LINE_BUFFER_SIZE];
+    private int scanned;
+    private int headerSize;
+    private HttpMessage message;
+    private LastHttpContent trailer;
+    private AsciiString name;
+    private AsciiString value;
+    private long chunkSize;
+    private long contentLength = Long.MIN_VALUE;
+    private volatile boolean resetRequested;
+
+    private enum State {
+        SKIP_CONTROL_CHARS,
+        READ_INITIAL,
+        READ_HEADER,
+        READ_VARIABLE_LENGTH_CONTENT,
+        READ_FIXED_LENGTH_CONTENT,
+        READ_CHUNK_SIZE,
+        READ_CHUNKED_CONTENT,
+        READ_CHUNK_DELIMITER,
+        READ_CHUNK_FOOTER,
+        BAD_MESSAGE,
+        UPGRADED
+    }
+
+    /**
+     * Creates a new instance with the default
+     * {@code maxInitialLineLength (4096}}, {@code maxHeaderSize (8192)}, and
+     * {@code maxChunkSize (8192)}.
+     */
+    protected AsciiHttpObjectDecoder() {
+        this(4096, 8192, 8192, true);
+    }
+
+    /**
+     * Creates a new instance with the specified parameters.
+     */
+    protected AsciiHttpObjectDecoder(
+            int maxInitialLineLength, int maxHeaderSize, int maxChunkSize, boolean chunkedSupported) {
+        this(maxInitialLineLength, maxHeaderSize, maxChunkSize, chunkedSupported, true);
+    }
+
+    /**
+     * Creates a new instance with the specified parameters.
+     */
+    protected AsciiHttpObjectDecoder(
+            int maxInitialLineLength, int maxHeaderSize, int maxChunkSize,
+            boolean chunkedSupported, boolean validateHeaders) {
+        if (maxInitialLineLength <= 0) {
+            throw new IllegalArgumentException(
+                    "maxInitialLineLength must be a positive integer: " +
+                     maxInitialLineLength);
+        }
+        if (maxHeaderSize <= 0) {
+            throw new IllegalArgumentException(
+                    "maxHeaderSize must be a positive integer: " +
+                    maxHeaderSize);
+        }
+        if (maxChunkSize <= 0) {
+            throw new IllegalArgumentException(
+                    "maxChunkSize must be a positive integer: " +
+                    maxChunkSize);
+        }
+        this.maxInitialLineLength = maxInitialLineLength;
+        this.maxHeaderSize = maxHeaderSize;
+        this.maxChunkSize = maxChunkSize;
+        this.chunkedSupported = chunkedSupported;
+        this.validateHeaders = validateHeaders;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf buffer, List<Object> out) throws Exception {
+        if (resetRequested) {
+            resetNow();
+        }
+
+        switch (state) {
+        case SKIP_CONTROL_CHARS: {
+            if (!skipControlCharacters(buffer)) {
+                return;
+            }
+            state = State.READ_INITIAL;
+        }
+        case READ_INITIAL: try {
+            int length = readLine(buffer, maxInitialLineLength);
+            if (length < 0) {
+                return;
+            }
+            message = createMessage(length);
+            headerSize = 0;
+            state = State.READ_HEADER;
+        } catch (Exception e) {
+            out.add(invalidMessage(buffer, e));
+            return;
+        }
+        case READ_HEADER: try {
+            if (!readHeaders(buffer, false)) {
+                return;
+            }
+
+            State nextState = nextState();
+            state = nextState;
+            if (nextState == State.READ_CHUNK_SIZE) {
+                if (!chunkedSupported) {
+                    throw new IllegalArgumentException("Chunked messages not supported");
+                }
+                // Chunked encoding - generate HttpMessage first.  HttpChunks will follow.
+                out.add(message);
+                return;
+            }
+            if (nextState == State.SKIP_CONTROL_CHARS) {
+                // No content is expected.
+                out.add(message);
+                out.add(LastHttpContent.EMPTY_LAST_CONTENT);
+                resetNow();
+                return;
+            }
+            long contentLength = contentLength();
+            if (contentLength == 0 || contentLength == -1 && isDecodingRequest()) {
+                out.add(message);
+                out.add(LastHttpContent.EMPTY_LAST_CONTENT);
+                resetNow();
+                return;
+            }
+
+            assert nextState == State.READ_FIXED_LENGTH_CONTENT || nextState == State.READ_VARIABLE_LENGTH_CONTENT;
+
+            out.add(message);
+
+            if (nextState == State.READ_FIXED_LENGTH_CONTENT) {
+                // chunkSize will be decreased as the READ_FIXED_LENGTH_CONTENT state reads data chunk by chunk.
+                chunkSize = contentLength;
+            }
+            return;
+        } catch (Exception e) {
+            out.add(invalidMessage(buffer, e));
+            return;
+        }
+        case READ_VARIABLE_LENGTH_CONTENT: {
+            // Keep reading data as a chunk until the end of connection is reached.
+            int toRead = Math.min(buffer.readableBytes(), maxChunkSize);
+            if (toRead > 0) {
+                out.add(new DefaultHttpContent(buffer.readSlice(toRead).retain()));
+            }
+            return;
+        }
+        case READ_FIXED_LENGTH_CONTENT: {
+            int readLimit = buffer.readableBytes();
+
+            // Never produce an empty content as it would be handled like the last one.
+            if (readLimit == 0) {
+                return;
+            }
+
+            int toRead = Math.min(readLimit, maxChunkSize);
+            if (toRead > chunkSize) {
+                toRead = (int) chunkSize;
+            }
+            ByteBuf content = buffer.readSlice(toRead).retain();
+            chunkSize -= toRead;
+
+            if (chunkSize == 0) {
+                // Read all content.
+                out.add(new DefaultLastHttpContent(content, validateHeaders));
+                resetNow();
+            } else {
+                out.add(new DefaultHttpContent(content));
+            }
+            return;
+        }
+        case READ_CHUNK_SIZE: try {
+            int length = readLine(buffer, maxInitialLineLength);
+            if (length < 0) {
+                return;
+            }
+            int chunkSize = getChunkSize(line, length);
+            this.chunkSize = chunkSize;
+            if (chunkSize == 0) {
+                headerSize = 0;
+                state = State.READ_CHUNK_FOOTER;
+                return;
+            }
+            state = State.READ_CHUNKED_CONTENT;
+        } catch (Exception e) {
+            out.add(invalidChunk(buffer, e));
+            return;
+        }
+        case READ_CHUNKED_CONTENT: {
+            assert chunkSize <= Integer.MAX_VALUE;
+            int toRead = Math.min((int) chunkSize, maxChunkSize);
+            toRead = Math.min(toRead, buffer.readableBytes());
+            if (toRead == 0) {
+                return;
+            }
+
+            out.add(new DefaultHttpContent(buffer.readSlice(toRead).retain()));
+            chunkSize -= toRead;
+            if (chunkSize != 0) {
+                return;
+            }
+            state = State.READ_CHUNK_DELIMITER;
+        }
+        case READ_CHUNK_DELIMITER: try {
+            if (readLine(buffer, maxInitialLineLength) < 0) {
+                return;
+            }
+            state = State.READ_CHUNK_SIZE;
+            return;
+        } catch (Exception e) {
+            out.add(invalidChunk(buffer, e));
+            return;
+        }
+        case READ_CHUNK_FOOTER: try {
+            if (!readHeaders(buffer, true)) {
+                return;
+            }
+            LastHttpContent trailer = this.trailer;
+            out.add(trailer != null ? trailer : LastHttpContent.EMPTY_LAST_CONTENT);
+            resetNow();
+            return;
+        } catch (Exception e) {
+            out.add(invalidChunk(buffer, e));
+            return;
+        }
+        case BAD_MESSAGE: {
+            // Keep discarding until disconnection.
+            buffer.skipBytes(buffer.readableBytes());
+            break;
+        }
+        case UPGRADED: {
+            int readableBytes = buffer.readableBytes();
+            if (readableBytes > 0) {
+                // Keep on consuming as otherwise we may trigger an DecoderException,
+                // other handler will replace this codec with the upgraded protocol codec to
+                // take the traffic over at some point then.
+                // See https://github.com/netty/netty/issues/2173
+                out.add(buffer.readBytes(readableBytes));
+            }
+            break;
+        }
+        }
+    }
+
+    @Override
+    protected void decodeLast(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        decode(ctx, in, out);
+
+        // Handle the last unfinished message.
+        if (message != null) {
+
+            // Check if the closure of the connection signifies the end of the content.
+            boolean prematureClosure;
+            if (isDecodingRequest()) {
+                // The last request did not wait for a response.
+                prematureClosure = true;
+            } else {
+                // Compare the length of the received content and the 'Content-Length' header.
+                // If the 'Content-Length' header is absent, the length of the content is determined by the end of the
+                // connection, so it is perfectly fine.
+                prematureClosure = contentLength() > 0;
+            }
+            resetNow();
+
+            if (!prematureClosure) {
+                out.add(LastHttpContent.EMPTY_LAST_CONTENT);
+            }
+        }
+    }
+
+    protected boolean isContentAlwaysEmpty(HttpMessage msg) {
+        if (msg instanceof HttpResponse) {
+            HttpResponse res = (HttpResponse) msg;
+            int code = res.status().code();
+
+            // Correctly handle return codes of 1xx.
+            //
+            // See:
+            //     - http://www.w3.org/Protocols/rfc2616/rfc2616-sec4.html Section 4.4
+            //     - https://github.com/netty/netty/issues/222
+            if (code >= 100 && code < 200) {
+                // One exception: Hixie 76 websocket handshake response
+                return !(code == 101 && !res.headers().contains(HttpHeaders.Names.SEC_WEBSOCKET_ACCEPT));
+            }
+
+            switch (code) {
+            case 204: case 205: case 304:
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resets the state of the decoder so that it is ready to decode a new message.
+     * This method is useful for handling a rejected request with {@code Expect: 100-continue} header.
+     */
+    public void reset() {
+        resetRequested = true;
+    }
+
+    private void resetNow() {
+        resetRequested = false;
+        HttpMessage message = this.message;
+        this.message = null;
+        trailer = null;
+        name = null;
+        value = null;
+        scanned = 0;
+        contentLength = Long.MIN_VALUE;
+        if (!isDecodingRequest()) {
+            HttpResponse res = (HttpResponse) message;
+            if (res != null && res.status().code() == 101) {
+                state = State.UPGRADED;
+                return;
+            }
+        }
+
+        state = State.SKIP_CONTROL_CHARS;
+    }
+
+    private HttpMessage invalidMessage(ByteBuf buffer, Exception cause) {
+        // Discard what is left so that the failure is not reported as a decoder which did not read anything.
+        buffer.skipBytes(buffer.readableBytes());
+        state = State.BAD_MESSAGE;
+        if (message == null) {
+            message = createInvalidMessage();
+        }
+        message.setDecoderResult(DecoderResult.failure(cause));
+
+        HttpMessage ret = message;
+        message = null;
+        return ret;
+    }
+
+    private HttpContent invalidChunk(ByteBuf buffer, Exception cause) {
+        buffer.skipBytes(buffer.readableBytes());
+        state = State.BAD_MESSAGE;
+        HttpContent chunk = new DefaultLastHttpContent(Unpooled.EMPTY_BUFFER);
+        chunk.setDecoderResult(DecoderResult.failure(cause));
+        message = null;
+        trailer = null;
+        return chunk;
+    }
+
+    private static boolean skipControlCharacters(ByteBuf buffer) {
+        int i = buffer.forEachByte(SKIP_CONTROL_CHARS_PROCESSOR);
+        if (i < 0) {
+            buffer.skipBytes(buffer.readableBytes());
+            return false;
+        }
+        buffer.readerIndex(i);
+        return true;
+    }
+
+    private static final ByteBufProcessor SKIP_CONTROL_CHARS_PROCESSOR = new ByteBufProcessor() {
+        @Override
+        public boolean process(byte value) throws Exception {
+            char c = (char) (value & 0xFF);
+            return Character.isISOControl(c) || Character.isWhitespace(c);
+        }
+    };
+
+    /**
+     * Copies the next line without its terminating {@code CRLF} or {@code LF} into {@link #line} and consumes it.
+     *
+     * @return the length of the line or {@code -1} if the line is not complete yet, in which case nothing is consumed
+     */
+    private int readLine(ByteBuf buffer, int maxLength) throws TooLongFrameException {
+        int readerIndex = buffer.readerIndex();
+        int readable = buffer.readableBytes();
+        int lf = buffer.forEachByte(readerIndex + scanned, readable - scanned, ByteBufProcessor.FIND_LF);
+        if (lf < 0) {
+            if (readable > maxLength) {
+                throw newTooLongFrameException(maxLength);
+            }
+            scanned = readable;
+            return -1;
+        }
+        scanned = 0;
+
+        int length = lf - readerIndex;
+        if (length > 0 && buffer.getByte(lf - 1) == HttpConstants.CR) {
+            length --;
+        }
+        if (length > maxLength) {
+            throw newTooLongFrameException(maxLength);
+        }
+        if (length > line.length) {
+            line = new byte[Math.max(length, line.length << 1)];
+        }
+        buffer.getBytes(readerIndex, line, 0, length);
+        buffer.readerIndex(lf + 1);
+        return length;
+    }
+
+    private TooLongFrameException newTooLongFrameException(int maxLength) {
+        if (state == State.READ_HEADER || state == State.READ_CHUNK_FOOTER) {
+            return new TooLongFrameException("HTTP header is larger than " + maxHeaderSize + " bytes.");
+        }
+        return new TooLongFrameException("An HTTP line is larger than " + maxLength + " bytes.");
+    }
+
+    /**
+     * Reads header lines until the empty line which terminates them, adding them to the current message or trailer
+     * as they complete.
+     *
+     * @return {@code true} if the empty line was reached, {@code false} if more input is needed
+     */
+    private boolean readHeaders(ByteBuf buffer, boolean trailing) throws TooLongFrameException {
+        for (;;) {
+            int start = buffer.readerIndex();
+            int length = readLine(buffer, maxHeaderSize - headerSize);
+            if (length < 0) {
+                return false;
+            }
+            headerSize += buffer.readerIndex() - start;
+            if (length == 0) {
+                addHeader(trailing);
+                return true;
+            }
+
+            byte firstByte = line[0];
+            if (name != null && (firstByte == ' ' || firstByte == '\t')) {
+                int valueStart = findNonWhitespace(line, 0, length);
+                int valueEnd = findEndOfString(line, valueStart, length);
+                value = value.concat(" ").concat(token(valueStart, valueEnd));
+            } else {
+                addHeader(trailing);
+                splitHeader(length);
+            }
+        }
+    }
+
+    private void splitHeader(int length) {
+        byte[] line = this.line;
+        int nameStart = findNonWhitespace(line, 0, length);
+        int nameEnd;
+        for (nameEnd = nameStart; nameEnd < length; nameEnd ++) {
+            byte b = line[nameEnd];
+            if (b == ':' || isWhitespace(b)) {
+                break;
+            }
+        }
+
+        int colonEnd;
+        for (colonEnd = nameEnd; colonEnd < length; colonEnd ++) {
+            if (line[colonEnd] == ':') {
+                colonEnd ++;
+                break;
+            }
+        }
+
+        int valueStart = findNonWhitespace(line, colonEnd, length);
+        name = token(nameStart, nameEnd);
+        value = token(valueStart, findEndOfString(line, valueStart, length));
+    }
+
+    private void addHeader(boolean trailing) {
+        AsciiString name = this.name;
+        if (name == null) {
+            return;
+        }
+        this.name = null;
+
+        if (!trailing) {
+            message.headers().add(name, value);
+        } else if (!AsciiString.equalsIgnoreCase(name, HttpHeaders.Names.CONTENT_LENGTH) &&
+                   !AsciiString.equalsIgnoreCase(name, HttpHeaders.Names.TRANSFER_ENCODING) &&
+                   !AsciiString.equalsIgnoreCase(name, HttpHeaders.Names.TRAILER)) {
+            if (trailer == null) {
+                trailer = new DefaultLastHttpContent(Unpooled.EMPTY_BUFFER, validateHeaders);
+            }
+            trailer.trailingHeaders().add(name, value);
+        }
+        value = null;
+    }
+
+    private State nextState() {
+        if (isContentAlwaysEmpty(message)) {
+            HttpHeaderUtil.setTransferEncodingChunked(message, false);
+            return State.SKIP_CONTROL_CHARS;
+        }
+        if (HttpHeaderUtil.isTransferEncodingChunked(message)) {
+            return State.READ_CHUNK_SIZE;
+        }
+        if (contentLength() >= 0) {
+            return State.READ_FIXED_LENGTH_CONTENT;
+        }
+        return State.READ_VARIABLE_LENGTH_CONTENT;
+    }
+
+    private long contentLength() {
+        if (contentLength == Long.MIN_VALUE) {
+            contentLength = HttpHeaderUtil.getContentLength(message, -1);
+        }
+        return contentLength;
+    }
+
+    private HttpMessage createMessage(int length) throws Exception {
+        byte[] line = this.line;
+        int aStart = findNonWhitespace(line, 0, length);
+        int aEnd = findWhitespace(line, aStart, length);
+
+        int bStart = findNonWhitespace(line, aEnd, length);
+        int bEnd = findWhitespace(line, bStart, length);
+
+        int cStart = findNonWhitespace(line, bEnd, length);
+        int cEnd = findEndOfString(line, cStart, length);
+
+        return createMessage(token(aStart, aEnd), token(bStart, bEnd), token(cStart, cEnd));
+    }
+
+    /**
+     * Returns the bytes of {@link #line} between {@code start} and {@code end} as an {@link AsciiString}.  A shared
+     * instance is returned for the well-known tokens.
+     */
+    private AsciiString token(int start, int end) {
+        int length = end - start;
+        if (length == 0) {
+            return AsciiString.EMPTY_STRING;
+        }
+
+        byte[] line = this.line;
+        AsciiString[] knownTokens = KNOWN_TOKENS;
+        int mask = knownTokens.length - 1;
+        for (int i = hash(line, start, end) & mask;; i = i + 1 & mask) {
+            AsciiString token = knownTokens[i];
+            if (token == null) {
+                break;
+            }
+            if (token.length() == length && regionEquals(token.array(), line, start, length)) {
+                return token;
+            }
+        }
+        return new AsciiString(line, start, length);
+    }
+
+    private static boolean regionEquals(byte[] a, byte[] b, int bStart, int length) {
+        for (int i = 0; i < length; i ++) {
+            if (a[i] != b[bStart + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getChunkSize(byte[] line, int length) {
+        int start = findNonWhitespace(line, 0, length);
+        int end;
+        for (end = start; end < length; end ++) {
+            char c = (char) (line[end] & 0xFF);
+            if (c == ';' || Character.isWhitespace(c) || Character.isISOControl(c)) {
+                break;
+            }
+        }
+        if (start == end) {
+            throw new NumberFormatException("empty chunk size");
+        }
+
+        int chunkSize = 0;
+        for (int i = start; i < end; i ++) {
+            int digit = Character.digit(line[i], 16);
+            if (digit < 0 || chunkSize > Integer.MAX_VALUE >>> 4) {
+                throw new NumberFormatException(
+                        "invalid chunk size: " + new String(line, start, end - start, CharsetUtil.US_ASCII));
+            }
+            chunkSize = chunkSize << 4 | digit;
+        }
+        return chunkSize;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return Character.isWhitespace((char) (b & 0xFF));
+    }
+
+    private static int findNonWhitespace(byte[] line, int offset, int length) {
+        int result;
+        for (result = offset; result < length; result ++) {
+            if (!isWhitespace(line[result])) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static int findWhitespace(byte[] line, int offset, int length) {
+        int result;
+        for (result = offset; result < length; result ++) {
+            if (isWhitespace(line[result])) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static int findEndOfString(byte[] line, int offset, int length) {
+        int result;
+        for (result = length; result > offset; result --) {
+            if (!isWhitespace(line[result - 1])) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    protected abstract boolean isDecodingRequest();
+
+    /**
+     * Creates the message from the three whitespace separated parts of the initial line.  The third part is
+     * {@link AsciiString#EMPTY_STRING} if the line has only two parts.
+     */
+    protected abstract HttpMessage createMessage(
+            AsciiString first, AsciiString second, AsciiString third) throws Exception;
+
+    protected abstract HttpMessage createInvalidMessage();
+}
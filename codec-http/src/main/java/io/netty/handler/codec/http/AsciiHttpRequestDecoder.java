@@ -0,0 +1,68 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.AsciiString;
+
+/**
+ * Decodes {@link ByteBuf}s into {@link HttpRequest}s and {@link HttpContent}s without replaying the input.
+ * Header names and values are {@link AsciiString}s.
+ *
+ * @see AsciiHttpObjectDecoder
+ * @see HttpRequestDecoder
+ */
+public class AsciiHttpRequestDecoder extends AsciiHttpObjectDecoder {
+
+    /**
+     * Creates a new instance with the default
+     * {@code maxInitialLineLength (4096}}, {@code maxHeaderSize (8192)}, and
+     * {@code maxChunkSize (8192)}.
+     */
+    public AsciiHttpRequestDecoder() {
+    }
+
+    /**
+     * Creates a new instance with the specified parameters.
+     */
+    public AsciiHttpRequestDecoder(
+            int maxInitialLineLength, int maxHeaderSize, int maxChunkSize) {
+        super(maxInitialLineLength, maxHeaderSize, maxChunkSize, true);
+    }
+
+    public AsciiHttpRequestDecoder(
+            int maxInitialLineLength, int maxHeaderSize, int maxChunkSize, boolean validateHeaders) {
+        super(maxInitialLineLength, maxHeaderSize, maxChunkSize, true, validateHeaders);
+    }
+
+    @Override
+    protected HttpMessage createMessage(AsciiString method, AsciiString uri, AsciiString version) throws Exception {
+        // The well-known methods and versions are interned, so their toString() does not allocate.
+        return new DefaultHttpRequest(
+                HttpVersion.valueOf(version.toString()),
+                HttpMethod.valueOf(method.toString()), uri.toString(), validateHeaders);
+    }
+
+    @Override
+    protected HttpMessage createInvalidMessage() {
+        return new DefaultHttpRequest(HttpVersion.HTTP_1_0, HttpMethod.GET, "/bad-request", validateHeaders);
+    }
+
+    @Override
+    protected boolean isDecodingRequest() {
+        return true;
+    }
+}
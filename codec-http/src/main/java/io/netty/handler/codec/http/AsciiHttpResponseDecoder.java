@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.AsciiString;
+
+/**
+ * Decodes {@link ByteBuf}s into {@link HttpResponse}s and {@link HttpContent}s without replaying the input.
+ * Header names and values are {@link AsciiString}s.
+ *
+ * @see AsciiHttpObjectDecoder
+ * @see HttpResponseDecoder
+ */
+public class AsciiHttpResponseDecoder extends AsciiHttpObjectDecoder {
+
+    private static final HttpResponseStatus UNKNOWN_STATUS = new HttpResponseStatus(999, "Unknown");
+
+    /**
+     * Creates a new instance with the default
+     * {@code maxInitialLineLength (4096}}, {@code maxHeaderSize (8192)}, and
+     * {@code maxChunkSize (8192)}.
+     */
+    public AsciiHttpResponseDecoder() {
+    }
+
+    /**
+     * Creates a new instance with the specified parameters.
+     */
+    public AsciiHttpResponseDecoder(
+            int maxInitialLineLength, int maxHeaderSize, int maxChunkSize) {
+        super(maxInitialLineLength, maxHeaderSize, maxChunkSize, true);
+    }
+
+    public AsciiHttpResponseDecoder(
+            int maxInitialLineLength, int maxHeaderSize, int maxChunkSize, boolean validateHeaders) {
+        super(maxInitialLineLength, maxHeaderSize, maxChunkSize, true, validateHeaders);
+    }
+
+    @Override
+    protected HttpMessage createMessage(AsciiString version, AsciiString code, AsciiString reasonPhrase) {
+        HttpResponseStatus status = HttpResponseStatus.valueOf(code.parseInt());
+        if (!reasonPhrase.contentEquals(status.reasonPhrase())) {
+            status = new HttpResponseStatus(status.code(), reasonPhrase.toString());
+        }
+        return new DefaultHttpResponse(HttpVersion.valueOf(version.toString()), status, validateHeaders);
+    }
+
+    @Override
+    protected HttpMessage createInvalidMessage() {
+        return new DefaultHttpResponse(HttpVersion.HTTP_1_0, UNKNOWN_STATUS, validateHeaders);
+    }
+
+    @Override
+    protected boolean isDecodingRequest() {
+        return false;
+    }
+}
@@ -15,9 +15,9 @@
  */
 package io.netty.handler.codec.http;
 
+import io.netty.handler.codec.DateFormatter;
 import io.netty.util.internal.StringUtil;
 
-import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -115,14 +115,11 @@ public final class CookieDecoder {
                 } else if (CookieHeaderNames.PATH.equalsIgnoreCase(name)) {
                     path = value;
                 } else if (CookieHeaderNames.EXPIRES.equalsIgnoreCase(name)) {
-                    try {
-                        long maxAgeMillis =
-                            HttpHeaderDateFormat.get().parse(value).getTime() -
-                            System.currentTimeMillis();
+                    long expires = DateFormatter.parseHttpDate(value, Long.MIN_VALUE);
+                    if (expires != Long.MIN_VALUE) {
+                        long maxAgeMillis = expires - System.currentTimeMillis();
 
                         maxAge = maxAgeMillis / 1000 + (maxAgeMillis % 1000 != 0? 1 : 0);
-                    } catch (ParseException e) {
-                        // Ignore.
                     }
                 } else if (CookieHeaderNames.MAX_AGE.equalsIgnoreCase(name)) {
                     maxAge = Integer.parseInt(value);
@@ -16,6 +16,7 @@
 package io.netty.handler.codec.http;
 
 import io.netty.handler.codec.AsciiString;
+import io.netty.handler.codec.DateFormatter;
 import io.netty.handler.codec.DefaultTextHeaders;
 import io.netty.handler.codec.TextHeaderProcessor;
 import io.netty.handler.codec.TextHeaders;
@@ -58,14 +59,18 @@ public class DefaultHttpHeaders extends DefaultTextHeaders implements HttpHeader
     @Override
     protected CharSequence convertName(CharSequence name) {
         name = super.convertName(name);
-        if (validate) {
-            if (name instanceof AsciiString) {
-                validateName((AsciiString) name);
-            } else {
+        if (!(name instanceof AsciiString)) {
+            if (validate) {
                 validateName(name);
             }
+            // Store every name as an AsciiString so that its case-insensitive hash code is cached,
+            // comparisons work on bytes and the encoder can copy it as-is.
+            return toAsciiString(name);
         }
 
+        if (validate) {
+            validateName((AsciiString) name);
+        }
         return name;
     }
 
@@ -124,24 +129,44 @@ public class DefaultHttpHeaders extends DefaultTextHeaders implements HttpHeader
         } else if (value instanceof Number) {
             seq = value.toString();
         } else if (value instanceof Date) {
-            seq = HttpHeaderDateFormat.get().format((Date) value);
+            seq = DateFormatter.format((Date) value);
         } else if (value instanceof Calendar) {
-            seq = HttpHeaderDateFormat.get().format(((Calendar) value).getTime());
+            seq = DateFormatter.format(((Calendar) value).getTimeInMillis());
         } else {
             seq = value.toString();
         }
 
-        if (validate) {
-            if (value instanceof AsciiString) {
-                validateValue((AsciiString) seq);
-            } else {
+        if (!(seq instanceof AsciiString)) {
+            if (validate) {
                 validateValue(seq);
             }
+            // Keep the value in its encoded form so that HttpHeadersEncoder writes the stored bytes directly.
+            return toAsciiString(seq);
         }
 
+        if (validate) {
+            validateValue((AsciiString) seq);
+        }
         return seq;
     }
 
+    /**
+     * Converts the specified sequence into an {@link AsciiString}, unless it contains a character which does not
+     * fit into a single byte and would be lost by the conversion.
+     */
+    private static CharSequence toAsciiString(CharSequence seq) {
+        final int length = seq.length();
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i ++) {
+            char c = seq.charAt(i);
+            if (c > 255) {
+                return seq;
+            }
+            bytes[i] = (byte) c;
+        }
+        return new AsciiString(bytes, false);
+    }
+
     private static void validateValue(AsciiString seq) {
         int state = 0;
         // Start looping through each of the character
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.PrematureChannelClosureException;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.internal.OneTimeTask;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Sends {@link FullHttpRequest}s over one HTTP/1.1 connection without waiting for the previous response
+ * (request pipelining, RFC 7230 section 6.3.2) and correlates the {@link FullHttpResponse}s to the requests in
+ * order.  This hides the round-trip time between consecutive requests, which matters on high-latency links.
+ * <p>
+ * At most {@code maxPipelineDepth} requests are in flight at a time; further requests are queued and written as
+ * responses arrive.  Once a request or response without keep-alive was seen, no further requests are written.
+ * <p>
+ * Add it after an {@link HttpClientCodec} and an {@link HttpObjectAggregator}:
+ * <pre>
+ * {@link io.netty.channel.ChannelPipeline} p = ...;
+ * p.addLast("codec", new {@link HttpClientCodec}());
+ * p.addLast("aggregator", new {@link HttpObjectAggregator}(1048576));
+ * p.addLast("pipelining", new {@link HttpClientPipeliningHandler}(8));
+ * ...
+ * Future&lt;FullHttpResponse&gt; f = p.get({@link HttpClientPipeliningHandler}.class).send(request);
+ * </pre>
+ * If the connection is closed before all responses arrived, the remaining requests are passed to
+ * {@link #requestNotAnswered(FullHttpRequest, Promise, boolean, Throwable)}, which fails them by default.  Override
+ * it to resend the requests which are safe to retry over another connection.
+ */
+public class HttpClientPipeliningHandler extends ChannelHandlerAdapter {
+
+    private final int maxPipelineDepth;
+
+    // Only accessed from the EventLoop.
+    private final Queue<PendingRequest> inFlight = new ArrayDeque<PendingRequest>();
+    private final Queue<PendingRequest> queued = new ArrayDeque<PendingRequest>();
+    private ChannelHandlerContext ctx;
+    private boolean lastRequestWritten;
+    private boolean inactive;
+    private Throwable failureCause;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxPipelineDepth  the maximum number of requests which are written but not yet answered
+     */
+    public HttpClientPipeliningHandler(int maxPipelineDepth) {
+        if (maxPipelineDepth <= 0) {
+            throw new IllegalArgumentException("maxPipelineDepth: " + maxPipelineDepth + " (expected: > 0)");
+        }
+        this.maxPipelineDepth = maxPipelineDepth;
+    }
+
+    /**
+     * Returns {@code true} if a request with the given {@link HttpMethod} can be safely sent again after the
+     * connection failed, as defined in RFC 7231 section 4.2.2.
+     */
+    public static boolean isIdempotent(HttpMethod method) {
+        return method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS ||
+               method == HttpMethod.TRACE || method == HttpMethod.PUT || method == HttpMethod.DELETE;
+    }
+
+    /**
+     * Sends the given {@link FullHttpRequest} as soon as the pipeline depth allows.  This method may be called from
+     * any thread.  The returned {@link Future} is notified with the {@link FullHttpResponse}, which must be released
+     * by the caller.
+     */
+    public Future<FullHttpResponse> send(final FullHttpRequest request) {
+        if (request == null) {
+            throw new NullPointerException("request");
+        }
+        final ChannelHandlerContext ctx = this.ctx;
+        if (ctx == null) {
+            throw new IllegalStateException("not added to a pipeline yet");
+        }
+
+        final Promise<FullHttpResponse> promise = ctx.executor().newPromise();
+        if (ctx.executor().inEventLoop()) {
+            send0(request, promise);
+        } else {
+            ctx.executor().execute(new OneTimeTask() {
+                @Override
+                public void run() {
+                    send0(request, promise);
+                }
+            });
+        }
+        return promise;
+    }
+
+    private void send0(FullHttpRequest request, Promise<FullHttpResponse> promise) {
+        if (inactive) {
+            requestNotAnswered(request, promise, false, cause());
+            return;
+        }
+        queued.add(new PendingRequest(request, promise));
+        writeQueued();
+    }
+
+    private void writeQueued() {
+        boolean written = false;
+        while (!lastRequestWritten && inFlight.size() < maxPipelineDepth) {
+            PendingRequest pending = queued.poll();
+            if (pending == null) {
+                break;
+            }
+            inFlight.add(pending);
+            if (!HttpHeaderUtil.isKeepAlive(pending.request)) {
+                lastRequestWritten = true;
+            }
+            // Write a duplicate so the encoder does not consume the content of the request, which is kept until the
+            // response arrived so it can be handed out intact on failure.
+            ctx.write(pending.request.duplicate().retain()).addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+            written = true;
+        }
+        if (written) {
+            ctx.flush();
+        }
+    }
+
+    /**
+     * Called for each request which will not receive a response because the connection was closed.  The
+     * implementation takes over the ownership of the {@code request}.  The default implementation releases it and
+     * fails the {@code promise}.
+     *
+     * @param request  the request which was not answered
+     * @param promise  the promise returned by {@link #send(FullHttpRequest)}
+     * @param sent     {@code true} if the request was (possibly partially) written, so the server may have processed
+     *                 it and only idempotent requests should be retried
+     * @param cause    the reason why the connection was closed
+     */
+    protected void requestNotAnswered(
+            FullHttpRequest request, Promise<FullHttpResponse> promise, boolean sent, Throwable cause) {
+        request.release();
+        promise.tryFailure(cause);
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (!(msg instanceof FullHttpResponse)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+
+        FullHttpResponse response = (FullHttpResponse) msg;
+        int code = response.status().code();
+        if (code >= 100 && code < 200 && code != 101) {
+            // Interim response, the final one is still to come.
+            response.release();
+            return;
+        }
+
+        PendingRequest pending = inFlight.poll();
+        if (pending == null) {
+            // Unsolicited response, the connection is in an undefined state.
+            response.release();
+            ctx.close();
+            return;
+        }
+
+        boolean keepAlive = HttpHeaderUtil.isKeepAlive(response);
+        pending.request.release();
+        if (!pending.promise.trySuccess(response)) {
+            response.release();
+        }
+
+        if (keepAlive) {
+            writeQueued();
+        } else {
+            ctx.close();
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        if (failureCause == null) {
+            failureCause = cause;
+        }
+        ctx.close();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        inactive = true;
+        Throwable cause = cause();
+        for (;;) {
+            PendingRequest pending = inFlight.poll();
+            if (pending == null) {
+                break;
+            }
+            requestNotAnswered(pending.request, pending.promise, true, cause);
+        }
+        for (;;) {
+            PendingRequest pending = queued.poll();
+            if (pending == null) {
+                break;
+            }
+            requestNotAnswered(pending.request, pending.promise, false, cause);
+        }
+        ctx.fireChannelInactive();
+    }
+
+    private Throwable cause() {
+        if (failureCause == null) {
+            failureCause = new PrematureChannelClosureException("connection closed before the response was received");
+        }
+        return failureCause;
+    }
+
+    private static final class PendingRequest {
+        final FullHttpRequest request;
+        final Promise<FullHttpResponse> promise;
+
+        PendingRequest(FullHttpRequest request, Promise<FullHttpResponse> promise) {
+            this.request = request;
+            this.promise = promise;
+        }
+    }
+}
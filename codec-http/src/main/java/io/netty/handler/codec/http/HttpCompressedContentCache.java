@@ -0,0 +1,142 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least-recently-used cache of compressed response content which can be shared by
+ * {@link HttpContentCompressor}s of many channels.  Entries are keyed by the requested resource, the strong
+ * {@code ETag} of the response and the content encoding, so the same entity is compressed only once per encoding.
+ * The resource is part of the key because an {@code ETag} only identifies a version of a single resource.
+ */
+public final class HttpCompressedContentCache {
+
+    private final long maxSize;
+    private final int maxEntrySize;
+
+    // Guarded by this.
+    private final Map<Key, ByteBuf> entries = new LinkedHashMap<Key, ByteBuf>(16, 0.75f, true);
+    private long size;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxSize       the maximum number of compressed bytes kept by this cache
+     * @param maxEntrySize  the maximum number of compressed bytes of a single entry
+     */
+    public HttpCompressedContentCache(long maxSize, int maxEntrySize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize: " + maxSize + " (expected: > 0)");
+        }
+        if (maxEntrySize <= 0 || maxEntrySize > maxSize) {
+            throw new IllegalArgumentException(
+                    "maxEntrySize: " + maxEntrySize + " (expected: 1-" + maxSize + ')');
+        }
+        this.maxSize = maxSize;
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    /**
+     * Returns a retained duplicate of the cached content, or {@code null} if there is no such entry.
+     *
+     * @param resource  the requested resource, e.g. the {@code "Host"} header followed by the request URI
+     */
+    public synchronized ByteBuf get(String resource, String etag, String contentEncoding) {
+        ByteBuf content = entries.get(new Key(resource, etag, contentEncoding));
+        return content == null ? null : content.duplicate().retain();
+    }
+
+    /**
+     * Caches the given content unless it is larger than {@code maxEntrySize}, evicting the least recently used
+     * entries as needed.  The content is retained if it is cached; its reader and writer indexes must not be
+     * modified afterwards.
+     *
+     * @param resource  the requested resource, e.g. the {@code "Host"} header followed by the request URI
+     * @return {@code true} if the content was cached
+     */
+    public synchronized boolean put(String resource, String etag, String contentEncoding, ByteBuf content) {
+        int length = content.readableBytes();
+        if (length > maxEntrySize) {
+            return false;
+        }
+
+        ByteBuf old = entries.put(new Key(resource, etag, contentEncoding), content.retain());
+        if (old != null) {
+            size -= old.readableBytes();
+            old.release();
+        }
+        size += length;
+
+        Iterator<ByteBuf> i = entries.values().iterator();
+        while (size > maxSize) {
+            ByteBuf eldest = i.next();
+            i.remove();
+            size -= eldest.readableBytes();
+            eldest.release();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of compressed bytes currently kept by this cache.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear() {
+        for (ByteBuf content: entries.values()) {
+            content.release();
+        }
+        entries.clear();
+        size = 0;
+    }
+
+    private static final class Key {
+        private final String resource;
+        private final String etag;
+        private final String contentEncoding;
+
+        Key(String resource, String etag, String contentEncoding) {
+            this.resource = resource;
+            this.etag = etag;
+            this.contentEncoding = contentEncoding;
+        }
+
+        @Override
+        public int hashCode() {
+            return (resource.hashCode() * 31 + etag.hashCode()) * 31 + contentEncoding.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return resource.equals(that.resource) && etag.equals(that.etag) &&
+                   contentEncoding.equals(that.contentEncoding);
+        }
+    }
+}
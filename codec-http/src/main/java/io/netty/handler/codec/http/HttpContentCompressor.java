@@ -15,24 +15,44 @@
  */
 package io.netty.handler.codec.http;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.AsciiString;
 import io.netty.handler.codec.compression.ZlibCodecFactory;
 import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.handler.codec.compression.ZstdEncoder;
 import io.netty.util.internal.StringUtil;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
- * Compresses an {@link HttpMessage} and an {@link HttpContent} in {@code gzip} or
- * {@code deflate} encoding while respecting the {@code "Accept-Encoding"} header.
- * If there is no matching encoding, no compression is done.  For more
+ * Compresses an {@link HttpMessage} and an {@link HttpContent} in {@code gzip},
+ * {@code deflate} or {@code zstd} encoding while respecting the {@code "Accept-Encoding"}
+ * header.  If there is no matching encoding, no compression is done.  For more
  * information on how this handler modifies the message, please refer to
  * {@link HttpContentEncoder}.
+ * <p>
+ * {@code zstd} is only chosen when the client prefers it over {@code gzip} and {@code deflate}
+ * (see {@link #determineEncoding(CharSequence)}).  The {@code compressionLevel}, {@code windowBits} and
+ * {@code memLevel} only apply to {@code gzip} and {@code deflate}; {@code zstd} always uses the settings of
+ * {@link ZstdEncoder#ZstdEncoder()}.
+ * <p>
+ * Responses whose content is smaller than {@code contentSizeThreshold} bytes or whose {@code "Content-Type"} denotes
+ * already compressed data, such as images or archives, are not compressed (see {@link #isCompressible(String)}).
+ * <p>
+ * If a {@link HttpCompressedContentCache} is specified, the compressed content of {@link FullHttpResponse}s with a
+ * strong {@code "ETag"} is cached, so static assets are compressed only once per content encoding.
  */
 public class HttpContentCompressor extends HttpContentEncoder {
 
     private final int compressionLevel;
     private final int windowBits;
     private final int memLevel;
+    private final int contentSizeThreshold;
+    private final HttpCompressedContentCache cache;
+    private final boolean determineWrapperOverridden;
 
     /**
      * Creates a new handler with the default compression level (<tt>6</tt>),
@@ -75,6 +95,36 @@ public class HttpContentCompressor extends HttpContentEncoder {
      *        at the expense of memory usage.  The default value is {@code 8}
      */
     public HttpContentCompressor(int compressionLevel, int windowBits, int memLevel) {
+        this(compressionLevel, windowBits, memLevel, 0, null);
+    }
+
+    /**
+     * Creates a new handler with the specified compression level, window size,
+     * memory level, content size threshold and cache.
+     *
+     * @param compressionLevel
+     *        {@code 1} yields the fastest compression and {@code 9} yields the
+     *        best compression.  {@code 0} means no compression.  The default
+     *        compression level is {@code 6}.
+     * @param windowBits
+     *        The base two logarithm of the size of the history buffer.  The
+     *        value should be in the range {@code 9} to {@code 15} inclusive.
+     *        Larger values result in better compression at the expense of
+     *        memory usage.  The default value is {@code 15}.
+     * @param memLevel
+     *        How much memory should be allocated for the internal compression
+     *        state.  {@code 1} uses minimum memory and {@code 9} uses maximum
+     *        memory.  Larger values result in better and faster compression
+     *        at the expense of memory usage.  The default value is {@code 8}
+     * @param contentSizeThreshold
+     *        Responses whose content is known to be smaller than this number of
+     *        bytes are not compressed.  The default value is {@code 0}.
+     * @param cache
+     *        The cache for the compressed content of {@link FullHttpResponse}s,
+     *        or {@code null} to disable caching.
+     */
+    public HttpContentCompressor(int compressionLevel, int windowBits, int memLevel,
+                                 int contentSizeThreshold, HttpCompressedContentCache cache) {
         if (compressionLevel < 0 || compressionLevel > 9) {
             throw new IllegalArgumentException(
                     "compressionLevel: " + compressionLevel +
@@ -88,47 +138,220 @@ public class HttpContentCompressor extends HttpContentEncoder {
             throw new IllegalArgumentException(
                     "memLevel: " + memLevel + " (expected: 1-9)");
         }
+        if (contentSizeThreshold < 0) {
+            throw new IllegalArgumentException(
+                    "contentSizeThreshold: " + contentSizeThreshold + " (expected: >= 0)");
+        }
         this.compressionLevel = compressionLevel;
         this.windowBits = windowBits;
         this.memLevel = memLevel;
+        this.contentSizeThreshold = contentSizeThreshold;
+        this.cache = cache;
+        determineWrapperOverridden = overridesDetermineWrapper(getClass());
     }
 
     @Override
     protected Result beginEncode(HttpResponse headers, CharSequence acceptEncoding) throws Exception {
-        String contentEncoding = headers.headers().get(HttpHeaders.Names.CONTENT_ENCODING);
-        if (contentEncoding != null &&
-            !AsciiString.equalsIgnoreCase(HttpHeaders.Values.IDENTITY, contentEncoding)) {
+        if (!shouldCompress(headers)) {
             return null;
         }
 
-        ZlibWrapper wrapper = determineWrapper(acceptEncoding);
-        if (wrapper == null) {
+        String targetContentEncoding = determineEncoding(acceptEncoding);
+        if (targetContentEncoding == null) {
             return null;
         }
 
-        String targetContentEncoding;
+        return new Result(targetContentEncoding, newEncoder(targetContentEncoding));
+    }
+
+    @Override
+    protected FullHttpResponse encodeFullResponse(
+            FullHttpResponse res, CharSequence acceptEncoding, String host, String uri) throws Exception {
+        if (cache == null) {
+            return null;
+        }
+        String etag = res.headers().get(HttpHeaders.Names.ETAG);
+        if (etag == null || etag.startsWith("W/") || !shouldCompress(res)) {
+            // Only a strong ETag guarantees that the content is byte-for-byte identical.
+            return null;
+        }
+        String targetContentEncoding = determineEncoding(acceptEncoding);
+        if (targetContentEncoding == null) {
+            return null;
+        }
+
+        // An ETag only identifies a version of one resource, so the request target is part of the key.
+        String resource = host + uri;
+        ByteBuf content = cache.get(resource, etag, targetContentEncoding);
+        if (content == null) {
+            ByteBuf compressed = compress(res.content(), targetContentEncoding);
+            cache.put(resource, etag, targetContentEncoding, compressed);
+            // Hand our reference over to a duplicate so that writing the response leaves the cached indexes alone.
+            content = compressed.duplicate();
+        }
+
+        FullHttpResponse encoded = new DefaultFullHttpResponse(res.protocolVersion(), res.status(), content);
+        encoded.headers().set(res.headers());
+        encoded.headers().set(HttpHeaders.Names.CONTENT_ENCODING, targetContentEncoding);
+        encoded.headers().remove(HttpHeaders.Names.TRANSFER_ENCODING);
+        HttpHeaderUtil.setContentLength(encoded, content.readableBytes());
+        encoded.trailingHeaders().set(res.trailingHeaders());
+        return encoded;
+    }
+
+    private ByteBuf compress(ByteBuf content, String targetContentEncoding) {
+        EmbeddedChannel encoder = newEncoder(targetContentEncoding);
+        encoder.writeOutbound(content.retain());
+        encoder.finish();
+
+        // Copy the output into a buffer of the exact size as it may be kept by the cache for a long time.
+        int length = 0;
+        for (Object o: encoder.outboundMessages()) {
+            length += ((ByteBuf) o).readableBytes();
+        }
+        ByteBuf compressed = Unpooled.buffer(length);
+        for (;;) {
+            ByteBuf buf = encoder.readOutbound();
+            if (buf == null) {
+                break;
+            }
+            compressed.writeBytes(buf);
+            buf.release();
+        }
+        return compressed;
+    }
+
+    private boolean shouldCompress(HttpResponse res) {
+        HttpHeaders headers = res.headers();
+        String contentEncoding = headers.get(HttpHeaders.Names.CONTENT_ENCODING);
+        if (contentEncoding != null &&
+            !AsciiString.equalsIgnoreCase(HttpHeaders.Values.IDENTITY, contentEncoding)) {
+            return false;
+        }
+
+        String contentType = headers.get(HttpHeaders.Names.CONTENT_TYPE);
+        if (contentType != null && !isCompressible(contentType)) {
+            return false;
+        }
+
+        if (contentSizeThreshold > 0) {
+            long length;
+            if (res instanceof FullHttpResponse) {
+                length = ((FullHttpResponse) res).content().readableBytes();
+            } else {
+                length = HttpHeaderUtil.getContentLength(res, -1);
+            }
+            if (length >= 0 && length < contentSizeThreshold) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if content of the given {@code "Content-Type"} is worth compressing.  The default
+     * implementation returns {@code false} for images (except SVG), audio, video and common archive and font formats,
+     * which are compressed already.
+     */
+    protected boolean isCompressible(String contentType) {
+        String type = contentType.trim().toLowerCase();
+        if (type.startsWith("image/")) {
+            return type.startsWith("image/svg");
+        }
+        return !(type.startsWith("audio/") ||
+                 type.startsWith("video/") ||
+                 type.startsWith("font/woff") ||
+                 type.startsWith("application/font-woff") ||
+                 type.startsWith("application/zip") ||
+                 type.startsWith("application/gzip") ||
+                 type.startsWith("application/x-gzip") ||
+                 type.startsWith("application/x-bzip2") ||
+                 type.startsWith("application/x-xz") ||
+                 type.startsWith("application/x-7z-compressed") ||
+                 type.startsWith("application/x-rar-compressed"));
+    }
+
+    private EmbeddedChannel newEncoder(String targetContentEncoding) {
+        if ("zstd".equals(targetContentEncoding)) {
+            return new EmbeddedChannel(new ZstdEncoder());
+        }
+        ZlibWrapper wrapper = "gzip".equals(targetContentEncoding) ? ZlibWrapper.GZIP : ZlibWrapper.ZLIB;
+        return new EmbeddedChannel(ZlibCodecFactory.newZlibEncoder(wrapper, compressionLevel, windowBits, memLevel));
+    }
+
+    private static String targetContentEncoding(ZlibWrapper wrapper) {
         switch (wrapper) {
         case GZIP:
-            targetContentEncoding = "gzip";
-            break;
+            return "gzip";
         case ZLIB:
-            targetContentEncoding = "deflate";
-            break;
+            return "deflate";
         default:
             throw new Error();
         }
+    }
 
-        return new Result(
-                targetContentEncoding,
-                new EmbeddedChannel(ZlibCodecFactory.newZlibEncoder(
-                        wrapper, compressionLevel, windowBits, memLevel)));
+    /**
+     * Returns the content encoding to use for the given {@code "Accept-Encoding"} header, or {@code null} to leave
+     * the content uncompressed.  {@code "zstd"} is returned only if its quality value is higher than that of the
+     * encoding chosen by {@link #determineWrapper(CharSequence)}; override this method to prefer it on a tie.
+     */
+    protected String determineEncoding(CharSequence acceptEncoding) {
+        Map<String, Float> qValues = qValues(acceptEncoding);
+        // Only parse the header again if a sub-class decides on the wrapper itself.
+        ZlibWrapper wrapper = determineWrapperOverridden ? determineWrapper(acceptEncoding) : determineWrapper(qValues);
+        float zstdQ = qValue(qValues, "zstd");
+        if (zstdQ > 0.0f) {
+            // Compare against the quality value which selected the wrapper, which may be the one of "*".
+            float wrapperQ = wrapper == null ? 0.0f : qValue(qValues, targetContentEncoding(wrapper));
+            if (zstdQ > wrapperQ) {
+                return "zstd";
+            }
+        }
+        return wrapper == null ? null : targetContentEncoding(wrapper);
     }
 
-    @SuppressWarnings("FloatingPointEquality")
-    protected ZlibWrapper determineWrapper(CharSequence acceptEncoding) {
-        float starQ = -1.0f;
-        float gzipQ = -1.0f;
-        float deflateQ = -1.0f;
+    private static boolean overridesDetermineWrapper(Class<?> clazz) {
+        try {
+            for (; clazz != HttpContentCompressor.class; clazz = clazz.getSuperclass()) {
+                try {
+                    clazz.getDeclaredMethod("determineWrapper", CharSequence.class);
+                    return true;
+                } catch (NoSuchMethodException ignored) {
+                    // Look at the super class.
+                }
+            }
+            return false;
+        } catch (SecurityException ignored) {
+            // Assume the worst.
+            return true;
+        }
+    }
+
+    /**
+     * Returns the quality value of {@code coding}, or the one of {@code "*"} if it is not listed, or {@code -1}.
+     */
+    private static float qValue(Map<String, Float> qValues, String coding) {
+        Float q = qValues.get(coding);
+        if (q == null) {
+            q = qValues.get("*");
+        }
+        return q != null ? q : -1.0f;
+    }
+
+    /**
+     * Returns the quality value of {@code coding} if it is listed, or {@code -1}.
+     */
+    private static float listedQValue(Map<String, Float> qValues, String coding) {
+        Float q = qValues.get(coding);
+        return q != null ? q : -1.0f;
+    }
+
+    /**
+     * Parses the {@code "Accept-Encoding"} header into the quality values of {@code "*"}, {@code "gzip"},
+     * {@code "deflate"} and {@code "zstd"}.
+     */
+    private static Map<String, Float> qValues(CharSequence acceptEncoding) {
+        Map<String, Float> qValues = new HashMap<String, Float>(4);
         for (String encoding: StringUtil.split(acceptEncoding.toString(), ',')) {
             float q = 1.0f;
             int equalsPos = encoding.indexOf('=');
@@ -141,13 +364,36 @@ public class HttpContentCompressor extends HttpContentEncoder {
                 }
             }
             if (encoding.contains("*")) {
-                starQ = q;
-            } else if (encoding.contains("gzip") && q > gzipQ) {
-                gzipQ = q;
-            } else if (encoding.contains("deflate") && q > deflateQ) {
-                deflateQ = q;
+                qValues.put("*", q);
+                continue;
+            }
+            String coding;
+            if (encoding.contains("gzip")) {
+                coding = "gzip";
+            } else if (encoding.contains("deflate")) {
+                coding = "deflate";
+            } else if (encoding.contains("zstd")) {
+                coding = "zstd";
+            } else {
+                continue;
+            }
+            Float oldQ = qValues.get(coding);
+            if (oldQ == null || q > oldQ) {
+                qValues.put(coding, q);
             }
         }
+        return qValues;
+    }
+
+    protected ZlibWrapper determineWrapper(CharSequence acceptEncoding) {
+        return determineWrapper(qValues(acceptEncoding));
+    }
+
+    @SuppressWarnings("FloatingPointEquality")
+    private static ZlibWrapper determineWrapper(Map<String, Float> qValues) {
+        float starQ = listedQValue(qValues, "*");
+        float gzipQ = listedQValue(qValues, "gzip");
+        float deflateQ = listedQValue(qValues, "deflate");
         if (gzipQ > 0.0f || deflateQ > 0.0f) {
             if (gzipQ >= deflateQ) {
                 return ZlibWrapper.GZIP;
@@ -18,10 +18,11 @@ package io.netty.handler.codec.http;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.compression.ZlibCodecFactory;
 import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.handler.codec.compression.ZstdDecoder;
 
 /**
  * Decompresses an {@link HttpMessage} and an {@link HttpContent} compressed in
- * {@code gzip} or {@code deflate} encoding.  For more information on how this
+ * {@code gzip}, {@code deflate} or {@code zstd} encoding.  For more information on how this
  * handler modifies the message, please refer to {@link HttpContentDecoder}.
  */
 public class HttpContentDecompressor extends HttpContentDecoder {
@@ -57,6 +58,9 @@ public class HttpContentDecompressor extends HttpContentDecoder {
             // To be strict, 'deflate' means ZLIB, but some servers were not implemented correctly.
             return new EmbeddedChannel(ZlibCodecFactory.newZlibDecoder(wrapper));
         }
+        if (HttpHeaders.Values.ZSTD.equalsIgnoreCase(contentEncoding)) {
+            return new EmbeddedChannel(new ZstdDecoder());
+        }
 
         // 'identity' or unsupported
         return null;
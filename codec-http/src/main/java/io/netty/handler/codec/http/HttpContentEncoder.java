@@ -59,6 +59,9 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
     }
 
     private final Queue<CharSequence> acceptEncodingQueue = new ArrayDeque<CharSequence>();
+    // The Host and URI of the requests, in the same order as acceptEncodingQueue.
+    private final Queue<String> hostQueue = new ArrayDeque<String>();
+    private final Queue<String> uriQueue = new ArrayDeque<String>();
     private CharSequence acceptEncoding;
     private EmbeddedChannel encoder;
     private State state = State.AWAIT_HEADERS;
@@ -76,6 +79,9 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
             acceptedEncoding = HttpHeaders.Values.IDENTITY;
         }
         acceptEncodingQueue.add(acceptedEncoding);
+        String host = msg.headers().get(HttpHeaders.Names.HOST);
+        hostQueue.add(host != null ? host : "");
+        uriQueue.add(msg.uri());
         out.add(ReferenceCountUtil.retain(msg));
     }
 
@@ -105,6 +111,8 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
                 if (acceptEncoding == null) {
                     throw new IllegalStateException("cannot send more responses than requests");
                 }
+                String host = hostQueue.poll();
+                String uri = uriQueue.poll();
 
                 if (isFull) {
                     // Pass through the full response with empty content and continue waiting for the the next resp.
@@ -112,6 +120,15 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
                         out.add(ReferenceCountUtil.retain(res));
                         break;
                     }
+
+                    if (res instanceof FullHttpResponse) {
+                        FullHttpResponse encoded = encodeFullResponse(
+                                (FullHttpResponse) res, acceptEncoding, host, uri);
+                        if (encoded != null) {
+                            out.add(encoded);
+                            break;
+                        }
+                    }
                 }
 
                 // Prepare to encode the content.
@@ -230,6 +247,29 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
      */
     protected abstract Result beginEncode(HttpResponse headers, CharSequence acceptEncoding) throws Exception;
 
+    /**
+     * Encodes the content of a {@link FullHttpResponse} at once, e.g. by looking it up in a cache.  This method is
+     * invoked before {@link #beginEncode(HttpResponse, CharSequence)} for each {@link FullHttpResponse} with
+     * non-empty content.  The default implementation returns {@code null}.
+     *
+     * @param res
+     *        the response, which is released after this method returns
+     * @param acceptEncoding
+     *        the value of the {@code "Accept-Encoding"} header
+     * @param host
+     *        the value of the {@code "Host"} header of the request, or an empty string if it had none
+     * @param uri
+     *        the URI of the request
+     *
+     * @return a new {@link FullHttpResponse} with the encoded content and the updated {@code "Content-Encoding"}
+     *         and {@code "Content-Length"} headers, or {@code null} to encode the content with the
+     *         {@link EmbeddedChannel} returned by {@link #beginEncode(HttpResponse, CharSequence)}
+     */
+    protected FullHttpResponse encodeFullResponse(
+            FullHttpResponse res, CharSequence acceptEncoding, String host, String uri) throws Exception {
+        return null;
+    }
+
     @Override
     public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
         cleanup();
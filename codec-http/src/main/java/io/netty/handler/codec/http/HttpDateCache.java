@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.handler.codec.AsciiString;
+import io.netty.handler.codec.DateFormatter;
+import io.netty.util.concurrent.FastThreadLocal;
+
+/**
+ * Provides the value of the {@code Date} header for the current second.
+ * <p>
+ * The value is formatted at most once per second and per thread, so an {@link io.netty.channel.EventLoop} which
+ * writes thousands of responses per second formats the date only once for all of them.  The returned
+ * {@link AsciiString} is written as-is by {@link HttpResponseEncoder}.
+ * <pre>
+ * response.headers().set({@link HttpHeaders.Names#DATE}, {@link HttpDateCache}.currentDate());
+ * </pre>
+ */
+public final class HttpDateCache {
+
+    private static final FastThreadLocal<HttpDateCache> CACHE = new FastThreadLocal<HttpDateCache>() {
+        @Override
+        protected HttpDateCache initialValue() {
+            return new HttpDateCache();
+        }
+    };
+
+    /**
+     * Returns the RFC 1123 representation of the current time, e.g. {@code "Sun, 06 Nov 1994 08:49:37 GMT"}.
+     */
+    public static AsciiString currentDate() {
+        return CACHE.get().date(System.currentTimeMillis());
+    }
+
+    private long second = Long.MIN_VALUE;
+    private AsciiString date;
+
+    HttpDateCache() {
+    }
+
+    AsciiString date(long millis) {
+        long second = millis / 1000;
+        if (second != this.second) {
+            date = new AsciiString(DateFormatter.format(second * 1000));
+            this.second = second;
+        }
+        return date;
+    }
+}
@@ -33,321 +33,331 @@ public interface HttpHeaders extends TextHeaders {
         /**
          * {@code "Accept"}
          */
-        public static final AsciiString ACCEPT = new AsciiString("Accept");
+        public static final AsciiString ACCEPT = newName("Accept");
         /**
          * {@code "Accept-Charset"}
          */
-        public static final AsciiString ACCEPT_CHARSET = new AsciiString("Accept-Charset");
+        public static final AsciiString ACCEPT_CHARSET = newName("Accept-Charset");
         /**
          * {@code "Accept-Encoding"}
          */
-        public static final AsciiString ACCEPT_ENCODING = new AsciiString("Accept-Encoding");
+        public static final AsciiString ACCEPT_ENCODING = newName("Accept-Encoding");
         /**
          * {@code "Accept-Language"}
          */
-        public static final AsciiString ACCEPT_LANGUAGE = new AsciiString("Accept-Language");
+        public static final AsciiString ACCEPT_LANGUAGE = newName("Accept-Language");
         /**
          * {@code "Accept-Ranges"}
          */
-        public static final AsciiString ACCEPT_RANGES = new AsciiString("Accept-Ranges");
+        public static final AsciiString ACCEPT_RANGES = newName("Accept-Ranges");
         /**
          * {@code "Accept-Patch"}
          */
-        public static final AsciiString ACCEPT_PATCH = new AsciiString("Accept-Patch");
+        public static final AsciiString ACCEPT_PATCH = newName("Accept-Patch");
         /**
          * {@code "Access-Control-Allow-Credentials"}
          */
         public static final AsciiString ACCESS_CONTROL_ALLOW_CREDENTIALS =
-                new AsciiString("Access-Control-Allow-Credentials");
+                newName("Access-Control-Allow-Credentials");
         /**
          * {@code "Access-Control-Allow-Headers"}
          */
         public static final AsciiString ACCESS_CONTROL_ALLOW_HEADERS =
-                new AsciiString("Access-Control-Allow-Headers");
+                newName("Access-Control-Allow-Headers");
         /**
          * {@code "Access-Control-Allow-Methods"}
          */
         public static final AsciiString ACCESS_CONTROL_ALLOW_METHODS =
-                new AsciiString("Access-Control-Allow-Methods");
+                newName("Access-Control-Allow-Methods");
         /**
          * {@code "Access-Control-Allow-Origin"}
          */
         public static final AsciiString ACCESS_CONTROL_ALLOW_ORIGIN =
-                new AsciiString("Access-Control-Allow-Origin");
+                newName("Access-Control-Allow-Origin");
         /**
          * {@code "Access-Control-Expose-Headers"}
          */
         public static final AsciiString ACCESS_CONTROL_EXPOSE_HEADERS =
-                new AsciiString("Access-Control-Expose-Headers");
+                newName("Access-Control-Expose-Headers");
         /**
          * {@code "Access-Control-Max-Age"}
          */
-        public static final AsciiString ACCESS_CONTROL_MAX_AGE = new AsciiString("Access-Control-Max-Age");
+        public static final AsciiString ACCESS_CONTROL_MAX_AGE = newName("Access-Control-Max-Age");
         /**
          * {@code "Access-Control-Request-Headers"}
          */
         public static final AsciiString ACCESS_CONTROL_REQUEST_HEADERS =
-                new AsciiString("Access-Control-Request-Headers");
+                newName("Access-Control-Request-Headers");
         /**
          * {@code "Access-Control-Request-Method"}
          */
         public static final AsciiString ACCESS_CONTROL_REQUEST_METHOD =
-                new AsciiString("Access-Control-Request-Method");
+                newName("Access-Control-Request-Method");
         /**
          * {@code "Age"}
          */
-        public static final AsciiString AGE = new AsciiString("Age");
+        public static final AsciiString AGE = newName("Age");
         /**
          * {@code "Allow"}
          */
-        public static final AsciiString ALLOW = new AsciiString("Allow");
+        public static final AsciiString ALLOW = newName("Allow");
         /**
          * {@code "Authorization"}
          */
-        public static final AsciiString AUTHORIZATION = new AsciiString("Authorization");
+        public static final AsciiString AUTHORIZATION = newName("Authorization");
         /**
          * {@code "Cache-Control"}
          */
-        public static final AsciiString CACHE_CONTROL = new AsciiString("Cache-Control");
+        public static final AsciiString CACHE_CONTROL = newName("Cache-Control");
         /**
          * {@code "Connection"}
          */
-        public static final AsciiString CONNECTION = new AsciiString("Connection");
+        public static final AsciiString CONNECTION = newName("Connection");
         /**
          * {@code "Content-Base"}
          */
-        public static final AsciiString CONTENT_BASE = new AsciiString("Content-Base");
+        public static final AsciiString CONTENT_BASE = newName("Content-Base");
         /**
          * {@code "Content-Encoding"}
          */
-        public static final AsciiString CONTENT_ENCODING = new AsciiString("Content-Encoding");
+        public static final AsciiString CONTENT_ENCODING = newName("Content-Encoding");
         /**
          * {@code "Content-Language"}
          */
-        public static final AsciiString CONTENT_LANGUAGE = new AsciiString("Content-Language");
+        public static final AsciiString CONTENT_LANGUAGE = newName("Content-Language");
         /**
          * {@code "Content-Length"}
          */
-        public static final AsciiString CONTENT_LENGTH = new AsciiString("Content-Length");
+        public static final AsciiString CONTENT_LENGTH = newName("Content-Length");
         /**
          * {@code "Content-Location"}
          */
-        public static final AsciiString CONTENT_LOCATION = new AsciiString("Content-Location");
+        public static final AsciiString CONTENT_LOCATION = newName("Content-Location");
         /**
          * {@code "Content-Transfer-Encoding"}
          */
-        public static final AsciiString CONTENT_TRANSFER_ENCODING = new AsciiString("Content-Transfer-Encoding");
+        public static final AsciiString CONTENT_TRANSFER_ENCODING = newName("Content-Transfer-Encoding");
         /**
          * {@code "Content-MD5"}
          */
-        public static final AsciiString CONTENT_MD5 = new AsciiString("Content-MD5");
+        public static final AsciiString CONTENT_MD5 = newName("Content-MD5");
         /**
          * {@code "Content-Range"}
          */
-        public static final AsciiString CONTENT_RANGE = new AsciiString("Content-Range");
+        public static final AsciiString CONTENT_RANGE = newName("Content-Range");
         /**
          * {@code "Content-Type"}
          */
-        public static final AsciiString CONTENT_TYPE = new AsciiString("Content-Type");
+        public static final AsciiString CONTENT_TYPE = newName("Content-Type");
         /**
          * {@code "Cookie"}
          */
-        public static final AsciiString COOKIE = new AsciiString("Cookie");
+        public static final AsciiString COOKIE = newName("Cookie");
         /**
          * {@code "Date"}
          */
-        public static final AsciiString DATE = new AsciiString("Date");
+        public static final AsciiString DATE = newName("Date");
         /**
          * {@code "ETag"}
          */
-        public static final AsciiString ETAG = new AsciiString("ETag");
+        public static final AsciiString ETAG = newName("ETag");
         /**
          * {@code "Expect"}
          */
-        public static final AsciiString EXPECT = new AsciiString("Expect");
+        public static final AsciiString EXPECT = newName("Expect");
         /**
          * {@code "Expires"}
          */
-        public static final AsciiString EXPIRES = new AsciiString("Expires");
+        public static final AsciiString EXPIRES = newName("Expires");
         /**
          * {@code "From"}
          */
-        public static final AsciiString FROM = new AsciiString("From");
+        public static final AsciiString FROM = newName("From");
         /**
          * {@code "Host"}
          */
-        public static final AsciiString HOST = new AsciiString("Host");
+        public static final AsciiString HOST = newName("Host");
         /**
          * {@code "If-Match"}
          */
-        public static final AsciiString IF_MATCH = new AsciiString("If-Match");
+        public static final AsciiString IF_MATCH = newName("If-Match");
         /**
          * {@code "If-Modified-Since"}
          */
-        public static final AsciiString IF_MODIFIED_SINCE = new AsciiString("If-Modified-Since");
+        public static final AsciiString IF_MODIFIED_SINCE = newName("If-Modified-Since");
         /**
          * {@code "If-None-Match"}
          */
-        public static final AsciiString IF_NONE_MATCH = new AsciiString("If-None-Match");
+        public static final AsciiString IF_NONE_MATCH = newName("If-None-Match");
         /**
          * {@code "If-Range"}
          */
-        public static final AsciiString IF_RANGE = new AsciiString("If-Range");
+        public static final AsciiString IF_RANGE = newName("If-Range");
         /**
          * {@code "If-Unmodified-Since"}
          */
-        public static final AsciiString IF_UNMODIFIED_SINCE = new AsciiString("If-Unmodified-Since");
+        public static final AsciiString IF_UNMODIFIED_SINCE = newName("If-Unmodified-Since");
         /**
          * {@code "Last-Modified"}
          */
-        public static final AsciiString LAST_MODIFIED = new AsciiString("Last-Modified");
+        public static final AsciiString LAST_MODIFIED = newName("Last-Modified");
         /**
          * {@code "Location"}
          */
-        public static final AsciiString LOCATION = new AsciiString("Location");
+        public static final AsciiString LOCATION = newName("Location");
         /**
          * {@code "Max-Forwards"}
          */
-        public static final AsciiString MAX_FORWARDS = new AsciiString("Max-Forwards");
+        public static final AsciiString MAX_FORWARDS = newName("Max-Forwards");
         /**
          * {@code "Origin"}
          */
-        public static final AsciiString ORIGIN = new AsciiString("Origin");
+        public static final AsciiString ORIGIN = newName("Origin");
         /**
          * {@code "Pragma"}
          */
-        public static final AsciiString PRAGMA = new AsciiString("Pragma");
+        public static final AsciiString PRAGMA = newName("Pragma");
         /**
          * {@code "Proxy-Authenticate"}
          */
-        public static final AsciiString PROXY_AUTHENTICATE = new AsciiString("Proxy-Authenticate");
+        public static final AsciiString PROXY_AUTHENTICATE = newName("Proxy-Authenticate");
         /**
          * {@code "Proxy-Authorization"}
          */
-        public static final AsciiString PROXY_AUTHORIZATION = new AsciiString("Proxy-Authorization");
+        public static final AsciiString PROXY_AUTHORIZATION = newName("Proxy-Authorization");
         /**
          * {@code "Range"}
          */
-        public static final AsciiString RANGE = new AsciiString("Range");
+        public static final AsciiString RANGE = newName("Range");
         /**
          * {@code "Referer"}
          */
-        public static final AsciiString REFERER = new AsciiString("Referer");
+        public static final AsciiString REFERER = newName("Referer");
         /**
          * {@code "Retry-After"}
          */
-        public static final AsciiString RETRY_AFTER = new AsciiString("Retry-After");
+        public static final AsciiString RETRY_AFTER = newName("Retry-After");
         /**
          * {@code "Sec-WebSocket-Key1"}
          */
-        public static final AsciiString SEC_WEBSOCKET_KEY1 = new AsciiString("Sec-WebSocket-Key1");
+        public static final AsciiString SEC_WEBSOCKET_KEY1 = newName("Sec-WebSocket-Key1");
         /**
          * {@code "Sec-WebSocket-Key2"}
          */
-        public static final AsciiString SEC_WEBSOCKET_KEY2 = new AsciiString("Sec-WebSocket-Key2");
+        public static final AsciiString SEC_WEBSOCKET_KEY2 = newName("Sec-WebSocket-Key2");
         /**
          * {@code "Sec-WebSocket-Location"}
          */
-        public static final AsciiString SEC_WEBSOCKET_LOCATION = new AsciiString("Sec-WebSocket-Location");
+        public static final AsciiString SEC_WEBSOCKET_LOCATION = newName("Sec-WebSocket-Location");
         /**
          * {@code "Sec-WebSocket-Origin"}
          */
-        public static final AsciiString SEC_WEBSOCKET_ORIGIN = new AsciiString("Sec-WebSocket-Origin");
+        public static final AsciiString SEC_WEBSOCKET_ORIGIN = newName("Sec-WebSocket-Origin");
         /**
          * {@code "Sec-WebSocket-Protocol"}
          */
-        public static final AsciiString SEC_WEBSOCKET_PROTOCOL = new AsciiString("Sec-WebSocket-Protocol");
+        public static final AsciiString SEC_WEBSOCKET_PROTOCOL = newName("Sec-WebSocket-Protocol");
         /**
          * {@code "Sec-WebSocket-Version"}
          */
-        public static final AsciiString SEC_WEBSOCKET_VERSION = new AsciiString("Sec-WebSocket-Version");
+        public static final AsciiString SEC_WEBSOCKET_VERSION = newName("Sec-WebSocket-Version");
         /**
          * {@code "Sec-WebSocket-Key"}
          */
-        public static final AsciiString SEC_WEBSOCKET_KEY = new AsciiString("Sec-WebSocket-Key");
+        public static final AsciiString SEC_WEBSOCKET_KEY = newName("Sec-WebSocket-Key");
         /**
          * {@code "Sec-WebSocket-Accept"}
          */
-        public static final AsciiString SEC_WEBSOCKET_ACCEPT = new AsciiString("Sec-WebSocket-Accept");
+        public static final AsciiString SEC_WEBSOCKET_ACCEPT = newName("Sec-WebSocket-Accept");
         /**
          * {@code "Sec-WebSocket-Protocol"}
          */
-        public static final AsciiString SEC_WEBSOCKET_EXTENSIONS = new AsciiString("Sec-WebSocket-Extensions");
+        public static final AsciiString SEC_WEBSOCKET_EXTENSIONS = newName("Sec-WebSocket-Extensions");
         /**
          * {@code "Server"}
          */
-        public static final AsciiString SERVER = new AsciiString("Server");
+        public static final AsciiString SERVER = newName("Server");
         /**
          * {@code "Set-Cookie"}
          */
-        public static final AsciiString SET_COOKIE = new AsciiString("Set-Cookie");
+        public static final AsciiString SET_COOKIE = newName("Set-Cookie");
         /**
          * {@code "Set-Cookie2"}
          */
-        public static final AsciiString SET_COOKIE2 = new AsciiString("Set-Cookie2");
+        public static final AsciiString SET_COOKIE2 = newName("Set-Cookie2");
         /**
          * {@code "TE"}
          */
-        public static final AsciiString TE = new AsciiString("TE");
+        public static final AsciiString TE = newName("TE");
         /**
          * {@code "Trailer"}
          */
-        public static final AsciiString TRAILER = new AsciiString("Trailer");
+        public static final AsciiString TRAILER = newName("Trailer");
         /**
          * {@code "Transfer-Encoding"}
          */
-        public static final AsciiString TRANSFER_ENCODING = new AsciiString("Transfer-Encoding");
+        public static final AsciiString TRANSFER_ENCODING = newName("Transfer-Encoding");
         /**
          * {@code "Upgrade"}
          */
-        public static final AsciiString UPGRADE = new AsciiString("Upgrade");
+        public static final AsciiString UPGRADE = newName("Upgrade");
         /**
          * {@code "User-Agent"}
          */
-        public static final AsciiString USER_AGENT = new AsciiString("User-Agent");
+        public static final AsciiString USER_AGENT = newName("User-Agent");
         /**
          * {@code "Vary"}
          */
-        public static final AsciiString VARY = new AsciiString("Vary");
+        public static final AsciiString VARY = newName("Vary");
         /**
          * {@code "Via"}
          */
-        public static final AsciiString VIA = new AsciiString("Via");
+        public static final AsciiString VIA = newName("Via");
         /**
          * {@code "Warning"}
          */
-        public static final AsciiString WARNING = new AsciiString("Warning");
+        public static final AsciiString WARNING = newName("Warning");
         /**
          * {@code "WebSocket-Location"}
          */
-        public static final AsciiString WEBSOCKET_LOCATION = new AsciiString("WebSocket-Location");
+        public static final AsciiString WEBSOCKET_LOCATION = newName("WebSocket-Location");
         /**
          * {@code "WebSocket-Origin"}
          */
-        public static final AsciiString WEBSOCKET_ORIGIN = new AsciiString("WebSocket-Origin");
+        public static final AsciiString WEBSOCKET_ORIGIN = newName("WebSocket-Origin");
         /**
          * {@code "WebSocket-Protocol"}
          */
-        public static final AsciiString WEBSOCKET_PROTOCOL = new AsciiString("WebSocket-Protocol");
+        public static final AsciiString WEBSOCKET_PROTOCOL = newName("WebSocket-Protocol");
         /**
          * {@code "WWW-Authenticate"}
          */
-        public static final AsciiString WWW_AUTHENTICATE = new AsciiString("WWW-Authenticate");
+        public static final AsciiString WWW_AUTHENTICATE = newName("WWW-Authenticate");
         /**
          * {@code "Keep-Alive"}
          * @deprecated use {@link #CONNECTION}
          */
         @Deprecated
-        public static final AsciiString KEEP_ALIVE = new AsciiString("Keep-Alive");
+        public static final AsciiString KEEP_ALIVE = newName("Keep-Alive");
         /**
          * {@code "Proxy-Connection"}
          * @deprecated use {@link #CONNECTION}
          */
         @Deprecated
-        public static final AsciiString PROXY_CONNECTION = new AsciiString("Proxy-Connection");
+        public static final AsciiString PROXY_CONNECTION = newName("Proxy-Connection");
 
         private Names() {
         }
+
+        /**
+         * Creates a header name whose case-insensitive hash code is computed up front, so that looking up the
+         * standard names in {@link DefaultHttpHeaders} never needs to hash them.
+         */
+        private static AsciiString newName(String name) {
+            AsciiString asciiName = new AsciiString(name);
+            asciiName.hashCode();
+            return asciiName;
+        }
     }
 
     /**
@@ -491,6 +501,10 @@ public interface HttpHeaders extends TextHeaders {
          * {@code "WebSocket"}
          */
         public static final AsciiString WEBSOCKET = new AsciiString("WebSocket");
+        /**
+         * {@code "zstd"}
+         */
+        public static final AsciiString ZSTD = new AsciiString("zstd");
 
         private Values() {
         }
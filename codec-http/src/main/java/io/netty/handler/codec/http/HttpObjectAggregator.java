@@ -16,6 +16,7 @@
 package io.netty.handler.codec.http;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.DefaultByteBufHolder;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
@@ -26,6 +27,8 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.DecoderResult;
 import io.netty.handler.codec.MessageAggregator;
 import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.multipart.DiskFileUpload;
+import io.netty.handler.codec.http.multipart.HttpData;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 
@@ -47,6 +50,14 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
  * </pre>
  * Be aware that you need to have the {@link HttpResponseEncoder} or {@link HttpRequestEncoder}
  * before the {@link HttpObjectAggregator} in the {@link ChannelPipeline}.
+ *
+ * <h3>Spilling large content to disk</h3>
+ * If {@code maxInMemoryContentLength} is smaller than {@code maxContentLength}, only the first
+ * {@code maxInMemoryContentLength} bytes of the content are kept in memory and the rest is written to a temporary
+ * file, which is created as specified by {@link DiskFileUpload#baseDirectory}.  The content of the aggregated
+ * message then consists of the in-memory part followed by a read-only memory mapping of the file, so large uploads
+ * neither exhaust the heap nor the direct memory.  The file is deleted once the content is released.  Note that the
+ * file is written from the {@link io.netty.channel.EventLoop}, so it should reside on a local file system.
  */
 public class HttpObjectAggregator
         extends MessageAggregator<HttpObject, HttpMessage, HttpContent, FullHttpMessage> {
@@ -61,6 +72,8 @@ public class HttpObjectAggregator
         TOO_LARGE.headers().set(HttpHeaders.Names.CONTENT_LENGTH, 0);
     }
 
+    private final int maxInMemoryContentLength;
+
     /**
      * Creates a new instance.
      *
@@ -71,7 +84,35 @@ public class HttpObjectAggregator
      *        will be called.
      */
     public HttpObjectAggregator(int maxContentLength) {
+        this(maxContentLength, maxContentLength);
+    }
+
+    /**
+     * Creates a new instance which spills content to disk.
+     *
+     * @param maxContentLength
+     *        the maximum length of the aggregated content.
+     *        If the length of the aggregated content exceeds this value,
+     *        {@link #handleOversizedMessage(ChannelHandlerContext, HttpMessage)}
+     *        will be called.
+     * @param maxInMemoryContentLength
+     *        the maximum number of content bytes which are kept in memory.  The rest of the content is written to a
+     *        temporary file.
+     */
+    public HttpObjectAggregator(int maxContentLength, int maxInMemoryContentLength) {
         super(maxContentLength);
+        if (maxInMemoryContentLength < 0) {
+            throw new IllegalArgumentException(
+                    "maxInMemoryContentLength: " + maxInMemoryContentLength + " (expected: >= 0)");
+        }
+        this.maxInMemoryContentLength = maxInMemoryContentLength;
+    }
+
+    /**
+     * Returns the maximum number of content bytes which are kept in memory before the rest is written to disk.
+     */
+    public final int maxInMemoryContentLength() {
+        return maxInMemoryContentLength;
     }
 
     @Override
@@ -132,14 +173,67 @@ public class HttpObjectAggregator
 
     @Override
     protected void aggregate(FullHttpMessage aggregated, HttpContent content) throws Exception {
+        AggregatedFullHttpMessage m = (AggregatedFullHttpMessage) aggregated;
         if (content instanceof LastHttpContent) {
             // Merge trailing headers into the message.
-            ((AggregatedFullHttpMessage) aggregated).setTrailingHeaders(((LastHttpContent) content).trailingHeaders());
+            m.setTrailingHeaders(((LastHttpContent) content).trailingHeaders());
+        }
+
+        CompositeByteBuf buf = (CompositeByteBuf) m.content();
+        if (buf.writerIndex() > maxInMemoryContentLength) {
+            spill(m, buf);
+        }
+    }
+
+    /**
+     * Moves the bytes after {@link #maxInMemoryContentLength} from the cumulation buffer to the temporary file.
+     */
+    private void spill(AggregatedFullHttpMessage m, CompositeByteBuf buf) throws Exception {
+        final int keep = maxInMemoryContentLength;
+        HttpData spilled = m.spilled;
+        if (spilled == null) {
+            m.spilled = spilled = new SpilledContent();
+        }
+        for (ByteBuf b: buf.decompose(keep, buf.writerIndex() - keep)) {
+            // addContent() releases the buffer.
+            spilled.addContent(b.retain(), false);
+        }
+
+        int cIndex = buf.toComponentIndex(keep);
+        int offset = buf.toByteIndex(cIndex);
+        ByteBuf head = offset < keep ? buf.component(cIndex).slice(0, keep - offset).retain() : null;
+        buf.removeComponents(cIndex, buf.numComponents() - cIndex);
+        if (head != null) {
+            buf.addComponent(head);
         }
+        buf.writerIndex(keep);
+    }
+
+    @Override
+    protected long aggregatedContentLength(FullHttpMessage aggregated) throws Exception {
+        HttpData spilled = ((AggregatedFullHttpMessage) aggregated).spilled;
+        long length = aggregated.content().readableBytes();
+        return spilled == null ? length : length + spilled.length();
     }
 
     @Override
     protected void finishAggregation(FullHttpMessage aggregated) throws Exception {
+        AggregatedFullHttpMessage m = (AggregatedFullHttpMessage) aggregated;
+        HttpData spilled = m.spilled;
+        if (spilled != null) {
+            spilled.addContent(null, true);
+            CompositeByteBuf buf = (CompositeByteBuf) m.content();
+            if (buf.numComponents() >= buf.maxNumComponents()) {
+                // Make room for the mapped file without copying it.
+                buf.consolidate();
+            }
+            ByteBuf mapped = MappedFileByteBuf.map(spilled);
+            // The mapped buffer owns the file from now on.
+            m.spilled = null;
+            buf.addComponent(mapped);
+            buf.writerIndex(buf.writerIndex() + mapped.readableBytes());
+        }
+
         // Set the 'Content-Length' header.
         aggregated.headers().set(
                 HttpHeaders.Names.CONTENT_LENGTH,
@@ -185,6 +279,8 @@ public class HttpObjectAggregator
     private abstract static class AggregatedFullHttpMessage extends DefaultByteBufHolder implements FullHttpMessage {
         protected final HttpMessage message;
         private HttpHeaders trailingHeaders;
+        // The part of the content which was written to disk while the message is being aggregated.
+        HttpData spilled;
 
         private AggregatedFullHttpMessage(HttpMessage message, ByteBuf content, HttpHeaders trailingHeaders) {
             super(content);
@@ -226,6 +322,31 @@ public class HttpObjectAggregator
             message.setDecoderResult(result);
         }
 
+        @Override
+        public boolean release() {
+            if (super.release()) {
+                releaseSpilled();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean release(int decrement) {
+            if (super.release(decrement)) {
+                releaseSpilled();
+                return true;
+            }
+            return false;
+        }
+
+        private void releaseSpilled() {
+            if (spilled != null) {
+                spilled.release();
+                spilled = null;
+            }
+        }
+
         @Override
         public FullHttpMessage retain(int increment) {
             super.retain(increment);
@@ -451,4 +572,19 @@ public class HttpObjectAggregator
             return this;
         }
     }
+
+    /**
+     * A {@link DiskFileUpload} whose file is not registered with {@link java.io.File#deleteOnExit()}, which would
+     * keep its path in memory until the JVM exits.  The file is deleted when the aggregated message is released.
+     */
+    private static final class SpilledContent extends DiskFileUpload {
+        SpilledContent() {
+            super("content", "content", "application/octet-stream", null, null, 0);
+        }
+
+        @Override
+        protected boolean deleteOnExit() {
+            return false;
+        }
+    }
 }
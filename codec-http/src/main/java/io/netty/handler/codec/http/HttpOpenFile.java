@@ -0,0 +1,108 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+
+/**
+ * A file opened for reading by {@link HttpStaticFileHandler}, together with the validators of its content.  The
+ * {@link FileChannel} is only read with absolute positions, so it may be shared by many concurrent transfers, and
+ * is closed once {@link #refCnt()} reaches {@code 0}.
+ */
+final class HttpOpenFile extends AbstractReferenceCounted {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(HttpOpenFile.class);
+
+    private final FileChannel channel;
+    private final long length;
+    private final long lastModified;
+    private final String etag;
+
+    static HttpOpenFile open(File file) throws IOException {
+        long lastModified = file.lastModified();
+        FileChannel channel = new RandomAccessFile(file, "r").getChannel();
+        long length;
+        try {
+            length = channel.size();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new HttpOpenFile(channel, length, lastModified);
+    }
+
+    private HttpOpenFile(FileChannel channel, long length, long lastModified) {
+        this.channel = channel;
+        this.length = length;
+        this.lastModified = lastModified;
+        etag = "\"" + Long.toHexString(lastModified) + '-' + Long.toHexString(length) + '"';
+    }
+
+    FileChannel channel() {
+        return channel;
+    }
+
+    long length() {
+        return length;
+    }
+
+    long lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Returns the strong entity tag of the content, derived from its length and last modification time.
+     */
+    String etag() {
+        return etag;
+    }
+
+    /**
+     * Returns {@code true} if {@code file} still has the length and last modification time seen when it was opened.
+     */
+    boolean isUpToDate(File file) {
+        return file.lastModified() == lastModified && file.length() == length;
+    }
+
+    @Override
+    public HttpOpenFile retain() {
+        super.retain();
+        return this;
+    }
+
+    @Override
+    public HttpOpenFile touch(Object hint) {
+        return this;
+    }
+
+    @Override
+    protected void deallocate() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("Failed to close a file.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least-recently-used cache of open files which can be shared by the {@link HttpStaticFileHandler}s of
+ * many channels, so that frequently requested files are not opened and closed for every request.  A cached file
+ * is revalidated against the length and last modification time of the file on every lookup and reopened when
+ * either has changed.  Evicted files are closed as soon as the transfers still reading them complete.
+ */
+public final class HttpOpenFileCache {
+
+    private final int maxEntries;
+
+    // Guarded by this.
+    private final Map<File, HttpOpenFile> entries = new LinkedHashMap<File, HttpOpenFile>(16, 0.75f, true);
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxEntries  the maximum number of files kept open by this cache
+     */
+    public HttpOpenFileCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries: " + maxEntries + " (expected: > 0)");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the open file, opening and caching it if necessary.  The caller must release the returned file.
+     */
+    HttpOpenFile acquire(File file) throws IOException {
+        HttpOpenFile cached;
+        synchronized (this) {
+            cached = entries.get(file);
+            if (cached != null) {
+                cached.retain();
+            }
+        }
+        if (cached != null) {
+            // Revalidate outside of the lock as it needs to stat the file.
+            if (cached.isUpToDate(file)) {
+                return cached;
+            }
+            synchronized (this) {
+                // Another thread may have replaced the entry meanwhile.
+                if (entries.get(file) == cached) {
+                    entries.remove(file);
+                    cached.release();
+                }
+            }
+            cached.release();
+        }
+
+        // Open the file outside of the lock as it may block.
+        HttpOpenFile opened = HttpOpenFile.open(file);
+        synchronized (this) {
+            HttpOpenFile old = entries.put(file, opened.retain());
+            if (old != null) {
+                old.release();
+            }
+
+            Iterator<HttpOpenFile> i = entries.values().iterator();
+            while (entries.size() > maxEntries) {
+                HttpOpenFile eldest = i.next();
+                i.remove();
+                eldest.release();
+            }
+        }
+        return opened;
+    }
+
+    /**
+     * Returns the number of files currently kept open by this cache.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all entries, closing the files which are not being transferred.
+     */
+    public synchronized void clear() {
+        for (HttpOpenFile file: entries.values()) {
+            file.release();
+        }
+        entries.clear();
+    }
+}
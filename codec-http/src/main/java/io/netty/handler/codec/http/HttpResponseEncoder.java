@@ -16,6 +16,7 @@
 package io.netty.handler.codec.http;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
 
 import static io.netty.handler.codec.http.HttpConstants.*;
 
@@ -26,6 +27,32 @@ import static io.netty.handler.codec.http.HttpConstants.*;
 public class HttpResponseEncoder extends HttpObjectEncoder<HttpResponse> {
     private static final byte[] CRLF = { CR, LF };
 
+    /**
+     * The complete initial lines of the responses with a standard {@link HttpResponseStatus} and either
+     * {@link HttpVersion#HTTP_1_1} or {@link HttpVersion#HTTP_1_0}, indexed by the status code.
+     */
+    private static final HttpResponseStatus[] STANDARD_STATUSES = new HttpResponseStatus[600];
+    private static final byte[][] HTTP_1_1_INITIAL_LINES = new byte[STANDARD_STATUSES.length][];
+    private static final byte[][] HTTP_1_0_INITIAL_LINES = new byte[STANDARD_STATUSES.length][];
+
+    static {
+        for (int code = 100; code < STANDARD_STATUSES.length; code ++) {
+            HttpResponseStatus status = HttpResponseStatus.valueOf(code);
+            if (status != HttpResponseStatus.valueOf(code)) {
+                // Not a standard status; valueOf(int) returned a new instance.
+                continue;
+            }
+            STANDARD_STATUSES[code] = status;
+            HTTP_1_1_INITIAL_LINES[code] = initialLine(HttpVersion.HTTP_1_1, status);
+            HTTP_1_0_INITIAL_LINES[code] = initialLine(HttpVersion.HTTP_1_0, status);
+        }
+    }
+
+    private static byte[] initialLine(HttpVersion version, HttpResponseStatus status) {
+        return (version.text() + ' ' + status.code() + ' ' + status.reasonPhrase() + "\r\n")
+                .getBytes(CharsetUtil.US_ASCII);
+    }
+
     @Override
     public boolean acceptOutboundMessage(Object msg) throws Exception {
         return super.acceptOutboundMessage(msg) && !(msg instanceof HttpRequest);
@@ -33,6 +60,20 @@ public class HttpResponseEncoder extends HttpObjectEncoder<HttpResponse> {
 
     @Override
     protected void encodeInitialLine(ByteBuf buf, HttpResponse response) throws Exception {
+        HttpResponseStatus status = response.status();
+        int code = status.code();
+        if (code < STANDARD_STATUSES.length && STANDARD_STATUSES[code] == status) {
+            HttpVersion version = response.protocolVersion();
+            if (version == HttpVersion.HTTP_1_1) {
+                buf.writeBytes(HTTP_1_1_INITIAL_LINES[code]);
+                return;
+            }
+            if (version == HttpVersion.HTTP_1_0) {
+                buf.writeBytes(HTTP_1_0_INITIAL_LINES[code]);
+                return;
+            }
+        }
+
         response.protocolVersion().encode(buf);
         buf.writeByte(SP);
         response.status().encode(buf);
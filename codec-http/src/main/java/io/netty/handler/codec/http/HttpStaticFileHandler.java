@@ -0,0 +1,505 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.DateFormatter;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedNioFile;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.util.CharsetUtil;
+import io.netty.util.internal.StringUtil;
+import io.netty.util.internal.ThreadLocalRandom;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static io.netty.handler.codec.http.HttpHeaders.Names.*;
+import static io.netty.handler.codec.http.HttpResponseStatus.*;
+import static io.netty.handler.codec.http.HttpVersion.*;
+
+/**
+ * Serves the files below a root directory in response to {@code GET} and {@code HEAD} requests.
+ * <ul>
+ * <li>The content is written as a {@link DefaultFileRegion}, so it is transferred with {@code sendfile()} where
+ *     the transport supports it.  If an {@link SslHandler} is present, it is read in chunks into buffers of the
+ *     channel's allocator with a {@link ChunkedNioFile}, which requires a {@link ChunkedWriteHandler} between the
+ *     {@link HttpResponseEncoder} and this handler.</li>
+ * <li>{@code "If-None-Match"} and {@code "If-Modified-Since"} are answered with {@code 304 Not Modified}, using
+ *     an {@code "ETag"} derived from the length and last modification time of the file.</li>
+ * <li>Single and multiple byte ranges are supported, the latter as {@code multipart/byteranges}, including
+ *     {@code "If-Range"}.</li>
+ * <li>If the client accepts {@code gzip} and a sibling file with the {@code .gz} suffix exists, e.g.
+ *     {@code app.js.gz} for {@code app.js}, it is sent instead with {@code "Content-Encoding: gzip"}.</li>
+ * <li>If an {@link HttpOpenFileCache} is given, files are kept open across requests and channels.</li>
+ * </ul>
+ * Path segments which start with {@code '.'} are never served.  The requests must be aggregated into
+ * {@link FullHttpRequest}s by an {@link HttpObjectAggregator}, and an {@link HttpContentCompressor} must not be
+ * placed between the {@link HttpResponseEncoder} and this handler, as the content is not written as
+ * {@link HttpContent}.
+ * <pre>
+ * {@link HttpOpenFileCache} cache = new {@link HttpOpenFileCache}(1024);
+ * {@link HttpStaticFileHandler} files = new {@link HttpStaticFileHandler}(new File("/var/www"), cache);
+ * ...
+ * pipeline.addLast("codec", new {@link HttpServerCodec}());
+ * pipeline.addLast("aggregator", new {@link HttpObjectAggregator}(65536));
+ * pipeline.addLast("chunkedWriter", new {@link ChunkedWriteHandler}());
+ * pipeline.addLast("files", files);
+ * </pre>
+ */
+@Sharable
+public class HttpStaticFileHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final int MAX_RANGES = 16;
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final Map<String, String> CONTENT_TYPES = new HashMap<String, String>();
+
+    static {
+        CONTENT_TYPES.put("html", "text/html");
+        CONTENT_TYPES.put("htm", "text/html");
+        CONTENT_TYPES.put("css", "text/css");
+        CONTENT_TYPES.put("js", "application/javascript");
+        CONTENT_TYPES.put("json", "application/json");
+        CONTENT_TYPES.put("xml", "application/xml");
+        CONTENT_TYPES.put("txt", "text/plain");
+        CONTENT_TYPES.put("csv", "text/csv");
+        CONTENT_TYPES.put("svg", "image/svg+xml");
+        CONTENT_TYPES.put("png", "image/png");
+        CONTENT_TYPES.put("jpg", "image/jpeg");
+        CONTENT_TYPES.put("jpeg", "image/jpeg");
+        CONTENT_TYPES.put("gif", "image/gif");
+        CONTENT_TYPES.put("webp", "image/webp");
+        CONTENT_TYPES.put("ico", "image/x-icon");
+        CONTENT_TYPES.put("woff", "application/font-woff");
+        CONTENT_TYPES.put("woff2", "font/woff2");
+        CONTENT_TYPES.put("ttf", "application/x-font-ttf");
+        CONTENT_TYPES.put("pdf", "application/pdf");
+        CONTENT_TYPES.put("zip", "application/zip");
+        CONTENT_TYPES.put("gz", "application/gzip");
+        CONTENT_TYPES.put("wasm", "application/wasm");
+        CONTENT_TYPES.put("mp3", "audio/mpeg");
+        CONTENT_TYPES.put("mp4", "video/mp4");
+        CONTENT_TYPES.put("webm", "video/webm");
+    }
+
+    private final File root;
+    private final HttpOpenFileCache cache;
+
+    /**
+     * Creates a new instance which opens the requested file for every request.
+     *
+     * @param root  the directory whose files are served
+     */
+    public HttpStaticFileHandler(File root) {
+        this(root, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param root   the directory whose files are served
+     * @param cache  the cache of open files, or {@code null} to open the requested file for every request
+     */
+    public HttpStaticFileHandler(File root, HttpOpenFileCache cache) {
+        if (root == null) {
+            throw new NullPointerException("root");
+        }
+        this.root = root.getAbsoluteFile();
+        this.cache = cache;
+    }
+
+    @Override
+    protected void messageReceived(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
+        if (!request.decoderResult().isSuccess()) {
+            sendStatus(ctx, BAD_REQUEST, false);
+            return;
+        }
+
+        boolean keepAlive = HttpHeaderUtil.isKeepAlive(request);
+        HttpMethod method = request.method();
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            FullHttpResponse res = newStatusResponse(METHOD_NOT_ALLOWED);
+            res.headers().set(ALLOW, "GET, HEAD");
+            send(ctx, res, keepAlive);
+            return;
+        }
+
+        File file = resolve(request.uri());
+        if (file == null) {
+            sendStatus(ctx, NOT_FOUND, keepAlive);
+            return;
+        }
+
+        // Prefer a precompressed sibling if the client accepts it.
+        File gzipFile = new File(file.getPath() + ".gz");
+        boolean hasGzip = gzipFile.isFile();
+        HttpOpenFile openFile = null;
+        if (hasGzip && acceptsGzip(request.headers().get(ACCEPT_ENCODING))) {
+            openFile = open(gzipFile);
+        }
+        boolean gzip = openFile != null;
+        if (!gzip) {
+            openFile = open(file);
+            if (openFile == null) {
+                sendStatus(ctx, NOT_FOUND, keepAlive);
+                return;
+            }
+        }
+
+        try {
+            HttpResponse res = new DefaultHttpResponse(HTTP_1_1, OK);
+            HttpHeaders headers = res.headers();
+            headers.set(DATE, HttpDateCache.currentDate());
+            headers.set(LAST_MODIFIED, DateFormatter.format(openFile.lastModified()));
+            headers.set(ETAG, openFile.etag());
+            headers.set(ACCEPT_RANGES, HttpHeaders.Values.BYTES);
+            if (hasGzip) {
+                headers.set(VARY, ACCEPT_ENCODING);
+            }
+
+            if (isNotModified(request.headers(), openFile)) {
+                FullHttpResponse notModified = new DefaultFullHttpResponse(HTTP_1_1, NOT_MODIFIED);
+                notModified.headers().set(headers);
+                send(ctx, notModified, keepAlive);
+                return;
+            }
+
+            String contentType = contentType(file);
+            if (gzip) {
+                headers.set(CONTENT_ENCODING, HttpHeaders.Values.GZIP);
+            }
+
+            long length = openFile.length();
+            long[] ranges = null;
+            if (method == HttpMethod.GET && isRangeApplicable(request.headers(), openFile)) {
+                ranges = parseRanges(request.headers().get(RANGE), length);
+            }
+
+            if (ranges == null) {
+                headers.set(CONTENT_TYPE, contentType);
+                HttpHeaderUtil.setContentLength(res, length);
+                ranges = new long[] { 0, length - 1 };
+            } else if (ranges.length == 0) {
+                FullHttpResponse notSatisfiable = newStatusResponse(REQUESTED_RANGE_NOT_SATISFIABLE);
+                notSatisfiable.headers().set(CONTENT_RANGE, "bytes */" + length);
+                send(ctx, notSatisfiable, keepAlive);
+                return;
+            } else if (ranges.length == 2) {
+                res.setStatus(PARTIAL_CONTENT);
+                headers.set(CONTENT_TYPE, contentType);
+                headers.set(CONTENT_RANGE, contentRange(ranges[0], ranges[1], length));
+                HttpHeaderUtil.setContentLength(res, ranges[1] - ranges[0] + 1);
+            } else {
+                res.setStatus(PARTIAL_CONTENT);
+                writeMultipart(ctx, res, openFile, contentType, ranges, keepAlive);
+                return;
+            }
+
+            HttpHeaderUtil.setKeepAlive(res, keepAlive);
+            ctx.write(res);
+            if (method == HttpMethod.GET && length > 0) {
+                writeContent(ctx, openFile, ranges[0], ranges[1] - ranges[0] + 1);
+            }
+            writeLastContent(ctx, keepAlive);
+        } finally {
+            openFile.release();
+        }
+    }
+
+    /**
+     * Returns the value of the {@code "Content-Type"} header for the specified file.  The default implementation
+     * looks up the file name extension in a small table of common web content types.
+     */
+    protected String contentType(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        if (dot < 0) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+        String contentType = CONTENT_TYPES.get(name.substring(dot + 1).toLowerCase(Locale.US));
+        return contentType != null ? contentType : DEFAULT_CONTENT_TYPE;
+    }
+
+    /**
+     * Maps the path of the request URI to a file below the root directory, or returns {@code null} if the path
+     * is malformed or contains a segment that starts with {@code '.'}.
+     */
+    private File resolve(String uri) {
+        String path = new QueryStringDecoder(uri).path();
+        if (!path.startsWith("/")) {
+            return null;
+        }
+        try {
+            // '+' only means a space in the query string.
+            path = QueryStringDecoder.decodeComponent(path.replace("+", "%2B"), CharsetUtil.UTF_8);
+        } catch (IllegalArgumentException ignored) {
+            return null;
+        }
+
+        File file = root;
+        for (String segment: StringUtil.split(path, '/')) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.charAt(0) == '.' || segment.indexOf('\\') >= 0 || segment.indexOf(File.separatorChar) >= 0 ||
+                segment.indexOf('\0') >= 0) {
+                return null;
+            }
+            file = new File(file, segment);
+        }
+        return file == root ? null : file;
+    }
+
+    private HttpOpenFile open(File file) throws IOException {
+        try {
+            return cache != null ? cache.acquire(file) : HttpOpenFile.open(file);
+        } catch (FileNotFoundException ignored) {
+            // The file does not exist, is a directory or cannot be read.
+            return null;
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String encoding: StringUtil.split(acceptEncoding, ',')) {
+            int semicolon = encoding.indexOf(';');
+            String name = (semicolon >= 0 ? encoding.substring(0, semicolon) : encoding).trim();
+            if (!"gzip".equalsIgnoreCase(name)) {
+                continue;
+            }
+            int equals = encoding.indexOf('=', semicolon);
+            if (semicolon < 0 || equals < 0) {
+                return true;
+            }
+            try {
+                return Float.parseFloat(encoding.substring(equals + 1).trim()) > 0.0f;
+            } catch (NumberFormatException ignored) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNotModified(HttpHeaders headers, HttpOpenFile file) {
+        String ifNoneMatch = headers.get(IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String etag: StringUtil.split(ifNoneMatch, ',')) {
+                etag = etag.trim();
+                if (etag.startsWith("W/")) {
+                    etag = etag.substring(2);
+                }
+                if ("*".equals(etag) || etag.equals(file.etag())) {
+                    return true;
+                }
+            }
+            // If-Modified-Since is ignored if If-None-Match is present.
+            return false;
+        }
+
+        String ifModifiedSince = headers.get(IF_MODIFIED_SINCE);
+        if (ifModifiedSince != null) {
+            long since = DateFormatter.parseHttpDate(ifModifiedSince, -1);
+            // The Last-Modified header does not have milliseconds.
+            return since >= 0 && file.lastModified() / 1000 <= since / 1000;
+        }
+        return false;
+    }
+
+    private static boolean isRangeApplicable(HttpHeaders headers, HttpOpenFile file) {
+        String ifRange = headers.get(IF_RANGE);
+        if (ifRange == null || ifRange.equals(file.etag())) {
+            return true;
+        }
+        long date = DateFormatter.parseHttpDate(ifRange, -1);
+        return date >= 0 && date / 1000 == file.lastModified() / 1000;
+    }
+
+    /**
+     * Parses the value of a {@code "Range"} header into pairs of first and last byte positions.
+     *
+     * @return the satisfiable ranges, or {@code null} if the header is absent, malformed or has too many ranges
+     */
+    static long[] parseRanges(String range, long length) {
+        if (range == null || !range.regionMatches(true, 0, "bytes=", 0, 6)) {
+            return null;
+        }
+        String[] specs = StringUtil.split(range.substring(6), ',');
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+
+        long[] ranges = new long[specs.length * 2];
+        int n = 0;
+        for (String spec: specs) {
+            spec = spec.trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            long first;
+            long last;
+            try {
+                if (dash == 0) {
+                    long suffixLength = Long.parseLong(spec.substring(1));
+                    if (suffixLength < 0) {
+                        return null;
+                    }
+                    first = Math.max(0, length - suffixLength);
+                    last = length - 1;
+                } else {
+                    first = Long.parseLong(spec.substring(0, dash));
+                    last = dash == spec.length() - 1 ? Long.MAX_VALUE : Long.parseLong(spec.substring(dash + 1));
+                    if (first < 0 || last < first) {
+                        return null;
+                    }
+                    last = Math.min(last, length - 1);
+                }
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+            if (first <= last) {
+                ranges[n ++] = first;
+                ranges[n ++] = last;
+            }
+        }
+        return n == ranges.length ? ranges : Arrays.copyOf(ranges, n);
+    }
+
+    private static String contentRange(long first, long last, long length) {
+        return "bytes " + first + '-' + last + '/' + length;
+    }
+
+    private static void writeMultipart(
+            ChannelHandlerContext ctx, HttpResponse res, HttpOpenFile file,
+            String contentType, long[] ranges, boolean keepAlive) throws IOException {
+        String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        String[] partHeaders = new String[ranges.length / 2];
+        long contentLength = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            String partHeader = "\r\n--" + boundary + "\r\n" +
+                                CONTENT_TYPE + ": " + contentType + "\r\n" +
+                                CONTENT_RANGE + ": " + contentRange(ranges[i], ranges[i + 1], file.length()) +
+                                "\r\n\r\n";
+            partHeaders[i / 2] = partHeader;
+            contentLength += partHeader.length() + ranges[i + 1] - ranges[i] + 1;
+        }
+        String end = "\r\n--" + boundary + "--\r\n";
+        contentLength += end.length();
+
+        res.headers().set(CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+        HttpHeaderUtil.setContentLength(res, contentLength);
+        HttpHeaderUtil.setKeepAlive(res, keepAlive);
+        ctx.write(res);
+        for (int i = 0; i < ranges.length; i += 2) {
+            ctx.write(Unpooled.copiedBuffer(partHeaders[i / 2], CharsetUtil.US_ASCII));
+            writeContent(ctx, file, ranges[i], ranges[i + 1] - ranges[i] + 1);
+        }
+        ctx.write(Unpooled.copiedBuffer(end, CharsetUtil.US_ASCII));
+        writeLastContent(ctx, keepAlive);
+    }
+
+    private static void writeContent(
+            ChannelHandlerContext ctx, HttpOpenFile file, long position, long count) throws IOException {
+        if (ctx.pipeline().get(SslHandler.class) == null) {
+            ctx.write(new OpenFileRegion(file, position, count));
+        } else {
+            ctx.write(new OpenChunkedFile(file, position, count));
+        }
+    }
+
+    private static void writeLastContent(ChannelHandlerContext ctx, boolean keepAlive) {
+        ChannelFuture future = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+        if (!keepAlive) {
+            future.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    private static FullHttpResponse newStatusResponse(HttpResponseStatus status) {
+        ByteBuf content = Unpooled.copiedBuffer(status + "\r\n", CharsetUtil.US_ASCII);
+        FullHttpResponse res = new DefaultFullHttpResponse(HTTP_1_1, status, content);
+        res.headers().set(CONTENT_TYPE, "text/plain; charset=UTF-8");
+        return res;
+    }
+
+    private static void sendStatus(ChannelHandlerContext ctx, HttpResponseStatus status, boolean keepAlive) {
+        send(ctx, newStatusResponse(status), keepAlive);
+    }
+
+    private static void send(ChannelHandlerContext ctx, FullHttpResponse res, boolean keepAlive) {
+        res.headers().set(DATE, HttpDateCache.currentDate());
+        if (res.status() != NOT_MODIFIED) {
+            HttpHeaderUtil.setContentLength(res, res.content().readableBytes());
+        }
+        HttpHeaderUtil.setKeepAlive(res, keepAlive);
+        ChannelFuture future = ctx.writeAndFlush(res);
+        if (!keepAlive) {
+            future.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    /**
+     * Transfers a range of an {@link HttpOpenFile} without closing it.
+     */
+    private static final class OpenFileRegion extends DefaultFileRegion {
+        private final HttpOpenFile file;
+
+        OpenFileRegion(HttpOpenFile file, long position, long count) {
+            super(file.channel(), position, count);
+            this.file = file.retain();
+        }
+
+        @Override
+        protected void deallocate() {
+            file.release();
+        }
+    }
+
+    /**
+     * Reads a range of an {@link HttpOpenFile} chunk by chunk without closing it.
+     */
+    private static final class OpenChunkedFile extends ChunkedNioFile {
+        private final HttpOpenFile file;
+        private boolean closed;
+
+        OpenChunkedFile(HttpOpenFile file, long position, long count) throws IOException {
+            super(file.channel(), position, count, CHUNK_SIZE);
+            this.file = file.retain();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                file.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DuplicatedByteBuf;
+import io.netty.buffer.SlicedByteBuf;
+import io.netty.buffer.SwappedByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.WrappedByteBuf;
+import io.netty.handler.codec.http.multipart.HttpData;
+import io.netty.util.internal.PlatformDependent;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * A read-only {@link ByteBuf} which maps the file of an {@link HttpData}.  The pages are loaded lazily by the
+ * operating system as they are accessed.  When the buffer is released, the file is unmapped and the
+ * {@link HttpData} is released, which deletes its temporary file.
+ * <p>
+ * All derived buffers refer to this instance so that releasing them ends up here.
+ */
+final class MappedFileByteBuf extends WrappedByteBuf {
+
+    private final MappedByteBuffer mapped;
+    private final HttpData data;
+
+    static MappedFileByteBuf map(HttpData data) throws IOException {
+        File file = data.getFile();
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            // The mapping stays valid after the file is closed.
+            return new MappedFileByteBuf(raf.getChannel().map(MapMode.READ_ONLY, 0, data.length()), data);
+        } finally {
+            raf.close();
+        }
+    }
+
+    private MappedFileByteBuf(MappedByteBuffer mapped, HttpData data) {
+        super(Unpooled.wrappedBuffer(mapped));
+        this.mapped = mapped;
+        this.data = data;
+    }
+
+    @Override
+    public ByteBuf order(ByteOrder endianness) {
+        if (order() == endianness) {
+            return this;
+        }
+        return new SwappedByteBuf(this);
+    }
+
+    @Override
+    public ByteBuf slice() {
+        return new SlicedByteBuf(this, readerIndex(), readableBytes());
+    }
+
+    @Override
+    public ByteBuf slice(int index, int length) {
+        return new SlicedByteBuf(this, index, length);
+    }
+
+    @Override
+    public ByteBuf readSlice(int length) {
+        ByteBuf slice = slice(readerIndex(), length);
+        skipBytes(length);
+        return slice;
+    }
+
+    @Override
+    public ByteBuf duplicate() {
+        return new DuplicatedByteBuf(this);
+    }
+
+    @Override
+    public boolean release() {
+        if (super.release()) {
+            deallocate();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        if (super.release(decrement)) {
+            deallocate();
+            return true;
+        }
+        return false;
+    }
+
+    private void deallocate() {
+        PlatformDependent.freeDirectBuffer(mapped);
+        data.release();
+    }
+}
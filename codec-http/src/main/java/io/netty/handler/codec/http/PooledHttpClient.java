@@ -0,0 +1,237 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.AbstractChannelPoolMap;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+
+import java.io.Closeable;
+import java.net.SocketAddress;
+import java.nio.channels.ClosedChannelException;
+
+/**
+ * A simple HTTP/1.1 client which keeps a {@link FixedChannelPool} of persistent connections per remote address.
+ * A connection is returned to its pool once the {@link FullHttpResponse} was received and both the request and the
+ * response allow keep-alive, otherwise it is closed.
+ * <p>
+ * Requests are not pipelined: a connection carries one outstanding request at a time.  Override
+ * {@link #initChannel(Channel)} to customize the pipeline, e.g. to add an {@link io.netty.handler.ssl.SslHandler}.
+ */
+public class PooledHttpClient implements Closeable {
+
+    private static final ClosedChannelException CLOSED_CHANNEL_EXCEPTION = new ClosedChannelException();
+
+    static {
+        CLOSED_CHANNEL_EXCEPTION.setStackTrace(new StackTraceElement[0]);
+    }
+
+    private final Bootstrap bootstrap;
+    private final int maxConnectionsPerAddress;
+    private final int maxContentLength;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final AbstractChannelPoolMap<SocketAddress, FixedChannelPool> pools =
+            new AbstractChannelPoolMap<SocketAddress, FixedChannelPool>() {
+                @Override
+                protected FixedChannelPool newPool(SocketAddress key) {
+                    return new FixedChannelPool(bootstrap.clone().remoteAddress(key), new PoolHandler(),
+                            ChannelHealthChecker.ACTIVE, maxConnectionsPerAddress, Integer.MAX_VALUE,
+                            acquireTimeoutMillis, idleTimeoutMillis);
+                }
+            };
+
+    /**
+     * Creates a new instance which waits forever for a free connection and never closes idle connections.
+     *
+     * @param bootstrap                 the {@link Bootstrap} whose group and channel type are used to connect
+     * @param maxConnectionsPerAddress  the maximum number of connections per remote address
+     * @param maxContentLength          the maximum length of the aggregated response content
+     */
+    public PooledHttpClient(Bootstrap bootstrap, int maxConnectionsPerAddress, int maxContentLength) {
+        this(bootstrap, maxConnectionsPerAddress, maxContentLength, 0, 0);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param bootstrap                 the {@link Bootstrap} whose group and channel type are used to connect
+     * @param maxConnectionsPerAddress  the maximum number of connections per remote address
+     * @param maxContentLength          the maximum length of the aggregated response content
+     * @param acquireTimeoutMillis      the time to wait for a free connection, or {@code 0} to wait forever
+     * @param idleTimeoutMillis         the time after which an idle connection is closed, or {@code 0} to keep it
+     */
+    public PooledHttpClient(Bootstrap bootstrap, int maxConnectionsPerAddress, int maxContentLength,
+                            long acquireTimeoutMillis, long idleTimeoutMillis) {
+        if (bootstrap == null) {
+            throw new NullPointerException("bootstrap");
+        }
+        if (maxConnectionsPerAddress <= 0) {
+            throw new IllegalArgumentException(
+                    "maxConnectionsPerAddress: " + maxConnectionsPerAddress + " (expected: > 0)");
+        }
+        if (maxContentLength < 0) {
+            throw new IllegalArgumentException("maxContentLength: " + maxContentLength + " (expected: >= 0)");
+        }
+        this.bootstrap = bootstrap.clone();
+        this.maxConnectionsPerAddress = maxConnectionsPerAddress;
+        this.maxContentLength = maxContentLength;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Sends the {@link FullHttpRequest} to the given remote address over a pooled connection.  The returned
+     * {@link Future} is notified with the {@link FullHttpResponse}, which must be released by the caller.
+     */
+    public Future<FullHttpResponse> execute(SocketAddress remoteAddress, final FullHttpRequest request) {
+        if (remoteAddress == null) {
+            throw new NullPointerException("remoteAddress");
+        }
+        if (request == null) {
+            throw new NullPointerException("request");
+        }
+
+        final FixedChannelPool pool = pools.get(remoteAddress);
+        final Promise<FullHttpResponse> promise = bootstrap.group().next().newPromise();
+        pool.acquire().addListener(new FutureListener<Channel>() {
+            @Override
+            public void operationComplete(Future<Channel> future) throws Exception {
+                if (!future.isSuccess()) {
+                    ReferenceCountUtil.release(request);
+                    promise.setFailure(future.cause());
+                    return;
+                }
+
+                final Channel ch = future.getNow();
+                final ResponseHandler handler = ch.pipeline().get(ResponseHandler.class);
+                handler.start(pool, HttpHeaderUtil.isKeepAlive(request), promise);
+                ch.writeAndFlush(request).addListener(new ChannelFutureListener() {
+                    @Override
+                    public void operationComplete(ChannelFuture future) throws Exception {
+                        if (!future.isSuccess()) {
+                            handler.fail(ch, future.cause());
+                        }
+                    }
+                });
+            }
+        });
+        return promise;
+    }
+
+    /**
+     * Closes all pooled connections.
+     */
+    @Override
+    public void close() {
+        pools.close();
+    }
+
+    /**
+     * Initializes the pipeline of a newly created connection.  The default implementation adds an
+     * {@link HttpClientCodec} and an {@link HttpObjectAggregator}.  The handler which completes the
+     * {@link Future}s returned by {@link #execute(SocketAddress, FullHttpRequest)} is added after this method
+     * returns.
+     */
+    protected void initChannel(Channel ch) throws Exception {
+        ChannelPipeline p = ch.pipeline();
+        p.addLast("codec", new HttpClientCodec());
+        p.addLast("aggregator", new HttpObjectAggregator(maxContentLength));
+    }
+
+    private final class PoolHandler extends AbstractChannelPoolHandler {
+        @Override
+        public void channelCreated(Channel ch) throws Exception {
+            initChannel(ch);
+            ch.pipeline().addLast("pooledHttpClientHandler", new ResponseHandler());
+        }
+    }
+
+    private static final class ResponseHandler extends ChannelHandlerAdapter {
+
+        private volatile FixedChannelPool pool;
+        private volatile boolean requestKeepAlive;
+        private volatile Promise<FullHttpResponse> promise;
+
+        void start(FixedChannelPool pool, boolean requestKeepAlive, Promise<FullHttpResponse> promise) {
+            this.pool = pool;
+            this.requestKeepAlive = requestKeepAlive;
+            this.promise = promise;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (!(msg instanceof FullHttpResponse)) {
+                ctx.fireChannelRead(msg);
+                return;
+            }
+
+            FullHttpResponse response = (FullHttpResponse) msg;
+            Promise<FullHttpResponse> promise = this.promise;
+            if (promise == null) {
+                // Unsolicited response, the connection is in an undefined state.
+                response.release();
+                ctx.close();
+                return;
+            }
+            this.promise = null;
+
+            Channel ch = ctx.channel();
+            if (!requestKeepAlive || !HttpHeaderUtil.isKeepAlive(response)) {
+                ch.close();
+            }
+            // Release before notifying the caller so a follow-up request can reuse the connection.
+            pool.release(ch);
+            if (!promise.trySuccess(response)) {
+                response.release();
+            }
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            fail(ctx.channel(), CLOSED_CHANNEL_EXCEPTION);
+            ctx.fireChannelInactive();
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+            fail(ctx.channel(), cause);
+        }
+
+        void fail(Channel ch, Throwable cause) {
+            Promise<FullHttpResponse> promise = this.promise;
+            ch.close();
+            if (promise == null) {
+                return;
+            }
+            this.promise = null;
+            pool.release(ch);
+            promise.tryFailure(cause);
+        }
+    }
+}
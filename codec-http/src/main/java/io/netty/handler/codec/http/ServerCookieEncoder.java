@@ -15,9 +15,10 @@
  */
 package io.netty.handler.codec.http;
 
+import io.netty.handler.codec.DateFormatter;
+
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Date;
 import java.util.List;
 
 import static io.netty.handler.codec.http.CookieEncoderUtil.*;
@@ -54,9 +55,7 @@ public final class ServerCookieEncoder {
         if (cookie.maxAge() != Long.MIN_VALUE) {
             if (cookie.version() == 0) {
                 addUnquoted(buf, CookieHeaderNames.EXPIRES,
-                        HttpHeaderDateFormat.get().format(
-                                new Date(System.currentTimeMillis() +
-                                         cookie.maxAge() * 1000L)));
+                        DateFormatter.format(System.currentTimeMillis() + cookie.maxAge() * 1000L));
             } else {
                 add(buf, CookieHeaderNames.MAX_AGE, cookie.maxAge());
             }
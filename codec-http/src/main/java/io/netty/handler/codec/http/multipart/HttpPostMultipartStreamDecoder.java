@@ -0,0 +1,357 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.multipart;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufProcessor;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpConstants;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder.ErrorDataDecoderException;
+import io.netty.util.CharsetUtil;
+
+import java.nio.charset.Charset;
+
+/**
+ * Decodes a {@code multipart/form-data} body while it arrives and notifies a
+ * {@link HttpPostMultipartStreamListener} about the start, the content and the end of each part.
+ * <p>
+ * Unlike {@link HttpPostMultipartRequestDecoder} it neither accumulates the body nor copies the content into
+ * {@link InterfaceHttpData}s: the content is passed on as slices of the offered {@link HttpContent}s, so the memory
+ * used per request is bounded by the size of the part headers and the boundary, independent of the size of the
+ * uploaded files.  The boundary is located with the Boyer-Moore-Horspool algorithm, which skips up to the length of
+ * the boundary per comparison.
+ * <p>
+ * The decoder does not handle {@code Content-Transfer-Encoding} or nested {@code multipart/mixed} parts; the listener
+ * receives the raw content of each part.
+ * <p>
+ * You <strong>MUST</strong> call {@link #destroy()} after completion to release all resources.
+ */
+public class HttpPostMultipartStreamDecoder {
+
+    private static final int DEFAULT_MAX_HEADER_SIZE = 8192;
+
+    private enum State {
+        PREAMBLE,
+        DELIMITER_LINE,
+        HEADERS,
+        BODY,
+        EPILOGUE
+    }
+
+    private final HttpPostMultipartStreamListener listener;
+    private final Charset charset;
+    private final int maxHeaderSize;
+
+    /**
+     * {@code CRLF "--" boundary}.  Only its first byte is a CR as the boundary must not contain one.
+     */
+    private final byte[] delimiter;
+    private final int[] shifts = new int[256];
+
+    /**
+     * The prefix of the delimiter which was found at the end of the previously offered content.
+     */
+    private final ByteBuf carry;
+    private final ByteBuf line;
+
+    private State state = State.PREAMBLE;
+    private HttpHeaders headers;
+    private String headerName;
+    private StringBuilder headerValue;
+    private int headerSize;
+    private boolean destroyed;
+
+    /**
+     * Creates a new instance which allows at most 8192 bytes of headers per part.
+     *
+     * @throws ErrorDataDecoderException if the request is not a multipart request
+     */
+    public HttpPostMultipartStreamDecoder(HttpRequest request, HttpPostMultipartStreamListener listener) {
+        this(request, listener, DEFAULT_MAX_HEADER_SIZE);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param request        the request whose {@code Content-Type} header specifies the boundary
+     * @param listener       the listener to notify
+     * @param maxHeaderSize  the maximum size of the headers of a part
+     * @throws ErrorDataDecoderException if the request is not a multipart request
+     */
+    public HttpPostMultipartStreamDecoder(
+            HttpRequest request, HttpPostMultipartStreamListener listener, int maxHeaderSize) {
+        if (request == null) {
+            throw new NullPointerException("request");
+        }
+        if (listener == null) {
+            throw new NullPointerException("listener");
+        }
+        if (maxHeaderSize <= 0) {
+            throw new IllegalArgumentException("maxHeaderSize: " + maxHeaderSize + " (expected: > 0)");
+        }
+
+        String contentType = request.headers().get(HttpHeaders.Names.CONTENT_TYPE);
+        String[] boundary = contentType == null ? null : HttpPostRequestDecoder.getMultipartDataBoundary(contentType);
+        if (boundary == null) {
+            throw new ErrorDataDecoderException("Not a multipart request: " + contentType);
+        }
+
+        this.listener = listener;
+        this.maxHeaderSize = maxHeaderSize;
+        charset = boundary.length > 1 ? Charset.forName(boundary[1]) : HttpConstants.DEFAULT_CHARSET;
+
+        delimiter = ("\r\n" + boundary[0]).getBytes(CharsetUtil.US_ASCII);
+        int last = delimiter.length - 1;
+        for (int i = 0; i < shifts.length; i ++) {
+            shifts[i] = delimiter.length;
+        }
+        for (int i = 0; i < last; i ++) {
+            shifts[delimiter[i] & 0xFF] = last - i;
+        }
+
+        carry = Unpooled.buffer(delimiter.length);
+        line = Unpooled.buffer(128);
+        // The body may start with the boundary without a leading CRLF.
+        carry.writeByte(HttpConstants.CR).writeByte(HttpConstants.LF);
+    }
+
+    /**
+     * Decodes the given {@link HttpContent} and notifies the listener.  The content is not released.
+     *
+     * @throws ErrorDataDecoderException if the body is malformed or truncated, or a header section is too large
+     */
+    public void offer(HttpContent content) {
+        if (destroyed) {
+            throw new IllegalStateException("already destroyed");
+        }
+
+        ByteBuf buf = content.content();
+        int idx = buf.readerIndex();
+        int end = buf.writerIndex();
+        while (idx < end) {
+            switch (state) {
+            case PREAMBLE:
+            case BODY:
+                idx = decodeBody(buf, idx, end);
+                break;
+            case DELIMITER_LINE:
+                idx = decodeDelimiterLine(buf, idx, end);
+                break;
+            case HEADERS:
+                idx = decodeHeaderLine(buf, idx, end);
+                break;
+            case EPILOGUE:
+                idx = end;
+                break;
+            default:
+                throw new Error();
+            }
+        }
+
+        if (content instanceof LastHttpContent && state != State.EPILOGUE) {
+            throw new ErrorDataDecoderException("Multipart body ended without the closing boundary");
+        }
+    }
+
+    /**
+     * Returns {@code true} if the closing boundary was decoded.
+     */
+    public boolean isEnded() {
+        return state == State.EPILOGUE;
+    }
+
+    /**
+     * Releases all resources.
+     */
+    public void destroy() {
+        if (!destroyed) {
+            destroyed = true;
+            carry.release();
+            line.release();
+        }
+    }
+
+    private int decodeBody(ByteBuf buf, int idx, int end) {
+        if (carry.isReadable()) {
+            int carried = carry.readableBytes();
+            int n = Math.min(delimiter.length - carried, end - idx);
+            if (!matches(buf, idx, carried, n)) {
+                // The carried bytes are content: the delimiter can only start at their first byte, the only CR.
+                // Hand out a copy as a retained slice of carry would be overwritten by the next partial delimiter.
+                ByteBuf content = carry.copy(carry.readerIndex(), carried);
+                try {
+                    emitContent(content, 0, carried);
+                } finally {
+                    content.release();
+                }
+                carry.clear();
+            } else if (carried + n < delimiter.length) {
+                carry.writeBytes(buf, idx, n);
+                return end;
+            } else {
+                carry.clear();
+                delimiterFound();
+                return idx + n;
+            }
+        }
+
+        int pos = indexOfDelimiter(buf, idx, end);
+        if (pos >= 0) {
+            emitContent(buf, idx, pos - idx);
+            delimiterFound();
+            return pos + delimiter.length;
+        }
+
+        // Keep a trailing partial delimiter until the next content arrives.
+        int tail = indexOfPartialDelimiter(buf, idx, end);
+        emitContent(buf, idx, tail - idx);
+        carry.writeBytes(buf, tail, end - tail);
+        return end;
+    }
+
+    private int indexOfDelimiter(ByteBuf buf, int idx, int end) {
+        final byte[] delimiter = this.delimiter;
+        final int last = delimiter.length - 1;
+        final byte lastByte = delimiter[last];
+        for (int i = idx; i <= end - delimiter.length;) {
+            byte b = buf.getByte(i + last);
+            if (b == lastByte && matches(buf, i, 0, last)) {
+                return i;
+            }
+            i += shifts[b & 0xFF];
+        }
+        return -1;
+    }
+
+    private int indexOfPartialDelimiter(ByteBuf buf, int idx, int end) {
+        for (int i = Math.max(idx, end - delimiter.length + 1); i < end; i ++) {
+            if (buf.getByte(i) == HttpConstants.CR && matches(buf, i, 0, end - i)) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private boolean matches(ByteBuf buf, int idx, int delimiterIndex, int length) {
+        for (int i = 0; i < length; i ++) {
+            if (buf.getByte(idx + i) != delimiter[delimiterIndex + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void emitContent(ByteBuf buf, int idx, int length) {
+        if (state == State.BODY && length > 0) {
+            listener.partContent(buf.slice(idx, length));
+        }
+    }
+
+    private void delimiterFound() {
+        if (state == State.BODY) {
+            listener.partEnded();
+        }
+        state = State.DELIMITER_LINE;
+        line.clear();
+    }
+
+    private int decodeDelimiterLine(ByteBuf buf, int idx, int end) {
+        int lf = buf.forEachByte(idx, end - idx, ByteBufProcessor.FIND_LF);
+        appendLine(buf, idx, lf < 0 ? end : lf);
+
+        if (line.readableBytes() >= 2 && line.getByte(0) == '-' && line.getByte(1) == '-') {
+            // The closing delimiter, ignore the epilogue.
+            state = State.EPILOGUE;
+            listener.multipartEnded();
+            return end;
+        }
+        if (lf < 0) {
+            return end;
+        }
+
+        // Ignore the transport padding.
+        line.clear();
+        headers = new DefaultHttpHeaders();
+        headerSize = 0;
+        state = State.HEADERS;
+        return lf + 1;
+    }
+
+    private int decodeHeaderLine(ByteBuf buf, int idx, int end) {
+        int lf = buf.forEachByte(idx, end - idx, ByteBufProcessor.FIND_LF);
+        int stop = lf < 0 ? end : lf;
+        headerSize += lf < 0 ? end - idx : stop - idx + 1;
+        if (headerSize > maxHeaderSize) {
+            throw new ErrorDataDecoderException("Part headers are larger than " + maxHeaderSize + " bytes");
+        }
+        appendLine(buf, idx, stop);
+        if (lf < 0) {
+            return end;
+        }
+
+        int length = line.readableBytes();
+        if (length > 0 && line.getByte(length - 1) == HttpConstants.CR) {
+            length --;
+        }
+        if (length == 0) {
+            flushHeader();
+            HttpHeaders headers = this.headers;
+            this.headers = null;
+            state = State.BODY;
+            listener.partStarted(headers);
+        } else {
+            String text = line.toString(0, length, charset);
+            char first = text.charAt(0);
+            if (first == ' ' || first == '\t') {
+                // obs-fold
+                if (headerName == null) {
+                    throw new ErrorDataDecoderException("Invalid part header: " + text);
+                }
+                headerValue.append(' ').append(text.trim());
+            } else {
+                flushHeader();
+                int colon = text.indexOf(':');
+                if (colon <= 0) {
+                    throw new ErrorDataDecoderException("Invalid part header: " + text);
+                }
+                headerName = text.substring(0, colon).trim();
+                headerValue = new StringBuilder(text.length() - colon).append(text.substring(colon + 1).trim());
+            }
+        }
+        line.clear();
+        return lf + 1;
+    }
+
+    private void appendLine(ByteBuf buf, int idx, int stop) {
+        if (line.readableBytes() + stop - idx > maxHeaderSize) {
+            throw new ErrorDataDecoderException("Line is larger than " + maxHeaderSize + " bytes");
+        }
+        line.writeBytes(buf, idx, stop - idx);
+    }
+
+    private void flushHeader() {
+        if (headerName != null) {
+            headers.add(headerName, headerValue.toString());
+            headerName = null;
+            headerValue = null;
+        }
+    }
+}
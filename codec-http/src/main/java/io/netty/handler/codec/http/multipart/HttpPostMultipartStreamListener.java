@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.multipart;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaders;
+
+/**
+ * Receives the parts of a multipart body from a {@link HttpPostMultipartStreamDecoder} while they arrive.
+ */
+public interface HttpPostMultipartStreamListener {
+
+    /**
+     * Invoked when the headers of a new part were decoded, e.g. {@code Content-Disposition} and
+     * {@code Content-Type}.
+     */
+    void partStarted(HttpHeaders headers);
+
+    /**
+     * Invoked for each piece of content of the current part.  The buffer is usually a slice of the
+     * {@link HttpContent} passed to {@link HttpPostMultipartStreamDecoder#offer(HttpContent)} and is only valid
+     * during this call.  Call {@link ByteBuf#retain()} to keep it.
+     */
+    void partContent(ByteBuf content);
+
+    /**
+     * Invoked when the content of the current part is complete.
+     */
+    void partEnded();
+
+    /**
+     * Invoked when the closing boundary was decoded.  Any data after it is ignored.
+     */
+    void multipartEnded();
+}
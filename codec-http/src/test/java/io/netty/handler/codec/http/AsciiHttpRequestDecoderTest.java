@@ -0,0 +1,199 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.AsciiString;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AsciiHttpRequestDecoderTest {
+
+    private static final String REQUEST =
+            "GET /some/path?foo=bar HTTP/1.1\r\n" +
+            "Host: localhost\r\n" +
+            "Connection: close\r\n" +
+            "X-Folded: first\r\n" +
+            " second\r\n" +
+            "X-Custom:value  \r\n" +
+            "Content-Length: 8\r\n" +
+            "\r\n" +
+            "12345678";
+
+    @Test
+    public void testDecodeWholeRequestAtOnce() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiHttpRequestDecoder());
+        assertTrue(channel.writeInbound(Unpooled.copiedBuffer(REQUEST, CharsetUtil.US_ASCII)));
+        checkRequest(channel);
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testDecodeRequestByteByByte() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiHttpRequestDecoder());
+        byte[] bytes = REQUEST.getBytes(CharsetUtil.US_ASCII);
+        for (byte b: bytes) {
+            channel.writeInbound(Unpooled.wrappedBuffer(new byte[] { b }));
+        }
+
+        HttpRequest req = channel.readInbound();
+        checkHeaders(req);
+        ByteBuf content = Unpooled.buffer();
+        for (;;) {
+            HttpContent c = channel.readInbound();
+            content.writeBytes(c.content());
+            c.release();
+            if (c instanceof LastHttpContent) {
+                break;
+            }
+        }
+        assertEquals("12345678", content.toString(CharsetUtil.US_ASCII));
+        content.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testInternedTokens() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiHttpRequestDecoder());
+        channel.writeInbound(Unpooled.copiedBuffer(REQUEST, CharsetUtil.US_ASCII));
+        HttpRequest req = channel.readInbound();
+        assertSame(HttpMethod.GET, req.method());
+        assertSame(HttpVersion.HTTP_1_1, req.protocolVersion());
+        assertSame(HttpHeaders.Values.CLOSE, req.headers().getUnconverted(HttpHeaders.Names.CONNECTION));
+        assertTrue(req.headers().getUnconverted("X-Custom") instanceof AsciiString);
+        channel.finish();
+        releaseAll(channel);
+    }
+
+    @Test
+    public void testChunkedRequestWithTrailer() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiHttpRequestDecoder());
+        String request = "POST / HTTP/1.1\r\n" +
+                "Transfer-Encoding: chunked\r\n" +
+                "\r\n" +
+                "5;ext=1\r\nhello\r\n" +
+                "6\r\n world\r\n" +
+                "0\r\n" +
+                "Content-MD5: abc\r\n" +
+                "\r\n";
+        byte[] bytes = request.getBytes(CharsetUtil.US_ASCII);
+        // Split in the middle of the chunk size line and of the trailer.
+        int[] splits = { 40, 52, request.indexOf("MD5") };
+        int start = 0;
+        for (int split: splits) {
+            channel.writeInbound(Unpooled.wrappedBuffer(bytes, start, split - start));
+            start = split;
+        }
+        channel.writeInbound(Unpooled.wrappedBuffer(bytes, start, bytes.length - start));
+
+        HttpRequest req = channel.readInbound();
+        assertTrue(HttpHeaderUtil.isTransferEncodingChunked(req));
+        ByteBuf content = Unpooled.buffer();
+        LastHttpContent last;
+        for (;;) {
+            HttpContent c = channel.readInbound();
+            content.writeBytes(c.content());
+            c.release();
+            if (c instanceof LastHttpContent) {
+                last = (LastHttpContent) c;
+                break;
+            }
+        }
+        assertEquals("hello world", content.toString(CharsetUtil.US_ASCII));
+        assertEquals("abc", last.trailingHeaders().get("Content-MD5"));
+        content.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testKeepAliveRequests() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiHttpRequestDecoder());
+        String request = "GET /1 HTTP/1.1\r\nHost: a\r\n\r\n\r\nGET /2 HTTP/1.1\r\nHost: b\r\n\r\n";
+        assertTrue(channel.writeInbound(Unpooled.copiedBuffer(request, CharsetUtil.US_ASCII)));
+
+        HttpRequest req = channel.readInbound();
+        assertEquals("/1", req.uri());
+        assertSame(LastHttpContent.EMPTY_LAST_CONTENT, channel.readInbound());
+        req = channel.readInbound();
+        assertEquals("/2", req.uri());
+        assertEquals("b", req.headers().get(HttpHeaders.Names.HOST));
+        assertSame(LastHttpContent.EMPTY_LAST_CONTENT, channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testTooLongHeaders() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiHttpRequestDecoder(4096, 32, 8192));
+        channel.writeInbound(Unpooled.copiedBuffer("GET / HTTP/1.1\r\nX-Header: 0123456789\r\n",
+                CharsetUtil.US_ASCII));
+        assertNull(channel.readInbound());
+        channel.writeInbound(Unpooled.copiedBuffer("X-Header: 0123456789", CharsetUtil.US_ASCII));
+
+        HttpRequest req = channel.readInbound();
+        assertTrue(req.decoderResult().isFailure());
+        assertTrue(req.decoderResult().cause() instanceof TooLongFrameException);
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testInvalidInitialLine() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiHttpRequestDecoder());
+        channel.writeInbound(Unpooled.copiedBuffer("GET / HTTP/x.y\r\n\r\n", CharsetUtil.US_ASCII));
+
+        HttpRequest req = channel.readInbound();
+        assertTrue(req.decoderResult().isFailure());
+        assertFalse(channel.finish());
+    }
+
+    private static void checkRequest(EmbeddedChannel channel) {
+        HttpRequest req = channel.readInbound();
+        checkHeaders(req);
+        LastHttpContent c = channel.readInbound();
+        assertEquals("12345678", c.content().toString(CharsetUtil.US_ASCII));
+        c.release();
+        assertNull(channel.readInbound());
+    }
+
+    private static void checkHeaders(HttpRequest req) {
+        assertTrue(req.decoderResult().isSuccess());
+        assertEquals(HttpMethod.GET, req.method());
+        assertEquals("/some/path?foo=bar", req.uri());
+        HttpHeaders headers = req.headers();
+        assertEquals(5, headers.names().size());
+        assertEquals("localhost", headers.get(HttpHeaders.Names.HOST));
+        assertEquals("close", headers.get(HttpHeaders.Names.CONNECTION));
+        assertEquals("first second", headers.get("X-Folded"));
+        assertEquals("value", headers.get("X-Custom"));
+        assertEquals(8, HttpHeaderUtil.getContentLength(req));
+    }
+
+    private static void releaseAll(EmbeddedChannel channel) {
+        for (;;) {
+            Object msg = channel.readInbound();
+            if (msg == null) {
+                break;
+            }
+            if (msg instanceof HttpContent) {
+                ((HttpContent) msg).release();
+            }
+        }
+    }
+}
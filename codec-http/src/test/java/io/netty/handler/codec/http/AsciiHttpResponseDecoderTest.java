@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AsciiHttpResponseDecoderTest {
+
+    @Test
+    public void testResponseWithContentLength() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiHttpResponseDecoder());
+        channel.writeInbound(Unpooled.copiedBuffer(
+                "HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\n01234", CharsetUtil.US_ASCII));
+
+        HttpResponse res = channel.readInbound();
+        assertSame(HttpResponseStatus.OK, res.status());
+        assertSame(HttpVersion.HTTP_1_1, res.protocolVersion());
+        HttpContent c = channel.readInbound();
+        assertEquals("01234", c.content().toString(CharsetUtil.US_ASCII));
+        assertFalse(c instanceof LastHttpContent);
+        c.release();
+
+        channel.writeInbound(Unpooled.copiedBuffer("56789", CharsetUtil.US_ASCII));
+        LastHttpContent last = channel.readInbound();
+        assertEquals("56789", last.content().toString(CharsetUtil.US_ASCII));
+        last.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testCustomReasonPhrase() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiHttpResponseDecoder());
+        channel.writeInbound(Unpooled.copiedBuffer(
+                "HTTP/1.0 404 Nothing Here\r\nContent-Length: 0\r\n\r\n", CharsetUtil.US_ASCII));
+
+        HttpResponse res = channel.readInbound();
+        assertEquals(404, res.status().code());
+        assertEquals("Nothing Here", res.status().reasonPhrase());
+        assertSame(HttpVersion.HTTP_1_0, res.protocolVersion());
+        assertSame(LastHttpContent.EMPTY_LAST_CONTENT, channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testResponseWithoutContentLengthEndsOnClose() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiHttpResponseDecoder());
+        channel.writeInbound(Unpooled.copiedBuffer("HTTP/1.1 200 OK\r\n\r\nhello", CharsetUtil.US_ASCII));
+
+        HttpResponse res = channel.readInbound();
+        assertTrue(res.decoderResult().isSuccess());
+        HttpContent c = channel.readInbound();
+        assertEquals("hello", c.content().toString(CharsetUtil.US_ASCII));
+        c.release();
+
+        assertTrue(channel.finish());
+        assertSame(LastHttpContent.EMPTY_LAST_CONTENT, channel.readInbound());
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void testNoContentResponse() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiHttpResponseDecoder());
+        channel.writeInbound(Unpooled.copiedBuffer(
+                "HTTP/1.1 204 No Content\r\n\r\nHTTP/1.1 304 Not Modified\r\n\r\n", CharsetUtil.US_ASCII));
+
+        HttpResponse res = channel.readInbound();
+        assertSame(HttpResponseStatus.NO_CONTENT, res.status());
+        assertSame(LastHttpContent.EMPTY_LAST_CONTENT, channel.readInbound());
+        res = channel.readInbound();
+        assertSame(HttpResponseStatus.NOT_MODIFIED, res.status());
+        assertSame(LastHttpContent.EMPTY_LAST_CONTENT, channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testChunkedResponseSplitAcrossReads() {
+        EmbeddedChannel channel = new EmbeddedChannel(new AsciiHttpResponseDecoder(4096, 8192, 4));
+        byte[] bytes = ("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                "a\r\n0123456789\r\n0\r\n\r\n").getBytes(CharsetUtil.US_ASCII);
+        for (int i = 0; i < bytes.length; i += 3) {
+            channel.writeInbound(Unpooled.wrappedBuffer(bytes, i, Math.min(3, bytes.length - i)));
+        }
+
+        HttpResponse res = channel.readInbound();
+        assertTrue(HttpHeaderUtil.isTransferEncodingChunked(res));
+        ByteBuf content = Unpooled.buffer();
+        for (;;) {
+            HttpContent c = channel.readInbound();
+            assertTrue(c.content().readableBytes() <= 4);
+            content.writeBytes(c.content());
+            c.release();
+            if (c instanceof LastHttpContent) {
+                break;
+            }
+        }
+        assertEquals("0123456789", content.toString(CharsetUtil.US_ASCII));
+        content.release();
+        assertFalse(channel.finish());
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.handler.codec.AsciiString;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DefaultHttpHeadersTest {
+
+    @Test
+    public void testNamesAndValuesAreStoredAsAsciiString() {
+        HttpHeaders headers = new DefaultHttpHeaders();
+        headers.add("X-Name", "value");
+        headers.add("X-Number", 42);
+
+        assertTrue(headers.unconvertedNames().iterator().next() instanceof AsciiString);
+        assertTrue(headers.getUnconverted("x-name") instanceof AsciiString);
+        assertEquals("value", headers.get("X-NAME"));
+        assertTrue(headers.getUnconverted("X-Number") instanceof AsciiString);
+        assertEquals(42, headers.getInt("X-Number", 0));
+    }
+
+    @Test
+    public void testAsciiStringValueIsNotCopied() {
+        HttpHeaders headers = new DefaultHttpHeaders();
+        headers.set(HttpHeaders.Names.CONNECTION, HttpHeaders.Values.CLOSE);
+        assertSame(HttpHeaders.Values.CLOSE, headers.getUnconverted("connection"));
+        assertTrue(headers.contains(new AsciiString("CONNECTION")));
+    }
+
+    @Test
+    public void testNonLatin1ValueIsPreserved() {
+        HttpHeaders headers = new DefaultHttpHeaders();
+        headers.add("X-Text", "€100");
+        assertEquals("€100", headers.get("X-Text"));
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.PrematureChannelClosureException;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HttpClientPipeliningHandlerTest {
+
+    @Test
+    public void testResponsesAreCorrelatedInOrder() {
+        HttpClientPipeliningHandler handler = new HttpClientPipeliningHandler(8);
+        EmbeddedChannel ch = new EmbeddedChannel(handler);
+
+        Future<FullHttpResponse> f1 = handler.send(request("/1"));
+        Future<FullHttpResponse> f2 = handler.send(request("/2"));
+        Future<FullHttpResponse> f3 = handler.send(request("/3"));
+        assertRequest(ch.readOutbound(), "/1");
+        assertRequest(ch.readOutbound(), "/2");
+        assertRequest(ch.readOutbound(), "/3");
+
+        ch.writeInbound(response("a", true));
+        ch.writeInbound(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE));
+        ch.writeInbound(response("b", true));
+        assertResponse(f1, "a");
+        assertResponse(f2, "b");
+        assertFalse(f3.isDone());
+
+        ch.writeInbound(response("c", true));
+        assertResponse(f3, "c");
+        assertFalse(ch.finish());
+    }
+
+    @Test
+    public void testPipelineDepthIsBounded() {
+        HttpClientPipeliningHandler handler = new HttpClientPipeliningHandler(2);
+        EmbeddedChannel ch = new EmbeddedChannel(handler);
+
+        Future<FullHttpResponse> f1 = handler.send(request("/1"));
+        handler.send(request("/2"));
+        handler.send(request("/3"));
+        assertRequest(ch.readOutbound(), "/1");
+        assertRequest(ch.readOutbound(), "/2");
+        assertNull(ch.readOutbound());
+
+        ch.writeInbound(response("a", true));
+        assertResponse(f1, "a");
+        assertRequest(ch.readOutbound(), "/3");
+        assertFalse(ch.finish());
+    }
+
+    @Test
+    public void testUnansweredRequestsOnClose() {
+        final List<String> retried = new ArrayList<String>();
+        HttpClientPipeliningHandler handler = new HttpClientPipeliningHandler(1) {
+            @Override
+            protected void requestNotAnswered(FullHttpRequest request, Promise<FullHttpResponse> promise,
+                                              boolean sent, Throwable cause) {
+                retried.add(request.uri() + ':' + sent);
+                super.requestNotAnswered(request, promise, sent, cause);
+            }
+        };
+        EmbeddedChannel ch = new EmbeddedChannel(handler);
+
+        Future<FullHttpResponse> f1 = handler.send(request("/1"));
+        Future<FullHttpResponse> f2 = handler.send(request("/2"));
+        assertRequest(ch.readOutbound(), "/1");
+        assertFalse(ch.finish());
+
+        assertTrue(f1.cause() instanceof PrematureChannelClosureException);
+        assertTrue(f2.cause() instanceof PrematureChannelClosureException);
+        assertEquals(2, retried.size());
+        assertEquals("/1:true", retried.get(0));
+        assertEquals("/2:false", retried.get(1));
+
+        Future<FullHttpResponse> f3 = handler.send(request("/3"));
+        assertTrue(f3.cause() instanceof PrematureChannelClosureException);
+    }
+
+    @Test
+    public void testUnansweredRequestKeepsContent() {
+        final List<String> retried = new ArrayList<String>();
+        HttpClientPipeliningHandler handler = new HttpClientPipeliningHandler(1) {
+            @Override
+            protected void requestNotAnswered(FullHttpRequest request, Promise<FullHttpResponse> promise,
+                                              boolean sent, Throwable cause) {
+                retried.add(request.content().toString(CharsetUtil.US_ASCII) + ':' +
+                            HttpHeaderUtil.getContentLength(request));
+                super.requestNotAnswered(request, promise, sent, cause);
+            }
+        };
+        EmbeddedChannel ch = new EmbeddedChannel(new HttpRequestEncoder(), handler);
+
+        FullHttpRequest put = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.PUT, "/1",
+                Unpooled.copiedBuffer("hello world", CharsetUtil.US_ASCII));
+        HttpHeaderUtil.setContentLength(put, put.content().readableBytes());
+        handler.send(put);
+        assertTrue(ch.finish());
+        for (;;) {
+            ByteBuf buf = ch.readOutbound();
+            if (buf == null) {
+                break;
+            }
+            buf.release();
+        }
+
+        assertEquals(1, retried.size());
+        assertEquals("hello world:11", retried.get(0));
+        assertEquals(0, put.refCnt());
+    }
+
+    @Test
+    public void testNoRequestsAfterConnectionClose() {
+        HttpClientPipeliningHandler handler = new HttpClientPipeliningHandler(8);
+        EmbeddedChannel ch = new EmbeddedChannel(handler);
+
+        FullHttpRequest last = request("/1");
+        HttpHeaderUtil.setKeepAlive(last, false);
+        Future<FullHttpResponse> f1 = handler.send(last);
+        Future<FullHttpResponse> f2 = handler.send(request("/2"));
+        assertRequest(ch.readOutbound(), "/1");
+        assertNull(ch.readOutbound());
+
+        ch.writeInbound(response("a", false));
+        assertResponse(f1, "a");
+        assertFalse(ch.isOpen());
+        assertTrue(f2.cause() instanceof PrematureChannelClosureException);
+    }
+
+    @Test
+    public void testIsIdempotent() {
+        assertTrue(HttpClientPipeliningHandler.isIdempotent(HttpMethod.GET));
+        assertTrue(HttpClientPipeliningHandler.isIdempotent(HttpMethod.PUT));
+        assertFalse(HttpClientPipeliningHandler.isIdempotent(HttpMethod.POST));
+        assertFalse(HttpClientPipeliningHandler.isIdempotent(HttpMethod.PATCH));
+    }
+
+    private static FullHttpRequest request(String uri) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+    }
+
+    private static FullHttpResponse response(String content, boolean keepAlive) {
+        FullHttpResponse res = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                Unpooled.copiedBuffer(content, CharsetUtil.US_ASCII));
+        HttpHeaderUtil.setKeepAlive(res, keepAlive);
+        return res;
+    }
+
+    private static void assertRequest(Object msg, String uri) {
+        FullHttpRequest req = (FullHttpRequest) msg;
+        assertEquals(uri, req.uri());
+        req.release();
+    }
+
+    private static void assertResponse(Future<FullHttpResponse> future, String content) {
+        assertTrue(future.isSuccess());
+        FullHttpResponse res = future.getNow();
+        assertEquals(content, res.content().toString(CharsetUtil.US_ASCII));
+        res.release();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HttpCompressedContentCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        HttpCompressedContentCache cache = new HttpCompressedContentCache(8, 4);
+        ByteBuf a = Unpooled.buffer().writeZero(4);
+        ByteBuf b = Unpooled.buffer().writeZero(4);
+        ByteBuf c = Unpooled.buffer().writeZero(4);
+        assertTrue(cache.put("/", "a", "gzip", a));
+        assertTrue(cache.put("/", "b", "gzip", b));
+        release(cache.get("/", "a", "gzip"));
+
+        assertTrue(cache.put("/", "c", "gzip", c));
+        assertEquals(8, cache.size());
+        assertNull(cache.get("/", "b", "gzip"));
+        assertEquals(1, b.refCnt());
+        release(cache.get("/", "a", "gzip"));
+        release(cache.get("/", "c", "gzip"));
+        assertNull(cache.get("/", "a", "deflate"));
+        assertNull(cache.get("/other", "a", "gzip"));
+
+        cache.clear();
+        assertEquals(1, a.refCnt());
+        assertEquals(1, c.refCnt());
+        a.release();
+        b.release();
+        c.release();
+    }
+
+    @Test
+    public void testLargeEntryIsNotCached() {
+        HttpCompressedContentCache cache = new HttpCompressedContentCache(8, 4);
+        ByteBuf buf = Unpooled.buffer().writeZero(5);
+        assertFalse(cache.put("/", "a", "gzip", buf));
+        assertEquals(0, cache.size());
+        assertEquals(1, buf.refCnt());
+        buf.release();
+    }
+
+    private static void release(ByteBuf buf) {
+        assertNotNull(buf);
+        buf.release();
+    }
+}
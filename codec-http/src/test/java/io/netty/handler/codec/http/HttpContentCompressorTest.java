@@ -15,10 +15,12 @@
  */
 package io.netty.handler.codec.http;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.handler.codec.compression.ZstdDecoder;
 import io.netty.handler.codec.http.HttpHeaders.Names;
 import io.netty.handler.codec.http.HttpHeaders.Values;
 import io.netty.util.CharsetUtil;
@@ -66,6 +68,44 @@ public class HttpContentCompressorTest {
         }
     }
 
+    @Test
+    public void testDetermineEncoding() throws Exception {
+        HttpContentCompressor compressor = new HttpContentCompressor();
+
+        String[] tests = {
+            // Accept-Encoding -> Content-Encoding
+            "", null,
+            "*", "gzip",
+            "zstd", "zstd",
+            "gzip, zstd", "gzip",
+            "gzip;q=0.5, zstd", "zstd",
+            "deflate, zstd;q=0.8", "deflate",
+            "zstd;q=0, gzip;q=0.1", "gzip",
+            "zstd;q=0.5, *", "gzip",
+            "zstd;q=0.1, *", "gzip",
+            "zstd, *;q=0.5", "zstd",
+            "x-gzip, zstd;q=0.5", "gzip",
+            "gzip, zstd=1", "gzip",
+            "gzip;q=0.2, zstd=1", "zstd",
+            "zstd;q=0", null,
+        };
+        for (int i = 0; i < tests.length; i += 2) {
+            assertEquals(tests[i], tests[i + 1], compressor.determineEncoding(tests[i]));
+        }
+    }
+
+    @Test
+    public void testDetermineEncodingUsesOverriddenWrapper() throws Exception {
+        HttpContentCompressor compressor = new HttpContentCompressor() {
+            @Override
+            protected ZlibWrapper determineWrapper(CharSequence acceptEncoding) {
+                return ZlibWrapper.ZLIB;
+            }
+        };
+        assertEquals("deflate", compressor.determineEncoding("gzip"));
+        assertEquals("zstd", compressor.determineEncoding("gzip;q=0.5, zstd"));
+    }
+
     @Test
     public void testSplitContent() throws Exception {
         EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor());
@@ -297,6 +337,174 @@ public class HttpContentCompressorTest {
         assertThat(ch.readOutbound(), is(nullValue()));
     }
 
+    @Test
+    public void testCachedFullContent() throws Exception {
+        HttpCompressedContentCache cache = new HttpCompressedContentCache(1024, 1024);
+        EmbeddedChannel ch1 = new EmbeddedChannel(new HttpContentCompressor(6, 15, 8, 0, cache));
+        EmbeddedChannel ch2 = new EmbeddedChannel(new HttpContentCompressor(6, 15, 8, 0, cache));
+
+        FullHttpResponse res1 = writeCacheableResponse(ch1);
+        long size = cache.size();
+        assertTrue(size > 0);
+        FullHttpResponse res2 = writeCacheableResponse(ch2);
+        assertEquals(size, cache.size());
+
+        assertEquals(res1.content(), res2.content());
+        assertEquals("\"v1\"", res2.headers().get(Names.ETAG));
+        res1.release();
+        res2.release();
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCachedContentIsKeyedByResource() throws Exception {
+        HttpCompressedContentCache cache = new HttpCompressedContentCache(1024, 1024);
+        EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor(6, 15, 8, 0, cache));
+
+        String a = writeCacheableResponse(ch, "/a", "Hello, World");
+        String b = writeCacheableResponse(ch, "/b", "Goodbye, World");
+        assertThat(b, is(not(a)));
+        assertEquals(a, writeCacheableResponse(ch, "/a", "Hello, World"));
+        assertFalse(ch.finish());
+        cache.clear();
+    }
+
+    @Test
+    public void testCachedContentIsNotConsumedByResponse() throws Exception {
+        HttpCompressedContentCache cache = new HttpCompressedContentCache(1024, 1024);
+        EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor(6, 15, 8, 0, cache));
+
+        FullHttpResponse res1 = writeCacheableResponse(ch);
+        // Consume the content like a transport would before the next response is served from the cache.
+        res1.content().skipBytes(res1.content().readableBytes());
+        res1.release();
+        FullHttpResponse res2 = writeCacheableResponse(ch);
+        res2.content().skipBytes(res2.content().readableBytes());
+        res2.release();
+        FullHttpResponse res3 = writeCacheableResponse(ch);
+        res3.release();
+
+        assertTrue(cache.size() > 0);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertFalse(ch.finish());
+    }
+
+    /**
+     * Writes a response with the ETag {@code "v1"} and returns the hex dump of its compressed content.
+     */
+    private static String writeCacheableResponse(EmbeddedChannel ch, String uri, String content) {
+        FullHttpRequest req = newRequest();
+        req.setUri(uri);
+        ch.writeInbound(req);
+        FullHttpResponse res = new DefaultFullHttpResponse(
+                HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.copiedBuffer(content, CharsetUtil.US_ASCII));
+        res.headers().set(Names.ETAG, "\"v1\"");
+        ch.writeOutbound(res);
+
+        FullHttpResponse encoded = ch.readOutbound();
+        assertThat(encoded.headers().get(Names.CONTENT_ENCODING), is("gzip"));
+        String hex = ByteBufUtil.hexDump(encoded.content());
+        encoded.release();
+        FullHttpRequest inbound = ch.readInbound();
+        inbound.release();
+        return hex;
+    }
+
+    private static FullHttpResponse writeCacheableResponse(EmbeddedChannel ch) {
+        ch.writeInbound(newRequest());
+        FullHttpResponse res = new DefaultFullHttpResponse(
+                HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                Unpooled.copiedBuffer("Hello, World", CharsetUtil.US_ASCII));
+        res.headers().set(Names.ETAG, "\"v1\"");
+        res.headers().set(Names.CONTENT_LENGTH, res.content().readableBytes());
+        ch.writeOutbound(res);
+
+        FullHttpResponse encoded = ch.readOutbound();
+        assertThat(encoded.headers().get(Names.CONTENT_ENCODING), is("gzip"));
+        assertThat(encoded.headers().get(Names.TRANSFER_ENCODING), is(nullValue()));
+        assertEquals(encoded.content().readableBytes(), HttpHeaderUtil.getContentLength(encoded));
+        assertThat(ByteBufUtil.hexDump(encoded.content()),
+                is("1f8b0800000000000000f248cdc9c9d75108cf2fca4901000000ffff0300c6865b260c000000"));
+        assertThat(ch.readOutbound(), is(nullValue()));
+        FullHttpRequest inbound = ch.readInbound();
+        inbound.release();
+        return encoded;
+    }
+
+    @Test
+    public void testSmallContentIsNotCompressed() throws Exception {
+        EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor(6, 15, 8, 1024, null));
+        ch.writeInbound(newRequest());
+
+        FullHttpResponse res = new DefaultFullHttpResponse(
+                HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                Unpooled.copiedBuffer("Hello, World", CharsetUtil.US_ASCII));
+        ch.writeOutbound(res);
+
+        FullHttpResponse out = ch.readOutbound();
+        assertSame(res, out);
+        assertThat(out.headers().get(Names.CONTENT_ENCODING), is(nullValue()));
+        out.release();
+        assertThat(ch.readOutbound(), is(nullValue()));
+    }
+
+    @Test
+    public void testCompressedContentTypeIsNotCompressed() throws Exception {
+        EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor());
+        ch.writeInbound(newRequest());
+
+        HttpResponse res = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        res.headers().set(Names.CONTENT_TYPE, "image/png");
+        ch.writeOutbound(res);
+        ch.writeOutbound(new DefaultLastHttpContent(Unpooled.copiedBuffer("PNG", CharsetUtil.US_ASCII)));
+
+        assertSame(res, ch.readOutbound());
+        LastHttpContent last = ch.readOutbound();
+        assertEquals("PNG", last.content().toString(CharsetUtil.US_ASCII));
+        last.release();
+        assertThat(ch.readOutbound(), is(nullValue()));
+    }
+
+    @Test
+    public void testZstdContent() throws Exception {
+        EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor());
+        FullHttpRequest req = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/");
+        req.headers().set(Names.ACCEPT_ENCODING, "gzip;q=0.5, zstd");
+        ch.writeInbound(req);
+
+        ch.writeOutbound(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+        ch.writeOutbound(new DefaultHttpContent(Unpooled.copiedBuffer("Hello, ", CharsetUtil.US_ASCII)));
+        ch.writeOutbound(new DefaultLastHttpContent(Unpooled.copiedBuffer("World", CharsetUtil.US_ASCII)));
+
+        HttpResponse res = ch.readOutbound();
+        assertThat(res.headers().get(Names.CONTENT_ENCODING), is("zstd"));
+
+        EmbeddedChannel decoder = new EmbeddedChannel(new ZstdDecoder());
+        for (;;) {
+            HttpContent c = ch.readOutbound();
+            if (c == null) {
+                break;
+            }
+            decoder.writeInbound(c.content());
+        }
+        decoder.finish();
+
+        ByteBuf decoded = Unpooled.buffer();
+        for (;;) {
+            ByteBuf buf = decoder.readInbound();
+            if (buf == null) {
+                break;
+            }
+            decoded.writeBytes(buf);
+            buf.release();
+        }
+        assertEquals("Hello, World", decoded.toString(CharsetUtil.US_ASCII));
+        decoded.release();
+    }
+
     private static FullHttpRequest newRequest() {
         FullHttpRequest req = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/");
         req.headers().set(Names.ACCEPT_ENCODING, "gzip");
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.handler.codec.AsciiString;
+import io.netty.handler.codec.DateFormatter;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HttpDateCacheTest {
+
+    @Test
+    public void testSameInstanceWithinSecond() {
+        HttpDateCache cache = new HttpDateCache();
+        AsciiString date = cache.date(784111777000L);
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", date.toString());
+        assertSame(date, cache.date(784111777999L));
+
+        AsciiString next = cache.date(784111778000L);
+        assertEquals("Sun, 06 Nov 1994 08:49:38 GMT", next.toString());
+    }
+
+    @Test
+    public void testCurrentDate() {
+        long before = System.currentTimeMillis() / 1000 * 1000;
+        long date = DateFormatter.parseHttpDate(HttpDateCache.currentDate(), -1);
+        assertTrue(date >= before);
+        assertTrue(date <= System.currentTimeMillis());
+    }
+}
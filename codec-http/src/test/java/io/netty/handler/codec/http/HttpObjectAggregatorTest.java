@@ -23,10 +23,14 @@ import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.DecoderResultProvider;
 import io.netty.handler.codec.TooLongFrameException;
 import io.netty.handler.codec.http.HttpHeaders.Names;
+import io.netty.handler.codec.http.multipart.DiskFileUpload;
 import io.netty.util.CharsetUtil;
 import org.easymock.EasyMock;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.nio.channels.ClosedChannelException;
 import java.util.List;
 
@@ -36,6 +40,9 @@ import static org.junit.Assert.*;
 
 public class HttpObjectAggregatorTest {
 
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
     @Test
     public void testAggregate() {
         HttpObjectAggregator aggr = new HttpObjectAggregator(1024 * 1024);
@@ -324,4 +331,58 @@ public class HttpObjectAggregatorTest {
         assertNull(ch.readInbound());
         ch.finish();
     }
+
+    @Test
+    public void testSpillToDisk() throws Exception {
+        File dir = tmp.newFolder();
+        String oldBaseDirectory = DiskFileUpload.baseDirectory;
+        DiskFileUpload.baseDirectory = dir.getPath();
+        try {
+            EmbeddedChannel embedder = new EmbeddedChannel(new HttpObjectAggregator(1024, 6));
+            HttpRequest message = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.PUT, "http://localhost");
+            HttpHeaderUtil.setTransferEncodingChunked(message, true);
+            assertFalse(embedder.writeInbound(message));
+            assertFalse(embedder.writeInbound(
+                    new DefaultHttpContent(Unpooled.copiedBuffer("test", CharsetUtil.US_ASCII))));
+            assertFalse(embedder.writeInbound(
+                    new DefaultHttpContent(Unpooled.copiedBuffer("test2", CharsetUtil.US_ASCII))));
+            assertEquals(1, dir.list().length);
+            assertTrue(embedder.writeInbound(
+                    new DefaultLastHttpContent(Unpooled.copiedBuffer("test3", CharsetUtil.US_ASCII))));
+            assertTrue(embedder.finish());
+
+            FullHttpRequest aggregated = embedder.readInbound();
+            assertEquals(14, HttpHeaderUtil.getContentLength(aggregated));
+            assertEquals("testtest2test3", aggregated.content().toString(CharsetUtil.US_ASCII));
+            assertEquals("est2", aggregated.content().slice(5, 4).toString(CharsetUtil.US_ASCII));
+            assertTrue(aggregated.release());
+            assertEquals(0, dir.list().length);
+        } finally {
+            DiskFileUpload.baseDirectory = oldBaseDirectory;
+        }
+    }
+
+    @Test
+    public void testSpilledOversizedRequestIsDeleted() throws Exception {
+        File dir = tmp.newFolder();
+        String oldBaseDirectory = DiskFileUpload.baseDirectory;
+        DiskFileUpload.baseDirectory = dir.getPath();
+        try {
+            EmbeddedChannel embedder = new EmbeddedChannel(new HttpObjectAggregator(8, 2));
+            HttpRequest message = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.PUT, "http://localhost");
+            assertFalse(embedder.writeInbound(message));
+            assertFalse(embedder.writeInbound(
+                    new DefaultHttpContent(Unpooled.copiedBuffer("test", CharsetUtil.US_ASCII))));
+            assertEquals(1, dir.list().length);
+            assertFalse(embedder.writeInbound(
+                    new DefaultHttpContent(Unpooled.copiedBuffer("test2", CharsetUtil.US_ASCII))));
+
+            FullHttpResponse response = embedder.readOutbound();
+            assertEquals(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, response.status());
+            assertEquals(0, dir.list().length);
+            assertFalse(embedder.finish());
+        } finally {
+            DiskFileUpload.baseDirectory = oldBaseDirectory;
+        }
+    }
 }
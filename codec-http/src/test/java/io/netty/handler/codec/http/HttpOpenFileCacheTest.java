@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class HttpOpenFileCacheTest {
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testLeastRecentlyUsedFileIsClosed() throws Exception {
+        HttpOpenFileCache cache = new HttpOpenFileCache(2);
+        File a = newFile("a", "A");
+        File b = newFile("b", "B");
+        File c = newFile("c", "C");
+
+        HttpOpenFile openA = cache.acquire(a);
+        HttpOpenFile openB = cache.acquire(b);
+        assertSame(openA, cache.acquire(a));
+        openA.release();
+
+        // b is still being transferred when evicted.
+        cache.acquire(c).release();
+        assertEquals(2, cache.size());
+        assertEquals(1, openB.refCnt());
+        assertTrue(openB.channel().isOpen());
+        openB.release();
+        assertFalse(openB.channel().isOpen());
+
+        assertEquals(2, openA.refCnt());
+        openA.release();
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertFalse(openA.channel().isOpen());
+    }
+
+    @Test
+    public void testModifiedFileIsReopened() throws Exception {
+        HttpOpenFileCache cache = new HttpOpenFileCache(2);
+        File a = newFile("a", "A");
+        HttpOpenFile first = cache.acquire(a);
+        first.release();
+
+        write(a, "AA");
+        HttpOpenFile second = cache.acquire(a);
+        assertNotSame(first, second);
+        assertFalse(first.channel().isOpen());
+        assertEquals(2, second.length());
+        assertFalse(first.etag().equals(second.etag()));
+        second.release();
+        assertEquals(1, cache.size());
+        cache.clear();
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void testMissingFile() throws Exception {
+        new HttpOpenFileCache(1).acquire(new File(tmp.getRoot(), "missing"));
+    }
+
+    private File newFile(String name, String content) throws IOException {
+        File file = tmp.newFile(name);
+        write(file, content);
+        return file;
+    }
+
+    static void write(File file, String content) throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("US-ASCII"));
+        } finally {
+            out.close();
+        }
+    }
+}
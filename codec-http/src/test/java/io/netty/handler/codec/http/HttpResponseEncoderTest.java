@@ -30,6 +30,24 @@ public class HttpResponseEncoderTest {
     private static final long INTEGER_OVERLFLOW = (long) Integer.MAX_VALUE + 1;
     private static final FileRegion FILE_REGION = new DummyLongFileRegion();
 
+    @Test
+    public void testInitialLines() {
+        assertInitialLine("HTTP/1.1 200 OK\r\n", HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        assertInitialLine("HTTP/1.0 404 Not Found\r\n", HttpVersion.HTTP_1_0, HttpResponseStatus.NOT_FOUND);
+        assertInitialLine("HTTP/1.1 200 Fine\r\n", HttpVersion.HTTP_1_1, new HttpResponseStatus(200, "Fine"));
+        assertInitialLine("HTTP/1.1 299 Custom\r\n", HttpVersion.HTTP_1_1, new HttpResponseStatus(299, "Custom"));
+        assertInitialLine("RTSP/1.0 200 OK\r\n", HttpVersion.valueOf("RTSP/1.0"), HttpResponseStatus.OK);
+    }
+
+    private static void assertInitialLine(String expected, HttpVersion version, HttpResponseStatus status) {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpResponseEncoder());
+        assertTrue(channel.writeOutbound(new DefaultHttpResponse(version, status)));
+        ByteBuf buffer = channel.readOutbound();
+        assertEquals(expected + "\r\n", buffer.toString(CharsetUtil.US_ASCII));
+        buffer.release();
+        assertFalse(channel.finish());
+    }
+
     @Test
     public void testLargeFileRegionChunked() throws Exception {
         EmbeddedChannel channel = new EmbeddedChannel(new HttpResponseEncoder());
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.FileRegion;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.handler.codec.DateFormatter;
+import io.netty.handler.codec.http.HttpHeaders.Names;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.util.CharsetUtil;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class HttpStaticFileHandlerTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private HttpOpenFileCache cache;
+    private EmbeddedChannel ch;
+
+    @Before
+    public void setUp() throws Exception {
+        HttpOpenFileCacheTest.write(tmp.newFile("file.txt"), CONTENT);
+        HttpOpenFileCacheTest.write(tmp.newFile(".hidden"), "secret");
+        tmp.newFolder("dir");
+        cache = new HttpOpenFileCache(16);
+        ch = new EmbeddedChannel(new HttpStaticFileHandler(tmp.getRoot(), cache));
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        HttpResponse res = get("/file.txt?v=1");
+        assertThat(res.status(), is(HttpResponseStatus.OK));
+        assertThat(res.headers().get(Names.CONTENT_TYPE), is("text/plain"));
+        assertThat(res.headers().get(Names.ACCEPT_RANGES), is("bytes"));
+        assertThat(res.headers().get(Names.ETAG), is(notNullValue()));
+        assertThat(res.headers().get(Names.LAST_MODIFIED), is(notNullValue()));
+        assertEquals(CONTENT.length(), HttpHeaderUtil.getContentLength(res));
+        assertEquals(CONTENT, readContent());
+        assertEquals(1, cache.size());
+
+        // The cached file is reused.
+        get("/file.txt");
+        assertEquals(CONTENT, readContent());
+        assertEquals(1, cache.size());
+        cache.clear();
+        assertFalse(ch.finish());
+    }
+
+    @Test
+    public void testHead() throws Exception {
+        ch.writeInbound(newRequest(HttpMethod.HEAD, "/file.txt"));
+        HttpResponse res = ch.readOutbound();
+        assertThat(res.status(), is(HttpResponseStatus.OK));
+        assertEquals(CONTENT.length(), HttpHeaderUtil.getContentLength(res));
+        assertEquals("", readContent());
+    }
+
+    @Test
+    public void testNotFound() throws Exception {
+        String[] uris = {
+            "/", "/missing", "/dir", "/.hidden", "/dir/../.hidden", "/%2e%2e/file.txt", "/dir%2F..%2F.hidden"
+        };
+        for (String uri: uris) {
+            FullHttpResponse res = get(uri);
+            assertThat(uri, res.status(), is(HttpResponseStatus.NOT_FOUND));
+            res.release();
+        }
+    }
+
+    @Test
+    public void testMethodNotAllowed() throws Exception {
+        ch.writeInbound(newRequest(HttpMethod.POST, "/file.txt"));
+        FullHttpResponse res = ch.readOutbound();
+        assertThat(res.status(), is(HttpResponseStatus.METHOD_NOT_ALLOWED));
+        assertThat(res.headers().get(Names.ALLOW), is("GET, HEAD"));
+        res.release();
+    }
+
+    @Test
+    public void testIfNoneMatch() throws Exception {
+        HttpResponse res = get("/file.txt");
+        String etag = res.headers().get(Names.ETAG);
+        readContent();
+
+        FullHttpRequest req = newRequest(HttpMethod.GET, "/file.txt");
+        req.headers().set(Names.IF_NONE_MATCH, "\"other\", " + etag);
+        ch.writeInbound(req);
+        FullHttpResponse notModified = ch.readOutbound();
+        assertThat(notModified.status(), is(HttpResponseStatus.NOT_MODIFIED));
+        assertThat(notModified.headers().get(Names.ETAG), is(etag));
+        assertThat(notModified.content().readableBytes(), is(0));
+        notModified.release();
+    }
+
+    @Test
+    public void testIfModifiedSince() throws Exception {
+        FullHttpRequest req = newRequest(HttpMethod.GET, "/file.txt");
+        req.headers().set(Names.IF_MODIFIED_SINCE, DateFormatter.format(System.currentTimeMillis() + 60000));
+        ch.writeInbound(req);
+        FullHttpResponse notModified = ch.readOutbound();
+        assertThat(notModified.status(), is(HttpResponseStatus.NOT_MODIFIED));
+        notModified.release();
+
+        req = newRequest(HttpMethod.GET, "/file.txt");
+        req.headers().set(Names.IF_MODIFIED_SINCE, DateFormatter.format(0));
+        ch.writeInbound(req);
+        HttpResponse res = ch.readOutbound();
+        assertThat(res.status(), is(HttpResponseStatus.OK));
+        assertEquals(CONTENT, readContent());
+    }
+
+    @Test
+    public void testSingleRange() throws Exception {
+        HttpResponse res = getRange("/file.txt", "bytes=2-5");
+        assertThat(res.status(), is(HttpResponseStatus.PARTIAL_CONTENT));
+        assertThat(res.headers().get(Names.CONTENT_RANGE), is("bytes 2-5/20"));
+        assertEquals(4, HttpHeaderUtil.getContentLength(res));
+        assertEquals("2345", readContent());
+
+        res = getRange("/file.txt", "bytes=-3");
+        assertThat(res.headers().get(Names.CONTENT_RANGE), is("bytes 17-19/20"));
+        assertEquals("hij", readContent());
+    }
+
+    @Test
+    public void testMultipleRanges() throws Exception {
+        HttpResponse res = getRange("/file.txt", "bytes=0-1, 18-");
+        assertThat(res.status(), is(HttpResponseStatus.PARTIAL_CONTENT));
+        String contentType = res.headers().get(Names.CONTENT_TYPE);
+        assertTrue(contentType.startsWith("multipart/byteranges; boundary="));
+        String boundary = contentType.substring(contentType.indexOf('=') + 1);
+
+        String content = readContent();
+        assertEquals(HttpHeaderUtil.getContentLength(res), content.length());
+        assertEquals("\r\n--" + boundary + "\r\n" +
+                     "Content-Type: text/plain\r\n" +
+                     "Content-Range: bytes 0-1/20\r\n\r\n" +
+                     "01" +
+                     "\r\n--" + boundary + "\r\n" +
+                     "Content-Type: text/plain\r\n" +
+                     "Content-Range: bytes 18-19/20\r\n\r\n" +
+                     "ij" +
+                     "\r\n--" + boundary + "--\r\n", content);
+    }
+
+    @Test
+    public void testUnsatisfiableRange() throws Exception {
+        FullHttpResponse res = (FullHttpResponse) getRange("/file.txt", "bytes=20-");
+        assertThat(res.status(), is(HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE));
+        assertThat(res.headers().get(Names.CONTENT_RANGE), is("bytes */20"));
+        res.release();
+    }
+
+    @Test
+    public void testIfRangeMismatch() throws Exception {
+        FullHttpRequest req = newRequest(HttpMethod.GET, "/file.txt");
+        req.headers().set(Names.RANGE, "bytes=0-1");
+        req.headers().set(Names.IF_RANGE, "\"stale\"");
+        ch.writeInbound(req);
+        HttpResponse res = ch.readOutbound();
+        assertThat(res.status(), is(HttpResponseStatus.OK));
+        assertEquals(CONTENT, readContent());
+    }
+
+    @Test
+    public void testGzipSibling() throws Exception {
+        HttpOpenFileCacheTest.write(tmp.newFile("file.txt.gz"), "gzipped");
+
+        FullHttpRequest req = newRequest(HttpMethod.GET, "/file.txt");
+        req.headers().set(Names.ACCEPT_ENCODING, "deflate, gzip;q=0.5");
+        ch.writeInbound(req);
+        HttpResponse res = ch.readOutbound();
+        assertThat(res.headers().get(Names.CONTENT_ENCODING), is("gzip"));
+        assertThat(res.headers().get(Names.CONTENT_TYPE), is("text/plain"));
+        assertThat(res.headers().get(Names.VARY), is("Accept-Encoding"));
+        assertEquals("gzipped", readContent());
+
+        res = get("/file.txt");
+        assertThat(res.headers().get(Names.CONTENT_ENCODING), is(nullValue()));
+        assertThat(res.headers().get(Names.VARY), is("Accept-Encoding"));
+        assertEquals(CONTENT, readContent());
+    }
+
+    @Test
+    public void testParseRanges() {
+        assertNull(HttpStaticFileHandler.parseRanges(null, 10));
+        assertNull(HttpStaticFileHandler.parseRanges("items=0-1", 10));
+        assertNull(HttpStaticFileHandler.parseRanges("bytes=5-1", 10));
+        assertNull(HttpStaticFileHandler.parseRanges("bytes=a-b", 10));
+        assertNull(HttpStaticFileHandler.parseRanges("bytes=1", 10));
+        assertArrayEquals(new long[] { 0, 9 }, HttpStaticFileHandler.parseRanges("bytes=0-100", 10));
+        assertArrayEquals(new long[] { 0, 9 }, HttpStaticFileHandler.parseRanges("bytes=-100", 10));
+        assertArrayEquals(new long[] { 1, 1, 8, 9 }, HttpStaticFileHandler.parseRanges("Bytes=1-1,10-,-2", 10));
+        assertEquals(0, HttpStaticFileHandler.parseRanges("bytes=-0", 10).length);
+        assertEquals(0, HttpStaticFileHandler.parseRanges("bytes=0-", 0).length);
+    }
+
+    @Test(timeout = 30000)
+    public void testRangesOverSsl() throws Exception {
+        // Large enough to be read in several chunks, which the clients below read concurrently.
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 30000; i ++) {
+            large.append((char) ('a' + i * 7 % 26));
+        }
+        final String content = large.toString();
+        HttpOpenFileCacheTest.write(tmp.newFile("large.txt"), content);
+        final long[] ranges = { 0, 29999, 100, 20000, 8000, 8500, 16383, 29999, 5, 5 };
+
+        SelfSignedCertificate ssc = new SelfSignedCertificate();
+        final SslContext serverContext = SslContext.newServerContext(ssc.certificate(), ssc.privateKey());
+        final SslContext clientContext = SslContext.newClientContext(InsecureTrustManagerFactory.INSTANCE);
+        LocalAddress addr = new LocalAddress("HttpStaticFileHandlerTest");
+        EventLoopGroup group = new DefaultEventLoopGroup();
+        try {
+            Channel server = new ServerBootstrap().group(group).channel(LocalServerChannel.class)
+                    .childHandler(new ChannelInitializer<LocalChannel>() {
+                        @Override
+                        protected void initChannel(LocalChannel ch) throws Exception {
+                            ch.pipeline().addLast(serverContext.newHandler(ch.alloc()), new HttpServerCodec(),
+                                    new HttpObjectAggregator(8192), new ChunkedWriteHandler(),
+                                    new HttpStaticFileHandler(tmp.getRoot(), cache));
+                        }
+                    }).bind(addr).sync().channel();
+
+            Channel[] clients = new Channel[ranges.length / 2];
+            final BlockingQueue<FullHttpResponse> responses = new LinkedBlockingQueue<FullHttpResponse>();
+            for (int i = 0; i < clients.length; i ++) {
+                clients[i] = new Bootstrap().group(group).channel(LocalChannel.class)
+                        .handler(new ChannelInitializer<LocalChannel>() {
+                            @Override
+                            protected void initChannel(LocalChannel ch) throws Exception {
+                                ch.pipeline().addLast(clientContext.newHandler(ch.alloc()), new HttpClientCodec(),
+                                        new HttpObjectAggregator(65536),
+                                        new SimpleChannelInboundHandler<FullHttpResponse>() {
+                                    @Override
+                                    protected void messageReceived(ChannelHandlerContext ctx, FullHttpResponse res) {
+                                        responses.add(res.retain());
+                                    }
+                                });
+                            }
+                        }).connect(addr).sync().channel();
+            }
+            for (int i = 0; i < clients.length; i ++) {
+                FullHttpRequest req = newRequest(HttpMethod.GET, "/large.txt");
+                req.headers().set(Names.RANGE, "bytes=" + ranges[2 * i] + '-' + ranges[2 * i + 1]);
+                clients[i].writeAndFlush(req);
+            }
+
+            for (int i = 0; i < clients.length; i ++) {
+                FullHttpResponse res = responses.poll(10, TimeUnit.SECONDS);
+                assertNotNull(res);
+                String range = res.headers().get(Names.CONTENT_RANGE);
+                assertThat(range, is(notNullValue()));
+                int start = Integer.parseInt(range.substring(6, range.indexOf('-')));
+                int end = Integer.parseInt(range.substring(range.indexOf('-') + 1, range.indexOf('/')));
+                assertEquals(content.substring(start, end + 1), res.content().toString(CharsetUtil.US_ASCII));
+                res.release();
+            }
+            assertEquals(1, cache.size());
+
+            for (Channel client: clients) {
+                client.close().sync();
+            }
+            server.close().sync();
+        } finally {
+            group.shutdownGracefully().sync();
+            ssc.delete();
+            cache.clear();
+        }
+    }
+
+    private static FullHttpRequest newRequest(HttpMethod method, String uri) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, method, uri);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends HttpResponse> T get(String uri) {
+        ch.writeInbound(newRequest(HttpMethod.GET, uri));
+        return (T) ch.readOutbound();
+    }
+
+    private HttpResponse getRange(String uri, String range) {
+        FullHttpRequest req = newRequest(HttpMethod.GET, uri);
+        req.headers().set(Names.RANGE, range);
+        ch.writeInbound(req);
+        return ch.readOutbound();
+    }
+
+    /**
+     * Reads the content which follows a response without content until the {@link LastHttpContent}.
+     */
+    private String readContent() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        for (;;) {
+            Object msg = ch.readOutbound();
+            assertNotNull(msg);
+            if (msg instanceof LastHttpContent) {
+                ((LastHttpContent) msg).release();
+                break;
+            }
+            if (msg instanceof FileRegion) {
+                FileRegion region = (FileRegion) msg;
+                while (region.transfered() < region.count()) {
+                    region.transferTo(target, region.transfered());
+                }
+                region.release();
+            } else {
+                ByteBuf buf = (ByteBuf) msg;
+                buf.readBytes(out, buf.readableBytes());
+                buf.release();
+            }
+        }
+        return out.toString("US-ASCII");
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.util.CharsetUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+public class PooledHttpClientTest {
+
+    private static final LocalAddress ADDR = new LocalAddress("PooledHttpClientTest");
+
+    private final Set<Channel> serverChildren = Collections.newSetFromMap(new ConcurrentHashMap<Channel, Boolean>());
+    private EventLoopGroup group;
+    private Channel serverChannel;
+    private PooledHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        group = new DefaultEventLoopGroup();
+        serverChannel = new ServerBootstrap().group(group).channel(LocalServerChannel.class)
+                .childHandler(new ChannelInitializer<LocalChannel>() {
+                    @Override
+                    protected void initChannel(LocalChannel ch) throws Exception {
+                        serverChildren.add(ch);
+                        ch.pipeline().addLast(new HttpServerCodec(), new HttpObjectAggregator(8192),
+                                new SimpleChannelInboundHandler<FullHttpRequest>() {
+                            @Override
+                            protected void messageReceived(ChannelHandlerContext ctx, FullHttpRequest req) {
+                                FullHttpResponse res = new DefaultFullHttpResponse(
+                                        HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                                        Unpooled.copiedBuffer(req.uri(), CharsetUtil.US_ASCII));
+                                HttpHeaderUtil.setContentLength(res, res.content().readableBytes());
+                                if (!HttpHeaderUtil.isKeepAlive(req)) {
+                                    HttpHeaderUtil.setKeepAlive(res, false);
+                                }
+                                ctx.writeAndFlush(res);
+                            }
+                        });
+                    }
+                }).bind(ADDR).sync().channel();
+        client = new PooledHttpClient(new Bootstrap().group(group).channel(LocalChannel.class), 2, 8192);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        serverChannel.close().sync();
+        group.shutdownGracefully().sync();
+    }
+
+    @Test
+    public void testConnectionIsReused() throws Exception {
+        for (int i = 0; i < 5; i ++) {
+            FullHttpResponse res = client.execute(ADDR, request("/" + i)).sync().getNow();
+            assertEquals(HttpResponseStatus.OK, res.status());
+            assertEquals("/" + i, res.content().toString(CharsetUtil.US_ASCII));
+            res.release();
+        }
+        assertEquals(1, serverChildren.size());
+    }
+
+    @Test
+    public void testConnectionIsNotReusedWithoutKeepAlive() throws Exception {
+        for (int i = 0; i < 3; i ++) {
+            FullHttpRequest req = request("/" + i);
+            HttpHeaderUtil.setKeepAlive(req, false);
+            FullHttpResponse res = client.execute(ADDR, req).sync().getNow();
+            assertEquals("/" + i, res.content().toString(CharsetUtil.US_ASCII));
+            res.release();
+        }
+        assertEquals(3, serverChildren.size());
+    }
+
+    private static FullHttpRequest request(String uri) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+    }
+}
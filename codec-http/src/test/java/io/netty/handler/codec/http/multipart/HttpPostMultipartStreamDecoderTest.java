@@ -0,0 +1,219 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.multipart;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder.ErrorDataDecoderException;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HttpPostMultipartStreamDecoderTest {
+
+    private static final String BOUNDARY = "dLV9Wyq26L_-JQxk6ferf-RT153LhOO";
+
+    // The content of the file contains partial boundaries.
+    private static final String FILE_CONTENT = "line 1\r\n--dLV9Wyq\r\n-\r\r\n--dLV9Wyq26L_-JQxk6ferf-RT153LhO\r\nend";
+
+    private static final String BODY =
+            "preamble\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "Content-Disposition: form-data; name=\"field\"\r\n" +
+            "\r\n" +
+            "value\r\n" +
+            "--" + BOUNDARY + "  \r\n" +
+            "Content-Disposition: form-data; name=\"file\";\r\n" +
+            " filename=\"fü.txt\"\r\n" +
+            "Content-Type: text/plain\r\n" +
+            "\r\n" +
+            FILE_CONTENT + "\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "Content-Disposition: form-data; name=\"empty\"\r\n" +
+            "\r\n" +
+            "\r\n" +
+            "--" + BOUNDARY + "--\r\n" +
+            "epilogue";
+
+    @Test
+    public void testWholeBody() {
+        assertEvents(decode(BODY.length()));
+    }
+
+    @Test
+    public void testSingleByteChunks() {
+        assertEvents(decode(1));
+    }
+
+    @Test
+    public void testAllChunkSizes() {
+        for (int chunkSize = 2; chunkSize < 64; chunkSize ++) {
+            assertEvents(decode(chunkSize));
+        }
+    }
+
+    @Test
+    public void testRetainedContent() {
+        for (int chunkSize = 1; chunkSize < 64; chunkSize ++) {
+            assertEvents(decode(chunkSize, true));
+        }
+    }
+
+    @Test
+    public void testBodyStartingWithBoundary() {
+        Recorder recorder = new Recorder();
+        HttpPostMultipartStreamDecoder decoder = new HttpPostMultipartStreamDecoder(newRequest(), recorder);
+        decoder.offer(new DefaultLastHttpContent(Unpooled.copiedBuffer(
+                "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"a\"\r\n\r\nb\r\n--" + BOUNDARY + "--",
+                CharsetUtil.UTF_8)));
+        assertTrue(decoder.isEnded());
+        assertEquals("[start form-data; name=\"a\", b, end, ended]", recorder.events.toString());
+        decoder.destroy();
+    }
+
+    @Test(expected = ErrorDataDecoderException.class)
+    public void testTruncatedBody() {
+        HttpPostMultipartStreamDecoder decoder = new HttpPostMultipartStreamDecoder(newRequest(), new Recorder());
+        try {
+            decoder.offer(new DefaultLastHttpContent(Unpooled.copiedBuffer(
+                    "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"a\"\r\n\r\nb", CharsetUtil.UTF_8)));
+        } finally {
+            decoder.destroy();
+        }
+    }
+
+    @Test(expected = ErrorDataDecoderException.class)
+    public void testHeadersTooLarge() {
+        HttpPostMultipartStreamDecoder decoder = new HttpPostMultipartStreamDecoder(newRequest(), new Recorder(), 32);
+        try {
+            decoder.offer(new DefaultHttpContent(Unpooled.copiedBuffer(
+                    "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"a\"\r\n\r\n", CharsetUtil.UTF_8)));
+        } finally {
+            decoder.destroy();
+        }
+    }
+
+    @Test(expected = ErrorDataDecoderException.class)
+    public void testNotMultipart() {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/");
+        request.headers().set(HttpHeaders.Names.CONTENT_TYPE, "text/plain");
+        new HttpPostMultipartStreamDecoder(request, new Recorder());
+    }
+
+    private static List<String> decode(int chunkSize) {
+        return decode(chunkSize, false);
+    }
+
+    private static List<String> decode(int chunkSize, boolean retain) {
+        Recorder recorder = new Recorder(retain);
+        HttpPostMultipartStreamDecoder decoder = new HttpPostMultipartStreamDecoder(newRequest(), recorder);
+        ByteBuf body = Unpooled.copiedBuffer(BODY, CharsetUtil.UTF_8);
+        while (body.isReadable()) {
+            int length = Math.min(chunkSize, body.readableBytes());
+            ByteBuf chunk = body.readSlice(length);
+            HttpContent content = body.isReadable() ? new DefaultHttpContent(chunk) : new DefaultLastHttpContent(chunk);
+            decoder.offer(content);
+        }
+        assertTrue(decoder.isEnded());
+        decoder.destroy();
+        body.release();
+        return recorder.events;
+    }
+
+    private static void assertEvents(List<String> events) {
+        List<String> expected = new ArrayList<String>();
+        expected.add("start form-data; name=\"field\"");
+        expected.add("value");
+        expected.add("end");
+        expected.add("start form-data; name=\"file\"; filename=\"fü.txt\"");
+        expected.add(FILE_CONTENT);
+        expected.add("end");
+        expected.add("start form-data; name=\"empty\"");
+        expected.add("end");
+        expected.add("ended");
+        assertEquals(expected, events);
+    }
+
+    private static HttpRequest newRequest() {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload");
+        request.headers().set(HttpHeaders.Names.CONTENT_TYPE, "multipart/form-data; boundary=" + BOUNDARY);
+        return request;
+    }
+
+    /**
+     * Records the events, concatenating the content of each part.  If {@code retain} is set, the content slices are
+     * retained and only read once the part ended.
+     */
+    private static final class Recorder implements HttpPostMultipartStreamListener {
+        final List<String> events = new ArrayList<String>();
+        private final List<ByteBuf> retained = new ArrayList<ByteBuf>();
+        private final boolean retain;
+        private StringBuilder content;
+
+        Recorder() {
+            this(false);
+        }
+
+        Recorder(boolean retain) {
+            this.retain = retain;
+        }
+
+        @Override
+        public void partStarted(HttpHeaders headers) {
+            events.add("start " + headers.get("Content-Disposition"));
+            content = new StringBuilder();
+        }
+
+        @Override
+        public void partContent(ByteBuf buf) {
+            if (retain) {
+                retained.add(buf.retain());
+            } else {
+                content.append(buf.toString(CharsetUtil.UTF_8));
+            }
+        }
+
+        @Override
+        public void partEnded() {
+            for (ByteBuf buf: retained) {
+                content.append(buf.toString(CharsetUtil.UTF_8));
+                buf.release();
+            }
+            retained.clear();
+            if (content.length() > 0) {
+                events.add(content.toString());
+            }
+            events.add("end");
+        }
+
+        @Override
+        public void multipartEnded() {
+            events.add("ended");
+        }
+    }
+}
@@ -21,6 +21,7 @@ import static io.netty.handler.codec.http.HttpHeaders.Values.GZIP;
 import static io.netty.handler.codec.http.HttpHeaders.Values.IDENTITY;
 import static io.netty.handler.codec.http.HttpHeaders.Values.XDEFLATE;
 import static io.netty.handler.codec.http.HttpHeaders.Values.XGZIP;
+import static io.netty.handler.codec.http.HttpHeaders.Values.ZSTD;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
@@ -29,6 +30,7 @@ import io.netty.handler.codec.AsciiString;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.compression.ZlibCodecFactory;
 import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.handler.codec.compression.ZstdDecoder;
 
 /**
  * A HTTP2 frame listener that will decompress data frames according to the {@code content-encoding} header for each
@@ -135,6 +137,9 @@ public class DelegatingDecompressorFrameListener extends Http2FrameListenerDecor
             // To be strict, 'deflate' means ZLIB, but some servers were not implemented correctly.
             return new EmbeddedChannel(ZlibCodecFactory.newZlibDecoder(wrapper));
         }
+        if (ZSTD.equalsIgnoreCase(contentEncoding)) {
+            return new EmbeddedChannel(new ZstdDecoder());
+        }
         // 'identity' or unsupported
         return null;
     }
@@ -594,6 +594,24 @@ public final class AsciiString implements CharSequence, Comparable<CharSequence>
             return false;
         }
 
+        if (string instanceof AsciiString) {
+            // Both hash codes are case-insensitive and cached, so a mismatch is a cheap early exit.
+            AsciiString that = (AsciiString) string;
+            if (hashCode() != that.hashCode()) {
+                return false;
+            }
+
+            final byte[] thatValue = that.value;
+            for (int i = 0; i < thisLen; i ++) {
+                byte b1 = value[i];
+                byte b2 = thatValue[i];
+                if (b1 != b2 && toLowerCase(b1) != toLowerCase(b2)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         for (int i = 0; i < thisLen; i ++) {
             char c1 = (char) (value[i] & 0xFF);
             char c2 = string.charAt(i);
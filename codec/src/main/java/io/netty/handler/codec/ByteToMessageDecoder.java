@@ -16,6 +16,8 @@
 package io.netty.handler.codec;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerAdapter;
@@ -44,10 +46,52 @@ import java.util.List;
  *
  * Be aware that sub-classes of {@link ByteToMessageDecoder} <strong>MUST NOT</strong>
  * annotated with {@link @Sharable}.
+ *
+ * <h3>Cumulation</h3>
+ * Received buffers are accumulated by a {@link Cumulator} until they can be decoded. By default they are copied into
+ * a single buffer ({@link #MERGE_CUMULATOR}), which is cheap for small messages. Decoders which wait for large
+ * frames may call {@link #setCumulator(Cumulator)} with {@link #COMPOSITE_CUMULATOR}, so the received buffers are
+ * appended as components of a {@link CompositeByteBuf} instead of being copied over and over again.
  */
 public abstract class ByteToMessageDecoder extends ChannelHandlerAdapter {
 
+    private static final int DEFAULT_MAX_CUMULATION_COMPONENTS = 16;
+
+    /**
+     * Cumulate {@link ByteBuf}s by merging them into one {@link ByteBuf}, using memory copies.
+     */
+    public static final Cumulator MERGE_CUMULATOR = new Cumulator() {
+        @Override
+        public ByteBuf cumulate(ByteBufAllocator alloc, ByteBuf cumulation, ByteBuf in) {
+            ByteBuf buffer;
+            if (cumulation.writerIndex() > cumulation.maxCapacity() - in.readableBytes()
+                    || cumulation.refCnt() > 1) {
+                // Expand cumulation (by replace it) when either there is not more room in the buffer
+                // or if the refCnt is greater then 1 which may happen when the user use slice().retain() or
+                // duplicate().retain().
+                //
+                // See:
+                // - https://github.com/netty/netty/issues/2327
+                // - https://github.com/netty/netty/issues/1764
+                buffer = expandCumulation(alloc, cumulation, in.readableBytes());
+            } else {
+                buffer = cumulation;
+            }
+            buffer.writeBytes(in);
+            in.release();
+            return buffer;
+        }
+    };
+
+    /**
+     * Cumulate {@link ByteBuf}s by adding them to a {@link CompositeByteBuf} and so do no memory copy whenever
+     * possible. The components are consolidated once there are more than
+     * {@value #DEFAULT_MAX_CUMULATION_COMPONENTS} of them.
+     */
+    public static final Cumulator COMPOSITE_CUMULATOR = compositeCumulator(DEFAULT_MAX_CUMULATION_COMPONENTS);
+
     ByteBuf cumulation;
+    private Cumulator cumulator = MERGE_CUMULATOR;
     private boolean singleDecode;
     private boolean decodeWasNull;
     private boolean first;
@@ -56,6 +100,61 @@ public abstract class ByteToMessageDecoder extends ChannelHandlerAdapter {
         CodecUtil.ensureNotSharable(this);
     }
 
+    /**
+     * Returns a {@link Cumulator} which adds the received {@link ByteBuf}s to a {@link CompositeByteBuf}, and
+     * consolidates all components into one buffer once there are more than {@code maxNumComponents} of them.
+     */
+    public static Cumulator compositeCumulator(final int maxNumComponents) {
+        if (maxNumComponents < 2) {
+            throw new IllegalArgumentException("maxNumComponents: " + maxNumComponents + " (expected: >= 2)");
+        }
+        return new Cumulator() {
+            @Override
+            public ByteBuf cumulate(ByteBufAllocator alloc, ByteBuf cumulation, ByteBuf in) {
+                if (!in.isReadable()) {
+                    in.release();
+                    return cumulation;
+                }
+
+                ByteBuf buffer;
+                if (cumulation.refCnt() > 1) {
+                    // Expand cumulation (by replace it) when the refCnt is greater then 1 which may happen when the
+                    // user use slice().retain() or duplicate().retain().
+                    //
+                    // See:
+                    // - https://github.com/netty/netty/issues/2327
+                    // - https://github.com/netty/netty/issues/1764
+                    buffer = expandCumulation(alloc, cumulation, in.readableBytes());
+                    buffer.writeBytes(in);
+                    in.release();
+                } else {
+                    CompositeByteBuf composite;
+                    if (cumulation instanceof CompositeByteBuf) {
+                        composite = (CompositeByteBuf) cumulation;
+                    } else {
+                        int cumulationReadable = cumulation.readableBytes();
+                        composite = alloc.compositeBuffer(maxNumComponents);
+                        composite.addComponent(cumulation).writerIndex(cumulationReadable);
+                    }
+                    int readable = in.readableBytes();
+                    composite.addComponent(in).writerIndex(composite.writerIndex() + readable);
+                    buffer = composite;
+                }
+                return buffer;
+            }
+        };
+    }
+
+    /**
+     * Set the {@link Cumulator} to use for cumulate the received {@link ByteBuf}s.
+     */
+    public void setCumulator(Cumulator cumulator) {
+        if (cumulator == null) {
+            throw new NullPointerException("cumulator");
+        }
+        this.cumulator = cumulator;
+    }
+
     /**
      * If set then only one message is decoded on each {@link #channelRead(ChannelHandlerContext, Object)}
      * call. This may be useful if you need to do some protocol upgrade and want to make sure nothing is mixed up.
@@ -131,19 +230,7 @@ public abstract class ByteToMessageDecoder extends ChannelHandlerAdapter {
                 if (first) {
                     cumulation = data;
                 } else {
-                    if (cumulation.writerIndex() > cumulation.maxCapacity() - data.readableBytes()
-                            || cumulation.refCnt() > 1) {
-                        // Expand cumulation (by replace it) when either there is not more room in the buffer
-                        // or if the refCnt is greater then 1 which may happen when the user use slice().retain() or
-                        // duplicate().retain().
-                        //
-                        // See:
-                        // - https://github.com/netty/netty/issues/2327
-                        // - https://github.com/netty/netty/issues/1764
-                        expandCumulation(ctx, data.readableBytes());
-                    }
-                    cumulation.writeBytes(data);
-                    data.release();
+                    cumulation = cumulator.cumulate(ctx.alloc(), cumulation, data);
                 }
                 callDecode(ctx, cumulation, out);
             } catch (DecoderException e) {
@@ -168,11 +255,12 @@ public abstract class ByteToMessageDecoder extends ChannelHandlerAdapter {
         }
     }
 
-    private void expandCumulation(ChannelHandlerContext ctx, int readable) {
+    private static ByteBuf expandCumulation(ByteBufAllocator alloc, ByteBuf cumulation, int readable) {
         ByteBuf oldCumulation = cumulation;
-        cumulation = ctx.alloc().buffer(oldCumulation.readableBytes() + readable);
+        cumulation = alloc.buffer(oldCumulation.readableBytes() + readable);
         cumulation.writeBytes(oldCumulation);
         oldCumulation.release();
+        return cumulation;
     }
 
     @Override
@@ -302,4 +390,16 @@ public abstract class ByteToMessageDecoder extends ChannelHandlerAdapter {
     protected void decodeLast(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
         decode(ctx, in, out);
     }
+
+    /**
+     * Cumulate {@link ByteBuf}s.
+     */
+    public interface Cumulator {
+        /**
+         * Cumulate the given {@link ByteBuf}s and return the {@link ByteBuf} that holds the cumulated bytes.
+         * The implementation is responsible to correctly handle the life-cycle of the given {@link ByteBuf}s and so
+         * call {@link ByteBuf#release()} if a {@link ByteBuf} is fully consumed.
+         */
+        ByteBuf cumulate(ByteBufAllocator alloc, ByteBuf cumulation, ByteBuf in);
+    }
 }
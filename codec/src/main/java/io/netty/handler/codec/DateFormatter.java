@@ -0,0 +1,251 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec;
+
+import java.util.Date;
+
+/**
+ * Formats and parses the dates of HTTP headers without going through {@link java.text.SimpleDateFormat}.
+ * <p>
+ * Dates are always formatted as specified by RFC 1123, e.g. {@code "Sun, 06 Nov 1994 08:49:37 GMT"}.  The parser
+ * accepts all three formats that RFC 2616 requires a recipient to understand:
+ * <ul>
+ * <li>{@code Sun, 06 Nov 1994 08:49:37 GMT} (RFC 1123)</li>
+ * <li>{@code Sunday, 06-Nov-94 08:49:37 GMT} (RFC 850, obsolete)</li>
+ * <li>{@code Sun Nov  6 08:49:37 1994} (ANSI C {@code asctime()}, obsolete)</li>
+ * </ul>
+ * The day of the week is ignored and all dates are interpreted as GMT.  Both directions work on the epoch
+ * milliseconds directly and allocate nothing but the result, so they are safe to use from any thread.
+ */
+public final class DateFormatter {
+
+    private static final String[] DAYS_OF_WEEK = { "Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat" };
+    private static final String[] MONTHS = {
+            "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec" };
+
+    private static final long MILLIS_PER_SECOND = 1000;
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * MILLIS_PER_SECOND;
+
+    /**
+     * Formats the specified date as specified by RFC 1123.
+     */
+    public static String format(Date date) {
+        if (date == null) {
+            throw new NullPointerException("date");
+        }
+        return format(date.getTime());
+    }
+
+    /**
+     * Formats the specified number of milliseconds since the epoch as specified by RFC 1123.
+     */
+    public static String format(long millis) {
+        return append(millis, new StringBuilder(29)).toString();
+    }
+
+    /**
+     * Appends the RFC 1123 representation of the specified number of milliseconds since the epoch.
+     */
+    public static StringBuilder append(long millis, StringBuilder sb) {
+        long days = floorDiv(millis, MILLIS_PER_DAY);
+        int millisOfDay = (int) (millis - days * MILLIS_PER_DAY);
+        int secondOfDay = millisOfDay / (int) MILLIS_PER_SECOND;
+
+        // Convert the days since the epoch into a proleptic Gregorian date.
+        long z = days + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int dayOfMonth = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        // 1970-01-01 was a Thursday.
+        sb.append(DAYS_OF_WEEK[(int) floorMod(days + 4, 7)]).append(", ");
+        appendTwoDigits(dayOfMonth, sb).append(' ');
+        sb.append(MONTHS[month - 1]).append(' ');
+        if (year >= 0 && year < 1000) {
+            sb.append(year < 10 ? "000" : year < 100 ? "00" : "0");
+        }
+        sb.append(year).append(' ');
+        appendTwoDigits(secondOfDay / 3600, sb).append(':');
+        appendTwoDigits(secondOfDay / 60 % 60, sb).append(':');
+        appendTwoDigits(secondOfDay % 60, sb).append(" GMT");
+        return sb;
+    }
+
+    private static StringBuilder appendTwoDigits(int value, StringBuilder sb) {
+        return sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    /**
+     * Parses the specified HTTP date.
+     *
+     * @return the parsed date or {@code null} if the text is not a valid HTTP date
+     */
+    public static Date parseHttpDate(CharSequence text) {
+        long millis = parseHttpDate(text, Long.MIN_VALUE);
+        return millis == Long.MIN_VALUE ? null : new Date(millis);
+    }
+
+    /**
+     * Parses the specified HTTP date into the number of milliseconds since the epoch.
+     *
+     * @return the parsed date or {@code defaultValue} if the text is not a valid HTTP date
+     */
+    public static long parseHttpDate(CharSequence text, long defaultValue) {
+        if (text == null) {
+            throw new NullPointerException("text");
+        }
+
+        int dayOfMonth = -1;
+        int month = -1;
+        int year = -1;
+        int secondOfDay = -1;
+
+        final int length = text.length();
+        int tokenStart = -1;
+        for (int i = 0; i <= length; i ++) {
+            if (i < length && !isDelimiter(text.charAt(i))) {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+                continue;
+            }
+            if (tokenStart < 0) {
+                continue;
+            }
+
+            int tokenEnd = i;
+            if (secondOfDay < 0 && (secondOfDay = parseTime(text, tokenStart, tokenEnd)) >= 0) {
+                // Time of day.
+            } else if (dayOfMonth < 0 && tokenEnd - tokenStart <= 2 &&
+                       (dayOfMonth = parseNumber(text, tokenStart, tokenEnd)) >= 0) {
+                // Day of month.
+            } else if (month < 0 && (month = parseMonth(text, tokenStart, tokenEnd)) >= 0) {
+                // Month.
+            } else if (year < 0 && (tokenEnd - tokenStart == 2 || tokenEnd - tokenStart == 4) &&
+                       (year = parseNumber(text, tokenStart, tokenEnd)) >= 0) {
+                if (tokenEnd - tokenStart == 2) {
+                    // RFC 850 two digit year.
+                    year += year >= 70 ? 1900 : 2000;
+                }
+            }
+            tokenStart = -1;
+        }
+
+        if (dayOfMonth < 1 || dayOfMonth > 31 || month < 0 || year < 0 || secondOfDay < 0) {
+            return defaultValue;
+        }
+
+        // Convert the proleptic Gregorian date into days since the epoch.
+        int y = month <= 1 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 1 ? month - 2 : month + 10) + 2) / 5 + dayOfMonth - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        long days = era * 146097L + dayOfEra - 719468;
+
+        return days * MILLIS_PER_DAY + secondOfDay * MILLIS_PER_SECOND;
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == ' ' || c == ',' || c == '-' || c == '\t';
+    }
+
+    /**
+     * Parses {@code HH:mm:ss} into the second of the day, or returns {@code -1}.
+     */
+    private static int parseTime(CharSequence text, int start, int end) {
+        int secondOfDay = 0;
+        int value = 0;
+        int digits = 0;
+        int fields = 0;
+        for (int i = start; i <= end; i ++) {
+            char c = i < end ? text.charAt(i) : ':';
+            if (c == ':') {
+                if (digits == 0 || fields == 3) {
+                    return -1;
+                }
+                int max = fields == 0 ? 23 : 59;
+                if (value > max) {
+                    return -1;
+                }
+                secondOfDay = secondOfDay * 60 + value;
+                value = 0;
+                digits = 0;
+                fields ++;
+            } else if (c >= '0' && c <= '9' && digits < 2) {
+                value = value * 10 + c - '0';
+                digits ++;
+            } else {
+                return -1;
+            }
+        }
+        return fields == 3 ? secondOfDay : -1;
+    }
+
+    private static int parseNumber(CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i ++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    /**
+     * Parses a three-letter month abbreviation into the zero-based month, or returns {@code -1}.
+     */
+    private static int parseMonth(CharSequence text, int start, int end) {
+        if (end - start != 3) {
+            return -1;
+        }
+        for (int month = 0; month < MONTHS.length; month ++) {
+            String name = MONTHS[month];
+            if (equalsIgnoreCase(name.charAt(0), text.charAt(start)) &&
+                equalsIgnoreCase(name.charAt(1), text.charAt(start + 1)) &&
+                equalsIgnoreCase(name.charAt(2), text.charAt(start + 2))) {
+                return month;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares an ASCII letter with an arbitrary character, ignoring the case.
+     */
+    private static boolean equalsIgnoreCase(char letter, char c) {
+        return (letter | 0x20) == (c | 0x20);
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        return (x % y != 0 && (x ^ y) < 0) ? q - 1 : q;
+    }
+
+    private static long floorMod(long x, long y) {
+        return x - floorDiv(x, y) * y;
+    }
+
+    private DateFormatter() {
+    }
+}
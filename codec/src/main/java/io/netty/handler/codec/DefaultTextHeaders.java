@@ -17,24 +17,16 @@
 package io.netty.handler.codec;
 
 import static io.netty.util.internal.ObjectUtil.checkNotNull;
-import io.netty.util.concurrent.FastThreadLocal;
 import io.netty.util.internal.PlatformDependent;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.ParsePosition;
-import java.text.SimpleDateFormat;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.TimeZone;
 import java.util.TreeSet;
 
 public class DefaultTextHeaders implements TextHeaders {
@@ -298,11 +290,8 @@ public class DefaultTextHeaders implements TextHeaders {
             return null;
         }
 
-        try {
-            return HttpHeaderDateFormat.get().parse(v.toString());
-        } catch (ParseException ignored) {
-            return null;
-        }
+        long millis = DateFormatter.parseHttpDate(v, Long.MIN_VALUE);
+        return millis == Long.MIN_VALUE ? null : millis;
     }
 
     @Override
@@ -312,7 +301,7 @@ public class DefaultTextHeaders implements TextHeaders {
             return defaultValue;
         }
 
-        return HttpHeaderDateFormat.get().parse(v.toString(), defaultValue);
+        return DateFormatter.parseHttpDate(v, defaultValue);
     }
 
     @Override
@@ -417,11 +406,8 @@ public class DefaultTextHeaders implements TextHeaders {
             return null;
         }
 
-        try {
-            return HttpHeaderDateFormat.get().parse(v.toString());
-        } catch (ParseException ignored) {
-            return null;
-        }
+        long millis = DateFormatter.parseHttpDate(v, Long.MIN_VALUE);
+        return millis == Long.MIN_VALUE ? null : millis;
     }
 
     @Override
@@ -431,7 +417,7 @@ public class DefaultTextHeaders implements TextHeaders {
             return defaultValue;
         }
 
-        return HttpHeaderDateFormat.get().parse(v.toString(), defaultValue);
+        return DateFormatter.parseHttpDate(v, defaultValue);
     }
 
     @Override
@@ -654,81 +640,4 @@ public class DefaultTextHeaders implements TextHeaders {
             throw new UnsupportedOperationException();
         }
     }
-
-    /**
-     * This DateFormat decodes 3 formats of {@link java.util.Date}, but only encodes the one,
-     * the first:
-     * <ul>
-     * <li>Sun, 06 Nov 1994 08:49:37 GMT: standard specification, the only one with
-     * valid generation</li>
-     * <li>Sun, 06 Nov 1994 08:49:37 GMT: obsolete specification</li>
-     * <li>Sun Nov 6 08:49:37 1994: obsolete specification</li>
-     * </ul>
-     */
-    static final class HttpHeaderDateFormat {
-
-        private static final ParsePosition parsePos = new ParsePosition(0);
-        private static final FastThreadLocal<HttpHeaderDateFormat> dateFormatThreadLocal =
-                new FastThreadLocal<HttpHeaderDateFormat>() {
-                    @Override
-                    protected HttpHeaderDateFormat initialValue() {
-                        return new HttpHeaderDateFormat();
-                    }
-                };
-
-        static HttpHeaderDateFormat get() {
-            return dateFormatThreadLocal.get();
-        }
-
-        /**
-         * Standard date format:
-         * <pre>Sun, 06 Nov 1994 08:49:37 GMT -> E, d MMM yyyy HH:mm:ss z</pre>
-         */
-        private final DateFormat dateFormat1 = new SimpleDateFormat("E, dd MMM yyyy HH:mm:ss z", Locale.ENGLISH);
-        /**
-         * First obsolete format:
-         * <pre>Sunday, 06-Nov-94 08:49:37 GMT -> E, d-MMM-y HH:mm:ss z</pre>
-         */
-        private final DateFormat dateFormat2 = new SimpleDateFormat("E, dd-MMM-yy HH:mm:ss z", Locale.ENGLISH);
-        /**
-         * Second obsolete format
-         * <pre>Sun Nov 6 08:49:37 1994 -> EEE, MMM d HH:mm:ss yyyy</pre>
-         */
-        private final DateFormat dateFormat3 = new SimpleDateFormat("E MMM d HH:mm:ss yyyy", Locale.ENGLISH);
-
-        private HttpHeaderDateFormat() {
-            TimeZone tz = TimeZone.getTimeZone("GMT");
-            dateFormat1.setTimeZone(tz);
-            dateFormat2.setTimeZone(tz);
-            dateFormat3.setTimeZone(tz);
-        }
-
-        long parse(String text) throws ParseException {
-            Date date = dateFormat1.parse(text, parsePos);
-            if (date == null) {
-                date = dateFormat2.parse(text, parsePos);
-            }
-            if (date == null) {
-                date = dateFormat3.parse(text, parsePos);
-            }
-            if (date == null) {
-                throw new ParseException(text, 0);
-            }
-            return date.getTime();
-        }
-
-        long parse(String text, long defaultValue) {
-            Date date = dateFormat1.parse(text, parsePos);
-            if (date == null) {
-                date = dateFormat2.parse(text, parsePos);
-            }
-            if (date == null) {
-                date = dateFormat3.parse(text, parsePos);
-            }
-            if (date == null) {
-                return defaultValue;
-            }
-            return date.getTime();
-        }
-    }
 }
@@ -265,7 +265,7 @@ public abstract class MessageAggregator<I, S, C extends ByteBufHolder, O extends
             CompositeByteBuf content = (CompositeByteBuf) currentMessage.content();
 
             // Handle oversized message.
-            if (content.readableBytes() > maxContentLength - partialContent.readableBytes()) {
+            if (aggregatedContentLength(currentMessage) > maxContentLength - partialContent.readableBytes()) {
                 // By convention, full message type extends first message type.
                 @SuppressWarnings("unchecked")
                 S s = (S) currentMessage;
@@ -350,6 +350,15 @@ public abstract class MessageAggregator<I, S, C extends ByteBufHolder, O extends
      */
     protected void aggregate(O aggregated, C content) throws Exception { }
 
+    /**
+     * Returns the number of content bytes aggregated into the specified message so far.  The default implementation
+     * returns the number of readable bytes of its content.  Override this method if
+     * {@link #aggregate(ByteBufHolder, ByteBufHolder)} moves content out of the aggregated message.
+     */
+    protected long aggregatedContentLength(O aggregated) throws Exception {
+        return aggregated.content().readableBytes();
+    }
+
     /**
      * Invoked when the specified {@code aggregated} message is about to be passed to the next handler in the pipeline.
      */
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+/**
+ * Reads a Zstandard backward bit stream: bits are consumed starting from the highest bit set in the
+ * last byte (the end marker) towards the first byte of the stream.
+ */
+final class ZstdBitReader {
+    private byte[] in;
+    private int start;
+
+    /**
+     * Number of bits that are still available, counted from the first bit of the stream.
+     */
+    private int bitPosition;
+
+    /**
+     * Prepares the reader to consume the stream stored in {@code in[start, end)}.
+     */
+    void init(byte[] in, int start, int end) {
+        if (end <= start) {
+            throw new DecompressionException("empty bit stream");
+        }
+        int last = in[end - 1] & 0xFF;
+        if (last == 0) {
+            throw new DecompressionException("bit stream end marker not found");
+        }
+        this.in = in;
+        this.start = start;
+        bitPosition = (end - 1 - start << 3) + 31 - Integer.numberOfLeadingZeros(last);
+    }
+
+    /**
+     * Returns the next {@code n} bits (at most 31) without consuming them. Bits before the beginning of the
+     * stream are read as zeroes.
+     */
+    int peekBits(int n) {
+        if (n == 0) {
+            return 0;
+        }
+        final int low = bitPosition - n;
+        final int firstByte = low >> 3;
+        final int lastByte = bitPosition - 1 >> 3;
+        long value = 0;
+        for (int i = lastByte; i >= firstByte; i--) {
+            value = value << 8 | (i >= 0 ? in[start + i] & 0xFF : 0);
+        }
+        return (int) (value >>> (low - (firstByte << 3)) & (1L << n) - 1);
+    }
+
+    void skipBits(int n) {
+        bitPosition -= n;
+    }
+
+    int readBits(int n) {
+        int value = peekBits(n);
+        bitPosition -= n;
+        return value;
+    }
+
+    /**
+     * Returns {@code true} if more bits have been consumed than the stream contains.
+     */
+    boolean isOverflowed() {
+        return bitPosition < 0;
+    }
+
+    /**
+     * Returns {@code true} if the stream has been consumed exactly.
+     */
+    boolean isFinished() {
+        return bitPosition == 0;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+/**
+ * Writes a Zstandard bit stream: bits are appended from the least significant bit of each byte upwards, and
+ * the stream is terminated by a single set bit so that {@link ZstdBitReader} can find its end.
+ */
+final class ZstdBitWriter {
+    private byte[] out;
+    private int position;
+    private int limit;
+    private long container;
+    private int bitCount;
+
+    /**
+     * Prepares the writer to fill {@code out[offset, limit)}.
+     */
+    void init(byte[] out, int offset, int limit) {
+        this.out = out;
+        position = offset;
+        this.limit = limit;
+        container = 0;
+        bitCount = 0;
+    }
+
+    /**
+     * Appends the {@code n} lowest bits of {@code value}. Bits that do not fit into the output are dropped
+     * and reported by {@link #close()}.
+     */
+    void addBits(int value, int n) {
+        container |= (value & (1L << n) - 1) << bitCount;
+        bitCount += n;
+        while (bitCount >= 8) {
+            writeByte();
+        }
+    }
+
+    /**
+     * Writes the end marker and returns the position after the last written byte, or {@code -1} if the
+     * output was too small to hold the whole stream.
+     */
+    int close() {
+        addBits(1, 1);
+        if (bitCount > 0) {
+            writeByte();
+        }
+        return position > limit ? -1 : position;
+    }
+
+    private void writeByte() {
+        if (position < limit) {
+            out[position] = (byte) container;
+        }
+        position++;
+        container >>>= 8;
+        bitCount = Math.max(0, bitCount - 8);
+    }
+}
@@ -0,0 +1,765 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+
+import static io.netty.handler.codec.compression.ZstdConstants.*;
+
+/**
+ * Compresses data into Zstandard blocks. Matches are found with a single-entry hash table over a sliding
+ * history, so they may reach back into previous blocks of the same frame, and the most recent offset is tried
+ * first as it is the cheapest to encode. Literals are Huffman coded, and every sequence code uses whichever of
+ * the predefined distribution, a single symbol or a distribution described in the block is the smallest.
+ */
+final class ZstdBlockCompressor {
+    private static final ZstdFseEncodeTable LITERALS_LENGTH_DEFAULT_TABLE =
+            new ZstdFseEncodeTable(LITERALS_LENGTH_DEFAULT_NORM, LITERALS_LENGTH_DEFAULT_LOG);
+    private static final ZstdFseEncodeTable MATCH_LENGTH_DEFAULT_TABLE =
+            new ZstdFseEncodeTable(MATCH_LENGTH_DEFAULT_NORM, MATCH_LENGTH_DEFAULT_LOG);
+    private static final ZstdFseEncodeTable OFFSET_DEFAULT_TABLE =
+            new ZstdFseEncodeTable(OFFSET_DEFAULT_NORM, OFFSET_DEFAULT_LOG);
+
+    private static final int HASH_LOG = 15;
+    private static final int MIN_MATCH_LENGTH = 4;
+    private static final int MIN_HUFFMAN_LITERALS = 64;
+    private static final int MAX_SINGLE_STREAM_LITERALS = 1023;
+    private static final int MAX_DIRECT_WEIGHTS_SYMBOL = 128;
+    private static final int WEIGHTS_ACCURACY_LOG = 6;
+    private static final int MIN_FSE_COMPRESSED_SEQUENCES = 16;
+    private static final double LOG_2 = Math.log(2);
+
+    private final int windowSize;
+    private final int blockSize;
+    private final byte[] history;
+    private int historyPosition;
+    private final int[] hashTable = new int[1 << HASH_LOG];
+
+    private final byte[] literals;
+    private final int[] literalsLengths;
+    private final int[] matchLengths;
+    private final int[] offsetValues;
+    private final int[] repeatedOffsets = { 1, 4, 8 };
+    private final byte[] block;
+    private final byte[] huffmanBuffer;
+    private final ZstdBitWriter writer = new ZstdBitWriter();
+
+    private final int[] frequencies = new int[256];
+    private final int[] codeLengths = new int[256];
+    private final int[] codes = new int[256];
+    private final int[] rankStart = new int[MAX_HUFFMAN_BITS + 2];
+    private final byte[] weights = new byte[256];
+    private final int[] weightCounts = new int[MAX_HUFFMAN_BITS + 1];
+    private final short[] weightsNorm = new short[MAX_HUFFMAN_BITS + 1];
+    private final ZstdFseEncodeTable weightsTable = new ZstdFseEncodeTable(WEIGHTS_ACCURACY_LOG, MAX_HUFFMAN_BITS);
+    private final ZstdFseTable weightsDecodeTable = new ZstdFseTable(WEIGHTS_ACCURACY_LOG, MAX_HUFFMAN_BITS);
+
+    private final byte[] literalsLengthCodes;
+    private final byte[] matchLengthCodes;
+    private final byte[] offsetCodes;
+    private final int[] codeCounts = new int[MAX_MATCH_LENGTH_SYMBOL + 1];
+    private final short[] codeNorm = new short[MAX_MATCH_LENGTH_SYMBOL + 1];
+    private final ZstdFseEncodeTable literalsLengthTable =
+            new ZstdFseEncodeTable(MAX_LITERALS_LENGTH_ACCURACY_LOG, MAX_LITERALS_LENGTH_SYMBOL);
+    private final ZstdFseEncodeTable matchLengthTable =
+            new ZstdFseEncodeTable(MAX_MATCH_LENGTH_ACCURACY_LOG, MAX_MATCH_LENGTH_SYMBOL);
+    private final ZstdFseEncodeTable offsetTable =
+            new ZstdFseEncodeTable(MAX_OFFSET_ACCURACY_LOG, MAX_OFFSET_SYMBOL);
+    private int tableMaxCode;
+    private int tableAccuracyLog;
+
+    ZstdBlockCompressor(int windowLog) {
+        windowSize = 1 << windowLog;
+        blockSize = Math.min(windowSize, MAX_BLOCK_SIZE);
+        history = new byte[windowSize << 1];
+        literals = new byte[blockSize];
+        int maxSequences = blockSize / MIN_MATCH_LENGTH + 1;
+        literalsLengths = new int[maxSequences];
+        matchLengths = new int[maxSequences];
+        offsetValues = new int[maxSequences];
+        literalsLengthCodes = new byte[maxSequences];
+        matchLengthCodes = new byte[maxSequences];
+        offsetCodes = new byte[maxSequences];
+        block = new byte[BLOCK_HEADER_SIZE + blockSize];
+        huffmanBuffer = new byte[blockSize + blockSize / 2 + 64];
+        for (int i = 0; i < hashTable.length; i++) {
+            hashTable[i] = -1;
+        }
+    }
+
+    /**
+     * Compresses all readable bytes of {@code in} into non-last blocks written to {@code out}.
+     */
+    void compress(ByteBuf in, ByteBuf out) {
+        while (in.isReadable()) {
+            final int length = Math.min(in.readableBytes(), blockSize);
+            if (historyPosition + length > history.length) {
+                slideHistory();
+            }
+            final int start = historyPosition;
+            in.readBytes(history, start, length);
+            historyPosition += length;
+
+            final int repeated0 = repeatedOffsets[0];
+            final int repeated1 = repeatedOffsets[1];
+            final int repeated2 = repeatedOffsets[2];
+            final int compressedLength = compressBlock(start, start + length);
+            if (compressedLength > 0) {
+                out.writeBytes(block, 0, compressedLength);
+            } else {
+                // The decoder will not see the sequences of this block.
+                repeatedOffsets[0] = repeated0;
+                repeatedOffsets[1] = repeated1;
+                repeatedOffsets[2] = repeated2;
+                writeBlockHeader(out, false, BLOCK_TYPE_RAW, length);
+                out.writeBytes(history, start, length);
+            }
+        }
+    }
+
+    /**
+     * Writes the empty block which terminates a frame.
+     */
+    static void writeLastBlock(ByteBuf out) {
+        writeBlockHeader(out, true, BLOCK_TYPE_RAW, 0);
+    }
+
+    private static void writeBlockHeader(ByteBuf out, boolean last, int type, int size) {
+        int header = (last ? 1 : 0) | type << 1 | size << 3;
+        out.writeByte(header);
+        out.writeByte(header >>> 8);
+        out.writeByte(header >>> 16);
+    }
+
+    private void slideHistory() {
+        final int shift = historyPosition - windowSize;
+        System.arraycopy(history, shift, history, 0, windowSize);
+        historyPosition = windowSize;
+        final int[] hashTable = this.hashTable;
+        for (int i = 0; i < hashTable.length; i++) {
+            hashTable[i] = hashTable[i] >= shift ? hashTable[i] - shift : -1;
+        }
+    }
+
+    /**
+     * Compresses {@code history[start, end)} into {@link #block} and returns the length of the block including
+     * its header, or {@code 0} if the data should rather be stored raw.
+     */
+    private int compressBlock(final int start, final int end) {
+        final byte[] src = history;
+        final int[] hashTable = this.hashTable;
+        final byte[] literals = this.literals;
+        int literalsSize = 0;
+        int sequences = 0;
+
+        final int[] repeatedOffsets = this.repeatedOffsets;
+        int anchor = start;
+        int ip = start;
+        while (ip + MIN_MATCH_LENGTH <= end) {
+            final int value = getInt(src, ip);
+            final int hash = hash(value);
+            int candidate = hashTable[hash];
+            hashTable[hash] = ip;
+
+            int matchLength;
+            int offsetValue;
+            final int repeated = ip + 1 - repeatedOffsets[0];
+            if (ip + 1 + MIN_MATCH_LENGTH <= end && repeated >= 0
+                    && getInt(src, repeated) == getInt(src, ip + 1)) {
+                // The most recent offset, with at least one literal so that it is encoded as repeat 1.
+                ip++;
+                candidate = repeated;
+                offsetValue = 1;
+            } else if (candidate >= 0 && ip - candidate < windowSize && getInt(src, candidate) == value) {
+                while (ip > anchor && candidate > 0 && src[ip - 1] == src[candidate - 1]) {
+                    ip--;
+                    candidate--;
+                }
+                offsetValue = ip - candidate + 3;
+                repeatedOffsets[2] = repeatedOffsets[1];
+                repeatedOffsets[1] = repeatedOffsets[0];
+                repeatedOffsets[0] = ip - candidate;
+            } else {
+                ip += 1 + (ip - anchor >>> 6);
+                continue;
+            }
+
+            matchLength = MIN_MATCH_LENGTH;
+            while (ip + matchLength < end && src[candidate + matchLength] == src[ip + matchLength]) {
+                matchLength++;
+            }
+
+            final int literalsLength = ip - anchor;
+            System.arraycopy(src, anchor, literals, literalsSize, literalsLength);
+            literalsSize += literalsLength;
+            literalsLengths[sequences] = literalsLength;
+            matchLengths[sequences] = matchLength;
+            offsetValues[sequences] = offsetValue;
+            sequences++;
+
+            ip += matchLength;
+            anchor = ip;
+            if (ip - 2 + MIN_MATCH_LENGTH <= end) {
+                hashTable[hash(getInt(src, ip - 2))] = ip - 2;
+            }
+        }
+        System.arraycopy(src, anchor, literals, literalsSize, end - anchor);
+        literalsSize += end - anchor;
+
+        final byte[] block = this.block;
+        final int limit = BLOCK_HEADER_SIZE + end - start;
+        int position = writeLiterals(literalsSize, BLOCK_HEADER_SIZE, limit);
+        if (position < 0) {
+            return 0;
+        }
+        position = writeSequences(sequences, position, limit);
+        if (position < 0 || position >= limit) {
+            return 0;
+        }
+
+        final int header = BLOCK_TYPE_COMPRESSED << 1 | position - BLOCK_HEADER_SIZE << 3;
+        block[0] = (byte) header;
+        block[1] = (byte) (header >>> 8);
+        block[2] = (byte) (header >>> 16);
+        return position;
+    }
+
+    private static int hash(int value) {
+        return value * 0x9E3779B1 >>> 32 - HASH_LOG;
+    }
+
+    private static int getInt(byte[] in, int offset) {
+        return in[offset] & 0xFF | (in[offset + 1] & 0xFF) << 8 | (in[offset + 2] & 0xFF) << 16 | in[offset + 3] << 24;
+    }
+
+    /**
+     * Writes the literals section and returns the position after it, or {@code -1} if it does not fit.
+     */
+    private int writeLiterals(int size, int position, int limit) {
+        final byte[] literals = this.literals;
+        final byte[] block = this.block;
+        final int[] frequencies = this.frequencies;
+        for (int i = 0; i < frequencies.length; i++) {
+            frequencies[i] = 0;
+        }
+        int maxSymbol = 0;
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            int symbol = literals[i] & 0xFF;
+            if (frequencies[symbol]++ == 0) {
+                distinct++;
+                if (symbol > maxSymbol) {
+                    maxSymbol = symbol;
+                }
+            }
+        }
+
+        if (distinct == 1 && size > 1) {
+            if (position + 4 > limit) {
+                return -1;
+            }
+            position = writeLiteralsHeader(LITERALS_RLE, size, position);
+            block[position++] = literals[0];
+            return position;
+        }
+
+        if (distinct > 1 && size >= MIN_HUFFMAN_LITERALS) {
+            int huffmanSize = huffmanCompress(size, maxSymbol);
+            if (huffmanSize > 0 && huffmanSize < size) {
+                final int sizeFormat;
+                final int headerSize;
+                final int sizeBits;
+                if (!fourStreams(size)) {
+                    sizeFormat = 0;
+                    headerSize = 3;
+                    sizeBits = 10;
+                } else if (size <= 16383) {
+                    sizeFormat = 2;
+                    headerSize = 4;
+                    sizeBits = 14;
+                } else {
+                    sizeFormat = 3;
+                    headerSize = 5;
+                    sizeBits = 18;
+                }
+                if (position + headerSize + huffmanSize > limit) {
+                    return -1;
+                }
+                long header = LITERALS_COMPRESSED | sizeFormat << 2 | (long) size << 4
+                        | (long) huffmanSize << 4 + sizeBits;
+                for (int i = 0; i < headerSize; i++) {
+                    block[position++] = (byte) (header >>> (i << 3));
+                }
+                System.arraycopy(huffmanBuffer, 0, block, position, huffmanSize);
+                return position + huffmanSize;
+            }
+        }
+
+        if (position + 3 + size > limit) {
+            return -1;
+        }
+        position = writeLiteralsHeader(LITERALS_RAW, size, position);
+        System.arraycopy(literals, 0, block, position, size);
+        return position + size;
+    }
+
+    private int writeLiteralsHeader(int type, int size, int position) {
+        final byte[] block = this.block;
+        if (size <= 31) {
+            block[position++] = (byte) (type | size << 3);
+        } else if (size <= 4095) {
+            block[position++] = (byte) (type | 1 << 2 | size << 4);
+            block[position++] = (byte) (size >>> 4);
+        } else {
+            block[position++] = (byte) (type | 3 << 2 | size << 4);
+            block[position++] = (byte) (size >>> 4);
+            block[position++] = (byte) (size >>> 12);
+        }
+        return position;
+    }
+
+    private static boolean fourStreams(int size) {
+        return size > MAX_SINGLE_STREAM_LITERALS;
+    }
+
+    /**
+     * Writes the Huffman tree description and the compressed literals into {@link #huffmanBuffer} and returns
+     * their length, or {@code -1} if they do not fit.
+     */
+    private int huffmanCompress(int size, int maxSymbol) {
+        final int[] lengths = codeLengths;
+        buildCodeLengths(frequencies, maxSymbol, lengths);
+
+        int maxBits = 0;
+        for (int s = 0; s <= maxSymbol; s++) {
+            maxBits = Math.max(maxBits, lengths[s]);
+        }
+
+        // Weights of all symbols but the last one, which the decoder infers.
+        final byte[] out = huffmanBuffer;
+        int position = writeWeights(maxSymbol, maxBits, out);
+        if (position < 0) {
+            return -1;
+        }
+
+        // Assign the codes the same way the decoder fills its table: by weight, then by symbol.
+        final int[] rankStart = this.rankStart;
+        for (int i = 0; i < rankStart.length; i++) {
+            rankStart[i] = 0;
+        }
+        for (int s = 0; s <= maxSymbol; s++) {
+            rankStart[weight(lengths[s], maxBits)]++;
+        }
+        int next = 0;
+        for (int weight = 1; weight <= maxBits; weight++) {
+            int current = next;
+            next += rankStart[weight] << weight - 1;
+            rankStart[weight] = current;
+        }
+        for (int s = 0; s <= maxSymbol; s++) {
+            int weight = weight(lengths[s], maxBits);
+            if (weight > 0) {
+                codes[s] = rankStart[weight] >>> weight - 1;
+                rankStart[weight] += 1 << weight - 1;
+            }
+        }
+
+        final int limit = out.length;
+        if (!fourStreams(size)) {
+            return writeHuffmanStream(0, size, position, limit);
+        }
+        final int segment = (size + 3) / 4;
+        final int jumpTable = position;
+        position += 6;
+        for (int i = 0; i < 4; i++) {
+            int streamStart = position;
+            position = writeHuffmanStream(i * segment, Math.min(size, (i + 1) * segment), position, limit);
+            if (position < 0) {
+                return -1;
+            }
+            if (i < 3) {
+                int streamSize = position - streamStart;
+                if (streamSize > 0xFFFF) {
+                    return -1;
+                }
+                out[jumpTable + 2 * i] = (byte) streamSize;
+                out[jumpTable + 2 * i + 1] = (byte) (streamSize >>> 8);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Writes the Huffman tree description into {@code out} and returns its length, or {@code -1} if the weights
+     * can not be described compactly.
+     */
+    private int writeWeights(int maxSymbol, int maxBits, byte[] out) {
+        final int[] lengths = codeLengths;
+        final byte[] weights = this.weights;
+        for (int s = 0; s < maxSymbol; s++) {
+            weights[s] = (byte) weight(lengths[s], maxBits);
+        }
+        if (maxSymbol <= MAX_DIRECT_WEIGHTS_SYMBOL) {
+            int position = 0;
+            out[position++] = (byte) (127 + maxSymbol);
+            for (int s = 0; s < maxSymbol; s += 2) {
+                out[position++] = (byte) (weights[s] << 4 | (s + 1 < maxSymbol ? weights[s + 1] : 0));
+            }
+            return position;
+        }
+
+        // Too many symbols for the direct representation: compress the weights with FSE.
+        final int[] counts = weightCounts;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        for (int s = 0; s < maxSymbol; s++) {
+            counts[weights[s]]++;
+        }
+        final short[] norm = weightsNorm;
+        ZstdFseEncodeTable.normalize(counts, maxBits, maxSymbol, WEIGHTS_ACCURACY_LOG, norm);
+        final ZstdFseEncodeTable table = weightsTable;
+        table.init(norm, maxBits, WEIGHTS_ACCURACY_LOG);
+
+        // The decoder notices the end of the weights when the state holding the second to last weight reads
+        // past the start of the stream, which it can not if that state needs no bits.
+        weightsDecodeTable.init(norm, maxBits, WEIGHTS_ACCURACY_LOG);
+        if (weightsDecodeTable.numberOfBits[table.initialState(weights[maxSymbol - 2]) -
+                (1 << WEIGHTS_ACCURACY_LOG)] == 0) {
+            return -1;
+        }
+
+        int position = ZstdFseEncodeTable.writeDescription(norm, maxBits, WEIGHTS_ACCURACY_LOG, out, 1, 128);
+        if (position < 0) {
+            return -1;
+        }
+        final ZstdBitWriter writer = this.writer;
+        writer.init(out, position, 128);
+        int i = maxSymbol;
+        int state1;
+        int state2;
+        if ((maxSymbol & 1) != 0) {
+            state1 = table.initialState(weights[--i]);
+            state2 = table.initialState(weights[--i]);
+            state1 = table.encode(writer, state1, weights[--i]);
+        } else {
+            state2 = table.initialState(weights[--i]);
+            state1 = table.initialState(weights[--i]);
+        }
+        while (i > 0) {
+            state2 = table.encode(writer, state2, weights[--i]);
+            state1 = table.encode(writer, state1, weights[--i]);
+        }
+        table.flush(writer, state2);
+        table.flush(writer, state1);
+        position = writer.close();
+        if (position < 0) {
+            return -1;
+        }
+        out[0] = (byte) (position - 1);
+        return position;
+    }
+
+    private int writeHuffmanStream(int from, int to, int position, int limit) {
+        final ZstdBitWriter writer = this.writer;
+        final byte[] literals = this.literals;
+        final int[] codes = this.codes;
+        final int[] lengths = codeLengths;
+        writer.init(huffmanBuffer, position, limit);
+        for (int i = to - 1; i >= from; i--) {
+            int symbol = literals[i] & 0xFF;
+            writer.addBits(codes[symbol], lengths[symbol]);
+        }
+        return writer.close();
+    }
+
+    private static int weight(int length, int maxBits) {
+        return length == 0 ? 0 : maxBits + 1 - length;
+    }
+
+    /**
+     * Computes Huffman code lengths for the symbols with a non-zero frequency, limited to
+     * {@link ZstdConstants#MAX_HUFFMAN_BITS} bits.
+     */
+    static void buildCodeLengths(int[] frequencies, int maxSymbol, int[] lengths) {
+        int[] symbols = new int[maxSymbol + 1];
+        int n = 0;
+        for (int s = 0; s <= maxSymbol; s++) {
+            lengths[s] = 0;
+            if (frequencies[s] > 0) {
+                // Insertion sort by ascending frequency.
+                int i = n++;
+                while (i > 0 && frequencies[symbols[i - 1]] > frequencies[s]) {
+                    symbols[i] = symbols[i - 1];
+                    i--;
+                }
+                symbols[i] = s;
+            }
+        }
+
+        // Two-queue Huffman construction over the sorted leaves.
+        final int[] weight = new int[2 * n - 1];
+        final int[] parent = new int[2 * n - 1];
+        for (int i = 0; i < n; i++) {
+            weight[i] = frequencies[symbols[i]];
+        }
+        int leaf = 0;
+        int node = n;
+        for (int next = n; next < 2 * n - 1; next++) {
+            int a = leaf < n && (node >= next || weight[leaf] <= weight[node]) ? leaf++ : node++;
+            int b = leaf < n && (node >= next || weight[leaf] <= weight[node]) ? leaf++ : node++;
+            weight[next] = weight[a] + weight[b];
+            parent[a] = next;
+            parent[b] = next;
+        }
+        final int[] depth = weight;
+        depth[2 * n - 2] = 0;
+        for (int i = 2 * n - 3; i >= 0; i--) {
+            depth[i] = depth[parent[i]] + 1;
+        }
+
+        // Limit the code lengths while keeping the code complete.
+        final int kraftTotal = 1 << MAX_HUFFMAN_BITS;
+        int kraft = 0;
+        for (int i = 0; i < n; i++) {
+            int length = Math.min(depth[i], MAX_HUFFMAN_BITS);
+            lengths[symbols[i]] = length;
+            kraft += 1 << MAX_HUFFMAN_BITS - length;
+        }
+        while (kraft > kraftTotal) {
+            // Lengthen the least frequent code which is still shorter than the limit.
+            int best = -1;
+            for (int i = 0; i < n; i++) {
+                int length = lengths[symbols[i]];
+                if (length < MAX_HUFFMAN_BITS && (best < 0 || length > lengths[symbols[best]])) {
+                    best = i;
+                }
+            }
+            int length = ++lengths[symbols[best]];
+            kraft -= 1 << MAX_HUFFMAN_BITS - length;
+        }
+        while (kraft < kraftTotal) {
+            // Shorten the most frequent code whose gain still fits.
+            int best = -1;
+            for (int i = n - 1; i >= 0; i--) {
+                int length = lengths[symbols[i]];
+                if (length > 1 && 1 << MAX_HUFFMAN_BITS - length <= kraftTotal - kraft
+                        && (best < 0 || length > lengths[symbols[best]])) {
+                    best = i;
+                }
+            }
+            int length = lengths[symbols[best]]--;
+            kraft += 1 << MAX_HUFFMAN_BITS - length;
+        }
+    }
+
+    /**
+     * Writes the sequences section and returns the position after it, or {@code -1} if it does not fit.
+     */
+    private int writeSequences(int sequences, int position, int limit) {
+        final byte[] block = this.block;
+        if (position + 4 > limit) {
+            return -1;
+        }
+        if (sequences < 128) {
+            block[position++] = (byte) sequences;
+        } else if (sequences < 0x7F00) {
+            block[position++] = (byte) ((sequences >>> 8) + 0x80);
+            block[position++] = (byte) sequences;
+        } else {
+            block[position++] = (byte) 0xFF;
+            block[position++] = (byte) (sequences - 0x7F00);
+            block[position++] = (byte) (sequences - 0x7F00 >>> 8);
+        }
+        if (sequences == 0) {
+            return position;
+        }
+
+        final byte[] llCodes = literalsLengthCodes;
+        final byte[] mlCodes = matchLengthCodes;
+        final byte[] ofCodes = offsetCodes;
+        for (int i = 0; i < sequences; i++) {
+            llCodes[i] = (byte) literalsLengthCode(literalsLengths[i]);
+            mlCodes[i] = (byte) matchLengthCode(matchLengths[i]);
+            ofCodes[i] = (byte) (31 - Integer.numberOfLeadingZeros(offsetValues[i]));
+        }
+
+        final int modesPosition = position++;
+        final int llMode = selectTable(llCodes, sequences, MAX_LITERALS_LENGTH_SYMBOL,
+                MAX_LITERALS_LENGTH_ACCURACY_LOG, LITERALS_LENGTH_DEFAULT_NORM, LITERALS_LENGTH_DEFAULT_LOG,
+                literalsLengthTable);
+        position = writeTableDescription(llMode, llCodes, position, limit);
+        final int ofMode = selectTable(ofCodes, sequences, MAX_OFFSET_SYMBOL,
+                MAX_OFFSET_ACCURACY_LOG, OFFSET_DEFAULT_NORM, OFFSET_DEFAULT_LOG, offsetTable);
+        position = writeTableDescription(ofMode, ofCodes, position, limit);
+        final int mlMode = selectTable(mlCodes, sequences, MAX_MATCH_LENGTH_SYMBOL,
+                MAX_MATCH_LENGTH_ACCURACY_LOG, MATCH_LENGTH_DEFAULT_NORM, MATCH_LENGTH_DEFAULT_LOG, matchLengthTable);
+        position = writeTableDescription(mlMode, mlCodes, position, limit);
+        if (position < 0) {
+            return -1;
+        }
+        block[modesPosition] = (byte) (llMode << 6 | ofMode << 4 | mlMode << 2);
+
+        final ZstdFseEncodeTable llTable = llMode == MODE_PREDEFINED ? LITERALS_LENGTH_DEFAULT_TABLE
+                                                                     : literalsLengthTable;
+        final ZstdFseEncodeTable ofTable = ofMode == MODE_PREDEFINED ? OFFSET_DEFAULT_TABLE : offsetTable;
+        final ZstdFseEncodeTable mlTable = mlMode == MODE_PREDEFINED ? MATCH_LENGTH_DEFAULT_TABLE
+                                                                     : matchLengthTable;
+        final ZstdBitWriter writer = this.writer;
+        writer.init(block, position, limit);
+
+        int last = sequences - 1;
+        int mlState = mlTable.initialState(mlCodes[last]);
+        int ofState = ofTable.initialState(ofCodes[last]);
+        int llState = llTable.initialState(llCodes[last]);
+        writeExtraBits(writer, last);
+        for (int i = last - 1; i >= 0; i--) {
+            ofState = ofTable.encode(writer, ofState, ofCodes[i]);
+            mlState = mlTable.encode(writer, mlState, mlCodes[i]);
+            llState = llTable.encode(writer, llState, llCodes[i]);
+            writeExtraBits(writer, i);
+        }
+        mlTable.flush(writer, mlState);
+        ofTable.flush(writer, ofState);
+        llTable.flush(writer, llState);
+        return writer.close();
+    }
+
+    /**
+     * Chooses the symbol compression mode for one kind of sequence codes, prepares {@code table} unless the
+     * predefined distribution is chosen and leaves the normalized distribution in {@link #codeNorm}.
+     */
+    private int selectTable(byte[] codes, int sequences, int maxSymbol, int maxAccuracyLog,
+                            short[] defaultNorm, int defaultAccuracyLog, ZstdFseEncodeTable table) {
+        final int[] counts = codeCounts;
+        for (int i = 0; i <= maxSymbol; i++) {
+            counts[i] = 0;
+        }
+        int maxCode = 0;
+        for (int i = 0; i < sequences; i++) {
+            int code = codes[i];
+            counts[code]++;
+            maxCode = Math.max(maxCode, code);
+        }
+        if (counts[maxCode] == sequences && sequences > 1) {
+            table.initRle();
+            return MODE_RLE;
+        }
+
+        double defaultCost = maxCode < defaultNorm.length ? 0 : Double.MAX_VALUE;
+        for (int s = 0; s <= maxCode && defaultCost < Double.MAX_VALUE; s++) {
+            if (counts[s] > 0) {
+                if (defaultNorm[s] == 0) {
+                    defaultCost = Double.MAX_VALUE;
+                } else {
+                    defaultCost += counts[s] * cost(defaultNorm[s], defaultAccuracyLog);
+                }
+            }
+        }
+        if (sequences < MIN_FSE_COMPRESSED_SEQUENCES && defaultCost < Double.MAX_VALUE) {
+            return MODE_PREDEFINED;
+        }
+
+        final int accuracyLog = optimalAccuracyLog(sequences, maxCode, maxAccuracyLog);
+        final short[] norm = codeNorm;
+        ZstdFseEncodeTable.normalize(counts, maxCode, sequences, accuracyLog, norm);
+        // Rough size of the table description: a few bits per symbol.
+        double cost = 8 + 6 * (maxCode + 1);
+        for (int s = 0; s <= maxCode; s++) {
+            if (counts[s] > 0) {
+                cost += counts[s] * cost(norm[s], accuracyLog);
+            }
+        }
+        if (defaultCost <= cost) {
+            return MODE_PREDEFINED;
+        }
+        table.init(norm, maxCode, accuracyLog);
+        tableMaxCode = maxCode;
+        tableAccuracyLog = accuracyLog;
+        return MODE_FSE_COMPRESSED;
+    }
+
+    private static double cost(int normalizedCount, int accuracyLog) {
+        return accuracyLog - Math.log(normalizedCount < 0 ? 1 : normalizedCount) / LOG_2;
+    }
+
+    private static int optimalAccuracyLog(int total, int maxSymbol, int maxAccuracyLog) {
+        int accuracyLog = Math.min(maxAccuracyLog, 31 - Integer.numberOfLeadingZeros(total - 1) - 2);
+        int minAccuracyLog = Math.min(32 - Integer.numberOfLeadingZeros(total),
+                                      31 - Integer.numberOfLeadingZeros(maxSymbol) + 2);
+        return Math.max(5, Math.max(accuracyLog, Math.min(minAccuracyLog, maxAccuracyLog)));
+    }
+
+    /**
+     * Writes what the decoder needs to rebuild the table chosen by {@link #selectTable}.
+     */
+    private int writeTableDescription(int mode, byte[] codes, int position, int limit) {
+        if (position < 0) {
+            return -1;
+        }
+        switch (mode) {
+            case MODE_RLE:
+                if (position >= limit) {
+                    return -1;
+                }
+                block[position] = codes[0];
+                return position + 1;
+            case MODE_FSE_COMPRESSED:
+                return ZstdFseEncodeTable.writeDescription(codeNorm, tableMaxCode, tableAccuracyLog,
+                        block, position, limit);
+            default:
+                return position;
+        }
+    }
+
+    private void writeExtraBits(ZstdBitWriter writer, int sequence) {
+        int llCode = literalsLengthCodes[sequence];
+        int mlCode = matchLengthCodes[sequence];
+        int ofCode = offsetCodes[sequence];
+        writer.addBits(literalsLengths[sequence] - LITERALS_LENGTH_BASE[llCode], LITERALS_LENGTH_BITS[llCode]);
+        writer.addBits(matchLengths[sequence] - MATCH_LENGTH_BASE[mlCode], MATCH_LENGTH_BITS[mlCode]);
+        writer.addBits(offsetValues[sequence] - (1 << ofCode), ofCode);
+    }
+
+    static int literalsLengthCode(int literalsLength) {
+        if (literalsLength < 16) {
+            return literalsLength;
+        }
+        if (literalsLength > 63) {
+            return 31 - Integer.numberOfLeadingZeros(literalsLength) + 19;
+        }
+        int code = 24;
+        while (LITERALS_LENGTH_BASE[code] > literalsLength) {
+            code--;
+        }
+        return code;
+    }
+
+    static int matchLengthCode(int matchLength) {
+        final int base = matchLength - MIN_MATCH;
+        if (base < 32) {
+            return base;
+        }
+        if (base > 127) {
+            return 31 - Integer.numberOfLeadingZeros(base) + 36;
+        }
+        int code = 42;
+        while (MATCH_LENGTH_BASE[code] > matchLength) {
+            code--;
+        }
+        return code;
+    }
+}
@@ -0,0 +1,498 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import static io.netty.handler.codec.compression.ZstdConstants.*;
+
+/**
+ * Decompresses the compressed blocks of a Zstandard frame. The entropy tables and repeated offsets carried
+ * from one block to the next are kept by this class until {@link #reset()} is called at the start of a frame.
+ */
+final class ZstdBlockDecompressor {
+    private static final ZstdFseTable LITERALS_LENGTH_DEFAULT_TABLE = predefinedTable(
+            LITERALS_LENGTH_DEFAULT_NORM, LITERALS_LENGTH_DEFAULT_LOG, MAX_LITERALS_LENGTH_SYMBOL);
+    private static final ZstdFseTable MATCH_LENGTH_DEFAULT_TABLE = predefinedTable(
+            MATCH_LENGTH_DEFAULT_NORM, MATCH_LENGTH_DEFAULT_LOG, MAX_MATCH_LENGTH_SYMBOL);
+    private static final ZstdFseTable OFFSET_DEFAULT_TABLE = predefinedTable(
+            OFFSET_DEFAULT_NORM, OFFSET_DEFAULT_LOG, MAX_OFFSET_SYMBOL);
+
+    private static final int MAX_HUFFMAN_SYMBOLS = 256;
+    private static final int MAX_WEIGHTS_ACCURACY_LOG = 6;
+    private static final int MAX_OFFSET_CODE = 30;
+
+    private final ZstdBitReader reader = new ZstdBitReader();
+
+    private final ZstdFseTable literalsLengthTable =
+            new ZstdFseTable(MAX_LITERALS_LENGTH_ACCURACY_LOG, MAX_LITERALS_LENGTH_SYMBOL);
+    private final ZstdFseTable offsetTable = new ZstdFseTable(MAX_OFFSET_ACCURACY_LOG, MAX_OFFSET_SYMBOL);
+    private final ZstdFseTable matchLengthTable =
+            new ZstdFseTable(MAX_MATCH_LENGTH_ACCURACY_LOG, MAX_MATCH_LENGTH_SYMBOL);
+    private final ZstdFseTable weightsTable = new ZstdFseTable(MAX_WEIGHTS_ACCURACY_LOG, MAX_HUFFMAN_BITS + 1);
+    private ZstdFseTable currentLiteralsLengthTable;
+    private ZstdFseTable currentOffsetTable;
+    private ZstdFseTable currentMatchLengthTable;
+
+    private final byte[] huffmanSymbols = new byte[1 << MAX_HUFFMAN_BITS];
+    private final byte[] huffmanBits = new byte[1 << MAX_HUFFMAN_BITS];
+    private final byte[] weights = new byte[MAX_HUFFMAN_SYMBOLS];
+    private final int[] rankStart = new int[MAX_HUFFMAN_BITS + 2];
+    private int huffmanLog;
+    private boolean huffmanValid;
+
+    private final byte[] literals = new byte[MAX_BLOCK_SIZE];
+    private final int[] repeatedOffsets = new int[3];
+
+    /**
+     * Current position in the compressed input.
+     */
+    private byte[] in;
+    private int position;
+    private int end;
+
+    ZstdBlockDecompressor() {
+        reset();
+    }
+
+    private static ZstdFseTable predefinedTable(short[] normalizedCounts, int accuracyLog, int maxSymbol) {
+        ZstdFseTable table = new ZstdFseTable(accuracyLog, maxSymbol);
+        table.init(normalizedCounts, normalizedCounts.length - 1, accuracyLog);
+        return table;
+    }
+
+    /**
+     * Forgets all state carried between the blocks of a frame.
+     */
+    void reset() {
+        repeatedOffsets[0] = 1;
+        repeatedOffsets[1] = 4;
+        repeatedOffsets[2] = 8;
+        huffmanValid = false;
+        currentLiteralsLengthTable = null;
+        currentOffsetTable = null;
+        currentMatchLengthTable = null;
+    }
+
+    /**
+     * Decompresses the block stored in {@code in[offset, end)} into {@code out} starting at {@code outPosition}.
+     * Everything before {@code outPosition} is history that matches may refer to, and at least
+     * {@link ZstdConstants#MAX_BLOCK_SIZE} bytes must be available after it.
+     *
+     * @return the position after the last decompressed byte
+     */
+    int decompress(byte[] in, int offset, int end, byte[] out, int outPosition) {
+        this.in = in;
+        position = offset;
+        this.end = end;
+        try {
+            return decompress(out, outPosition);
+        } finally {
+            this.in = null;
+        }
+    }
+
+    private int decompress(byte[] out, int outPosition) {
+        // Literals section.
+        final byte[] literalsBuffer;
+        final int literalsStart;
+        final int literalsSize;
+        need(1);
+        final int header = in[position] & 0xFF;
+        final int literalsType = header & 3;
+        final int sizeFormat = header >>> 2 & 3;
+        if (literalsType == LITERALS_RAW || literalsType == LITERALS_RLE) {
+            switch (sizeFormat) {
+                case 0:
+                case 2:
+                    literalsSize = header >>> 3;
+                    position++;
+                    break;
+                case 1:
+                    need(2);
+                    literalsSize = header >>> 4 | (in[position + 1] & 0xFF) << 4;
+                    position += 2;
+                    break;
+                default:
+                    need(3);
+                    literalsSize = header >>> 4 | (in[position + 1] & 0xFF) << 4 | (in[position + 2] & 0xFF) << 12;
+                    position += 3;
+            }
+            if (literalsSize > MAX_BLOCK_SIZE) {
+                throw new DecompressionException("literals section too large: " + literalsSize);
+            }
+            if (literalsType == LITERALS_RAW) {
+                need(literalsSize);
+                literalsBuffer = in;
+                literalsStart = position;
+                position += literalsSize;
+            } else {
+                need(1);
+                byte value = in[position++];
+                for (int i = 0; i < literalsSize; i++) {
+                    literals[i] = value;
+                }
+                literalsBuffer = literals;
+                literalsStart = 0;
+            }
+        } else {
+            final int headerSize;
+            final int sizeBits;
+            switch (sizeFormat) {
+                case 0:
+                case 1:
+                    headerSize = 3;
+                    sizeBits = 10;
+                    break;
+                case 2:
+                    headerSize = 4;
+                    sizeBits = 14;
+                    break;
+                default:
+                    headerSize = 5;
+                    sizeBits = 18;
+            }
+            need(headerSize);
+            long sizes = 0;
+            for (int i = headerSize - 1; i >= 0; i--) {
+                sizes = sizes << 8 | in[position + i] & 0xFF;
+            }
+            position += headerSize;
+            literalsSize = (int) (sizes >>> 4) & (1 << sizeBits) - 1;
+            final int compressedSize = (int) (sizes >>> 4 + sizeBits) & (1 << sizeBits) - 1;
+            if (literalsSize > MAX_BLOCK_SIZE) {
+                throw new DecompressionException("literals section too large: " + literalsSize);
+            }
+            need(compressedSize);
+            final int compressedEnd = position + compressedSize;
+            if (literalsType == LITERALS_COMPRESSED) {
+                position += readHuffmanTable(compressedEnd);
+            } else if (!huffmanValid) {
+                throw new DecompressionException("treeless literals without a previous Huffman table");
+            }
+            if (sizeFormat == 0) {
+                decodeHuffmanStream(position, compressedEnd, 0, literalsSize);
+            } else {
+                decodeHuffmanStreams(position, compressedEnd, literalsSize);
+            }
+            position = compressedEnd;
+            literalsBuffer = literals;
+            literalsStart = 0;
+        }
+
+        // Sequences section.
+        need(1);
+        int sequences = in[position++] & 0xFF;
+        if (sequences >= 128) {
+            if (sequences == 255) {
+                need(2);
+                sequences = (in[position] & 0xFF | (in[position + 1] & 0xFF) << 8) + 0x7F00;
+                position += 2;
+            } else {
+                need(1);
+                sequences = (sequences - 128 << 8) + (in[position++] & 0xFF);
+            }
+        }
+        if (sequences == 0) {
+            if (position != end) {
+                throw new DecompressionException("unexpected data after the literals section");
+            }
+            System.arraycopy(literalsBuffer, literalsStart, out, outPosition, literalsSize);
+            return outPosition + literalsSize;
+        }
+
+        need(1);
+        final int modes = in[position++] & 0xFF;
+        if ((modes & 3) != 0) {
+            throw new DecompressionException("reserved bits set in symbol compression modes");
+        }
+        currentLiteralsLengthTable = selectTable(modes >>> 6, literalsLengthTable, currentLiteralsLengthTable,
+                LITERALS_LENGTH_DEFAULT_TABLE, MAX_LITERALS_LENGTH_SYMBOL, MAX_LITERALS_LENGTH_ACCURACY_LOG);
+        currentOffsetTable = selectTable(modes >>> 4 & 3, offsetTable, currentOffsetTable,
+                OFFSET_DEFAULT_TABLE, MAX_OFFSET_SYMBOL, MAX_OFFSET_ACCURACY_LOG);
+        currentMatchLengthTable = selectTable(modes >>> 2 & 3, matchLengthTable, currentMatchLengthTable,
+                MATCH_LENGTH_DEFAULT_TABLE, MAX_MATCH_LENGTH_SYMBOL, MAX_MATCH_LENGTH_ACCURACY_LOG);
+
+        return executeSequences(sequences, literalsBuffer, literalsStart, literalsSize, out, outPosition);
+    }
+
+    private int executeSequences(int sequences, byte[] literalsBuffer, int literalsPosition, int literalsSize,
+                                 byte[] out, int outPosition) {
+        final ZstdFseTable llTable = currentLiteralsLengthTable;
+        final ZstdFseTable ofTable = currentOffsetTable;
+        final ZstdFseTable mlTable = currentMatchLengthTable;
+        final int[] repeatedOffsets = this.repeatedOffsets;
+        final ZstdBitReader reader = this.reader;
+        final int literalsEnd = literalsPosition + literalsSize;
+        final int outLimit = outPosition + MAX_BLOCK_SIZE;
+
+        reader.init(in, position, end);
+        int llState = reader.readBits(llTable.accuracyLog);
+        int ofState = reader.readBits(ofTable.accuracyLog);
+        int mlState = reader.readBits(mlTable.accuracyLog);
+
+        for (int i = 0; i < sequences; i++) {
+            final int ofCode = ofTable.symbols[ofState];
+            final int mlCode = mlTable.symbols[mlState];
+            final int llCode = llTable.symbols[llState];
+            if (ofCode > MAX_OFFSET_CODE) {
+                throw new DecompressionException("offset code too large: " + ofCode);
+            }
+
+            int offset = (1 << ofCode) + reader.readBits(ofCode);
+            final int matchLength = MATCH_LENGTH_BASE[mlCode] + reader.readBits(MATCH_LENGTH_BITS[mlCode]);
+            final int literalsLength = LITERALS_LENGTH_BASE[llCode] + reader.readBits(LITERALS_LENGTH_BITS[llCode]);
+
+            if (offset > 3) {
+                offset -= 3;
+                repeatedOffsets[2] = repeatedOffsets[1];
+                repeatedOffsets[1] = repeatedOffsets[0];
+                repeatedOffsets[0] = offset;
+            } else {
+                int index = literalsLength == 0 ? offset : offset - 1;
+                if (index == 0) {
+                    offset = repeatedOffsets[0];
+                } else {
+                    offset = index == 3 ? repeatedOffsets[0] - 1 : repeatedOffsets[index];
+                    if (offset == 0) {
+                        throw new DecompressionException("invalid repeated offset");
+                    }
+                    if (index > 1) {
+                        repeatedOffsets[2] = repeatedOffsets[1];
+                    }
+                    repeatedOffsets[1] = repeatedOffsets[0];
+                    repeatedOffsets[0] = offset;
+                }
+            }
+
+            if (i != sequences - 1) {
+                llState = llTable.baselines[llState] + reader.readBits(llTable.numberOfBits[llState]);
+                mlState = mlTable.baselines[mlState] + reader.readBits(mlTable.numberOfBits[mlState]);
+                ofState = ofTable.baselines[ofState] + reader.readBits(ofTable.numberOfBits[ofState]);
+            }
+            if (reader.isOverflowed()) {
+                throw new DecompressionException("sequences bit stream overflow");
+            }
+
+            if (literalsLength > literalsEnd - literalsPosition ||
+                literalsLength + matchLength > outLimit - outPosition) {
+                throw new DecompressionException("sequence exceeds block bounds");
+            }
+            System.arraycopy(literalsBuffer, literalsPosition, out, outPosition, literalsLength);
+            literalsPosition += literalsLength;
+            outPosition += literalsLength;
+
+            if (offset > outPosition) {
+                throw new DecompressionException("offset beyond the start of the window: " + offset);
+            }
+            int matchPosition = outPosition - offset;
+            if (offset >= matchLength) {
+                System.arraycopy(out, matchPosition, out, outPosition, matchLength);
+                outPosition += matchLength;
+            } else {
+                for (int j = 0; j < matchLength; j++) {
+                    out[outPosition++] = out[matchPosition++];
+                }
+            }
+        }
+        if (!reader.isFinished()) {
+            throw new DecompressionException("sequences bit stream not fully consumed");
+        }
+
+        int remaining = literalsEnd - literalsPosition;
+        if (remaining > outLimit - outPosition) {
+            throw new DecompressionException("literals exceed block bounds");
+        }
+        System.arraycopy(literalsBuffer, literalsPosition, out, outPosition, remaining);
+        return outPosition + remaining;
+    }
+
+    private ZstdFseTable selectTable(int mode, ZstdFseTable table, ZstdFseTable previous, ZstdFseTable predefined,
+                                     int maxSymbol, int maxAccuracyLog) {
+        switch (mode) {
+            case MODE_PREDEFINED:
+                return predefined;
+            case MODE_RLE:
+                need(1);
+                int symbol = in[position++] & 0xFF;
+                if (symbol > maxSymbol) {
+                    throw new DecompressionException("invalid RLE symbol: " + symbol);
+                }
+                table.initRle(symbol);
+                return table;
+            case MODE_FSE_COMPRESSED:
+                position += table.read(in, position, end, maxSymbol, maxAccuracyLog);
+                if (position > end) {
+                    throw new DecompressionException("truncated FSE table description");
+                }
+                return table;
+            default:
+                if (previous == null) {
+                    throw new DecompressionException("repeat mode without a previous table");
+                }
+                return previous;
+        }
+    }
+
+    /**
+     * Reads a Huffman tree description starting at {@link #position} and returns its length.
+     */
+    private int readHuffmanTable(int limit) {
+        final byte[] weights = this.weights;
+        need(1);
+        final int header = in[position] & 0xFF;
+        int count;
+        int length;
+        if (header >= 128) {
+            count = header - 127;
+            length = 1 + (count + 1) / 2;
+            if (position + length > limit) {
+                throw new DecompressionException("truncated Huffman tree description");
+            }
+            for (int i = 0; i < count; i++) {
+                int b = in[position + 1 + i / 2];
+                weights[i] = (byte) ((i & 1) == 0 ? b >>> 4 & 0xF : b & 0xF);
+            }
+        } else {
+            length = 1 + header;
+            final int descriptionEnd = position + length;
+            if (descriptionEnd > limit) {
+                throw new DecompressionException("truncated Huffman tree description");
+            }
+            final ZstdFseTable table = weightsTable;
+            final int tableLength = table.read(in, position + 1, descriptionEnd, MAX_HUFFMAN_BITS + 1,
+                    MAX_WEIGHTS_ACCURACY_LOG);
+            final ZstdBitReader reader = this.reader;
+            reader.init(in, position + 1 + tableLength, descriptionEnd);
+            int state1 = reader.readBits(table.accuracyLog);
+            int state2 = reader.readBits(table.accuracyLog);
+            count = 0;
+            for (;;) {
+                if (count > MAX_HUFFMAN_SYMBOLS - 3) {
+                    throw new DecompressionException("too many Huffman weights");
+                }
+                weights[count++] = table.symbols[state1];
+                state1 = table.baselines[state1] + reader.readBits(table.numberOfBits[state1]);
+                if (reader.isOverflowed()) {
+                    weights[count++] = table.symbols[state2];
+                    break;
+                }
+                weights[count++] = table.symbols[state2];
+                state2 = table.baselines[state2] + reader.readBits(table.numberOfBits[state2]);
+                if (reader.isOverflowed()) {
+                    weights[count++] = table.symbols[state1];
+                    break;
+                }
+            }
+        }
+        if (count >= MAX_HUFFMAN_SYMBOLS) {
+            throw new DecompressionException("too many Huffman weights");
+        }
+
+        final int[] rankStart = this.rankStart;
+        for (int i = 0; i < rankStart.length; i++) {
+            rankStart[i] = 0;
+        }
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            int weight = weights[i];
+            if (weight > MAX_HUFFMAN_BITS) {
+                throw new DecompressionException("invalid Huffman weight: " + weight);
+            }
+            if (weight > 0) {
+                total += 1 << weight - 1;
+                rankStart[weight]++;
+            }
+        }
+        if (total == 0) {
+            throw new DecompressionException("empty Huffman tree");
+        }
+        final int maxBits = 32 - Integer.numberOfLeadingZeros(total);
+        final int rest = (1 << maxBits) - total;
+        if (maxBits > MAX_HUFFMAN_BITS || (rest & rest - 1) != 0) {
+            throw new DecompressionException("invalid Huffman tree");
+        }
+        final int lastWeight = 32 - Integer.numberOfLeadingZeros(rest);
+        weights[count++] = (byte) lastWeight;
+        rankStart[lastWeight]++;
+
+        int next = 0;
+        for (int weight = 1; weight <= maxBits; weight++) {
+            int current = next;
+            next += rankStart[weight] << weight - 1;
+            rankStart[weight] = current;
+        }
+        for (int symbol = 0; symbol < count; symbol++) {
+            int weight = weights[symbol];
+            if (weight == 0) {
+                continue;
+            }
+            int start = rankStart[weight];
+            int entries = 1 << weight - 1;
+            byte bits = (byte) (maxBits + 1 - weight);
+            for (int i = start; i < start + entries; i++) {
+                huffmanSymbols[i] = (byte) symbol;
+                huffmanBits[i] = bits;
+            }
+            rankStart[weight] = start + entries;
+        }
+        huffmanLog = maxBits;
+        huffmanValid = true;
+        return length;
+    }
+
+    private void decodeHuffmanStreams(int start, int limit, int size) {
+        if (limit - start < 6) {
+            throw new DecompressionException("truncated Huffman jump table");
+        }
+        final int size1 = in[start] & 0xFF | (in[start + 1] & 0xFF) << 8;
+        final int size2 = in[start + 2] & 0xFF | (in[start + 3] & 0xFF) << 8;
+        final int size3 = in[start + 4] & 0xFF | (in[start + 5] & 0xFF) << 8;
+        final int start1 = start + 6;
+        final int start2 = start1 + size1;
+        final int start3 = start2 + size2;
+        final int start4 = start3 + size3;
+        final int segment = (size + 3) / 4;
+        if (start4 >= limit || size - 3 * segment < 0) {
+            throw new DecompressionException("invalid Huffman jump table");
+        }
+        decodeHuffmanStream(start1, start2, 0, segment);
+        decodeHuffmanStream(start2, start3, segment, 2 * segment);
+        decodeHuffmanStream(start3, start4, 2 * segment, 3 * segment);
+        decodeHuffmanStream(start4, limit, 3 * segment, size);
+    }
+
+    private void decodeHuffmanStream(int start, int limit, int from, int to) {
+        final ZstdBitReader reader = this.reader;
+        final byte[] symbols = huffmanSymbols;
+        final byte[] bits = huffmanBits;
+        final byte[] literals = this.literals;
+        final int log = huffmanLog;
+        reader.init(in, start, limit);
+        for (int i = from; i < to; i++) {
+            int index = reader.peekBits(log);
+            literals[i] = symbols[index];
+            reader.skipBits(bits[index]);
+        }
+        if (!reader.isFinished()) {
+            throw new DecompressionException("Huffman stream not fully consumed");
+        }
+    }
+
+    private void need(int length) {
+        if (end - position < length) {
+            throw new DecompressionException("truncated compressed block");
+        }
+    }
+}
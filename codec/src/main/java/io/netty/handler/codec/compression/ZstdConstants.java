@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+/**
+ * Constants of the Zstandard format as defined by
+ * <a href="https://tools.ietf.org/html/rfc8878">RFC 8878</a>.
+ */
+final class ZstdConstants {
+
+    /**
+     * Magic number of a Zstandard frame, stored in little-endian byte order.
+     */
+    static final int MAGIC_NUMBER = 0xFD2FB528;
+
+    /**
+     * Skippable frames use magic numbers {@code 0x184D2A50} to {@code 0x184D2A5F}.
+     */
+    static final int SKIPPABLE_MAGIC_MASK = 0xFFFFFFF0;
+    static final int SKIPPABLE_MAGIC_NUMBER = 0x184D2A50;
+
+    /**
+     * Block types.
+     */
+    static final int BLOCK_TYPE_RAW = 0;
+    static final int BLOCK_TYPE_RLE = 1;
+    static final int BLOCK_TYPE_COMPRESSED = 2;
+
+    static final int BLOCK_HEADER_SIZE = 3;
+
+    /**
+     * Maximum number of bytes a single block can decompress to.
+     */
+    static final int MAX_BLOCK_SIZE = 1 << 17; // 128 KB
+
+    /**
+     * Window sizes accepted and produced by this implementation.
+     * Content coding over HTTP must not use windows larger than 8 MB.
+     */
+    static final int MIN_WINDOW_LOG = 10;
+    static final int MAX_WINDOW_LOG = 23;
+    static final int DEFAULT_WINDOW_LOG = 17;
+
+    /**
+     * Literals block types.
+     */
+    static final int LITERALS_RAW = 0;
+    static final int LITERALS_RLE = 1;
+    static final int LITERALS_COMPRESSED = 2;
+    static final int LITERALS_TREELESS = 3;
+
+    /**
+     * Symbol compression modes of the sequences section.
+     */
+    static final int MODE_PREDEFINED = 0;
+    static final int MODE_RLE = 1;
+    static final int MODE_FSE_COMPRESSED = 2;
+    static final int MODE_REPEAT = 3;
+
+    static final int MAX_HUFFMAN_BITS = 11;
+
+    /**
+     * Maximum symbols and accuracy logs of the sequence codes.
+     */
+    static final int MAX_LITERALS_LENGTH_SYMBOL = 35;
+    static final int MAX_MATCH_LENGTH_SYMBOL = 52;
+    static final int MAX_OFFSET_SYMBOL = 31;
+    static final int MAX_LITERALS_LENGTH_ACCURACY_LOG = 9;
+    static final int MAX_MATCH_LENGTH_ACCURACY_LOG = 9;
+    static final int MAX_OFFSET_ACCURACY_LOG = 8;
+
+    static final int MIN_MATCH = 3;
+
+    /**
+     * Literals length codes: baseline and number of additional bits.
+     */
+    static final int[] LITERALS_LENGTH_BASE = {
+            0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15,
+            16, 18, 20, 22, 24, 28, 32, 40, 48, 64, 128, 256, 512, 1024, 2048, 4096,
+            8192, 16384, 32768, 65536 };
+    static final int[] LITERALS_LENGTH_BITS = {
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+            1, 1, 1, 1, 2, 2, 3, 3, 4, 6, 7, 8, 9, 10, 11, 12,
+            13, 14, 15, 16 };
+
+    /**
+     * Match length codes: baseline and number of additional bits.
+     */
+    static final int[] MATCH_LENGTH_BASE = {
+            3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18,
+            19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33, 34,
+            35, 37, 39, 41, 43, 47, 51, 59, 67, 83, 99, 131, 259, 515, 1027, 2051,
+            4099, 8195, 16387, 32771, 65539 };
+    static final int[] MATCH_LENGTH_BITS = {
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+            1, 1, 1, 1, 2, 2, 3, 3, 4, 4, 5, 7, 8, 9, 10, 11,
+            12, 13, 14, 15, 16 };
+
+    /**
+     * Predefined distributions used by {@link #MODE_PREDEFINED}.
+     */
+    static final short[] LITERALS_LENGTH_DEFAULT_NORM = {
+            4, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1,
+            2, 2, 2, 2, 2, 2, 2, 2, 2, 3, 2, 1, 1, 1, 1, 1,
+            -1, -1, -1, -1 };
+    static final int LITERALS_LENGTH_DEFAULT_LOG = 6;
+
+    static final short[] MATCH_LENGTH_DEFAULT_NORM = {
+            1, 4, 3, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1,
+            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, -1, -1,
+            -1, -1, -1, -1, -1 };
+    static final int MATCH_LENGTH_DEFAULT_LOG = 6;
+
+    static final short[] OFFSET_DEFAULT_NORM = {
+            1, 1, 1, 1, 1, 1, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1,
+            1, 1, 1, 1, 1, 1, 1, 1, -1, -1, -1, -1, -1 };
+    static final int OFFSET_DEFAULT_LOG = 5;
+
+    private ZstdConstants() { }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import java.util.List;
+
+import static io.netty.handler.codec.compression.ZstdConstants.*;
+
+/**
+ * Uncompresses a {@link ByteBuf} encoded with the Zstandard format as described in
+ * <a href="https://tools.ietf.org/html/rfc8878">RFC 8878</a>.
+ *
+ * This is a pure Java implementation of the whole format, except for frames which require a dictionary.
+ * Concatenated frames and skippable frames are supported, and the optional content checksum is verified.
+ */
+public class ZstdDecoder extends ByteToMessageDecoder {
+    /**
+     * Current state of stream.
+     */
+    private enum State {
+        INIT_FRAME,
+        INIT_BLOCK,
+        DECOMPRESS_BLOCK,
+        VERIFY_CHECKSUM,
+        SKIP_FRAME,
+        CORRUPTED
+    }
+
+    private static final int DEFAULT_MAX_WINDOW_SIZE = 1 << MAX_WINDOW_LOG;
+    private static final int INITIAL_WINDOW_CAPACITY = 1 << 16;
+
+    private State currentState = State.INIT_FRAME;
+
+    private final int maxWindowSize;
+    private final ZstdBlockDecompressor decompressor = new ZstdBlockDecompressor();
+    private final ZstdXxHash64 checksum = new ZstdXxHash64();
+
+    /**
+     * Decompressed data of the current frame, of which the last {@link #windowSize} bytes are kept as history.
+     */
+    private byte[] window;
+    private int windowPosition;
+    private int windowSize;
+
+    /**
+     * Compressed block being decoded, used when the input buffer is not backed by an array.
+     */
+    private byte[] blockBuffer;
+
+    private boolean hasChecksum;
+    private long contentSize;
+    private long decompressedSize;
+    private boolean lastBlock;
+    private int blockType;
+    private int blockSize;
+    private long skipRemaining;
+
+    /**
+     * Creates a new decoder which accepts windows up to 8 MB, the limit for Zstandard used as an HTTP content
+     * coding.
+     */
+    public ZstdDecoder() {
+        this(DEFAULT_MAX_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a new decoder.
+     *
+     * @param maxWindowSize  the largest window size a frame may declare; frames which need more memory are
+     *                       rejected with a {@link DecompressionException}
+     */
+    public ZstdDecoder(int maxWindowSize) {
+        if (maxWindowSize <= 0) {
+            throw new IllegalArgumentException("maxWindowSize: " + maxWindowSize + " (expected: > 0)");
+        }
+        this.maxWindowSize = maxWindowSize;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        try {
+            for (;;) {
+                switch (currentState) {
+                    case INIT_FRAME:
+                        if (!readFrameHeader(in)) {
+                            return;
+                        }
+                        break;
+                    case INIT_BLOCK:
+                        if (in.readableBytes() < BLOCK_HEADER_SIZE) {
+                            return;
+                        }
+                        readBlockHeader(in);
+                        currentState = State.DECOMPRESS_BLOCK;
+                        // fall through
+                    case DECOMPRESS_BLOCK:
+                        if (in.readableBytes() < (blockType == BLOCK_TYPE_RLE ? 1 : blockSize)) {
+                            return;
+                        }
+                        decompressBlock(ctx, in, out);
+                        if (!lastBlock) {
+                            currentState = State.INIT_BLOCK;
+                            break;
+                        }
+                        if (contentSize >= 0 && contentSize != decompressedSize) {
+                            throw new DecompressionException(String.format(
+                                    "stream corrupted: frame content size (%d) and decompressed size (%d) mismatch",
+                                    contentSize, decompressedSize));
+                        }
+                        window = null;
+                        if (!hasChecksum) {
+                            currentState = State.INIT_FRAME;
+                            break;
+                        }
+                        currentState = State.VERIFY_CHECKSUM;
+                        // fall through
+                    case VERIFY_CHECKSUM:
+                        if (in.readableBytes() < 4) {
+                            return;
+                        }
+                        int expected = Integer.reverseBytes(in.readInt());
+                        if (expected != (int) checksum.value()) {
+                            throw new DecompressionException("stream corrupted: checksum error");
+                        }
+                        currentState = State.INIT_FRAME;
+                        break;
+                    case SKIP_FRAME:
+                        int skip = (int) Math.min(skipRemaining, in.readableBytes());
+                        in.skipBytes(skip);
+                        skipRemaining -= skip;
+                        if (skipRemaining > 0) {
+                            return;
+                        }
+                        currentState = State.INIT_FRAME;
+                        break;
+                    case CORRUPTED:
+                        in.skipBytes(in.readableBytes());
+                        return;
+                    default:
+                        throw new IllegalStateException();
+                }
+            }
+        } catch (DecompressionException e) {
+            currentState = State.CORRUPTED;
+            window = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the frame header if it is fully available and returns {@code true} if the decoder moved on.
+     */
+    private boolean readFrameHeader(ByteBuf in) {
+        if (in.readableBytes() < 4) {
+            return false;
+        }
+        final int idx = in.readerIndex();
+        final int magic = Integer.reverseBytes(in.getInt(idx));
+        if ((magic & SKIPPABLE_MAGIC_MASK) == SKIPPABLE_MAGIC_NUMBER) {
+            if (in.readableBytes() < 8) {
+                return false;
+            }
+            skipRemaining = Integer.reverseBytes(in.getInt(idx + 4)) & 0xFFFFFFFFL;
+            in.skipBytes(8);
+            currentState = State.SKIP_FRAME;
+            return true;
+        }
+        if (magic != MAGIC_NUMBER) {
+            throw new DecompressionException("unexpected frame identifier");
+        }
+        if (in.readableBytes() < 5) {
+            return false;
+        }
+
+        final int descriptor = in.getUnsignedByte(idx + 4);
+        final int contentSizeFlag = descriptor >>> 6;
+        final boolean singleSegment = (descriptor & 0x20) != 0;
+        final int dictionaryIdFlag = descriptor & 3;
+        if ((descriptor & 0x08) != 0) {
+            throw new DecompressionException("reserved bit set in frame header descriptor");
+        }
+        final int dictionaryIdSize = dictionaryIdFlag == 3 ? 4 : dictionaryIdFlag;
+        final int contentSizeSize = contentSizeFlag == 0 ? singleSegment ? 1 : 0 : 1 << contentSizeFlag;
+        final int headerSize = 5 + (singleSegment ? 0 : 1) + dictionaryIdSize + contentSizeSize;
+        if (in.readableBytes() < headerSize) {
+            return false;
+        }
+
+        int offset = idx + 5;
+        long windowSize = 0;
+        if (!singleSegment) {
+            int windowDescriptor = in.getUnsignedByte(offset++);
+            int windowLog = MIN_WINDOW_LOG + (windowDescriptor >>> 3);
+            long windowBase = 1L << windowLog;
+            windowSize = windowBase + (windowBase >>> 3) * (windowDescriptor & 7);
+        }
+        long dictionaryId = readLE(in, offset, dictionaryIdSize);
+        offset += dictionaryIdSize;
+        if (dictionaryId != 0) {
+            throw new DecompressionException("dictionaries are not supported");
+        }
+        long contentSize = -1;
+        if (contentSizeSize > 0) {
+            contentSize = readLE(in, offset, contentSizeSize);
+            if (contentSizeSize == 2) {
+                contentSize += 256;
+            }
+            if (contentSize < 0) {
+                throw new DecompressionException("frame content size too large");
+            }
+        }
+        if (singleSegment) {
+            windowSize = contentSize;
+        }
+        if (windowSize > maxWindowSize) {
+            throw new DecompressionException(String.format(
+                    "window size too large: %d (expected: 0-%d)", windowSize, maxWindowSize));
+        }
+        in.skipBytes(headerSize);
+
+        this.windowSize = (int) windowSize;
+        this.contentSize = contentSize;
+        hasChecksum = (descriptor & 0x04) != 0;
+        decompressedSize = 0;
+        windowPosition = 0;
+        window = new byte[(int) Math.min(INITIAL_WINDOW_CAPACITY, windowSize) + MAX_BLOCK_SIZE];
+        checksum.reset();
+        decompressor.reset();
+        currentState = State.INIT_BLOCK;
+        return true;
+    }
+
+    private static long readLE(ByteBuf in, int offset, int length) {
+        long value = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            value = value << 8 | in.getUnsignedByte(offset + i);
+        }
+        return value;
+    }
+
+    private void readBlockHeader(ByteBuf in) {
+        final int header = in.readUnsignedByte() | in.readUnsignedByte() << 8 | in.readUnsignedByte() << 16;
+        lastBlock = (header & 1) != 0;
+        blockType = header >>> 1 & 3;
+        blockSize = header >>> 3;
+        if (blockType > BLOCK_TYPE_COMPRESSED) {
+            throw new DecompressionException("reserved block type");
+        }
+        if (blockSize > MAX_BLOCK_SIZE || blockType != BLOCK_TYPE_COMPRESSED && blockSize > Math.max(windowSize, 1)) {
+            throw new DecompressionException(String.format(
+                    "invalid block size: %d (expected: 0-%d)", blockSize, MAX_BLOCK_SIZE));
+        }
+    }
+
+    private void decompressBlock(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        ensureWindowCapacity();
+        final byte[] window = this.window;
+        final int start = windowPosition;
+        int end;
+        switch (blockType) {
+            case BLOCK_TYPE_RAW:
+                in.readBytes(window, start, blockSize);
+                end = start + blockSize;
+                break;
+            case BLOCK_TYPE_RLE:
+                byte value = in.readByte();
+                end = start + blockSize;
+                for (int i = start; i < end; i++) {
+                    window[i] = value;
+                }
+                break;
+            default:
+                final int idx = in.readerIndex();
+                if (in.hasArray()) {
+                    int offset = in.arrayOffset() + idx;
+                    end = decompressor.decompress(in.array(), offset, offset + blockSize, window, start);
+                } else {
+                    byte[] blockBuffer = this.blockBuffer;
+                    if (blockBuffer == null) {
+                        this.blockBuffer = blockBuffer = new byte[MAX_BLOCK_SIZE];
+                    }
+                    in.getBytes(idx, blockBuffer, 0, blockSize);
+                    end = decompressor.decompress(blockBuffer, 0, blockSize, window, start);
+                }
+                in.skipBytes(blockSize);
+        }
+
+        final int length = end - start;
+        windowPosition = end;
+        decompressedSize += length;
+        if (hasChecksum) {
+            checksum.update(window, start, length);
+        }
+        if (length > 0) {
+            ByteBuf uncompressed = ctx.alloc().heapBuffer(length, length);
+            uncompressed.writeBytes(window, start, length);
+            out.add(uncompressed);
+        }
+    }
+
+    /**
+     * Makes sure a whole block can be appended to {@link #window}, either by discarding history which is
+     * older than the window size or by growing the array.
+     */
+    private void ensureWindowCapacity() {
+        byte[] window = this.window;
+        final int required = windowPosition + MAX_BLOCK_SIZE;
+        if (required <= window.length) {
+            return;
+        }
+        final int maxCapacity = windowSize + Math.max(windowSize, MAX_BLOCK_SIZE);
+        if (required > maxCapacity) {
+            int history = Math.min(windowSize, windowPosition);
+            System.arraycopy(window, windowPosition - history, window, 0, history);
+            windowPosition = history;
+            if (windowPosition + MAX_BLOCK_SIZE <= window.length) {
+                return;
+            }
+        }
+        int capacity = window.length;
+        while (capacity < windowPosition + MAX_BLOCK_SIZE) {
+            capacity = Math.min(capacity << 1, maxCapacity);
+        }
+        byte[] newWindow = new byte[capacity];
+        System.arraycopy(window, 0, newWindow, 0, windowPosition);
+        this.window = newWindow;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.ChannelPromiseNotifier;
+import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.util.concurrent.EventExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.handler.codec.compression.ZstdConstants.*;
+
+/**
+ * Compresses a {@link ByteBuf} using the Zstandard format as described in
+ * <a href="https://tools.ietf.org/html/rfc8878">RFC 8878</a>.
+ *
+ * This is a pure Java implementation which favours speed over compression ratio: it finds matches with a
+ * single hash probe and has no compression levels. Sequences of each block are encoded with whichever of the
+ * predefined distributions, a single repeated symbol or a distribution described in the block is the smallest.
+ * Every written buffer is compressed right away into one or more blocks of a single frame, and matches may refer to
+ * data of previous writes within the window. The frame is terminated when the encoder is closed.
+ */
+public class ZstdEncoder extends MessageToByteEncoder<ByteBuf> {
+    /**
+     * log2 of the window size announced in the frame header.
+     */
+    private final int windowLog;
+
+    /**
+     * Underlying compressor in use, created when the first data is written.
+     */
+    private ZstdBlockCompressor compressor;
+
+    /**
+     * Indicates if the compressed stream has been finished.
+     */
+    private volatile boolean finished;
+
+    /**
+     * Used to interact with its {@link ChannelPipeline} and other handlers.
+     */
+    private volatile ChannelHandlerContext ctx;
+
+    /**
+     * Creates a new encoder with a window of 128 KB.
+     */
+    public ZstdEncoder() {
+        this(DEFAULT_WINDOW_LOG);
+    }
+
+    /**
+     * Creates a new encoder.
+     *
+     * @param windowLog  log2 of the window size, must be >= 10 and <= 23. The encoder needs about twice the
+     *                   window size of memory, and a decoder needs at least the window size.
+     */
+    public ZstdEncoder(int windowLog) {
+        super(false);
+        if (windowLog < MIN_WINDOW_LOG || windowLog > MAX_WINDOW_LOG) {
+            throw new IllegalArgumentException(String.format(
+                    "windowLog: %d (expected: %d-%d)", windowLog, MIN_WINDOW_LOG, MAX_WINDOW_LOG));
+        }
+        this.windowLog = windowLog;
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, ByteBuf in, ByteBuf out) throws Exception {
+        if (finished) {
+            out.writeBytes(in);
+            return;
+        }
+        if (compressor == null) {
+            writeFrameHeader(out);
+        }
+        compressor.compress(in, out);
+    }
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, ByteBuf msg, boolean preferDirect) {
+        // Raw blocks are the worst case: one block header per block.
+        int length = msg.readableBytes();
+        int blocks = length / MAX_BLOCK_SIZE + 1;
+        return ctx.alloc().heapBuffer(length + blocks * BLOCK_HEADER_SIZE + 6);
+    }
+
+    private void writeFrameHeader(ByteBuf out) {
+        compressor = new ZstdBlockCompressor(windowLog);
+        out.writeInt(Integer.reverseBytes(MAGIC_NUMBER));
+        // No content size, dictionary or checksum, and a window descriptor with a zero mantissa.
+        out.writeByte(0);
+        out.writeByte(windowLog - MIN_WINDOW_LOG << 3);
+    }
+
+    private ChannelFuture finishEncode(final ChannelHandlerContext ctx, ChannelPromise promise) {
+        if (finished) {
+            promise.setSuccess();
+            return promise;
+        }
+        finished = true;
+
+        final ByteBuf footer = ctx.alloc().heapBuffer(6 + BLOCK_HEADER_SIZE);
+        if (compressor == null) {
+            writeFrameHeader(footer);
+        }
+        ZstdBlockCompressor.writeLastBlock(footer);
+        compressor = null;
+        return ctx.writeAndFlush(footer, promise);
+    }
+
+    /**
+     * Returns {@code true} if and only if the compressed stream has been finished.
+     */
+    public boolean isClosed() {
+        return finished;
+    }
+
+    /**
+     * Close this {@link ZstdEncoder} and so finish the encoding.
+     *
+     * The returned {@link ChannelFuture} will be notified once the operation completes.
+     */
+    public ChannelFuture close() {
+        return close(ctx().newPromise());
+    }
+
+    /**
+     * Close this {@link ZstdEncoder} and so finish the encoding.
+     * The given {@link ChannelFuture} will be notified once the operation
+     * completes and will also be returned.
+     */
+    public ChannelFuture close(final ChannelPromise promise) {
+        ChannelHandlerContext ctx = ctx();
+        EventExecutor executor = ctx.executor();
+        if (executor.inEventLoop()) {
+            return finishEncode(ctx, promise);
+        } else {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    ChannelFuture f = finishEncode(ctx(), promise);
+                    f.addListener(new ChannelPromiseNotifier(promise));
+                }
+            });
+            return promise;
+        }
+    }
+
+    @Override
+    public void close(final ChannelHandlerContext ctx, final ChannelPromise promise) throws Exception {
+        ChannelFuture f = finishEncode(ctx, ctx.newPromise());
+        f.addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture f) throws Exception {
+                ctx.close(promise);
+            }
+        });
+
+        if (!f.isDone()) {
+            // Ensure the channel is closed even if the write operation completes in time.
+            ctx.executor().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    ctx.close(promise);
+                }
+            }, 10, TimeUnit.SECONDS); // FIXME: Magic number
+        }
+    }
+
+    private ChannelHandlerContext ctx() {
+        ChannelHandlerContext ctx = this.ctx;
+        if (ctx == null) {
+            throw new IllegalStateException("not added to a pipeline");
+        }
+        return ctx;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+    }
+}
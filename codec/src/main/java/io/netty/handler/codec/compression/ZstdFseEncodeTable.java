@@ -0,0 +1,247 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+/**
+ * A Finite State Entropy encoding table, the counterpart of {@link ZstdFseTable}. The encoder state is kept by
+ * the caller so the same table can be shared between streams.
+ */
+final class ZstdFseEncodeTable {
+    private final int[] tableSymbols;
+    private final int[] cumulative;
+    private final int[] stateTable;
+    private final int[] deltaNumberOfBits;
+    private final int[] deltaFindState;
+    private int accuracyLog;
+    private boolean rle;
+
+    ZstdFseEncodeTable(int maxAccuracyLog, int maxSymbol) {
+        tableSymbols = new int[1 << maxAccuracyLog];
+        cumulative = new int[maxSymbol + 2];
+        stateTable = new int[1 << maxAccuracyLog];
+        deltaNumberOfBits = new int[maxSymbol + 1];
+        deltaFindState = new int[maxSymbol + 1];
+    }
+
+    ZstdFseEncodeTable(short[] normalizedCounts, int accuracyLog) {
+        this(accuracyLog, normalizedCounts.length - 1);
+        init(normalizedCounts, normalizedCounts.length - 1, accuracyLog);
+    }
+
+    /**
+     * Builds a table for a single symbol, which is encoded without any bits.
+     */
+    void initRle() {
+        rle = true;
+        accuracyLog = 0;
+    }
+
+    /**
+     * Builds the table from a normalized distribution, where {@code -1} denotes a "less than 1" probability.
+     */
+    void init(short[] normalizedCounts, int maxSymbol, int accuracyLog) {
+        final int tableSize = 1 << accuracyLog;
+        final int[] tableSymbols = this.tableSymbols;
+        final int[] cumulative = this.cumulative;
+        int highThreshold = tableSize - 1;
+        cumulative[0] = 0;
+        for (int s = 0; s <= maxSymbol; s++) {
+            if (normalizedCounts[s] == -1) {
+                cumulative[s + 1] = cumulative[s] + 1;
+                tableSymbols[highThreshold--] = s;
+            } else {
+                cumulative[s + 1] = cumulative[s] + normalizedCounts[s];
+            }
+        }
+
+        final int mask = tableSize - 1;
+        final int step = (tableSize >>> 1) + (tableSize >>> 3) + 3;
+        int position = 0;
+        for (int s = 0; s <= maxSymbol; s++) {
+            for (int i = 0; i < normalizedCounts[s]; i++) {
+                tableSymbols[position] = s;
+                do {
+                    position = position + step & mask;
+                } while (position > highThreshold);
+            }
+        }
+        if (position != 0) {
+            throw new IllegalArgumentException("invalid FSE distribution");
+        }
+
+        for (int u = 0; u < tableSize; u++) {
+            stateTable[cumulative[tableSymbols[u]]++] = tableSize + u;
+        }
+
+        int total = 0;
+        for (int s = 0; s <= maxSymbol; s++) {
+            int count = normalizedCounts[s];
+            if (count == 0) {
+                deltaNumberOfBits[s] = (accuracyLog + 1 << 16) - tableSize;
+            } else if (count == -1 || count == 1) {
+                deltaNumberOfBits[s] = (accuracyLog << 16) - tableSize;
+                deltaFindState[s] = total - 1;
+                total++;
+            } else {
+                int maxBitsOut = accuracyLog - (31 - Integer.numberOfLeadingZeros(count - 1));
+                int minStatePlus = count << maxBitsOut;
+                deltaNumberOfBits[s] = (maxBitsOut << 16) - minStatePlus;
+                deltaFindState[s] = total - count;
+                total += count;
+            }
+        }
+        this.accuracyLog = accuracyLog;
+        rle = false;
+    }
+
+    /**
+     * Returns the initial state for the last symbol of a stream, which is written without any bits.
+     */
+    int initialState(int symbol) {
+        if (rle) {
+            return 0;
+        }
+        int bits = deltaNumberOfBits[symbol] + (1 << 15) >> 16;
+        int value = (bits << 16) - deltaNumberOfBits[symbol];
+        return stateTable[(value >> bits) + deltaFindState[symbol]];
+    }
+
+    /**
+     * Writes the bits of the given state and returns the state which precedes {@code symbol}.
+     */
+    int encode(ZstdBitWriter writer, int state, int symbol) {
+        if (rle) {
+            return 0;
+        }
+        int bits = state + deltaNumberOfBits[symbol] >> 16;
+        writer.addBits(state, bits);
+        return stateTable[(state >> bits) + deltaFindState[symbol]];
+    }
+
+    /**
+     * Writes the final state, which the decoder reads as its initial state.
+     */
+    void flush(ZstdBitWriter writer, int state) {
+        writer.addBits(state, accuracyLog);
+    }
+
+    /**
+     * Normalizes {@code counts} so that they sum up to {@code 1 << accuracyLog}, giving every present symbol a
+     * probability of at least one state.
+     */
+    static void normalize(int[] counts, int maxSymbol, int total, int accuracyLog, short[] normalizedCounts) {
+        final int tableSize = 1 << accuracyLog;
+        int sum = 0;
+        int largest = 0;
+        for (int s = 0; s <= maxSymbol; s++) {
+            int count = counts[s];
+            if (count == 0) {
+                normalizedCounts[s] = 0;
+                continue;
+            }
+            int probability = Math.max(1, (int) (((long) count * tableSize + (total >>> 1)) / total));
+            normalizedCounts[s] = (short) probability;
+            sum += probability;
+            if (probability > normalizedCounts[largest]) {
+                largest = s;
+            }
+        }
+        int difference = tableSize - sum;
+        if (difference >= 0 || normalizedCounts[largest] + difference >= 1) {
+            normalizedCounts[largest] += difference;
+            return;
+        }
+        // Take the excess from every symbol which can give some.
+        while (difference < 0) {
+            for (int s = 0; s <= maxSymbol && difference < 0; s++) {
+                if (normalizedCounts[s] > 1) {
+                    normalizedCounts[s]--;
+                    difference++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the description of a normalized distribution as read by {@link ZstdFseTable#read} and returns the
+     * position after it, or {@code -1} if it does not fit into {@code out[position, limit)}.
+     */
+    static int writeDescription(short[] normalizedCounts, int maxSymbol, int accuracyLog,
+                                byte[] out, int position, int limit) {
+        final int tableSize = 1 << accuracyLog;
+        long bitStream = accuracyLog - 5;
+        int bitCount = 4;
+        int remaining = tableSize + 1;
+        int threshold = tableSize;
+        int bits = accuracyLog + 1;
+        int symbol = 0;
+        boolean previous0 = false;
+        while (symbol <= maxSymbol && remaining > 1) {
+            if (previous0) {
+                int start = symbol;
+                while (symbol <= maxSymbol && normalizedCounts[symbol] == 0) {
+                    symbol++;
+                }
+                while (symbol >= start + 3) {
+                    start += 3;
+                    bitStream |= 3L << bitCount;
+                    bitCount += 2;
+                    if (bitCount >= 32) {
+                        position = flush(out, position, limit, bitStream, 4);
+                        bitStream >>>= 32;
+                        bitCount -= 32;
+                    }
+                }
+                bitStream |= (long) (symbol - start) << bitCount;
+                bitCount += 2;
+            }
+
+            int count = normalizedCounts[symbol++];
+            int max = 2 * threshold - 1 - remaining;
+            remaining -= count < 0 ? -count : count;
+            count++;
+            if (count >= threshold) {
+                count += max;
+            }
+            bitStream |= (long) count << bitCount;
+            bitCount += bits;
+            if (count < max) {
+                bitCount--;
+            }
+            previous0 = count == 1;
+            while (remaining < threshold) {
+                bits--;
+                threshold >>>= 1;
+            }
+            if (bitCount >= 32) {
+                position = flush(out, position, limit, bitStream, 4);
+                bitStream >>>= 32;
+                bitCount -= 32;
+            }
+        }
+        return flush(out, position, limit, bitStream, bitCount + 7 >>> 3);
+    }
+
+    private static int flush(byte[] out, int position, int limit, long bitStream, int bytes) {
+        if (position < 0 || position + bytes > limit) {
+            return -1;
+        }
+        for (int i = 0; i < bytes; i++) {
+            out[position++] = (byte) (bitStream >>> (i << 3));
+        }
+        return position;
+    }
+}
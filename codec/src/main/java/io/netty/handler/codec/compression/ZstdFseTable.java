@@ -0,0 +1,175 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+/**
+ * A Finite State Entropy decoding table as used by the sequences section and the Huffman weights of the
+ * Zstandard format.
+ */
+final class ZstdFseTable {
+    private final short[] normalizedCounts;
+    private final int[] symbolNext;
+    final byte[] symbols;
+    final byte[] numberOfBits;
+    final int[] baselines;
+    int accuracyLog;
+
+    ZstdFseTable(int maxAccuracyLog, int maxSymbol) {
+        int maxTableSize = 1 << maxAccuracyLog;
+        normalizedCounts = new short[maxSymbol + 1];
+        symbolNext = new int[maxSymbol + 1];
+        symbols = new byte[maxTableSize];
+        numberOfBits = new byte[maxTableSize];
+        baselines = new int[maxTableSize];
+    }
+
+    /**
+     * Builds the table for a single symbol which is decoded without consuming any bits.
+     */
+    void initRle(int symbol) {
+        accuracyLog = 0;
+        symbols[0] = (byte) symbol;
+        numberOfBits[0] = 0;
+        baselines[0] = 0;
+    }
+
+    /**
+     * Builds the table from a normalized distribution, where {@code -1} denotes a "less than 1" probability.
+     */
+    void init(short[] normalizedCounts, int maxSymbol, int accuracyLog) {
+        final int tableSize = 1 << accuracyLog;
+        final int[] symbolNext = this.symbolNext;
+        final byte[] symbols = this.symbols;
+        int highThreshold = tableSize - 1;
+        for (int s = 0; s <= maxSymbol; s++) {
+            if (normalizedCounts[s] == -1) {
+                symbols[highThreshold--] = (byte) s;
+                symbolNext[s] = 1;
+            } else {
+                symbolNext[s] = normalizedCounts[s];
+            }
+        }
+
+        final int mask = tableSize - 1;
+        final int step = (tableSize >>> 1) + (tableSize >>> 3) + 3;
+        int position = 0;
+        for (int s = 0; s <= maxSymbol; s++) {
+            for (int i = 0; i < normalizedCounts[s]; i++) {
+                symbols[position] = (byte) s;
+                do {
+                    position = position + step & mask;
+                } while (position > highThreshold);
+            }
+        }
+        if (position != 0) {
+            throw new DecompressionException("invalid FSE distribution");
+        }
+
+        for (int u = 0; u < tableSize; u++) {
+            int next = symbolNext[symbols[u]]++;
+            int bits = accuracyLog - (31 - Integer.numberOfLeadingZeros(next));
+            numberOfBits[u] = (byte) bits;
+            baselines[u] = (next << bits) - tableSize;
+        }
+        this.accuracyLog = accuracyLog;
+    }
+
+    /**
+     * Reads a table description from {@code in[offset, end)}, builds the table and returns the number of
+     * bytes the description occupied.
+     */
+    int read(byte[] in, int offset, int end, int maxSymbol, int maxAccuracyLog) {
+        final short[] counts = normalizedCounts;
+        final long bitLimit = (long) (end - offset) << 3;
+        long bitPosition = 0;
+
+        int accuracyLog = (int) peekBits(in, offset, end, 0, 4) + 5;
+        bitPosition += 4;
+        if (accuracyLog > maxAccuracyLog) {
+            throw new DecompressionException("FSE accuracy log too large: " + accuracyLog);
+        }
+
+        int remaining = (1 << accuracyLog) + 1;
+        int threshold = 1 << accuracyLog;
+        int bits = accuracyLog + 1;
+        int symbol = 0;
+        boolean previous0 = false;
+        while (remaining > 1 && symbol <= maxSymbol) {
+            if (previous0) {
+                int zeroes = symbol;
+                int repeat;
+                while ((repeat = (int) peekBits(in, offset, end, bitPosition, 2)) == 3) {
+                    zeroes += 3;
+                    bitPosition += 2;
+                }
+                zeroes += repeat;
+                bitPosition += 2;
+                if (zeroes > maxSymbol) {
+                    throw new DecompressionException("invalid FSE table description");
+                }
+                while (symbol < zeroes) {
+                    counts[symbol++] = 0;
+                }
+            }
+
+            int max = 2 * threshold - 1 - remaining;
+            int count = (int) peekBits(in, offset, end, bitPosition, bits);
+            if ((count & threshold - 1) < max) {
+                count &= threshold - 1;
+                bitPosition += bits - 1;
+            } else {
+                if (count >= threshold) {
+                    count -= max;
+                }
+                bitPosition += bits;
+            }
+            count--;
+            remaining -= count < 0 ? -count : count;
+            counts[symbol++] = (short) count;
+            previous0 = count == 0;
+            while (remaining < threshold) {
+                bits--;
+                threshold >>>= 1;
+            }
+            if (bitPosition > bitLimit) {
+                throw new DecompressionException("truncated FSE table description");
+            }
+        }
+        if (remaining != 1) {
+            throw new DecompressionException("invalid FSE table description");
+        }
+        for (int s = symbol; s <= maxSymbol; s++) {
+            counts[s] = 0;
+        }
+
+        init(counts, symbol - 1, accuracyLog);
+        return (int) (bitPosition + 7 >>> 3);
+    }
+
+    /**
+     * Reads {@code n} bits of a forward (little-endian) bit stream, treating bits after {@code end} as zeroes.
+     */
+    private static long peekBits(byte[] in, int offset, int end, long bitPosition, int n) {
+        int index = offset + (int) (bitPosition >>> 3);
+        long value = 0;
+        for (int i = 0, shift = 0; i < 5 && shift < n + 8; i++, shift += 8) {
+            if (index + i < end) {
+                value |= (long) (in[index + i] & 0xFF) << shift;
+            }
+        }
+        return value >>> (bitPosition & 7) & (1L << n) - 1;
+    }
+}
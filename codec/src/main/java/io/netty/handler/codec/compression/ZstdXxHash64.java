@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+/**
+ * Streaming implementation of the 64-bit xxHash algorithm, used for the optional content checksum of a
+ * Zstandard frame.
+ */
+final class ZstdXxHash64 {
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    private final byte[] buffer = new byte[32];
+    private int buffered;
+    private long length;
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+
+    ZstdXxHash64() {
+        reset();
+    }
+
+    void reset() {
+        v1 = PRIME1 + PRIME2;
+        v2 = PRIME2;
+        v3 = 0;
+        v4 = -PRIME1;
+        buffered = 0;
+        length = 0;
+    }
+
+    void update(byte[] in, int offset, int len) {
+        length += len;
+        if (buffered > 0) {
+            int n = Math.min(32 - buffered, len);
+            System.arraycopy(in, offset, buffer, buffered, n);
+            buffered += n;
+            offset += n;
+            len -= n;
+            if (buffered < 32) {
+                return;
+            }
+            processStripe(buffer, 0);
+            buffered = 0;
+        }
+        while (len >= 32) {
+            processStripe(in, offset);
+            offset += 32;
+            len -= 32;
+        }
+        System.arraycopy(in, offset, buffer, 0, len);
+        buffered = len;
+    }
+
+    long value() {
+        long hash;
+        if (length >= 32) {
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = mergeRound(hash, v1);
+            hash = mergeRound(hash, v2);
+            hash = mergeRound(hash, v3);
+            hash = mergeRound(hash, v4);
+        } else {
+            hash = PRIME5;
+        }
+        hash += length;
+
+        int i = 0;
+        for (; i + 8 <= buffered; i += 8) {
+            hash ^= round(0, getLongLE(buffer, i));
+            hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+        }
+        if (i + 4 <= buffered) {
+            hash ^= (getIntLE(buffer, i) & 0xFFFFFFFFL) * PRIME1;
+            hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+            i += 4;
+        }
+        for (; i < buffered; i++) {
+            hash ^= (buffer[i] & 0xFF) * PRIME5;
+            hash = Long.rotateLeft(hash, 11) * PRIME1;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME2;
+        hash ^= hash >>> 29;
+        hash *= PRIME3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    private void processStripe(byte[] in, int offset) {
+        v1 = round(v1, getLongLE(in, offset));
+        v2 = round(v2, getLongLE(in, offset + 8));
+        v3 = round(v3, getLongLE(in, offset + 16));
+        v4 = round(v4, getLongLE(in, offset + 24));
+    }
+
+    private static long round(long acc, long input) {
+        return Long.rotateLeft(acc + input * PRIME2, 31) * PRIME1;
+    }
+
+    private static long mergeRound(long acc, long value) {
+        return (acc ^ round(0, value)) * PRIME1 + PRIME4;
+    }
+
+    private static long getLongLE(byte[] in, int offset) {
+        return getIntLE(in, offset) & 0xFFFFFFFFL | (long) getIntLE(in, offset + 4) << 32;
+    }
+
+    private static int getIntLE(byte[] in, int offset) {
+        return in[offset] & 0xFF | (in[offset + 1] & 0xFF) << 8 | (in[offset + 2] & 0xFF) << 16 | in[offset + 3] << 24;
+    }
+}
@@ -16,7 +16,9 @@
 package io.netty.handler.codec;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.embedded.EmbeddedChannel;
@@ -160,4 +162,61 @@ public class ByteToMessageDecoderTest {
         Assert.assertEquals(3, (int) queue.take());
         Assert.assertTrue(queue.isEmpty());
     }
+
+    @Test
+    public void testCompositeCumulator() {
+        final BlockingQueue<Integer> components = new LinkedBlockingDeque<Integer>();
+        ByteToMessageDecoder decoder = new ByteToMessageDecoder() {
+            @Override
+            protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+                components.add(in instanceof CompositeByteBuf ? ((CompositeByteBuf) in).numComponents() : 0);
+                if (in.readableBytes() >= 6) {
+                    out.add(in.readBytes(6));
+                }
+            }
+        };
+        decoder.setCumulator(ByteToMessageDecoder.COMPOSITE_CUMULATOR);
+        EmbeddedChannel channel = new EmbeddedChannel(decoder);
+
+        channel.writeInbound(Unpooled.wrappedBuffer(new byte[] {'a', 'b'}));
+        channel.writeInbound(Unpooled.wrappedBuffer(new byte[] {'c', 'd'}));
+        channel.writeInbound(Unpooled.wrappedBuffer(new byte[] {'e', 'f'}));
+        Assert.assertEquals(0, (int) components.poll());
+        Assert.assertEquals(2, (int) components.poll());
+        Assert.assertEquals(3, (int) components.poll());
+
+        ByteBuf b = channel.readInbound();
+        Assert.assertEquals(Unpooled.wrappedBuffer(new byte[] {'a', 'b', 'c', 'd', 'e', 'f'}), b);
+        b.release();
+        Assert.assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testCompositeCumulatorConsolidates() {
+        ByteToMessageDecoder.Cumulator cumulator = ByteToMessageDecoder.compositeCumulator(2);
+        ByteBuf cumulation = Unpooled.wrappedBuffer(new byte[] {'a'});
+        cumulation = cumulator.cumulate(UnpooledByteBufAllocator.DEFAULT, cumulation,
+                Unpooled.wrappedBuffer(new byte[] {'b'}));
+        cumulation = cumulator.cumulate(UnpooledByteBufAllocator.DEFAULT, cumulation,
+                Unpooled.wrappedBuffer(new byte[] {'c'}));
+
+        Assert.assertEquals(1, ((CompositeByteBuf) cumulation).numComponents());
+        Assert.assertEquals(Unpooled.wrappedBuffer(new byte[] {'a', 'b', 'c'}), cumulation);
+        cumulation.release();
+    }
+
+    @Test
+    public void testCompositeCumulatorCopiesSharedCumulation() {
+        ByteBuf cumulation = Unpooled.buffer().writeByte('a');
+        cumulation.retain();
+        ByteBuf result = ByteToMessageDecoder.COMPOSITE_CUMULATOR.cumulate(
+                UnpooledByteBufAllocator.DEFAULT, cumulation, Unpooled.wrappedBuffer(new byte[] {'b'}));
+
+        Assert.assertNotSame(cumulation, result);
+        Assert.assertFalse(result instanceof CompositeByteBuf);
+        Assert.assertEquals(Unpooled.wrappedBuffer(new byte[] {'a', 'b'}), result);
+        Assert.assertEquals(1, cumulation.refCnt());
+        cumulation.release();
+        result.release();
+    }
 }
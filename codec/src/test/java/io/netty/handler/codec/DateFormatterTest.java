@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class DateFormatterTest {
+    /**
+     * This date is set at "06 Nov 1994 08:49:37 GMT" (same used in example in
+     * RFC documentation)
+     * <p>
+     * http://www.w3.org/Protocols/rfc2616/rfc2616-sec3.html
+     */
+    private static final long DATE = 784111777000L;
+
+    @Test
+    public void testParse() {
+        assertEquals(DATE, DateFormatter.parseHttpDate("Sun, 06 Nov 1994 08:49:37 GMT", 0));
+        assertEquals(DATE, DateFormatter.parseHttpDate("Sun, 6 Nov 1994 08:49:37 GMT", 0));
+        assertEquals(DATE, DateFormatter.parseHttpDate("Sunday, 06-Nov-94 08:49:37 GMT", 0));
+        assertEquals(DATE, DateFormatter.parseHttpDate("Sunday, 6-Nov-94 08:49:37 GMT", 0));
+        assertEquals(DATE, DateFormatter.parseHttpDate("Sun Nov  6 08:49:37 1994", 0));
+        assertEquals(DATE, DateFormatter.parseHttpDate(new AsciiString("sun, 06 nov 1994 08:49:37 gmt"), 0));
+        assertEquals(new Date(DATE), DateFormatter.parseHttpDate("Sun, 06 Nov 1994 08:49:37 GMT"));
+    }
+
+    @Test
+    public void testParseInvalid() {
+        assertNull(DateFormatter.parseHttpDate("Sun, 06 Nov 1994"));
+        assertNull(DateFormatter.parseHttpDate("Sun, 06 Foo 1994 08:49:37 GMT"));
+        assertNull(DateFormatter.parseHttpDate("Sun, 32 Nov 1994 08:49:37 GMT"));
+        assertNull(DateFormatter.parseHttpDate("Sun, 06 Nov 1994 24:49:37 GMT"));
+        assertNull(DateFormatter.parseHttpDate("Sun, 06 Nov 1994 08:60:37 GMT"));
+        assertNull(DateFormatter.parseHttpDate(""));
+        assertEquals(-1, DateFormatter.parseHttpDate("garbage", -1));
+    }
+
+    @Test
+    public void testFormat() {
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", DateFormatter.format(DATE));
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", DateFormatter.format(new Date(DATE + 999)));
+        assertEquals("Thu, 01 Jan 1970 00:00:00 GMT", DateFormatter.format(0));
+        assertEquals("Wed, 31 Dec 1969 23:59:59 GMT", DateFormatter.format(-1));
+        assertEquals("Tue, 29 Feb 2000 12:00:00 GMT", DateFormatter.format(951825600000L));
+    }
+
+    @Test
+    public void testSameAsSimpleDateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat("E, dd MMM yyyy HH:mm:ss z", Locale.ENGLISH);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        Random random = new Random(0);
+        for (int i = 0; i < 10000; i ++) {
+            // Between 1970 and 2100, truncated to seconds.
+            long millis = (random.nextLong() & Long.MAX_VALUE) % 4102444800000L / 1000 * 1000;
+            String expected = format.format(new Date(millis));
+            assertEquals(expected, DateFormatter.format(millis));
+            assertEquals(millis, DateFormatter.parseHttpDate(expected, -1));
+        }
+    }
+}
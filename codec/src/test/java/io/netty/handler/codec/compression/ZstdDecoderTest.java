@@ -0,0 +1,182 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.junit.Assert.*;
+
+public class ZstdDecoderTest {
+
+    /**
+     * Frames produced by the reference implementation with the content checksum enabled.
+     */
+    private static final String EMPTY_FRAME = "28b52ffd240001000099e9d851";
+    private static final String NETTY_FRAME = "28b52ffd24052900004e657474790916fe67";
+
+    /**
+     * {@link #text()} compressed with level 19: Huffman coded literals whose weights are FSE compressed, and
+     * sequences with FSE compressed tables and repeated offsets.
+     */
+    private static final String TEXT_FRAME =
+            "28b52ffd647246250e0096194320b0690c0ce56872be67d31624dd36905d36b6c1258a35b9a5a4a4a48caa04d3184a00" +
+            "34003400f5e5d5c5b5a5958575004be45295a928d364924c8d82890cf5408ec4109cc462c11422821e52f3d4d3389ca8" +
+            "10909ec6d114a3013d5074203c1006530f530ca72092d40c4a60d53c4e22bc9a78f6f5debc9a78e6f5debc9a78d6f5de" +
+            "bc9a78c6f5debc9a78b6f5debc9a78a6f5debc9a7896f5debc9a7886f5debc9a7817aeadacabaaa9a8a7a69f9e9d9c9b" +
+            "9a999897968f8e8d8c8b8a898887867f7e7d7c7b7a797877766f6e6d6c6b6a6968676657ef1dffd7cfbfaf9f8f7f6fff" +
+            "eedecebeae9e8e7e6efeedddcdbdad9d8d7d6dfdecdcccbcac9c8c7c6cfcebdbcbbbab7bb8b7b6af0180c9a8216c39ed" +
+            "b59f01c0550acb1c124810f8ffffef1fa151283f9cf39e7bdf7bcf7bef79ef3defbde7bdf7bcf79ef7def3de7bde7bcf" +
+            "0b739a8fc5c339efb9f7bdf7bcf79ef7dee7bdf7bcf79ef7def3de7bde7bcf7bef79ef3defbde7bd33ddf772effbdefb" +
+            "bcbbea79ef7bdefbe254ef3ddf7bcf2fae7adefb9ef7be38d57bcff7def3c555cf7bdff3de17a77aeff9de7bbeb8ea79" +
+            "ef7bdefbe254ef3ddf7b0f7fde8e889575a975adb57aa3eb36403d1240aa154b6c6e";
+
+    @Rule
+    public ExpectedException expected = ExpectedException.none();
+
+    private EmbeddedChannel channel;
+
+    @Before
+    public void initChannel() {
+        channel = new EmbeddedChannel(new ZstdDecoder());
+    }
+
+    private static byte[] text() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append("line ").append(i)
+                .append(": Netty is an asynchronous event-driven network application framework " +
+                        "\u00c4\u00d6\u00dc \u00df \u20ac\n");
+        }
+        return text.toString().getBytes(CharsetUtil.UTF_8);
+    }
+
+    private static byte[] hex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+
+    private ByteBuf readDecompressed() {
+        ByteBuf decompressed = Unpooled.buffer();
+        ByteBuf msg;
+        while ((msg = channel.readInbound()) != null) {
+            decompressed.writeBytes(msg);
+            msg.release();
+        }
+        return decompressed;
+    }
+
+    private void assertDecompressed(byte[] expected) {
+        ByteBuf decompressed = readDecompressed();
+        assertEquals(Unpooled.wrappedBuffer(expected), decompressed);
+        decompressed.release();
+    }
+
+    @Test
+    public void testEmptyFrame() throws Exception {
+        assertFalse(channel.writeInbound(Unpooled.wrappedBuffer(hex(EMPTY_FRAME))));
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testRawBlock() throws Exception {
+        assertTrue(channel.writeInbound(Unpooled.wrappedBuffer(hex(NETTY_FRAME))));
+        assertDecompressed("Netty".getBytes(CharsetUtil.US_ASCII));
+    }
+
+    @Test
+    public void testCompressedBlock() throws Exception {
+        assertTrue(channel.writeInbound(Unpooled.wrappedBuffer(hex(TEXT_FRAME))));
+        assertDecompressed(text());
+    }
+
+    @Test
+    public void testCompressedBlockByteByByte() throws Exception {
+        for (byte b : hex(TEXT_FRAME)) {
+            channel.writeInbound(Unpooled.wrappedBuffer(new byte[] { b }));
+        }
+        assertDecompressed(text());
+    }
+
+    @Test
+    public void testConcatenatedAndSkippableFrames() throws Exception {
+        ByteBuf in = Unpooled.buffer();
+        in.writeBytes(hex(NETTY_FRAME));
+        in.writeBytes(hex("5a2a4d18" + "03000000" + "010203"));
+        in.writeBytes(hex(EMPTY_FRAME));
+        in.writeBytes(hex(NETTY_FRAME));
+        assertTrue(channel.writeInbound(in));
+        assertDecompressed("NettyNetty".getBytes(CharsetUtil.US_ASCII));
+    }
+
+    @Test
+    public void testChecksumMismatch() throws Exception {
+        expected.expect(DecompressionException.class);
+        expected.expectMessage("checksum error");
+
+        byte[] data = hex(NETTY_FRAME);
+        data[data.length - 1] ^= 1;
+        channel.writeInbound(Unpooled.wrappedBuffer(data));
+    }
+
+    @Test
+    public void testUnexpectedFrameIdentifier() throws Exception {
+        expected.expect(DecompressionException.class);
+        expected.expectMessage("unexpected frame identifier");
+
+        byte[] data = hex(NETTY_FRAME);
+        data[0] = 0;
+        channel.writeInbound(Unpooled.wrappedBuffer(data));
+    }
+
+    @Test
+    public void testDictionaryNotSupported() throws Exception {
+        expected.expect(DecompressionException.class);
+        expected.expectMessage("dictionaries are not supported");
+
+        channel.writeInbound(Unpooled.wrappedBuffer(hex("28b52ffd" + "01" + "00" + "05" + "010000")));
+    }
+
+    @Test
+    public void testWindowTooLarge() throws Exception {
+        expected.expect(DecompressionException.class);
+        expected.expectMessage("window size too large");
+
+        channel = new EmbeddedChannel(new ZstdDecoder(1 << 16));
+        // Window descriptor for 1 MB.
+        channel.writeInbound(Unpooled.wrappedBuffer(hex("28b52ffd" + "00" + "50" + "010000")));
+    }
+
+    @Test
+    public void testCorruptedBlock() throws Exception {
+        expected.expect(DecompressionException.class);
+
+        // Keep the frame and block headers but replace the content of the compressed block.
+        ByteBuf in = Unpooled.buffer();
+        in.writeBytes(hex(TEXT_FRAME), 0, 10);
+        in.writeZero(452);
+        channel.writeInbound(in);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pins the output of {@link ZstdEncoder}, so a bug shared with {@link ZstdDecoder} cannot slip through the round
+ * trip tests. Each frame has been checked to decompress to its input with the reference implementation (1.5.4).
+ */
+public class ZstdEncoderTest {
+
+    /**
+     * {@link #SMALL} compressed: raw literals and sequences with the predefined distributions.
+     */
+    private static final String SMALL_FRAME =
+            "28b52ffd003874020014044e657474792c203a20616e206173796e6368726f6e6f7573206576656e742d64726976656e" +
+            "206e6574776f726b206170706c69636174696f6e206672616d652e2103004d1881390328ae1801010000";
+
+    /**
+     * {@link #text()} compressed: Huffman coded literals and sequences with FSE compressed tables.
+     */
+    private static final String TEXT_FRAME =
+            "28b52ffd00389c0800b2ce2df90000000000100000000000000000000040000000000000235666555555000000000001" +
+            "01100000001000300000000000020120020220000030033000007e9eedfa9bb1b322a31ecb55ed20595199f2b7fbefcc" +
+            "d9c835743dd56d71ca5ccea45a7e9ece2c1ace1dcd06abee88e8fe9e8dd696cdd82cb10aabe85cb77419954ef321f3bd" +
+            "4aa7e99f6723b9578fa155b5c8a5e76d2e2448a2f405380e094399d2410b02c318280862701c84628a8243424890a218" +
+            "01020177a81150b697f6dfc03352e8118c108c20046af7013c2fbc5751ec27c47da2d84f88bb7555bc568d1b9544d186" +
+            "0b35341725b544abd94ad3aa5255aa4a55a92abb64ae5495aa527d1a77a5ca96edaa7ac76b6bc2b65bd1daaa010000";
+
+    private static final String SMALL =
+            "Netty, Netty, Netty: an asynchronous event-driven network application framework. Netty!";
+
+    private static String text() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            text.append("GET /static/").append(i % 7).append("/app.js HTTP/1.1 ")
+                .append(i * 31 % 1000).append(' ').append(i % 3 == 0 ? "gzip" : "zstd").append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String compress(String data) {
+        EmbeddedChannel channel = new EmbeddedChannel(new ZstdEncoder());
+        assertTrue(channel.writeOutbound(Unpooled.copiedBuffer(data, CharsetUtil.US_ASCII)));
+        assertTrue(channel.finish());
+        ByteBuf compressed = Unpooled.buffer();
+        ByteBuf msg;
+        while ((msg = channel.readOutbound()) != null) {
+            compressed.writeBytes(msg);
+            msg.release();
+        }
+        String hex = ByteBufUtil.hexDump(compressed);
+        compressed.release();
+        return hex;
+    }
+
+    @Test
+    public void testSmallFrame() throws Exception {
+        assertEquals(SMALL_FRAME, compress(SMALL));
+    }
+
+    @Test
+    public void testTextFrame() throws Exception {
+        assertEquals(TEXT_FRAME, compress(text()));
+    }
+}
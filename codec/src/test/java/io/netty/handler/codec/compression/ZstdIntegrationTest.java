@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ZstdIntegrationTest extends IntegrationTest {
+
+    @Override
+    protected EmbeddedChannel createEncoderEmbeddedChannel() {
+        return new EmbeddedChannel(new ZstdEncoder());
+    }
+
+    @Override
+    protected EmbeddedChannel createDecoderEmbeddedChannel() {
+        return new EmbeddedChannel(new ZstdDecoder());
+    }
+
+    private static byte[] text(int lines) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            text.append("{\"id\":").append(i).append(",\"name\":\"user").append(i % 97)
+                .append("\",\"score\":").append(rand.nextInt(1000))
+                .append(",\"city\":\"").append(i % 3 == 0 ? "M\u00fcnchen" : "K\u00f8benhavn").append("\"}\n");
+        }
+        return text.toString().getBytes(CharsetUtil.UTF_8);
+    }
+
+    @Test
+    public void testText() throws Exception {
+        // Several blocks of literals with symbols above 0x80, whose Huffman weights need FSE compression.
+        testIdentity(text(20000));
+    }
+
+    @Test
+    public void testAsciiText() throws Exception {
+        testIdentity(("Netty is a NIO client server framework which enables quick and easy development " +
+                "of network applications such as protocol servers and clients. It greatly simplifies and " +
+                "streamlines network programming such as TCP and UDP socket server.\n")
+                .getBytes(CharsetUtil.US_ASCII));
+    }
+
+    @Test
+    public void testMultipleWrites() throws Exception {
+        testChunked(text(5000), 1000, new ZstdEncoder());
+    }
+
+    @Test
+    public void testSmallWindow() throws Exception {
+        testChunked(text(5000), 7000, new ZstdEncoder(10));
+    }
+
+    @Test
+    public void testCompressesText() throws Exception {
+        byte[] data = text(5000);
+        EmbeddedChannel encoder = new EmbeddedChannel(new ZstdEncoder());
+        encoder.writeOutbound(Unpooled.wrappedBuffer(data));
+        encoder.finish();
+        int compressed = 0;
+        ByteBuf msg;
+        while ((msg = encoder.readOutbound()) != null) {
+            compressed += msg.readableBytes();
+            msg.release();
+        }
+        assertTrue("compressed " + data.length + " to " + compressed, compressed < data.length / 3);
+    }
+
+    /**
+     * Writes {@code data} in chunks, so that matches refer to the data of previous writes, and decodes the
+     * compressed stream in chunks of a different size.
+     */
+    private static void testChunked(byte[] data, int chunkSize, ZstdEncoder zstdEncoder) {
+        EmbeddedChannel encoder = new EmbeddedChannel(zstdEncoder);
+        ByteBuf compressed = Unpooled.buffer();
+        ByteBuf msg;
+        for (int i = 0; i < data.length; i += chunkSize) {
+            encoder.writeOutbound(Unpooled.wrappedBuffer(data, i, Math.min(chunkSize, data.length - i)));
+            while ((msg = encoder.readOutbound()) != null) {
+                compressed.writeBytes(msg);
+                msg.release();
+            }
+        }
+        assertTrue(encoder.finish());
+        while ((msg = encoder.readOutbound()) != null) {
+            compressed.writeBytes(msg);
+            msg.release();
+        }
+
+        EmbeddedChannel decoder = new EmbeddedChannel(new ZstdDecoder());
+        ByteBuf decompressed = Unpooled.buffer();
+        while (compressed.isReadable()) {
+            decoder.writeInbound(compressed.readSlice(Math.min(1234, compressed.readableBytes())).retain());
+            while ((msg = decoder.readInbound()) != null) {
+                decompressed.writeBytes(msg);
+                msg.release();
+            }
+        }
+        assertFalse(decoder.finish());
+        assertEquals(Unpooled.wrappedBuffer(data), decompressed);
+        compressed.release();
+        decompressed.release();
+    }
+}
@@ -16,6 +16,9 @@
 package io.netty.util;
 
 import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.SystemPropertyUtil;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
 
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceArray;
@@ -24,9 +27,25 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 /**
  * Default {@link AttributeMap} implementation which use simple synchronization per bucket to keep the memory overhead
  * as low as possible.
+ * <p>
+ * Attributes whose {@link AttributeKey#id()} is smaller than {@code io.netty.attributeMap.maxIndexedSlots}
+ * (default: {@code 128}) are stored in an array indexed by the id instead, so looking them up is a plain array read
+ * without hashing or locking. Only adding, removing and growing the array takes a lock private to the map.
  */
 public class DefaultAttributeMap implements AttributeMap {
 
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(DefaultAttributeMap.class);
+
+    private static final int MAX_INDEXED_SLOTS =
+            Math.max(0, SystemPropertyUtil.getInt("io.netty.attributeMap.maxIndexedSlots", 128));
+    private static final int MIN_INDEXED_SLOTS = 8;
+
+    static {
+        if (logger.isDebugEnabled()) {
+            logger.debug("-Dio.netty.attributeMap.maxIndexedSlots: {}", MAX_INDEXED_SLOTS);
+        }
+    }
+
     @SuppressWarnings("rawtypes")
     private static final AtomicReferenceFieldUpdater<DefaultAttributeMap, AtomicReferenceArray> updater;
 
@@ -48,12 +67,31 @@ public class DefaultAttributeMap implements AttributeMap {
     @SuppressWarnings("UnusedDeclaration")
     private volatile AtomicReferenceArray<DefaultAttribute<?>> attributes;
 
+    // Guards the modifications of slots. Not the map itself, as it is the Channel which user code may lock on.
+    private final Object slotsLock = new Object();
+
+    // Indexed by AttributeKey.id(), initialized lazily and only replaced while holding slotsLock.
+    private volatile AtomicReferenceArray<DefaultAttribute<?>> slots;
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> Attribute<T> attr(AttributeKey<T> key) {
         if (key == null) {
             throw new NullPointerException("key");
         }
+
+        final int id = key.id();
+        if (id < MAX_INDEXED_SLOTS) {
+            AtomicReferenceArray<DefaultAttribute<?>> slots = this.slots;
+            if (slots != null && id < slots.length()) {
+                DefaultAttribute<?> attr = slots.get(id);
+                if (attr != null && !attr.removed) {
+                    return (Attribute<T>) attr;
+                }
+            }
+            return indexedAttr(key);
+        }
+
         AtomicReferenceArray<DefaultAttribute<?>> attributes = this.attributes;
         if (attributes == null) {
             // Not using ConcurrentHashMap due to high memory consumption.
@@ -98,11 +136,62 @@ public class DefaultAttributeMap implements AttributeMap {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> Attribute<T> indexedAttr(AttributeKey<T> key) {
+        final int id = key.id();
+        synchronized (slotsLock) {
+            AtomicReferenceArray<DefaultAttribute<?>> slots = this.slots;
+            if (slots == null || id >= slots.length()) {
+                int newLength = Math.min(MAX_INDEXED_SLOTS, Math.max(MIN_INDEXED_SLOTS, nextPowerOfTwo(id + 1)));
+                AtomicReferenceArray<DefaultAttribute<?>> newSlots =
+                        new AtomicReferenceArray<DefaultAttribute<?>>(newLength);
+                if (slots != null) {
+                    for (int i = 0; i < slots.length(); i ++) {
+                        newSlots.set(i, slots.get(i));
+                    }
+                }
+                this.slots = slots = newSlots;
+            }
+
+            DefaultAttribute<?> attr = slots.get(id);
+            if (attr == null || attr.removed) {
+                attr = new DefaultAttribute<T>(this, key);
+                slots.set(id, attr);
+            }
+            return (Attribute<T>) attr;
+        }
+    }
+
+    private void removeIndexed(DefaultAttribute<?> attr) {
+        synchronized (slotsLock) {
+            AtomicReferenceArray<DefaultAttribute<?>> slots = this.slots;
+            int id = attr.key.id();
+            if (slots.get(id) == attr) {
+                slots.set(id, null);
+            }
+        }
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+
     @Override
     public <T> boolean hasAttr(AttributeKey<T> key) {
         if (key == null) {
             throw new NullPointerException("key");
         }
+
+        final int id = key.id();
+        if (id < MAX_INDEXED_SLOTS) {
+            AtomicReferenceArray<DefaultAttribute<?>> slots = this.slots;
+            if (slots == null || id >= slots.length()) {
+                return false;
+            }
+            DefaultAttribute<?> attr = slots.get(id);
+            return attr != null && !attr.removed;
+        }
+
         AtomicReferenceArray<DefaultAttribute<?>> attributes = this.attributes;
         if (attributes == null) {
             // no attribute exists
@@ -143,8 +232,11 @@ public class DefaultAttributeMap implements AttributeMap {
 
         private static final long serialVersionUID = -2661411462200283011L;
 
-        // The head of the linked-list this attribute belongs to, which may be itself
+        // The head of the linked-list this attribute belongs to, which may be itself, or null if it is stored in
+        // an indexed slot of the map
         private final DefaultAttribute<?> head;
+        // The map which holds this attribute in an indexed slot, or null if it belongs to a bucket
+        private final DefaultAttributeMap map;
         private final AttributeKey<T> key;
 
         // Double-linked list to prev and next node to allow fast removal
@@ -156,11 +248,19 @@ public class DefaultAttributeMap implements AttributeMap {
 
         DefaultAttribute(DefaultAttribute<?> head, AttributeKey<T> key) {
             this.head = head;
+            map = null;
             this.key = key;
         }
 
         DefaultAttribute(AttributeKey<T> key) {
             head = this;
+            map = null;
+            this.key = key;
+        }
+
+        DefaultAttribute(DefaultAttributeMap map, AttributeKey<T> key) {
+            head = null;
+            this.map = map;
             this.key = key;
         }
 
@@ -196,6 +296,10 @@ public class DefaultAttributeMap implements AttributeMap {
         }
 
         private void remove0() {
+            if (map != null) {
+                map.removeIndexed(this);
+                return;
+            }
             synchronized (head) {
                 // We only update the linked-list structure if prev != null because if it is null this
                 // DefaultAttribute acts also as head. The head must never be removed completely and just be
@@ -30,6 +30,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A {@link Timer} optimized for approximated I/O timeout scheduling.
@@ -55,6 +56,17 @@ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
  * (i.e. the size of the wheel) is 512.  You could specify a larger value
  * if you are going to schedule a lot of timeouts.
  *
+ * <h3>Wheel Levels</h3>
+ *
+ * By default {@link HashedWheelTimer} uses a single wheel, and a timeout whose
+ * deadline is more than one revolution of the wheel away is revisited on every
+ * revolution until it is due.  If you hold many long-lived timeouts you can
+ * specify more than one wheel level in the constructor.  Each level covers
+ * {@code ticksPerWheel} times the range of the level below it, and timeouts
+ * are cascaded to the next lower level once they come into its range.  A
+ * timeout is therefore touched at most once per level instead of once per
+ * revolution.
+ *
  * <h3>Do not create many instances.</h3>
  *
  * {@link HashedWheelTimer} creates a new thread whenever it is instantiated and
@@ -102,8 +114,12 @@ public class HashedWheelTimer implements Timer {
     private volatile int workerState = WORKER_STATE_INIT; // 0 - init, 1 - started, 2 - shut down
 
     private final long tickDuration;
+    private final HashedWheelBucket[][] wheels;
     private final HashedWheelBucket[] wheel;
     private final int mask;
+    private final int shift;
+    private final AtomicLong pendingTimeouts = new AtomicLong();
+    private volatile long tickLag;
     private final CountDownLatch startTimeInitialized = new CountDownLatch(1);
     private final Queue<HashedWheelTimeout> timeouts = PlatformDependent.newMpscQueue();
     private final Queue<Runnable> cancelledTimeouts = PlatformDependent.newMpscQueue();
@@ -191,6 +207,27 @@ public class HashedWheelTimer implements Timer {
     public HashedWheelTimer(
             ThreadFactory threadFactory,
             long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        this(threadFactory, tickDuration, unit, ticksPerWheel, 1);
+    }
+
+    /**
+     * Creates a new timer.
+     *
+     * @param threadFactory  a {@link ThreadFactory} that creates a
+     *                       background {@link Thread} which is dedicated to
+     *                       {@link TimerTask} execution.
+     * @param tickDuration   the duration between tick
+     * @param unit           the time unit of the {@code tickDuration}
+     * @param ticksPerWheel  the size of each wheel
+     * @param wheelLevels    the number of hierarchical wheels. {@code 1} creates a single wheel whose timeouts
+     *                       are revisited on every revolution until they are due.
+     * @throws NullPointerException     if either of {@code threadFactory} and {@code unit} is {@code null}
+     * @throws IllegalArgumentException if either of {@code tickDuration}, {@code ticksPerWheel} and
+     *                                  {@code wheelLevels} is <= 0
+     */
+    public HashedWheelTimer(
+            ThreadFactory threadFactory,
+            long tickDuration, TimeUnit unit, int ticksPerWheel, int wheelLevels) {
 
         if (threadFactory == null) {
             throw new NullPointerException("threadFactory");
@@ -204,10 +241,23 @@ public class HashedWheelTimer implements Timer {
         if (ticksPerWheel <= 0) {
             throw new IllegalArgumentException("ticksPerWheel must be greater than 0: " + ticksPerWheel);
         }
+        if (wheelLevels <= 0) {
+            throw new IllegalArgumentException("wheelLevels must be greater than 0: " + wheelLevels);
+        }
 
-        // Normalize ticksPerWheel to power of two and initialize the wheel.
-        wheel = createWheel(ticksPerWheel);
+        // Normalize ticksPerWheel to power of two and initialize the wheels.
+        wheels = new HashedWheelBucket[wheelLevels][];
+        for (int i = 0; i < wheelLevels; i ++) {
+            wheels[i] = createWheel(ticksPerWheel);
+        }
+        wheel = wheels[0];
         mask = wheel.length - 1;
+        shift = Integer.numberOfTrailingZeros(wheel.length);
+        if (wheelLevels > 1 && (shift == 0 || (long) shift * wheelLevels >= Long.SIZE - 1)) {
+            throw new IllegalArgumentException(String.format(
+                    "wheelLevels: %d (expected: ticksPerWheel > 1 and ticksPerWheel^wheelLevels < 2^63)",
+                    wheelLevels));
+        }
 
         // Convert tickDuration to nanos.
         this.tickDuration = unit.toNanos(tickDuration);
@@ -335,10 +385,29 @@ public class HashedWheelTimer implements Timer {
         // During processing all the queued HashedWheelTimeouts will be added to the correct HashedWheelBucket.
         long deadline = System.nanoTime() + unit.toNanos(delay) - startTime;
         HashedWheelTimeout timeout = new HashedWheelTimeout(this, task, deadline);
+        pendingTimeouts.incrementAndGet();
         timeouts.add(timeout);
         return timeout;
     }
 
+    /**
+     * Returns the number of timeouts which were scheduled but neither expired nor cancelled yet.
+     */
+    public long pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * Returns how late the most recent tick was processed by the worker thread. A value which is constantly larger
+     * than the tick duration means that the {@link TimerTask}s take too long or that the timer is overloaded.
+     */
+    public long tickLag(TimeUnit unit) {
+        if (unit == null) {
+            throw new NullPointerException("unit");
+        }
+        return unit.convert(tickLag, TimeUnit.NANOSECONDS);
+    }
+
     private final class Worker implements Runnable {
         private final Set<Timeout> unprocessedTimeouts = new HashSet<Timeout>();
 
@@ -359,19 +428,26 @@ public class HashedWheelTimer implements Timer {
             do {
                 final long deadline = waitForNextTick();
                 if (deadline > 0) {
-                    int idx = (int) (tick & mask);
+                    tickLag = deadline - tickDuration * (tick + 1);
                     processCancelledTasks();
-                    HashedWheelBucket bucket =
-                            wheel[idx];
                     transferTimeoutsToBuckets();
-                    bucket.expireTimeouts(deadline);
-                    tick++;
+
+                    // Expire all ticks which elapsed in one batch, which is more than one if we woke up late.
+                    do {
+                        if (wheels.length > 1) {
+                            cascade();
+                        }
+                        wheel[(int) (tick & mask)].expireTimeouts(deadline);
+                        tick++;
+                    } while (tickDuration * (tick + 1) <= deadline);
                 }
             } while (WORKER_STATE_UPDATER.get(HashedWheelTimer.this) == WORKER_STATE_STARTED);
 
             // Fill the unprocessedTimeouts so we can return them from stop() method.
-            for (HashedWheelBucket bucket: wheel) {
-                bucket.clearTimeouts(unprocessedTimeouts);
+            for (HashedWheelBucket[] levelWheel: wheels) {
+                for (HashedWheelBucket bucket: levelWheel) {
+                    bucket.clearTimeouts(unprocessedTimeouts);
+                }
             }
             for (;;) {
                 HashedWheelTimeout timeout = timeouts.poll();
@@ -399,14 +475,56 @@ public class HashedWheelTimer implements Timer {
                     continue;
                 }
 
-                long calculated = timeout.deadline / tickDuration;
-                timeout.remainingRounds = (calculated - tick) / wheel.length;
+                if (wheels.length == 1) {
+                    long calculated = timeout.deadline / tickDuration;
+                    timeout.remainingRounds = (calculated - tick) / wheel.length;
 
-                final long ticks = Math.max(calculated, tick); // Ensure we don't schedule for past.
-                int stopIndex = (int) (ticks & mask);
+                    final long ticks = Math.max(calculated, tick); // Ensure we don't schedule for past.
+                    int stopIndex = (int) (ticks & mask);
 
-                HashedWheelBucket bucket = wheel[stopIndex];
-                bucket.addTimeout(timeout);
+                    HashedWheelBucket bucket = wheel[stopIndex];
+                    bucket.addTimeout(timeout);
+                } else {
+                    addToLevel(timeout);
+                }
+            }
+        }
+
+        /**
+         * Adds the {@link HashedWheelTimeout} to the lowest level whose current revolution contains its deadline.
+         * Timeouts which are beyond the range of the highest level stay in the highest level and are re-added on
+         * every revolution of it.
+         */
+        private void addToLevel(HashedWheelTimeout timeout) {
+            final long ticks = Math.max(timeout.deadline / tickDuration, tick); // Ensure we don't schedule for past.
+            final int topLevel = wheels.length - 1;
+            int level = 0;
+            while (level < topLevel && ticks >>> shift * (level + 1) != tick >>> shift * (level + 1)) {
+                level ++;
+            }
+            wheels[level][(int) (ticks >>> shift * level) & mask].addTimeout(timeout);
+        }
+
+        /**
+         * Moves the timeouts of every higher level bucket whose time range starts with the current tick to the
+         * lower levels. This must be done before the bucket of the current tick is expired.
+         */
+        private void cascade() {
+            for (int level = wheels.length - 1; level > 0; level --) {
+                final int levelShift = shift * level;
+                if ((tick & (1L << levelShift) - 1) != 0) {
+                    // The current tick is not the start of the range of a bucket in this level.
+                    continue;
+                }
+                HashedWheelTimeout timeout = wheels[level][(int) (tick >>> levelShift) & mask].pollAll();
+                while (timeout != null) {
+                    HashedWheelTimeout next = timeout.next;
+                    timeout.next = null;
+                    if (!timeout.isCancelled()) {
+                        addToLevel(timeout);
+                    }
+                    timeout = next;
+                }
             }
         }
 
@@ -526,10 +644,20 @@ public class HashedWheelTimer implements Timer {
 
         @Override
         public boolean cancel() {
-            // only update the state it will be removed from HashedWheelBucket on next tick.
+            // Update the state first so the timeout can never expire once cancel() returned true.
             if (!compareAndSetState(ST_INIT, ST_CANCELLED)) {
                 return false;
             }
+            timer.pendingTimeouts.decrementAndGet();
+
+            if (Thread.currentThread() == timer.workerThread) {
+                // We are called from a TimerTask, so we can unlink the timeout right away.
+                HashedWheelBucket bucket = this.bucket;
+                if (bucket != null) {
+                    bucket.remove(this);
+                }
+                return true;
+            }
             // If a task should be canceled we create a new Runnable for this to another queue which will
             // be processed on each tick. So this means that we will have a GC latency of max. 1 tick duration
             // which is good enough. This way we can make again use of our MpscLinkedQueue and so minimize the
@@ -576,6 +704,7 @@ public class HashedWheelTimer implements Timer {
             if (!compareAndSetState(ST_INIT, ST_EXPIRED)) {
                 return;
             }
+            timer.pendingTimeouts.decrementAndGet();
 
             try {
                 task.run(this);
@@ -718,6 +847,20 @@ public class HashedWheelTimer implements Timer {
             }
         }
 
+        /**
+         * Removes all {@link HashedWheelTimeout}s from this bucket and returns the first of them. The returned
+         * {@link HashedWheelTimeout}s are still chained via {@link HashedWheelTimeout#next}.
+         */
+        public HashedWheelTimeout pollAll() {
+            HashedWheelTimeout head = this.head;
+            this.head = tail = null;
+            for (HashedWheelTimeout timeout = head; timeout != null; timeout = timeout.next) {
+                timeout.prev = null;
+                timeout.bucket = null;
+            }
+            return head;
+        }
+
         private HashedWheelTimeout pollTimeout() {
             HashedWheelTimeout head = this.head;
             if (head == null) {
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * {@link EventExecutor} of a {@link BlockingEventExecutorGroup}. All tasks are executed in the order they were
+ * submitted, one after another, by a thread which is only borrowed from the {@link Executor} while the task queue
+ * is not empty.
+ *
+ * Scheduled tasks are tracked by the scheduler of the {@link BlockingEventExecutorGroup} and handed over to this
+ * {@link EventExecutor} once they are due.
+ */
+final class BlockingEventExecutor extends AbstractEventExecutor {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(BlockingEventExecutor.class);
+
+    private static final int ST_IDLE = 0;
+    private static final int ST_RUNNING = 1;
+
+    private static final AtomicIntegerFieldUpdater<BlockingEventExecutor> STATE_UPDATER;
+
+    static {
+        AtomicIntegerFieldUpdater<BlockingEventExecutor> updater =
+                PlatformDependent.newAtomicIntegerFieldUpdater(BlockingEventExecutor.class, "state");
+        if (updater == null) {
+            updater = AtomicIntegerFieldUpdater.newUpdater(BlockingEventExecutor.class, "state");
+        }
+        STATE_UPDATER = updater;
+    }
+
+    private final BlockingEventExecutorGroup parent;
+    private final Executor executor;
+    private final Queue<Runnable> taskQueue = PlatformDependent.newMpscQueue();
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    @SuppressWarnings({ "unused", "FieldMayBeFinal", "RedundantFieldInitialization" })
+    private volatile int state = ST_IDLE;
+    private volatile Thread thread;
+
+    BlockingEventExecutor(BlockingEventExecutorGroup parent, Executor executor) {
+        super(parent);
+        this.parent = parent;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean inEventLoop(Thread thread) {
+        return thread == this.thread;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        if (isShuttingDown()) {
+            throw new RejectedExecutionException("event executor shut down");
+        }
+
+        taskQueue.add(task);
+        if (!inEventLoop()) {
+            startDrain();
+        }
+    }
+
+    private void startDrain() {
+        if (STATE_UPDATER.compareAndSet(this, ST_IDLE, ST_RUNNING)) {
+            parent.executorActive();
+            try {
+                executor.execute(drainTask);
+            } catch (Throwable t) {
+                state = ST_IDLE;
+                parent.executorInactive();
+                PlatformDependent.throwException(t);
+            }
+        }
+    }
+
+    private void drain() {
+        thread = Thread.currentThread();
+        try {
+            for (;;) {
+                Runnable task = taskQueue.poll();
+                if (task == null) {
+                    thread = null;
+                    state = ST_IDLE;
+                    // Re-check as a task may have been added after we polled but before we changed the state.
+                    if (taskQueue.isEmpty() || !STATE_UPDATER.compareAndSet(this, ST_IDLE, ST_RUNNING)) {
+                        break;
+                    }
+                    thread = Thread.currentThread();
+                    continue;
+                }
+
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    logger.warn("A task raised an exception. Task: {}", task, t);
+                }
+            }
+        } finally {
+            parent.executorInactive();
+        }
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(Executors.callable(command, null), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        if (callable == null) {
+            throw new NullPointerException("callable");
+        }
+        if (unit == null) {
+            throw new NullPointerException("unit");
+        }
+        return new HandOffFuture<V>(callable, 0).start(delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (command == null) {
+            throw new NullPointerException("command");
+        }
+        if (unit == null) {
+            throw new NullPointerException("unit");
+        }
+        if (period <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("period: %d (expected: > 0)", period));
+        }
+        return new HandOffFuture<Void>(Executors.<Void>callable(command, null), unit.toNanos(period))
+                .start(initialDelay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (command == null) {
+            throw new NullPointerException("command");
+        }
+        if (unit == null) {
+            throw new NullPointerException("unit");
+        }
+        if (delay <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("delay: %d (expected: > 0)", delay));
+        }
+        return new HandOffFuture<Void>(Executors.<Void>callable(command, null), -unit.toNanos(delay))
+                .start(initialDelay, unit);
+    }
+
+    @Override
+    public boolean isShuttingDown() {
+        return parent.isShuttingDown();
+    }
+
+    /**
+     * The lifecycle of this {@link EventExecutor} is bound to its {@link BlockingEventExecutorGroup}, so this shuts
+     * down the whole group.
+     */
+    @Override
+    public Future<?> shutdownGracefully(long quietPeriod, long timeout, TimeUnit unit) {
+        return parent.shutdownGracefully(quietPeriod, timeout, unit);
+    }
+
+    @Override
+    public Future<?> terminationFuture() {
+        return parent.terminationFuture();
+    }
+
+    @Override
+    @Deprecated
+    public void shutdown() {
+        parent.shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return parent.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return parent.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return parent.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * {@link ScheduledFuture} whose delay is tracked by the scheduler of the {@link BlockingEventExecutorGroup}.
+     * Once due the task itself is handed over to this {@link EventExecutor}, so it keeps its ordering with regard
+     * to the other tasks.
+     */
+    @SuppressWarnings("ComparableImplementedButEqualsNotOverridden")
+    private final class HandOffFuture<V> extends DefaultPromise<V> implements ScheduledFuture<V>, Runnable {
+
+        private final Callable<V> task;
+        /* 0 - no repeat, >0 - repeat at fixed rate, <0 - repeat with fixed delay */
+        private final long periodNanos;
+        private volatile ScheduledFuture<?> trigger;
+
+        private final Runnable handOff = new Runnable() {
+            @Override
+            public void run() {
+                if (!isDone()) {
+                    try {
+                        execute(HandOffFuture.this);
+                    } catch (RejectedExecutionException e) {
+                        tryFailure(e);
+                    }
+                }
+            }
+        };
+
+        HandOffFuture(Callable<V> task, long periodNanos) {
+            super(BlockingEventExecutor.this);
+            this.task = task;
+            this.periodNanos = periodNanos;
+        }
+
+        HandOffFuture<V> start(long delay, TimeUnit unit) {
+            EventExecutor scheduler = parent.scheduler();
+            if (periodNanos > 0) {
+                trigger = scheduler.scheduleAtFixedRate(
+                        handOff, unit.toNanos(delay), periodNanos, TimeUnit.NANOSECONDS);
+            } else {
+                trigger = scheduler.schedule(handOff, delay, unit);
+            }
+            return this;
+        }
+
+        @Override
+        public void run() {
+            if (periodNanos == 0) {
+                if (setUncancellable()) {
+                    try {
+                        setSuccess(task.call());
+                    } catch (Throwable cause) {
+                        setFailure(cause);
+                    }
+                }
+                return;
+            }
+
+            if (isDone()) {
+                return;
+            }
+            try {
+                task.call();
+                if (periodNanos < 0 && !isDone()) {
+                    // Fixed delay, so the delay starts once the task completed.
+                    trigger = parent.scheduler().schedule(handOff, -periodNanos, TimeUnit.NANOSECONDS);
+                }
+            } catch (Throwable cause) {
+                cancelTrigger();
+                tryFailure(cause);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (super.cancel(mayInterruptIfRunning)) {
+                cancelTrigger();
+                return true;
+            }
+            return false;
+        }
+
+        private void cancelTrigger() {
+            ScheduledFuture<?> trigger = this.trigger;
+            if (trigger != null) {
+                trigger.cancel(false);
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            ScheduledFuture<?> trigger = this.trigger;
+            return trigger == null || isDone() ? 0 : trigger.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            if (this == o) {
+                return 0;
+            }
+            long d = getDelay(TimeUnit.NANOSECONDS) - o.getDelay(TimeUnit.NANOSECONDS);
+            return d < 0 ? -1 : d > 0 ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * {@link EventExecutorGroup} which is meant to run handlers that block, like handlers which talk to a database via
+ * JDBC, off the I/O threads.
+ *
+ * Unlike {@link DefaultEventExecutorGroup} it does not pin each {@link EventExecutor} to a platform thread. Every
+ * call to {@link #next()} returns a new, lightweight {@link EventExecutor} which only consists of a task queue.
+ * Its tasks are executed one after another, in the order they were submitted, but the thread is only borrowed from
+ * the shared {@link Executor} while there are tasks to run. As a {@code ChannelPipeline} calls {@link #next()} once
+ * per {@code Channel}, every {@code Channel} gets its own ordered executor, and idle {@code Channel}s do not occupy
+ * a thread at all.
+ *
+ * By default virtual threads are used when running on a JVM which supports them, otherwise the work is executed by
+ * a cached thread pool.
+ */
+public final class BlockingEventExecutorGroup extends AbstractEventExecutorGroup {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(BlockingEventExecutorGroup.class);
+
+    private static final int ST_STARTED = 1;
+    private static final int ST_SHUTTING_DOWN = 2;
+    private static final int ST_TERMINATED = 3;
+
+    private static final AtomicIntegerFieldUpdater<BlockingEventExecutorGroup> STATE_UPDATER;
+
+    static {
+        AtomicIntegerFieldUpdater<BlockingEventExecutorGroup> updater =
+                PlatformDependent.newAtomicIntegerFieldUpdater(BlockingEventExecutorGroup.class, "state");
+        if (updater == null) {
+            updater = AtomicIntegerFieldUpdater.newUpdater(BlockingEventExecutorGroup.class, "state");
+        }
+        STATE_UPDATER = updater;
+    }
+
+    private final Executor executor;
+    private final boolean shutdownExecutor;
+    private final EventExecutor scheduler = new DefaultEventExecutor(this);
+    private final AtomicInteger activeExecutors = new AtomicInteger();
+    private final Promise<?> terminationFuture = new DefaultPromise<Void>(GlobalEventExecutor.INSTANCE);
+
+    @SuppressWarnings({ "unused", "FieldMayBeFinal", "RedundantFieldInitialization" })
+    private volatile int state = ST_STARTED;
+
+    /**
+     * Create a new instance which uses virtual threads if supported by the JVM, or a cached thread pool otherwise.
+     */
+    public BlockingEventExecutorGroup() {
+        this(newDefaultExecutorService(), true);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param executor  the {@link Executor} which is used to execute the tasks. It should not limit the number of
+     *                  concurrently running tasks, as each of them may block.
+     */
+    public BlockingEventExecutorGroup(Executor executor) {
+        this(executor, false);
+    }
+
+    private BlockingEventExecutorGroup(Executor executor, boolean shutdownExecutor) {
+        if (executor == null) {
+            throw new NullPointerException("executor");
+        }
+        this.executor = executor;
+        this.shutdownExecutor = shutdownExecutor;
+
+        scheduler.terminationFuture().addListener(new FutureListener<Object>() {
+            @Override
+            public void operationComplete(Future<Object> future) throws Exception {
+                tryTerminate();
+            }
+        });
+    }
+
+    private static ExecutorService newDefaultExecutorService() {
+        try {
+            // Only available on Java 21 and later.
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executorService = (ExecutorService) method.invoke(null);
+            logger.debug("Using virtual threads");
+            return executorService;
+        } catch (Throwable t) {
+            logger.debug("Virtual threads not supported, using a cached thread pool", t);
+            return Executors.newCachedThreadPool(new DefaultThreadFactory(BlockingEventExecutorGroup.class, true));
+        }
+    }
+
+    /**
+     * Returns a new {@link EventExecutor} which executes its tasks in order.
+     */
+    @Override
+    public EventExecutor next() {
+        return new BlockingEventExecutor(this, executor);
+    }
+
+    /**
+     * Returns an empty {@link Set} as the {@link EventExecutor}s are created on demand by {@link #next()} and are
+     * not tracked by this group.
+     */
+    @Override
+    public <E extends EventExecutor> Set<E> children() {
+        return Collections.emptySet();
+    }
+
+    EventExecutor scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Called by a {@link BlockingEventExecutor} before it borrows a thread from the {@link Executor}.
+     */
+    void executorActive() {
+        activeExecutors.incrementAndGet();
+    }
+
+    /**
+     * Called by a {@link BlockingEventExecutor} once it has run all of its tasks and returned the thread.
+     */
+    void executorInactive() {
+        if (activeExecutors.decrementAndGet() == 0) {
+            tryTerminate();
+        }
+    }
+
+    private void tryTerminate() {
+        if (state == ST_SHUTTING_DOWN && activeExecutors.get() == 0 && scheduler.isTerminated() &&
+                STATE_UPDATER.compareAndSet(this, ST_SHUTTING_DOWN, ST_TERMINATED)) {
+            if (shutdownExecutor) {
+                ((ExecutorService) executor).shutdown();
+            }
+            terminationFuture.setSuccess(null);
+        }
+    }
+
+    @Override
+    public boolean isShuttingDown() {
+        return state >= ST_SHUTTING_DOWN;
+    }
+
+    /**
+     * Stops accepting new tasks and terminates once all {@link EventExecutor}s have run their pending tasks. The
+     * quiet period is not supported by this implementation and so ignored.
+     */
+    @Override
+    public Future<?> shutdownGracefully(long quietPeriod, long timeout, TimeUnit unit) {
+        if (STATE_UPDATER.compareAndSet(this, ST_STARTED, ST_SHUTTING_DOWN)) {
+            scheduler.shutdownGracefully(0, timeout, unit);
+            tryTerminate();
+        }
+        return terminationFuture();
+    }
+
+    @Override
+    public Future<?> terminationFuture() {
+        return terminationFuture;
+    }
+
+    @Override
+    @Deprecated
+    public void shutdown() {
+        shutdownGracefully(0, 0, TimeUnit.SECONDS);
+    }
+
+    @Override
+    @Deprecated
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return isShuttingDown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return state == ST_TERMINATED;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminationFuture.await(timeout, unit);
+    }
+}
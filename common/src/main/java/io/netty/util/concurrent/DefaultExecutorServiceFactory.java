@@ -16,7 +16,9 @@
 
 package io.netty.util.concurrent;
 
+import io.netty.util.internal.EmptyArrays;
 import io.netty.util.internal.InternalThreadLocalMap;
+import io.netty.util.internal.NumaTopology;
 import io.netty.util.internal.StringUtil;
 import io.netty.util.internal.chmv8.ForkJoinPool;
 import io.netty.util.internal.chmv8.ForkJoinPool.ForkJoinWorkerThreadFactory;
@@ -43,6 +45,10 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <p>
  * The whole discussion can be found on GitHub
  * <a href="https://github.com/netty/netty/issues/2250">https://github.com/netty/netty/issues/2250</a>.
+ * <p>
+ * If a {@link ThreadAffinity} is specified each created thread is bound to one of the given CPUs in a round-robin
+ * fashion, and the NUMA node of that CPU is remembered so that NUMA-aware components, like the
+ * {@code PooledByteBufAllocator}, can pick memory which is local to the thread.
  */
 public final class DefaultExecutorServiceFactory implements ExecutorServiceFactory {
 
@@ -51,6 +57,8 @@ public final class DefaultExecutorServiceFactory implements ExecutorServiceFacto
 
     private static final AtomicInteger executorId = new AtomicInteger();
     private final String namePrefix;
+    private final ThreadAffinity affinity;
+    private final int[] cpus;
 
     /**
      * @param clazzNamePrefix   the name of the class will be used to prefix the name of each
@@ -65,12 +73,45 @@ public final class DefaultExecutorServiceFactory implements ExecutorServiceFacto
      */
     public DefaultExecutorServiceFactory(String namePrefix) {
         this.namePrefix = namePrefix;
+        affinity = null;
+        cpus = EmptyArrays.EMPTY_INTS;
+    }
+
+    /**
+     * @param namePrefix    the string to prefix the name of each {@link ForkJoinWorkerThread} with.
+     * @param affinity      the {@link ThreadAffinity} which is used to bind each created thread to a CPU.
+     * @param cpus          the CPUs to bind the created threads to, in round-robin fashion. If empty, all
+     *                      available processors are used.
+     */
+    public DefaultExecutorServiceFactory(String namePrefix, ThreadAffinity affinity, int... cpus) {
+        if (affinity == null) {
+            throw new NullPointerException("affinity");
+        }
+        if (cpus == null) {
+            throw new NullPointerException("cpus");
+        }
+        if (cpus.length == 0) {
+            cpus = new int[Runtime.getRuntime().availableProcessors()];
+            for (int i = 0; i < cpus.length; i ++) {
+                cpus[i] = i;
+            }
+        } else {
+            cpus = cpus.clone();
+            for (int cpu: cpus) {
+                if (cpu < 0) {
+                    throw new IllegalArgumentException("cpus: " + cpu + " (expected: >= 0)");
+                }
+            }
+        }
+        this.namePrefix = namePrefix;
+        this.affinity = affinity;
+        this.cpus = cpus;
     }
 
     @Override
     public ExecutorService newExecutorService(int parallelism) {
-        ForkJoinWorkerThreadFactory threadFactory =
-                new DefaultForkJoinWorkerThreadFactory(namePrefix + '-' + executorId.getAndIncrement());
+        ForkJoinWorkerThreadFactory threadFactory = new DefaultForkJoinWorkerThreadFactory(
+                namePrefix + '-' + executorId.getAndIncrement(), affinity, cpus);
 
         return new ForkJoinPool(parallelism, threadFactory, DefaultUncaughtExceptionHandler.INSTANCE, true);
     }
@@ -111,16 +152,23 @@ public final class DefaultExecutorServiceFactory implements ExecutorServiceFacto
 
         private final AtomicInteger idx = new AtomicInteger();
         private final String namePrefix;
+        private final ThreadAffinity affinity;
+        private final int[] cpus;
 
-        DefaultForkJoinWorkerThreadFactory(String namePrefix) {
+        DefaultForkJoinWorkerThreadFactory(String namePrefix, ThreadAffinity affinity, int[] cpus) {
             this.namePrefix = namePrefix;
+            this.affinity = affinity;
+            this.cpus = cpus;
         }
 
         @Override
         public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            final int id = idx.getAndIncrement();
+            final int cpu = affinity == null ? -1 : cpus[id % cpus.length];
+
             // Note: The ForkJoinPool will create these threads as daemon threads.
-            ForkJoinWorkerThread thread = new DefaultForkJoinWorkerThread(pool);
-            thread.setName(namePrefix + '-' + idx.getAndIncrement());
+            ForkJoinWorkerThread thread = new DefaultForkJoinWorkerThread(pool, affinity, cpu);
+            thread.setName(namePrefix + '-' + id);
             thread.setPriority(Thread.MAX_PRIORITY);
             return thread;
         }
@@ -129,10 +177,35 @@ public final class DefaultExecutorServiceFactory implements ExecutorServiceFacto
     private static final class DefaultForkJoinWorkerThread
             extends ForkJoinWorkerThread implements FastThreadLocalAccess {
 
+        private final ThreadAffinity affinity;
+        private final int cpu;
         private InternalThreadLocalMap threadLocalMap;
 
-        DefaultForkJoinWorkerThread(ForkJoinPool pool) {
+        DefaultForkJoinWorkerThread(ForkJoinPool pool, ThreadAffinity affinity, int cpu) {
             super(pool);
+            this.affinity = affinity;
+            this.cpu = cpu;
+        }
+
+        @Override
+        protected void onStart() {
+            super.onStart();
+            if (affinity == null) {
+                return;
+            }
+
+            boolean bound;
+            try {
+                bound = affinity.bindCurrentThread(cpu);
+            } catch (Throwable t) {
+                logger.warn("Failed to bind thread {} to CPU {}.", getName(), cpu, t);
+                bound = false;
+            }
+            if (bound) {
+                InternalThreadLocalMap.get().setNumaNode(NumaTopology.nodeOf(cpu));
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("Thread affinity is not supported; {} is not bound to CPU {}.", getName(), cpu);
+            }
         }
 
         @Override
@@ -549,6 +549,7 @@ public class DefaultPromise<V> extends AbstractFuture<V> implements Promise<V> {
 
         Object listeners = this.listeners;
         if (listeners == null) {
+            listenersNotified();
             return;
         }
 
@@ -570,6 +571,7 @@ public class DefaultPromise<V> extends AbstractFuture<V> implements Promise<V> {
                     this.listeners = null;
                     threadLocals.setFutureListenerStackDepth(stackDepth);
                 }
+                listenersNotified();
                 return;
             }
         }
@@ -581,6 +583,7 @@ public class DefaultPromise<V> extends AbstractFuture<V> implements Promise<V> {
                 public void run() {
                     notifyListeners0(DefaultPromise.this, dfl);
                     DefaultPromise.this.listeners = null;
+                    listenersNotified();
                 }
             });
         } else {
@@ -591,11 +594,37 @@ public class DefaultPromise<V> extends AbstractFuture<V> implements Promise<V> {
                 public void run() {
                     notifyListener0(DefaultPromise.this, l);
                     DefaultPromise.this.listeners = null;
+                    listenersNotified();
                 }
             });
         }
     }
 
+    /**
+     * Invoked once this promise is done and all listeners that were added before its completion have been notified.
+     * The default implementation does nothing. Sub-classes which pool their instances may use this as the point
+     * where the promise is handed back to the pool.
+     */
+    protected void listenersNotified() {
+        // NOOP
+    }
+
+    /**
+     * Restores this promise to its initial, incomplete state so that it can be reused by a sub-class which pools its
+     * instances.
+     *
+     * @return {@code false} and leaves this promise untouched if it is not done yet, if a thread is still waiting on
+     *         it or if some of its listeners have not been notified yet.
+     */
+    protected final synchronized boolean resetForReuse() {
+        if (!isDone0(result) || hasWaiters() || listeners != null ||
+            lateListeners != null && !lateListeners.isEmpty()) {
+            return false;
+        }
+        result = null;
+        return true;
+    }
+
     private static void notifyListeners0(Future<?> future, DefaultFutureListeners listeners) {
         final GenericFutureListener<?>[] a = listeners.listeners();
         final int size = listeners.size();
@@ -18,6 +18,7 @@ package io.netty.util.concurrent;
 import io.netty.util.internal.CallableEventExecutorAdapter;
 import io.netty.util.internal.PlatformDependent;
 import io.netty.util.internal.RunnableEventExecutorAdapter;
+import io.netty.util.internal.SystemPropertyUtil;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 
@@ -54,6 +55,9 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
     private static final int ST_SHUTDOWN = 4;
     private static final int ST_TERMINATED = 5;
 
+    static final int DEFAULT_MAX_PENDING_EXECUTOR_TASKS = Math.max(16,
+            SystemPropertyUtil.getInt("io.netty.eventexecutor.maxPendingTasks", Integer.MAX_VALUE));
+
     private static final Runnable WAKEUP_TASK = new Runnable() {
         @Override
         public void run() {
@@ -90,6 +94,8 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
     private final Semaphore threadLock = new Semaphore(0);
     private final Set<Runnable> shutdownHooks = new LinkedHashSet<Runnable>();
     private final boolean addTaskWakesUp;
+    private final int maxPendingTasks;
+    private final RejectedExecutionHandler rejectedExecutionHandler;
 
     private long lastExecutionTime;
 
@@ -134,15 +140,42 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
      *                         the executor thread.
      */
     protected SingleThreadEventExecutor(EventExecutorGroup parent, Executor executor, boolean addTaskWakesUp) {
+        this(parent, executor, addTaskWakesUp, DEFAULT_MAX_PENDING_EXECUTOR_TASKS, RejectedExecutionHandlers.reject());
+    }
+
+    /**
+     * @param parent            the {@link EventExecutorGroup} which is the parent of this instance and belongs to it.
+     * @param executor          the {@link Executor} which will be used for executing.
+     * @param addTaskWakesUp   {@code true} if and only if invocation of {@link #addTask(Runnable)} will wake up
+     *                         the executor thread.
+     * @param maxPendingTasks  the maximum number of pending tasks before new tasks will be rejected.
+     * @param rejectedHandler  the {@link RejectedExecutionHandler} to use when a task could not be added because
+     *                         {@code maxPendingTasks} was reached.
+     */
+    protected SingleThreadEventExecutor(EventExecutorGroup parent, Executor executor, boolean addTaskWakesUp,
+                                        int maxPendingTasks, RejectedExecutionHandler rejectedHandler) {
         super(parent);
 
         if (executor == null) {
             throw new NullPointerException("executor");
         }
+        if (rejectedHandler == null) {
+            throw new NullPointerException("rejectedHandler");
+        }
 
         this.addTaskWakesUp = addTaskWakesUp;
         this.executor = executor;
-        taskQueue = newTaskQueue();
+        this.maxPendingTasks = Math.max(16, maxPendingTasks);
+        rejectedExecutionHandler = rejectedHandler;
+        taskQueue = newTaskQueue(this.maxPendingTasks);
+    }
+
+    /**
+     * @deprecated Please use and override {@link #newTaskQueue(int)}.
+     */
+    @Deprecated
+    protected Queue<Runnable> newTaskQueue() {
+        return new LinkedBlockingQueue<Runnable>(maxPendingTasks);
     }
 
     /**
@@ -150,9 +183,13 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
      * {@link LinkedBlockingQueue} but if your sub-class of {@link SingleThreadEventExecutor} will not do any blocking
      * calls on the this {@link Queue} it may make sense to {@code @Override} this and return some more performant
      * implementation that does not support blocking operations at all.
+     * <p>
+     * The returned {@link Queue} must not accept more than {@code maxPendingTasks} tasks. Tasks which could not be
+     * added are passed to the {@link RejectedExecutionHandler} of this executor.
+     * </p>
      */
-    protected Queue<Runnable> newTaskQueue() {
-        return new LinkedBlockingQueue<Runnable>();
+    protected Queue<Runnable> newTaskQueue(int maxPendingTasks) {
+        return newTaskQueue();
     }
 
     /**
@@ -173,7 +210,7 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
      * Take the next {@link Runnable} from the task queue and so will block if no task is currently present.
      * <p>
      * Be aware that this method will throw an {@link UnsupportedOperationException} if the task queue, which was
-     * created via {@link #newTaskQueue()}, does not implement {@link BlockingQueue}.
+     * created via {@link #newTaskQueue(int)}, does not implement {@link BlockingQueue}.
      * </p>
      *
      * @return {@code null} if the executor thread has been interrupted or waken up.
@@ -239,7 +276,11 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
 
             if (delayedTask.deadlineNanos() <= nanoTime) {
                 delayedTaskQueue.remove();
-                taskQueue.add(delayedTask);
+                if (!taskQueue.offer(delayedTask)) {
+                    // No space left in the task queue, add it back to the delayedTaskQueue so we pick it up again.
+                    delayedTaskQueue.add(delayedTask);
+                    break;
+                }
             } else {
                 break;
             }
@@ -284,16 +325,22 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
 
     /**
      * Add a task to the task queue, or throws a {@link RejectedExecutionException} if this instance was shutdown
-     * before.
+     * before. If the task queue is full the task is passed to the {@link RejectedExecutionHandler}.
      */
     protected void addTask(Runnable task) {
         if (task == null) {
             throw new NullPointerException("task");
         }
+        if (!offerTask(task)) {
+            rejectedExecutionHandler.rejected(task, this);
+        }
+    }
+
+    final boolean offerTask(Runnable task) {
         if (isShutdown()) {
             reject();
         }
-        taskQueue.add(task);
+        return taskQueue.offer(task);
     }
 
     /**
@@ -413,7 +460,8 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
 
     protected void wakeup(boolean inEventLoop) {
         if (!inEventLoop || STATE_UPDATER.get(this) == ST_SHUTTING_DOWN) {
-            taskQueue.add(WAKEUP_TASK);
+            // If the task queue is full the executor thread is busy anyway, so it is fine to not add the task.
+            taskQueue.offer(WAKEUP_TASK);
         }
     }
 
@@ -698,8 +746,17 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
         } else {
             startExecution();
             addTask(task);
-            if (isShutdown() && removeTask(task)) {
-                reject();
+            if (isShutdown()) {
+                boolean reject = false;
+                try {
+                    reject = removeTask(task);
+                } catch (UnsupportedOperationException ignored) {
+                    // The task queue does not support removal so the best thing we can do is to just move on and
+                    // hope the task is picked up before the executor is completely terminated.
+                }
+                if (reject) {
+                    reject();
+                }
             }
         }
 
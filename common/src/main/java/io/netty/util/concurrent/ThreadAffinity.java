@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+/**
+ * Binds threads to CPUs. Implementations are usually backed by a native library, like the one shipped with
+ * {@code netty-transport-native-epoll}.
+ *
+ * @see DefaultExecutorServiceFactory#DefaultExecutorServiceFactory(String, ThreadAffinity, int...)
+ */
+public interface ThreadAffinity {
+
+    /**
+     * Binds the current {@link Thread} to the given CPU.
+     *
+     * @return {@code true} if the {@link Thread} was bound, {@code false} if binding threads is not supported on
+     *         this platform.
+     */
+    boolean bindCurrentThread(int cpu);
+}
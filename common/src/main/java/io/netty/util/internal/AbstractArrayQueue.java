@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.internal;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Base class for the bounded, array-backed concurrent {@link java.util.Queue}s. The capacity is always rounded up to
+ * the next power of two so the slot of an index can be computed with a simple mask.
+ */
+abstract class AbstractArrayQueue<E> extends AbstractQueue<E> {
+
+    static final int MAX_CAPACITY = 1 << 30;
+
+    final AtomicReferenceArray<E> buffer;
+    final int mask;
+
+    AbstractArrayQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity: " + capacity + " (expected: > 0)");
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity: " + capacity + " (expected: <= " + MAX_CAPACITY + ')');
+        }
+        int actualCapacity = roundToPowerOfTwo(capacity);
+        buffer = new AtomicReferenceArray<E>(actualCapacity);
+        mask = actualCapacity - 1;
+    }
+
+    private static int roundToPowerOfTwo(int value) {
+        return 1 << 32 - Integer.numberOfLeadingZeros(value - 1);
+    }
+
+    final int offset(long index) {
+        return (int) index & mask;
+    }
+
+    /**
+     * Returns the maximum number of elements this queue can hold.
+     */
+    public final int capacity() {
+        return mask + 1;
+    }
+
+    protected abstract long producerIndex();
+
+    protected abstract long consumerIndex();
+
+    @Override
+    public final int size() {
+        // Read the consumer index before and after the producer index so we can detect a concurrent poll and
+        // never report a negative or an overflowed size.
+        long after = consumerIndex();
+        for (;;) {
+            final long before = after;
+            final long producerIndex = producerIndex();
+            after = consumerIndex();
+            if (before == after) {
+                long size = producerIndex - after;
+                if (size > capacity()) {
+                    return capacity();
+                }
+                return (int) size;
+            }
+        }
+    }
+
+    @Override
+    public final boolean isEmpty() {
+        return producerIndex() == consumerIndex();
+    }
+
+    /**
+     * Returns a weakly consistent {@link Iterator} which does not support {@link Iterator#remove()}.
+     */
+    @Override
+    public final Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private final long limit = producerIndex();
+            private long index = consumerIndex();
+            private E next = advance();
+
+            private E advance() {
+                while (index < limit) {
+                    E e = buffer.get(offset(index ++));
+                    if (e != null) {
+                        return e;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                E e = next;
+                if (e == null) {
+                    throw new NoSuchElementException();
+                }
+                next = advance();
+                return e;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public final boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.simpleClassName(this) + "(size: " + size() + ", capacity: " + capacity() + ')';
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.internal;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+abstract class ArrayQueueConsumerIndex<E> extends ArrayQueueProducerIndex<E> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<ArrayQueueConsumerIndex> UPDATER;
+
+    static {
+        @SuppressWarnings("rawtypes")
+        AtomicLongFieldUpdater<ArrayQueueConsumerIndex> updater;
+        updater = PlatformDependent.newAtomicLongFieldUpdater(ArrayQueueConsumerIndex.class, "consumerIndex");
+        if (updater == null) {
+            updater = AtomicLongFieldUpdater.newUpdater(ArrayQueueConsumerIndex.class, "consumerIndex");
+        }
+        UPDATER = updater;
+    }
+
+    // Keep the consumer index away from the producer index to avoid false sharing.
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+    long p30, p31, p32, p33, p34, p35, p36, p37;
+
+    @SuppressWarnings({ "FieldMayBeFinal", "unused" })
+    private volatile long consumerIndex;
+
+    // Keep the consumer index away from whatever follows this object in memory.
+    long p40, p41, p42, p43, p44, p45, p46, p47;
+    long p50, p51, p52, p53, p54, p55, p56, p57;
+
+    ArrayQueueConsumerIndex(int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    protected final long consumerIndex() {
+        return consumerIndex;
+    }
+
+    protected final boolean casConsumerIndex(long expect, long update) {
+        return UPDATER.compareAndSet(this, expect, update);
+    }
+
+    protected final void lazySetConsumerIndex(long consumerIndex) {
+        UPDATER.lazySet(this, consumerIndex);
+    }
+}
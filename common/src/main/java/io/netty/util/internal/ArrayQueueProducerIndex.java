@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.internal;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+abstract class ArrayQueueProducerIndex<E> extends AbstractArrayQueue<E> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<ArrayQueueProducerIndex> UPDATER;
+
+    static {
+        @SuppressWarnings("rawtypes")
+        AtomicLongFieldUpdater<ArrayQueueProducerIndex> updater;
+        updater = PlatformDependent.newAtomicLongFieldUpdater(ArrayQueueProducerIndex.class, "producerIndex");
+        if (updater == null) {
+            updater = AtomicLongFieldUpdater.newUpdater(ArrayQueueProducerIndex.class, "producerIndex");
+        }
+        UPDATER = updater;
+    }
+
+    // Keep the producer index away from the buffer reference and the mask which are read by both sides.
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    @SuppressWarnings({ "FieldMayBeFinal", "unused" })
+    private volatile long producerIndex;
+
+    ArrayQueueProducerIndex(int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    protected final long producerIndex() {
+        return producerIndex;
+    }
+
+    protected final boolean casProducerIndex(long expect, long update) {
+        return UPDATER.compareAndSet(this, expect, update);
+    }
+
+    protected final void lazySetProducerIndex(long producerIndex) {
+        UPDATER.lazySet(this, producerIndex);
+    }
+}
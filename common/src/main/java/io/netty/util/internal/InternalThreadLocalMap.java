@@ -136,6 +136,9 @@ public final class InternalThreadLocalMap extends UnpaddedInternalThreadLocalMap
         if (localChannelReaderStackDepth != 0) {
             count ++;
         }
+        if (numaNode != -1) {
+            count ++;
+        }
         if (handlerSharableCache != null) {
             count ++;
         }
@@ -255,6 +258,17 @@ public final class InternalThreadLocalMap extends UnpaddedInternalThreadLocalMap
         this.localChannelReaderStackDepth = localChannelReaderStackDepth;
     }
 
+    /**
+     * Returns the NUMA node the current thread was bound to or {@code -1} if it is not bound to a NUMA node.
+     */
+    public int numaNode() {
+        return numaNode;
+    }
+
+    public void setNumaNode(int numaNode) {
+        this.numaNode = numaNode;
+    }
+
     public Object indexedVariable(int index) {
         Object[] lookup = indexedVariables;
         return index < lookup.length? lookup[index] : UNSET;
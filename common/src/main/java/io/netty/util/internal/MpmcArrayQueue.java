@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.internal;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free concurrent multi-producer multi-consumer {@link Queue} which is backed by an array.
+ * Every slot carries a sequence number which tells producers and consumers whether the slot may be written or read
+ * for a given index, so neither side ever observes a half-published element.
+ * <p>
+ * All operations except {@link #remove(Object)} and {@link java.util.Iterator#remove()} may be called from any
+ * thread.
+ * </p>
+ * The implementation is based on
+ * <a href="http://www.1024cores.net/home/lock-free-algorithms/queues/bounded-mpmc-queue">Bounded MPMC queue</a>
+ * from 1024cores.net.
+ */
+final class MpmcArrayQueue<E> extends ArrayQueueConsumerIndex<E> {
+
+    private final AtomicLongArray sequences;
+
+    MpmcArrayQueue(int capacity) {
+        super(capacity);
+        int actualCapacity = capacity();
+        sequences = new AtomicLongArray(actualCapacity);
+        for (int i = 0; i < actualCapacity; i ++) {
+            sequences.lazySet(i, i);
+        }
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException("e");
+        }
+
+        final int capacity = capacity();
+        for (;;) {
+            final long producerIndex = producerIndex();
+            final int offset = offset(producerIndex);
+            final long sequence = sequences.get(offset);
+            if (sequence == producerIndex) {
+                if (casProducerIndex(producerIndex, producerIndex + 1)) {
+                    buffer.lazySet(offset, e);
+                    sequences.lazySet(offset, producerIndex + 1);
+                    return true;
+                }
+            } else if (sequence < producerIndex && producerIndex - capacity >= consumerIndex()) {
+                // The slot is still occupied by the element of the previous lap.
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        final int capacity = capacity();
+        for (;;) {
+            final long consumerIndex = consumerIndex();
+            final int offset = offset(consumerIndex);
+            final long sequence = sequences.get(offset);
+            final long expected = consumerIndex + 1;
+            if (sequence == expected) {
+                if (casConsumerIndex(consumerIndex, expected)) {
+                    final E e = buffer.get(offset);
+                    buffer.lazySet(offset, null);
+                    sequences.lazySet(offset, consumerIndex + capacity);
+                    return e;
+                }
+            } else if (sequence < expected && consumerIndex >= producerIndex()) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        for (;;) {
+            final long consumerIndex = consumerIndex();
+            final int offset = offset(consumerIndex);
+            final long sequence = sequences.get(offset);
+            if (sequence == consumerIndex + 1) {
+                final E e = buffer.get(offset);
+                if (e != null && consumerIndex == consumerIndex()) {
+                    return e;
+                }
+            } else if (sequence < consumerIndex + 1 && consumerIndex >= producerIndex()) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.internal;
+
+import java.util.Queue;
+
+/**
+ * A bounded, lock-free concurrent multi-producer single-consumer {@link Queue} which is backed by an array.
+ * Unlike {@link MpscLinkedQueue} it does not allocate a node per element, and {@link #offer(Object)} returns
+ * {@code false} once {@link #capacity()} elements are pending.
+ * <p>
+ * Multiple producer threads may call {@link #offer(Object)}, {@link #add(Object)} and the read-only operations
+ * concurrently, while {@link #poll()}, {@link #remove()} and {@link #clear()} must only be called by a single
+ * consumer thread.
+ * </p>
+ * The implementation is based on the {@code MpscArrayQueue} of the
+ * <a href="https://github.com/JCTools/JCTools">JCTools project</a>.
+ */
+final class MpscArrayQueue<E> extends ArrayQueueConsumerIndex<E> {
+
+    MpscArrayQueue(int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException("e");
+        }
+
+        final int capacity = capacity();
+        long producerIndex;
+        do {
+            producerIndex = producerIndex();
+            if (producerIndex - consumerIndex() >= capacity) {
+                return false;
+            }
+        } while (!casProducerIndex(producerIndex, producerIndex + 1));
+
+        // The slot is claimed, publish the element. The consumer will spin until it becomes visible.
+        buffer.lazySet(offset(producerIndex), e);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        final long consumerIndex = consumerIndex();
+        final int offset = offset(consumerIndex);
+        E e = buffer.get(offset);
+        if (e == null) {
+            if (consumerIndex == producerIndex()) {
+                return null;
+            }
+            // A producer claimed the slot but did not store the element yet.
+            do {
+                e = buffer.get(offset);
+            } while (e == null);
+        }
+        buffer.lazySet(offset, null);
+        lazySetConsumerIndex(consumerIndex + 1);
+        return e;
+    }
+
+    @Override
+    public E peek() {
+        final long consumerIndex = consumerIndex();
+        final int offset = offset(consumerIndex);
+        E e = buffer.get(offset);
+        if (e == null && consumerIndex != producerIndex()) {
+            do {
+                e = buffer.get(offset);
+            } while (e == null);
+        }
+        return e;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.internal;
+
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Provides the mapping of CPUs to NUMA nodes of the current machine. On Linux the mapping is read from
+ * {@code /sys/devices/system/node}; on all other platforms (or if the mapping can not be read) all CPUs are
+ * considered to belong to a single node.
+ */
+public final class NumaTopology {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(NumaTopology.class);
+
+    private static final Pattern NODE_DIR_PATTERN = Pattern.compile("node[0-9]+");
+
+    private static final int NODE_COUNT;
+    private static final int[] CPU_TO_NODE;
+
+    static {
+        int[] cpuToNode = null;
+        int nodeCount = 1;
+        try {
+            File[] nodeDirs = new File("/sys/devices/system/node").listFiles();
+            if (nodeDirs != null) {
+                int maxNode = -1;
+                int[] mapping = new int[0];
+                for (File nodeDir: nodeDirs) {
+                    String name = nodeDir.getName();
+                    if (!NODE_DIR_PATTERN.matcher(name).matches()) {
+                        continue;
+                    }
+                    int node = Integer.parseInt(name.substring(4));
+                    for (int cpu: parseCpuList(readFirstLine(new File(nodeDir, "cpulist")))) {
+                        if (cpu >= mapping.length) {
+                            mapping = Arrays.copyOf(mapping, cpu + 1);
+                        }
+                        mapping[cpu] = node;
+                    }
+                    maxNode = Math.max(maxNode, node);
+                }
+                if (maxNode >= 0) {
+                    cpuToNode = mapping;
+                    nodeCount = maxNode + 1;
+                }
+            }
+        } catch (Throwable t) {
+            logger.debug("Failed to read the NUMA topology; assuming a single node.", t);
+            cpuToNode = null;
+            nodeCount = 1;
+        }
+
+        CPU_TO_NODE = cpuToNode;
+        NODE_COUNT = nodeCount;
+
+        logger.debug("NUMA nodes: {}", NODE_COUNT);
+    }
+
+    /**
+     * Returns the number of NUMA nodes of this machine, which is {@code 1} if the topology is unknown.
+     */
+    public static int nodeCount() {
+        return NODE_COUNT;
+    }
+
+    /**
+     * Returns the NUMA node the given CPU belongs to, which is {@code 0} if the topology is unknown.
+     */
+    public static int nodeOf(int cpu) {
+        if (cpu < 0) {
+            throw new IllegalArgumentException("cpu: " + cpu + " (expected: >= 0)");
+        }
+        int[] cpuToNode = CPU_TO_NODE;
+        if (cpuToNode == null || cpu >= cpuToNode.length) {
+            return 0;
+        }
+        return cpuToNode[cpu];
+    }
+
+    /**
+     * Returns the NUMA node the current thread was bound to, or {@code -1} if the current thread was not bound to
+     * a specific CPU.
+     */
+    public static int currentNode() {
+        InternalThreadLocalMap map = InternalThreadLocalMap.getIfSet();
+        return map == null ? -1 : map.numaNode();
+    }
+
+    /**
+     * Parses a CPU list like {@code 0-3,8,10-11} as used by the Linux kernel.
+     */
+    static int[] parseCpuList(String cpuList) {
+        if (cpuList == null) {
+            return EmptyArrays.EMPTY_INTS;
+        }
+        cpuList = cpuList.trim();
+        if (cpuList.isEmpty()) {
+            return EmptyArrays.EMPTY_INTS;
+        }
+
+        int[] cpus = new int[8];
+        int count = 0;
+        for (String range: StringUtil.split(cpuList, ',')) {
+            range = range.trim();
+            int dash = range.indexOf('-');
+            int first;
+            int last;
+            if (dash < 0) {
+                first = last = Integer.parseInt(range);
+            } else {
+                first = Integer.parseInt(range.substring(0, dash));
+                last = Integer.parseInt(range.substring(dash + 1));
+            }
+            for (int cpu = first; cpu <= last; cpu ++) {
+                if (count == cpus.length) {
+                    cpus = Arrays.copyOf(cpus, count << 1);
+                }
+                cpus[count ++] = cpu;
+            }
+        }
+        return Arrays.copyOf(cpus, count);
+    }
+
+    private static String readFirstLine(File file) throws IOException {
+        BufferedReader in = new BufferedReader(new FileReader(file));
+        try {
+            return in.readLine();
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ignore) {
+                // ignore
+            }
+        }
+    }
+
+    private NumaTopology() { }
+}
@@ -402,6 +402,32 @@ public final class PlatformDependent {
         return new MpscLinkedQueue<T>();
     }
 
+    /**
+     * Create a new bounded {@link Queue} which is safe to use for multiple producers (different threads) and a single
+     * consumer (one thread!). The returned {@link Queue} is backed by an array and so does not allocate per element.
+     * Its {@link Queue#offer(Object)} method returns {@code false} once {@code maxCapacity} elements are pending,
+     * where {@code maxCapacity} may be rounded up to the next power of two.
+     */
+    public static <T> Queue<T> newMpscQueue(int maxCapacity) {
+        return new MpscArrayQueue<T>(maxCapacity);
+    }
+
+    /**
+     * Create a new bounded {@link Queue} which is safe to use for a single producer (one thread!) and a single
+     * consumer (one thread!). The returned {@link Queue} is backed by an array, see {@link #newMpscQueue(int)}.
+     */
+    public static <T> Queue<T> newSpscQueue(int maxCapacity) {
+        return new SpscArrayQueue<T>(maxCapacity);
+    }
+
+    /**
+     * Create a new bounded {@link Queue} which is safe to use for multiple producers and multiple consumers.
+     * The returned {@link Queue} is backed by an array, see {@link #newMpscQueue(int)}.
+     */
+    public static <T> Queue<T> newMpmcQueue(int maxCapacity) {
+        return new MpmcArrayQueue<T>(maxCapacity);
+    }
+
     /**
      * Return the {@link ClassLoader} for the given {@link Class}.
      */
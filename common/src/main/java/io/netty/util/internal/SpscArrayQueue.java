@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.internal;
+
+import java.util.Queue;
+
+/**
+ * A bounded, lock-free concurrent single-producer single-consumer {@link Queue} which is backed by an array.
+ * <p>
+ * Only one producer thread may call {@link #offer(Object)} and {@link #add(Object)}, and only one consumer thread
+ * may call {@link #poll()}, {@link #remove()} and {@link #clear()}. The read-only operations may be called from any
+ * thread.
+ * </p>
+ * The implementation is based on the {@code SpscArrayQueue} of the
+ * <a href="https://github.com/JCTools/JCTools">JCTools project</a>.
+ */
+final class SpscArrayQueue<E> extends ArrayQueueConsumerIndex<E> {
+
+    SpscArrayQueue(int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException("e");
+        }
+
+        final long producerIndex = producerIndex();
+        final int offset = offset(producerIndex);
+        if (buffer.get(offset) != null) {
+            // The consumer did not free the slot yet, so the queue is full.
+            return false;
+        }
+        buffer.lazySet(offset, e);
+        lazySetProducerIndex(producerIndex + 1);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        final long consumerIndex = consumerIndex();
+        final int offset = offset(consumerIndex);
+        final E e = buffer.get(offset);
+        if (e == null) {
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        lazySetConsumerIndex(consumerIndex + 1);
+        return e;
+    }
+
+    @Override
+    public E peek() {
+        return buffer.get(offset(consumerIndex()));
+    }
+}
@@ -40,6 +40,7 @@ class UnpaddedInternalThreadLocalMap {
     // Core thread-locals
     int futureListenerStackDepth;
     int localChannelReaderStackDepth;
+    int numaNode = -1;
     Map<Class<?>, Boolean> handlerSharableCache;
     IntegerHolder counterHashCode;
     ThreadLocalRandom random;
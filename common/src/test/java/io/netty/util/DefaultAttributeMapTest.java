@@ -79,4 +79,42 @@ public class DefaultAttributeMapTest {
         map.attr(key).set(2);
         assertSame(2, map.attr(key).get());
     }
+
+    @Test
+    public void testRemovedAttributeIsReplaced() {
+        AttributeKey<Integer> key = AttributeKey.valueOf("testRemovedAttributeIsReplaced");
+
+        Attribute<Integer> one = map.attr(key);
+        one.set(1);
+        assertTrue(map.hasAttr(key));
+        assertEquals(Integer.valueOf(1), one.getAndRemove());
+        assertFalse(map.hasAttr(key));
+
+        Attribute<Integer> two = map.attr(key);
+        assertNotSame(one, two);
+        assertNull(two.get());
+        assertTrue(map.hasAttr(key));
+
+        // Removing the stale attribute must not affect its replacement.
+        one.remove();
+        assertSame(two, map.attr(key));
+    }
+
+    @Test
+    public void testManyKeys() {
+        // Enough keys to exceed the indexed slots, so some of them are stored in the buckets.
+        AttributeKey<?>[] keys = new AttributeKey<?>[300];
+        for (int i = 0; i < keys.length; i ++) {
+            AttributeKey<Integer> key = AttributeKey.valueOf("testManyKeys" + i);
+            keys[i] = key;
+            assertFalse(map.hasAttr(key));
+            map.attr(key).set(i);
+        }
+        for (int i = 0; i < keys.length; i ++) {
+            @SuppressWarnings("unchecked")
+            AttributeKey<Integer> key = (AttributeKey<Integer>) keys[i];
+            assertTrue(map.hasAttr(key));
+            assertEquals(Integer.valueOf(i), map.attr(key).get());
+        }
+    }
 }
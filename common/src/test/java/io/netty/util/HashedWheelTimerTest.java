@@ -154,4 +154,59 @@ public class HashedWheelTimerTest {
 
         timer.stop();
     }
+
+    @Test
+    public void testHierarchicalWheelExpiresAcrossLevels() throws InterruptedException {
+        // 4 ticks per wheel and 3 levels cover 64 ticks without rounds.
+        final HashedWheelTimer timer = new HashedWheelTimer(
+                Executors.defaultThreadFactory(), 10, TimeUnit.MILLISECONDS, 4, 3);
+        final int[] delays = { 5, 35, 170, 420, 900 };
+        final CountDownLatch latch = new CountDownLatch(delays.length);
+        final BlockingQueue<Long> lateness = new LinkedBlockingQueue<Long>();
+        for (final int delay: delays) {
+            final long start = System.nanoTime();
+            timer.newTimeout(new TimerTask() {
+                @Override
+                public void run(Timeout timeout) throws Exception {
+                    lateness.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) - delay);
+                    latch.countDown();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(delays.length, timer.pendingTimeouts());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < delays.length; i ++) {
+            long late = lateness.take();
+            assertTrue("timeout expired " + late + " ms late", late >= 0 && late < 200);
+        }
+        assertEquals(0, timer.pendingTimeouts());
+        timer.stop();
+    }
+
+    @Test
+    public void testHierarchicalWheelCancel() throws InterruptedException {
+        final HashedWheelTimer timer = new HashedWheelTimer(
+                Executors.defaultThreadFactory(), 10, TimeUnit.MILLISECONDS, 4, 2);
+        final CountDownLatch latch = new CountDownLatch(1);
+        Timeout timeout = timer.newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                latch.countDown();
+            }
+        }, 300, TimeUnit.MILLISECONDS);
+        Timeout longTimeout = timer.newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                fail("This should not run");
+            }
+        }, 1, TimeUnit.HOURS);
+        assertEquals(2, timer.pendingTimeouts());
+        assertTrue(timeout.cancel());
+        assertEquals(1, timer.pendingTimeouts());
+        assertFalse(latch.await(500, TimeUnit.MILLISECONDS));
+        assertFalse(timeout.isExpired());
+
+        assertEquals(1, timer.stop().size());
+        assertFalse(longTimeout.isExpired());
+    }
 }
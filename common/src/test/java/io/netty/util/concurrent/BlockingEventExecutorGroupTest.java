@@ -0,0 +1,167 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class BlockingEventExecutorGroupTest {
+
+    private BlockingEventExecutorGroup group;
+
+    @Before
+    public void setUp() {
+        group = new BlockingEventExecutorGroup();
+    }
+
+    @After
+    public void tearDown() {
+        group.shutdownGracefully().syncUninterruptibly();
+    }
+
+    @Test(timeout = 10000)
+    public void testTasksAreExecutedInOrder() throws Exception {
+        final EventExecutor executor = group.next();
+        final List<Integer> executed = new ArrayList<Integer>();
+        final int tasks = 10000;
+        final CountDownLatch latch = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i ++) {
+            final int n = i;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    assertTrue(executor.inEventLoop());
+                    executed.add(n);
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        assertFalse(executor.inEventLoop());
+        for (int i = 0; i < tasks; i ++) {
+            assertEquals(i, (int) executed.get(i));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testBlockingExecutorDoesNotStallOthers() throws Exception {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        group.next().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        group.next().execute(new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+        done.await();
+        blocked.countDown();
+    }
+
+    @Test(timeout = 10000)
+    public void testSchedule() throws Exception {
+        EventExecutor executor = group.next();
+        long startTime = System.nanoTime();
+        assertEquals(Integer.valueOf(42), executor.schedule(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return 42;
+            }
+        }, 100, TimeUnit.MILLISECONDS).get());
+        assertTrue(System.nanoTime() - startTime >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        ScheduledFuture<?> future = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                fail();
+            }
+        }, 1, TimeUnit.SECONDS);
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+    }
+
+    @Test(timeout = 10000)
+    public void testScheduleAtFixedRate() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        final AtomicInteger count = new AtomicInteger();
+        ScheduledFuture<?> future = group.next().scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                count.incrementAndGet();
+                latch.countDown();
+            }
+        }, 0, 10, TimeUnit.MILLISECONDS);
+        latch.await();
+        assertTrue(future.cancel(false));
+        assertTrue(count.get() >= 3);
+    }
+
+    @Test(timeout = 10000)
+    public void testShutdown() throws Exception {
+        final EventExecutor executor = group.next();
+        final CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latch.countDown();
+            }
+        });
+
+        Future<?> termination = group.shutdownGracefully();
+        assertTrue(group.isShuttingDown());
+        assertTrue(executor.isShuttingDown());
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() { }
+            });
+            fail();
+        } catch (RejectedExecutionException expected) {
+            // expected
+        }
+
+        termination.sync();
+        assertEquals(0, latch.getCount());
+        assertTrue(group.isTerminated());
+        assertTrue(executor.isTerminated());
+    }
+}
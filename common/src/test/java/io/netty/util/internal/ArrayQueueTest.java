@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.internal;
+
+import org.junit.Test;
+
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class ArrayQueueTest {
+
+    @Test
+    public void testMpscOfferPoll() {
+        testOfferPoll(new MpscArrayQueue<Integer>(16));
+    }
+
+    @Test
+    public void testSpscOfferPoll() {
+        testOfferPoll(new SpscArrayQueue<Integer>(16));
+    }
+
+    @Test
+    public void testMpmcOfferPoll() {
+        testOfferPoll(new MpmcArrayQueue<Integer>(16));
+    }
+
+    @Test
+    public void testCapacityIsRoundedUp() {
+        assertEquals(16, new MpscArrayQueue<Integer>(9).capacity());
+        assertEquals(1, new MpscArrayQueue<Integer>(1).capacity());
+        assertEquals(1024, new MpscArrayQueue<Integer>(1024).capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new MpscArrayQueue<Integer>(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testOfferNull() {
+        new MpscArrayQueue<Integer>(16).offer(null);
+    }
+
+    @Test(timeout = 30000)
+    public void testMpscMultipleProducers() throws Exception {
+        testMultipleProducers(new MpscArrayQueue<Integer>(128), false);
+    }
+
+    @Test(timeout = 30000)
+    public void testMpmcMultipleProducersAndConsumers() throws Exception {
+        testMultipleProducers(new MpmcArrayQueue<Integer>(128), true);
+    }
+
+    private static void testOfferPoll(Queue<Integer> queue) {
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peek());
+        assertNull(queue.poll());
+
+        for (int round = 0; round < 3; round ++) {
+            for (int i = 0; i < 16; i ++) {
+                assertTrue(queue.offer(i));
+            }
+            assertFalse(queue.offer(16));
+            assertEquals(16, queue.size());
+
+            int expected = 0;
+            for (Integer i: queue) {
+                assertEquals(expected ++, i.intValue());
+            }
+            assertEquals(16, expected);
+
+            for (int i = 0; i < 16; i ++) {
+                assertEquals(i, queue.peek().intValue());
+                assertEquals(i, queue.poll().intValue());
+            }
+            assertNull(queue.poll());
+            assertTrue(queue.isEmpty());
+            assertEquals(0, queue.size());
+        }
+    }
+
+    private static void testMultipleProducers(final Queue<Integer> queue, boolean multipleConsumers)
+            throws Exception {
+        final int producers = 4;
+        final int consumers = multipleConsumers ? 2 : 1;
+        final int elements = 100000;
+        final CountDownLatch latch = new CountDownLatch(producers);
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong received = new AtomicLong();
+
+        Thread[] threads = new Thread[producers + consumers];
+        for (int i = 0; i < producers; i ++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 1; j <= elements; j ++) {
+                        while (!queue.offer(j)) {
+                            Thread.yield();
+                        }
+                    }
+                    latch.countDown();
+                }
+            };
+        }
+        for (int i = producers; i < threads.length; i ++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    while (received.get() < (long) producers * elements) {
+                        Integer e = queue.poll();
+                        if (e == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        sum.addAndGet(e);
+                        received.incrementAndGet();
+                    }
+                }
+            };
+        }
+        for (Thread t: threads) {
+            t.start();
+        }
+        latch.await();
+        for (Thread t: threads) {
+            t.join();
+        }
+
+        assertEquals((long) producers * elements, received.get());
+        assertEquals((long) producers * elements * (elements + 1) / 2, sum.get());
+        assertTrue(queue.isEmpty());
+    }
+}
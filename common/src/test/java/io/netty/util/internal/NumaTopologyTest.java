@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NumaTopologyTest {
+
+    @Test
+    public void testParseCpuList() {
+        assertArrayEquals(new int[] { 0 }, NumaTopology.parseCpuList("0"));
+        assertArrayEquals(new int[] { 0, 1, 2, 3 }, NumaTopology.parseCpuList("0-3"));
+        assertArrayEquals(new int[] { 0, 1, 8, 10, 11 }, NumaTopology.parseCpuList("0-1,8,10-11\n"));
+        assertArrayEquals(EmptyArrays.EMPTY_INTS, NumaTopology.parseCpuList(""));
+        assertArrayEquals(EmptyArrays.EMPTY_INTS, NumaTopology.parseCpuList(null));
+    }
+
+    @Test
+    public void testTopology() {
+        assertTrue(NumaTopology.nodeCount() >= 1);
+        for (int cpu = 0; cpu < Runtime.getRuntime().availableProcessors(); cpu ++) {
+            int node = NumaTopology.nodeOf(cpu);
+            assertTrue(node >= 0);
+            assertTrue(node < NumaTopology.nodeCount());
+        }
+    }
+
+    @Test
+    public void testCurrentNodeOfUnboundThread() {
+        assertEquals(-1, NumaTopology.currentNode());
+    }
+}
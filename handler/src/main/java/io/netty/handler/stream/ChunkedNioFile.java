@@ -22,6 +22,7 @@ import io.netty.channel.FileRegion;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 
 /**
@@ -31,6 +32,9 @@ import java.nio.channels.FileChannel;
  * If your operating system supports
  * <a href="http://en.wikipedia.org/wiki/Zero-copy">zero-copy file transfer</a>
  * such as {@code sendfile()}, you might want to use {@link FileRegion} instead.
+ * <p>
+ * The file is read with absolute positions, so the position of the {@link FileChannel} is neither used nor modified
+ * and the same {@link FileChannel} may be shared by several instances.
  */
 public class ChunkedNioFile implements ChunkedInput<ByteBuf> {
 
@@ -101,9 +105,6 @@ public class ChunkedNioFile implements ChunkedInput<ByteBuf> {
                     " (expected: a positive integer)");
         }
 
-        if (offset != 0) {
-            in.position(offset);
-        }
         this.in = in;
         this.chunkSize = chunkSize;
         this.offset = startOffset = offset;
@@ -152,17 +153,16 @@ public class ChunkedNioFile implements ChunkedInput<ByteBuf> {
         ByteBuf buffer = ctx.alloc().buffer(chunkSize);
         boolean release = true;
         try {
+            ByteBuffer nioBuffer = buffer.internalNioBuffer(buffer.writerIndex(), chunkSize);
             int readBytes = 0;
-            for (;;) {
-                int localReadBytes = buffer.writeBytes(in, chunkSize - readBytes);
+            while (readBytes < chunkSize) {
+                int localReadBytes = in.read(nioBuffer, offset + readBytes);
                 if (localReadBytes < 0) {
                     break;
                 }
                 readBytes += localReadBytes;
-                if (readBytes == chunkSize) {
-                    break;
-                }
             }
+            buffer.writerIndex(buffer.writerIndex() + readBytes);
             this.offset += readBytes;
             release = false;
             return buffer;
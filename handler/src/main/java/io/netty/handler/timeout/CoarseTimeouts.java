@@ -0,0 +1,67 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.timeout;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.internal.OneTimeTask;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the timeouts of the handlers in this package via {@link EventLoop#scheduleCoarse(TimerTask, long,
+ * TimeUnit)}, so tracking them costs O(1) no matter how many {@link io.netty.channel.Channel}s an
+ * {@link EventLoop} serves.
+ */
+final class CoarseTimeouts {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(CoarseTimeouts.class);
+
+    /**
+     * Schedules the given {@link TimerTask} so that it is executed by {@link ChannelHandlerContext#executor()}.
+     * If the handler was added with a custom {@link EventExecutor} the timeout is still tracked by the
+     * {@link EventLoop} of the {@link io.netty.channel.Channel} and only handed over once it expired.
+     */
+    static Timeout schedule(ChannelHandlerContext ctx, final TimerTask task, long delay, TimeUnit unit) {
+        final EventExecutor executor = ctx.executor();
+        if (executor instanceof EventLoop) {
+            return ((EventLoop) executor).scheduleCoarse(task, delay, unit);
+        }
+
+        return ctx.channel().eventLoop().scheduleCoarse(new TimerTask() {
+            @Override
+            public void run(final Timeout timeout) {
+                executor.execute(new OneTimeTask() {
+                    @Override
+                    public void run() {
+                        try {
+                            task.run(timeout);
+                        } catch (Throwable t) {
+                            logger.warn("An exception was thrown by " + TimerTask.class.getSimpleName() + '.', t);
+                        }
+                    }
+                });
+            }
+        }, delay, unit);
+    }
+
+    private CoarseTimeouts() { }
+}
@@ -23,9 +23,10 @@ import io.netty.channel.ChannelHandlerAdapter;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPromise;
-import io.netty.util.concurrent.EventExecutor;
+import io.netty.channel.EventLoop;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
 
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -91,6 +92,10 @@ import java.util.concurrent.TimeUnit;
  * ...
  * </pre>
  *
+ * The idle timeouts are tracked by the coarse-grained timer wheel of the {@link EventLoop} (see
+ * {@link EventLoop#scheduleCoarse(TimerTask, long, TimeUnit)}), so an {@link IdleStateEvent} may be triggered up to
+ * one tick late.
+ *
  * @see ReadTimeoutHandler
  * @see WriteTimeoutHandler
  */
@@ -101,15 +106,15 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
     private final long writerIdleTimeNanos;
     private final long allIdleTimeNanos;
 
-    volatile ScheduledFuture<?> readerIdleTimeout;
+    volatile Timeout readerIdleTimeout;
     volatile long lastReadTime;
     private boolean firstReaderIdleEvent = true;
 
-    volatile ScheduledFuture<?> writerIdleTimeout;
+    volatile Timeout writerIdleTimeout;
     volatile long lastWriteTime;
     private boolean firstWriterIdleEvent = true;
 
-    volatile ScheduledFuture<?> allIdleTimeout;
+    volatile Timeout allIdleTimeout;
     private boolean firstAllIdleEvent = true;
 
     private volatile int state; // 0 - none, 1 - initialized, 2 - destroyed
@@ -278,23 +283,18 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
 
         state = 1;
 
-        EventExecutor loop = ctx.executor();
-
         lastReadTime = lastWriteTime = System.nanoTime();
         if (readerIdleTimeNanos > 0) {
-            readerIdleTimeout = loop.schedule(
-                    new ReaderIdleTimeoutTask(ctx),
-                    readerIdleTimeNanos, TimeUnit.NANOSECONDS);
+            readerIdleTimeout = CoarseTimeouts.schedule(
+                    ctx, new ReaderIdleTimeoutTask(ctx), readerIdleTimeNanos, TimeUnit.NANOSECONDS);
         }
         if (writerIdleTimeNanos > 0) {
-            writerIdleTimeout = loop.schedule(
-                    new WriterIdleTimeoutTask(ctx),
-                    writerIdleTimeNanos, TimeUnit.NANOSECONDS);
+            writerIdleTimeout = CoarseTimeouts.schedule(
+                    ctx, new WriterIdleTimeoutTask(ctx), writerIdleTimeNanos, TimeUnit.NANOSECONDS);
         }
         if (allIdleTimeNanos > 0) {
-            allIdleTimeout = loop.schedule(
-                    new AllIdleTimeoutTask(ctx),
-                    allIdleTimeNanos, TimeUnit.NANOSECONDS);
+            allIdleTimeout = CoarseTimeouts.schedule(
+                    ctx, new AllIdleTimeoutTask(ctx), allIdleTimeNanos, TimeUnit.NANOSECONDS);
         }
     }
 
@@ -302,15 +302,15 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
         state = 2;
 
         if (readerIdleTimeout != null) {
-            readerIdleTimeout.cancel(false);
+            readerIdleTimeout.cancel();
             readerIdleTimeout = null;
         }
         if (writerIdleTimeout != null) {
-            writerIdleTimeout.cancel(false);
+            writerIdleTimeout.cancel();
             writerIdleTimeout = null;
         }
         if (allIdleTimeout != null) {
-            allIdleTimeout.cancel(false);
+            allIdleTimeout.cancel();
             allIdleTimeout = null;
         }
     }
@@ -323,7 +323,7 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
         ctx.fireUserEventTriggered(evt);
     }
 
-    private final class ReaderIdleTimeoutTask implements Runnable {
+    private final class ReaderIdleTimeoutTask implements TimerTask {
 
         private final ChannelHandlerContext ctx;
 
@@ -332,7 +332,7 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
         }
 
         @Override
-        public void run() {
+        public void run(Timeout timeout) {
             if (!ctx.channel().isOpen()) {
                 return;
             }
@@ -343,7 +343,7 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
             if (nextDelay <= 0) {
                 // Reader is idle - set a new timeout and notify the callback.
                 readerIdleTimeout =
-                    ctx.executor().schedule(this, readerIdleTimeNanos, TimeUnit.NANOSECONDS);
+                    CoarseTimeouts.schedule(ctx, this, readerIdleTimeNanos, TimeUnit.NANOSECONDS);
                 try {
                     IdleStateEvent event;
                     if (firstReaderIdleEvent) {
@@ -358,12 +358,12 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
                 }
             } else {
                 // Read occurred before the timeout - set a new timeout with shorter delay.
-                readerIdleTimeout = ctx.executor().schedule(this, nextDelay, TimeUnit.NANOSECONDS);
+                readerIdleTimeout = CoarseTimeouts.schedule(ctx, this, nextDelay, TimeUnit.NANOSECONDS);
             }
         }
     }
 
-    private final class WriterIdleTimeoutTask implements Runnable {
+    private final class WriterIdleTimeoutTask implements TimerTask {
 
         private final ChannelHandlerContext ctx;
 
@@ -372,7 +372,7 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
         }
 
         @Override
-        public void run() {
+        public void run(Timeout timeout) {
             if (!ctx.channel().isOpen()) {
                 return;
             }
@@ -382,8 +382,7 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
             long nextDelay = writerIdleTimeNanos - (currentTime - lastWriteTime);
             if (nextDelay <= 0) {
                 // Writer is idle - set a new timeout and notify the callback.
-                writerIdleTimeout = ctx.executor().schedule(
-                        this, writerIdleTimeNanos, TimeUnit.NANOSECONDS);
+                writerIdleTimeout = CoarseTimeouts.schedule(ctx, this, writerIdleTimeNanos, TimeUnit.NANOSECONDS);
                 try {
                     IdleStateEvent event;
                     if (firstWriterIdleEvent) {
@@ -398,12 +397,12 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
                 }
             } else {
                 // Write occurred before the timeout - set a new timeout with shorter delay.
-                writerIdleTimeout = ctx.executor().schedule(this, nextDelay, TimeUnit.NANOSECONDS);
+                writerIdleTimeout = CoarseTimeouts.schedule(ctx, this, nextDelay, TimeUnit.NANOSECONDS);
             }
         }
     }
 
-    private final class AllIdleTimeoutTask implements Runnable {
+    private final class AllIdleTimeoutTask implements TimerTask {
 
         private final ChannelHandlerContext ctx;
 
@@ -412,7 +411,7 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
         }
 
         @Override
-        public void run() {
+        public void run(Timeout timeout) {
             if (!ctx.channel().isOpen()) {
                 return;
             }
@@ -423,8 +422,7 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
             if (nextDelay <= 0) {
                 // Both reader and writer are idle - set a new timeout and
                 // notify the callback.
-                allIdleTimeout = ctx.executor().schedule(
-                        this, allIdleTimeNanos, TimeUnit.NANOSECONDS);
+                allIdleTimeout = CoarseTimeouts.schedule(ctx, this, allIdleTimeNanos, TimeUnit.NANOSECONDS);
                 try {
                     IdleStateEvent event;
                     if (firstAllIdleEvent) {
@@ -440,7 +438,7 @@ public class IdleStateHandler extends ChannelHandlerAdapter {
             } else {
                 // Either read or write occurred before the timeout - set a new
                 // timeout with shorter delay.
-                allIdleTimeout = ctx.executor().schedule(this, nextDelay, TimeUnit.NANOSECONDS);
+                allIdleTimeout = CoarseTimeouts.schedule(ctx, this, nextDelay, TimeUnit.NANOSECONDS);
             }
         }
     }
@@ -20,8 +20,10 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerAdapter;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
 
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -57,6 +59,10 @@ import java.util.concurrent.TimeUnit;
  * bootstrap.childHandler(new MyChannelInitializer());
  * ...
  * </pre>
+ *
+ * The timeout is tracked by the coarse-grained timer wheel of the {@link EventLoop} (see
+ * {@link EventLoop#scheduleCoarse(TimerTask, long, TimeUnit)}), so it may be detected up to one tick late.
+ *
  * @see WriteTimeoutHandler
  * @see IdleStateHandler
  */
@@ -65,7 +71,7 @@ public class ReadTimeoutHandler extends ChannelHandlerAdapter {
 
     private final long timeoutNanos;
 
-    private volatile ScheduledFuture<?> timeout;
+    private volatile Timeout timeout;
     private volatile long lastReadTime;
 
     private volatile int state; // 0 - none, 1 - Initialized, 2 - Destroyed;
@@ -162,9 +168,7 @@ public class ReadTimeoutHandler extends ChannelHandlerAdapter {
 
         lastReadTime = System.nanoTime();
         if (timeoutNanos > 0) {
-            timeout = ctx.executor().schedule(
-                    new ReadTimeoutTask(ctx),
-                    timeoutNanos, TimeUnit.NANOSECONDS);
+            timeout = CoarseTimeouts.schedule(ctx, new ReadTimeoutTask(ctx), timeoutNanos, TimeUnit.NANOSECONDS);
         }
     }
 
@@ -172,7 +176,7 @@ public class ReadTimeoutHandler extends ChannelHandlerAdapter {
         state = 2;
 
         if (timeout != null) {
-            timeout.cancel(false);
+            timeout.cancel();
             timeout = null;
         }
     }
@@ -188,7 +192,7 @@ public class ReadTimeoutHandler extends ChannelHandlerAdapter {
         }
     }
 
-    private final class ReadTimeoutTask implements Runnable {
+    private final class ReadTimeoutTask implements TimerTask {
 
         private final ChannelHandlerContext ctx;
 
@@ -197,7 +201,7 @@ public class ReadTimeoutHandler extends ChannelHandlerAdapter {
         }
 
         @Override
-        public void run() {
+        public void run(Timeout timeout) {
             if (!ctx.channel().isOpen()) {
                 return;
             }
@@ -206,7 +210,8 @@ public class ReadTimeoutHandler extends ChannelHandlerAdapter {
             long nextDelay = timeoutNanos - (currentTime - lastReadTime);
             if (nextDelay <= 0) {
                 // Read timed out - set a new timeout and notify the callback.
-                timeout = ctx.executor().schedule(this, timeoutNanos, TimeUnit.NANOSECONDS);
+                ReadTimeoutHandler.this.timeout =
+                        CoarseTimeouts.schedule(ctx, this, timeoutNanos, TimeUnit.NANOSECONDS);
                 try {
                     readTimedOut(ctx);
                 } catch (Throwable t) {
@@ -214,7 +219,7 @@ public class ReadTimeoutHandler extends ChannelHandlerAdapter {
                 }
             } else {
                 // Read occurred before the timeout - set a new timeout with shorter delay.
-                timeout = ctx.executor().schedule(this, nextDelay, TimeUnit.NANOSECONDS);
+                ReadTimeoutHandler.this.timeout = CoarseTimeouts.schedule(ctx, this, nextDelay, TimeUnit.NANOSECONDS);
             }
         }
     }
@@ -23,8 +23,10 @@ import io.netty.channel.ChannelHandlerAdapter;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
 
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -60,6 +62,10 @@ import java.util.concurrent.TimeUnit;
  * bootstrap.childHandler(new MyChannelInitializer());
  * ...
  * </pre>
+ *
+ * The timeout is tracked by the coarse-grained timer wheel of the {@link EventLoop} (see
+ * {@link EventLoop#scheduleCoarse(TimerTask, long, TimeUnit)}), so it may be detected up to one tick late.
+ *
  * @see ReadTimeoutHandler
  * @see IdleStateHandler
  */
@@ -111,9 +117,9 @@ public class WriteTimeoutHandler extends ChannelHandlerAdapter {
 
     private void scheduleTimeout(final ChannelHandlerContext ctx, final ChannelPromise future) {
         // Schedule a timeout.
-        final ScheduledFuture<?> sf = ctx.executor().schedule(new Runnable() {
+        final Timeout writeTimeout = CoarseTimeouts.schedule(ctx, new TimerTask() {
             @Override
-            public void run() {
+            public void run(Timeout timeout) {
                 // Was not written yet so issue a write timeout
                 // The future itself will be failed with a ClosedChannelException once the close() was issued
                 // See https://github.com/netty/netty/issues/2159
@@ -131,7 +137,7 @@ public class WriteTimeoutHandler extends ChannelHandlerAdapter {
         future.addListener(new ChannelFutureListener() {
             @Override
             public void operationComplete(ChannelFuture future) throws Exception {
-                sf.cancel(false);
+                writeTimeout.cancel();
             }
         });
     }
@@ -26,9 +26,11 @@ import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static io.netty.util.ReferenceCountUtil.*;
@@ -96,6 +98,29 @@ public class ChunkedWriteHandlerTest {
         check(new ChunkedNioFile(TMP), new ChunkedNioFile(TMP), new ChunkedNioFile(TMP));
     }
 
+    @Test
+    public void testChunkedNioFileSharedChannel() throws IOException {
+        FileChannel in = new FileInputStream(TMP).getChannel();
+        try {
+            in.position(BYTES.length / 2);
+            check(new UnclosedChunkedNioFile(in), new UnclosedChunkedNioFile(in), new UnclosedChunkedNioFile(in));
+            assertEquals(BYTES.length / 2, in.position());
+        } finally {
+            in.close();
+        }
+    }
+
+    private static final class UnclosedChunkedNioFile extends ChunkedNioFile {
+        UnclosedChunkedNioFile(FileChannel in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+            // The channel is shared.
+        }
+    }
+
     // Test case which shows that there is not a bug like stated here:
     // http://stackoverflow.com/a/10426305
     @Test
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.microbench.channel;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * This class benchmarks the propagation of events through a pipeline of 10 handlers which either only observe
+ * other events (and thus are skipped for reads, writes and flushes) or forward every read, write and flush.
+ */
+@State(Scope.Thread)
+@Measurement(iterations = 10, batchSize = 100)
+public class DefaultChannelPipelineBenchmark extends AbstractMicrobenchmark {
+
+    private static final int HANDLERS = 10;
+    private static final Object MESSAGE = new Object();
+
+    @Param({ "observing", "forwarding" })
+    public String handlerType;
+
+    private EmbeddedChannel channel;
+    private ChannelPipeline pipeline;
+    private ChannelPromise voidPromise;
+
+    @Setup
+    public void setup() {
+        channel = new EmbeddedChannel(new ConsumingHandler());
+        pipeline = channel.pipeline();
+        voidPromise = channel.voidPromise();
+        for (int i = 0; i < HANDLERS; i++) {
+            ChannelHandler handler = "observing".equals(handlerType) ? new ObservingHandler() : new ForwardingHandler();
+            pipeline.addLast(handler);
+        }
+        pipeline.addLast(new ConsumingHandler());
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.close();
+    }
+
+    @Benchmark
+    public void fireChannelRead() {
+        pipeline.fireChannelRead(MESSAGE);
+    }
+
+    @Benchmark
+    public void writeAndFlush() {
+        pipeline.writeAndFlush(MESSAGE, voidPromise);
+    }
+
+    private static final class ObservingHandler extends ChannelHandlerAdapter {
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            ctx.fireUserEventTriggered(evt);
+        }
+    }
+
+    private static final class ForwardingHandler extends ChannelHandlerAdapter {
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            ctx.fireChannelRead(msg);
+        }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            ctx.write(msg, promise);
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) throws Exception {
+            ctx.flush();
+        }
+    }
+
+    /**
+     * Terminates reads at the tail and writes and flushes at the head of the pipeline, so the benchmark does not
+     * measure the {@link EmbeddedChannel} itself.
+     */
+    private static final class ConsumingHandler extends ChannelHandlerAdapter {
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) { }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) { }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) { }
+    }
+}
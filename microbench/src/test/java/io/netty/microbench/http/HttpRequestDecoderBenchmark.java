@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.microbench.http;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.AsciiHttpRequestDecoder;
+import io.netty.handler.codec.http.HttpRequestDecoder;
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Arrays;
+
+/**
+ * Compares {@link HttpRequestDecoder} with {@link AsciiHttpRequestDecoder} on a typical browser request which is
+ * either received at once or split into {@code fragments} reads.
+ */
+@State(Scope.Benchmark)
+@Measurement(iterations = 10, batchSize = 100)
+public class HttpRequestDecoderBenchmark extends AbstractMicrobenchmark {
+
+    private static final byte[] REQUEST = ("GET /some/path/index.html?query=value HTTP/1.1\r\n" +
+            "Host: www.example.com\r\n" +
+            "User-Agent: Mozilla/5.0 (X11; Linux x86_64; rv:31.0) Gecko/20100101 Firefox/31.0\r\n" +
+            "Accept: text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8\r\n" +
+            "Accept-Language: en-US,en;q=0.5\r\n" +
+            "Accept-Encoding: gzip, deflate\r\n" +
+            "Referer: http://www.example.com/\r\n" +
+            "Cookie: session=0123456789abcdef; theme=dark\r\n" +
+            "Connection: keep-alive\r\n" +
+            "Cache-Control: max-age=0\r\n" +
+            "\r\n").getBytes(CharsetUtil.US_ASCII);
+
+    @Param({ "1", "4" })
+    public int fragments;
+
+    private EmbeddedChannel replayingChannel;
+    private EmbeddedChannel asciiChannel;
+    private byte[][] request;
+
+    @Setup
+    public void setup() {
+        replayingChannel = new EmbeddedChannel(new HttpRequestDecoder());
+        asciiChannel = new EmbeddedChannel(new AsciiHttpRequestDecoder());
+        request = new byte[fragments][];
+        int fragmentLength = (REQUEST.length + fragments - 1) / fragments;
+        for (int i = 0; i < fragments; i ++) {
+            int offset = i * fragmentLength;
+            request[i] = Arrays.copyOfRange(REQUEST, offset, Math.min(offset + fragmentLength, REQUEST.length));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        replayingChannel.finish();
+        asciiChannel.finish();
+    }
+
+    @Benchmark
+    public int replayingDecoder() {
+        return decode(replayingChannel);
+    }
+
+    @Benchmark
+    public int asciiDecoder() {
+        return decode(asciiChannel);
+    }
+
+    private int decode(EmbeddedChannel channel) {
+        for (byte[] fragment: request) {
+            channel.writeInbound(Unpooled.wrappedBuffer(fragment));
+        }
+
+        int decoded = 0;
+        for (;;) {
+            Object msg = channel.readInbound();
+            if (msg == null) {
+                return decoded;
+            }
+            ReferenceCountUtil.release(msg);
+            decoded ++;
+        }
+    }
+}
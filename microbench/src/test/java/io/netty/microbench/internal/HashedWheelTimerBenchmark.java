@@ -0,0 +1,81 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.microbench.internal;
+
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks the single level {@link HashedWheelTimer} against the hierarchical one while the timer holds
+ * many long-lived timeouts, which is the typical case for session timeouts. The worker thread has to revisit the
+ * long-lived timeouts of a single level wheel on every revolution and so competes with the scheduling threads.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+@Measurement(iterations = 10, batchSize = 100)
+public class HashedWheelTimerBenchmark extends AbstractMicrobenchmark {
+
+    private static final TimerTask NOOP = new TimerTask() {
+        @Override
+        public void run(Timeout timeout) {
+            // NOOP
+        }
+    };
+
+    @Param({ "1", "4" })
+    public int wheelLevels;
+
+    @Param({ "1000000" })
+    public int longLivedTimeouts;
+
+    private HashedWheelTimer timer;
+
+    @Setup
+    public void setup() {
+        timer = new HashedWheelTimer(Executors.defaultThreadFactory(), 1, TimeUnit.MILLISECONDS, 512, wheelLevels);
+        for (int i = 0; i < longLivedTimeouts; i ++) {
+            timer.newTimeout(NOOP, 30 + i % 30, TimeUnit.MINUTES);
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        timer.stop();
+    }
+
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        return timer.newTimeout(NOOP, 10, TimeUnit.SECONDS).cancel();
+    }
+
+    @Benchmark
+    public Timeout scheduleShortLived() {
+        return timer.newTimeout(NOOP, 10, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.microbench.internal;
+
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import io.netty.util.internal.PlatformDependent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class benchmarks the linked {@link Queue} returned by {@link PlatformDependent#newMpscQueue()} against the
+ * array-backed one returned by {@link PlatformDependent#newMpscQueue(int)}, using several producers and one consumer
+ * just like the task queue of an event loop.
+ */
+@State(Scope.Group)
+@Measurement(iterations = 10, batchSize = 100)
+public class MpscQueueBenchmark extends AbstractMicrobenchmark {
+
+    private static final Integer ELEMENT = 1;
+
+    @Param({ "linked", "array" })
+    public String type;
+
+    @Param({ "1024", "65536" })
+    public int capacity;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private Queue<Integer> queue;
+
+    @Setup
+    public void setup() {
+        if ("linked".equals(type)) {
+            queue = PlatformDependent.newMpscQueue();
+        } else {
+            queue = PlatformDependent.newMpscQueue(capacity);
+        }
+    }
+
+    @Benchmark
+    @Group("mpsc")
+    @GroupThreads(3)
+    public boolean offer() {
+        // Do not let the linked queue grow without bounds if the consumer can not keep up. The counter is updated
+        // for both queue types so it adds the same overhead to each of them.
+        if (pending.get() >= capacity || !queue.offer(ELEMENT)) {
+            return false;
+        }
+        pending.incrementAndGet();
+        return true;
+    }
+
+    @Benchmark
+    @Group("mpsc")
+    @GroupThreads(1)
+    public Integer poll() {
+        Integer e = queue.poll();
+        if (e != null) {
+            pending.decrementAndGet();
+        }
+        return e;
+    }
+}
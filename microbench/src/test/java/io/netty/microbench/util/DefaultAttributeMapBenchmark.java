@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.microbench.util;
+
+import io.netty.util.AttributeKey;
+import io.netty.util.DefaultAttributeMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the per-message cost of looking up a few attributes of a {@link DefaultAttributeMap}.
+ */
+@State(Scope.Benchmark)
+@Measurement(iterations = 10, batchSize = 100)
+public class DefaultAttributeMapBenchmark extends AbstractMicrobenchmark {
+
+    private static final AttributeKey<Integer> KEY1 = AttributeKey.valueOf("DefaultAttributeMapBenchmark.key1");
+    private static final AttributeKey<Integer> KEY2 = AttributeKey.valueOf("DefaultAttributeMapBenchmark.key2");
+    private static final AttributeKey<Integer> KEY3 = AttributeKey.valueOf("DefaultAttributeMapBenchmark.key3");
+    private static final AttributeKey<Integer> KEY4 = AttributeKey.valueOf("DefaultAttributeMapBenchmark.key4");
+
+    private DefaultAttributeMap map;
+
+    @Setup
+    public void setup() {
+        map = new DefaultAttributeMap();
+        map.attr(KEY1).set(1);
+        map.attr(KEY2).set(2);
+        map.attr(KEY3).set(3);
+        map.attr(KEY4).set(4);
+    }
+
+    @Benchmark
+    public int getFourAttributes() {
+        return map.attr(KEY1).get() + map.attr(KEY2).get() + map.attr(KEY3).get() + map.attr(KEY4).get();
+    }
+
+    @Benchmark
+    public boolean hasAttr() {
+        return map.hasAttr(KEY3);
+    }
+}
@@ -22,6 +22,10 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.ScatteringRecvByteBufAllocator;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.FixedLengthFrameDecoder;
@@ -52,6 +56,20 @@ public class SocketFixedLengthEchoTest extends AbstractSocketTest {
         run();
     }
 
+    @Test
+    public void testFixedLengthEchoScatteringRead() throws Throwable {
+        run();
+    }
+
+    public void testFixedLengthEchoScatteringRead(ServerBootstrap sb, Bootstrap cb) throws Throwable {
+        // Page-sized components, so most reads span several of them.
+        RecvByteBufAllocator allocator = new ScatteringRecvByteBufAllocator(
+                new FixedRecvByteBufAllocator(65536), 4096, 16);
+        sb.childOption(ChannelOption.RCVBUF_ALLOCATOR, allocator);
+        cb.option(ChannelOption.RCVBUF_ALLOCATOR, allocator);
+        testFixedLengthEcho(sb, cb, true);
+    }
+
     public void testFixedLengthEcho(ServerBootstrap sb, Bootstrap cb) throws Throwable {
         testFixedLengthEcho(sb, cb, true);
     }
@@ -29,6 +29,7 @@
 #include <arpa/inet.h>
 #include <fcntl.h>
 #include <sys/utsname.h>
+#include <sched.h>
 #include "io_netty_channel_epoll_Native.h"
 
 // optional
@@ -950,6 +951,35 @@ JNIEXPORT jint JNICALL Java_io_netty_channel_epoll_Native_readAddress(JNIEnv * e
     return read0(env, clazz, fd, (void*) address, pos, limit);
 }
 
+JNIEXPORT jlong JNICALL Java_io_netty_channel_epoll_Native_readvAddresses(JNIEnv * env, jclass clazz, jint fd, jlong memoryAddress, jint length) {
+    struct iovec * iov = (struct iovec *) memoryAddress;
+    ssize_t res;
+    int err;
+    do {
+        res = readv(fd, iov, length);
+        // Keep on reading if we was interrupted
+    } while (res == -1 && ((err = errno) == EINTR));
+
+    if (res < 0) {
+        if (err == EAGAIN || err == EWOULDBLOCK) {
+            // Nothing left to read
+            return 0;
+        }
+        if (err == EBADF) {
+            throwClosedChannelException(env);
+            return -1;
+        }
+        throwIOException(env, exceptionMessage("Error while readv(...): ", err));
+        return -1;
+    }
+
+    if (res == 0) {
+        // end-of-stream
+        return -1;
+    }
+    return (jlong) res;
+}
+
 JNIEXPORT void JNICALL Java_io_netty_channel_epoll_Native_close(JNIEnv * env, jclass clazz, jint fd) {
    if (close(fd) < 0) {
       throwIOException(env, "Error closing file descriptor");
@@ -1348,3 +1378,18 @@ JNIEXPORT jboolean JNICALL Java_io_netty_channel_epoll_Native_isSupportingSendmm
     return JNI_FALSE;
 }
 
+JNIEXPORT void JNICALL Java_io_netty_channel_epoll_Native_setAffinity(JNIEnv *env, jclass clazz, jint cpu) {
+    cpu_set_t set;
+    if (cpu < 0 || cpu >= CPU_SETSIZE) {
+        throwIOException(env, exceptionMessage("Error during sched_setaffinity(...): ", EINVAL));
+        return;
+    }
+    CPU_ZERO(&set);
+    CPU_SET(cpu, &set);
+
+    // A pid of 0 binds the calling thread only.
+    if (sched_setaffinity(0, sizeof(set), &set) == -1) {
+        int err = errno;
+        throwIOException(env, exceptionMessage("Error during sched_setaffinity(...): ", err));
+    }
+}
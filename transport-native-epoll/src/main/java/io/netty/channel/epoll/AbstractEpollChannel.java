@@ -215,6 +215,16 @@ abstract class AbstractEpollChannel extends AbstractChannel {
 
     protected abstract class AbstractEpollUnsafe extends AbstractUnsafe {
         protected boolean readPending;
+        private boolean epollInReadyRunnablePending;
+        private final Runnable epollInReadyRunnable = new Runnable() {
+            @Override
+            public void run() {
+                epollInReadyRunnablePending = false;
+                if (isOpen()) {
+                    epollInReady();
+                }
+            }
+        };
 
         /**
          * Called once EPOLLIN event is ready to be processed
@@ -251,6 +261,23 @@ abstract class AbstractEpollChannel extends AbstractChannel {
             return (flags & Native.EPOLLOUT) != 0;
         }
 
+        /**
+         * Called once a read loop stopped because its budget was exhausted although there may be more to read.
+         * As we use epoll ET we will not get notified again until we read everything from the socket, so the rest
+         * is read by a task which runs after the other channels of the event loop had their chance.
+         */
+        final void epollInReadyLater() {
+            if (epollInReadyRunnablePending) {
+                return;
+            }
+            if (!config().isAutoRead() && !readPending) {
+                // The user will call read() once ready to read again.
+                return;
+            }
+            epollInReadyRunnablePending = true;
+            eventLoop().execute(epollInReadyRunnable);
+        }
+
         protected final void clearEpollIn0() {
             if ((flags & readFlag) != 0) {
                 flags &= ~readFlag;
@@ -483,8 +483,11 @@ public final class EpollDatagramChannel extends AbstractEpollChannel implements
 
             assert eventLoop().inEventLoop();
             final ChannelPipeline pipeline = pipeline();
+            allocHandle.reset(config);
+
+            boolean drained = false;
             try {
-                for (;;) {
+                do {
                     ByteBuf data = null;
                     try {
                         data = allocHandle.allocate(config.getAllocator());
@@ -501,12 +504,14 @@ public final class EpollDatagramChannel extends AbstractEpollChannel implements
                         }
 
                         if (remoteAddress == null) {
+                            drained = true;
                             break;
                         }
 
                         int readBytes = remoteAddress.receivedAmount;
                         data.writerIndex(data.writerIndex() + readBytes);
                         allocHandle.record(readBytes);
+                        allocHandle.incMessagesRead(1);
                         readPending = false;
                         pipeline.fireChannelRead(
                                 new DatagramPacket(data, (InetSocketAddress) localAddress(), remoteAddress));
@@ -520,6 +525,14 @@ public final class EpollDatagramChannel extends AbstractEpollChannel implements
                             data.release();
                         }
                     }
+                } while (allocHandle.continueReading());
+
+                allocHandle.readComplete();
+                pipeline.fireChannelReadComplete();
+
+                if (!drained) {
+                    // The read budget was exhausted before all pending datagrams were read.
+                    epollInReadyLater();
                 }
             } finally {
                 // Check if there is a readPending which was not processed yet.
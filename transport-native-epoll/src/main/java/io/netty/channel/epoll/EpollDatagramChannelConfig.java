@@ -21,6 +21,7 @@ import io.netty.channel.DefaultChannelConfig;
 import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 import io.netty.channel.socket.DatagramChannelConfig;
 
 import java.net.InetAddress;
@@ -36,6 +37,8 @@ public final class EpollDatagramChannelConfig extends DefaultChannelConfig imple
         super(channel);
         datagramChannel = channel;
         setRecvByteBufAllocator(DEFAULT_RCVBUF_ALLOCATOR);
+        // Read multiple datagrams per wakeup, the read budgets are enforced by the RecvByteBufAllocator.
+        setMaxMessagesPerRead(16);
     }
 
     @Override
@@ -136,12 +139,30 @@ public final class EpollDatagramChannelConfig extends DefaultChannelConfig imple
         return this;
     }
 
+    @Override
+    public EpollDatagramChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy) {
+        super.setWriteBatchPolicy(policy);
+        return this;
+    }
+
     @Override
     public EpollDatagramChannelConfig setWriteBufferLowWaterMark(int writeBufferLowWaterMark) {
         super.setWriteBufferLowWaterMark(writeBufferLowWaterMark);
         return this;
     }
 
+    @Override
+    public EpollDatagramChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages) {
+        super.setWriteBufferHighWaterMarkMessages(writeBufferHighWaterMarkMessages);
+        return this;
+    }
+
+    @Override
+    public EpollDatagramChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages) {
+        super.setWriteBufferLowWaterMarkMessages(writeBufferLowWaterMarkMessages);
+        return this;
+    }
+
     @Override
     public EpollDatagramChannelConfig setWriteBufferHighWaterMark(int writeBufferHighWaterMark) {
         super.setWriteBufferHighWaterMark(writeBufferHighWaterMark);
@@ -184,6 +205,12 @@ public final class EpollDatagramChannelConfig extends DefaultChannelConfig imple
         return this;
     }
 
+    @Override
+    public EpollDatagramChannelConfig setMaxBytesPerRead(int maxBytesPerRead) {
+        super.setMaxBytesPerRead(maxBytesPerRead);
+        return this;
+    }
+
     @Override
     public int getSendBufferSize() {
         return Native.getSendBufferSize(datagramChannel.fd);
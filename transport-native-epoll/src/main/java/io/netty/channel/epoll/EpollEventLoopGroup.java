@@ -20,6 +20,8 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.MultithreadEventLoopGroup;
 import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.ExecutorServiceFactory;
+import io.netty.util.concurrent.RejectedExecutionHandler;
+import io.netty.util.concurrent.RejectedExecutionHandlers;
 
 import java.util.concurrent.Executor;
 
@@ -89,7 +91,24 @@ public final class EpollEventLoopGroup extends MultithreadEventLoopGroup {
      * @param maxEventsAtOnce   the maximum number of epoll events to handle per epollWait(...).
      */
     public EpollEventLoopGroup(int nEventLoops, Executor executor, int maxEventsAtOnce) {
-        super(nEventLoops, executor, maxEventsAtOnce);
+        this(nEventLoops, executor, maxEventsAtOnce, RejectedExecutionHandlers.reject());
+    }
+
+    /**
+     * @param nEventLoops   the number of {@link EventLoop}s that will be used by this instance.
+     *                      If {@code executor} is {@code null} this number will also be the parallelism
+     *                      requested from the default executor. It is generally advised for the number
+     *                      of {@link EventLoop}s and the number of {@link Thread}s used by the
+     *                      {@code executor} to lie very close together.
+     * @param executor   the {@link Executor} to use, or {@code null} if the default should be used.
+     * @param maxEventsAtOnce   the maximum number of epoll events to handle per epollWait(...).
+     * @param rejectedExecutionHandler  the {@link RejectedExecutionHandler} to use when a task could not be added
+     *                                  because the task queue of an {@link EventLoop} is full. The task queue
+     *                                  is bounded by the {@code io.netty.eventLoop.maxPendingTasks} system property.
+     */
+    public EpollEventLoopGroup(int nEventLoops, Executor executor, int maxEventsAtOnce,
+                               RejectedExecutionHandler rejectedExecutionHandler) {
+        super(nEventLoops, executor, maxEventsAtOnce, rejectedExecutionHandler);
     }
 
     /**
@@ -103,7 +122,25 @@ public final class EpollEventLoopGroup extends MultithreadEventLoopGroup {
      * @param maxEventsAtOnce   the maximum number of epoll events to handle per epollWait(...).
      */
     public EpollEventLoopGroup(int nEventLoops, ExecutorServiceFactory executorServiceFactory, int maxEventsAtOnce) {
-        super(nEventLoops, executorServiceFactory, maxEventsAtOnce);
+        this(nEventLoops, executorServiceFactory, maxEventsAtOnce, RejectedExecutionHandlers.reject());
+    }
+
+    /**
+     * @param nEventLoops   the number of {@link EventLoop}s that will be used by this instance.
+     *                      If {@code executor} is {@code null} this number will also be the parallelism
+     *                      requested from the default executor. It is generally advised for the number
+     *                      of {@link EventLoop}s and the number of {@link Thread}s used by the
+     *                      {@code executor} to lie very close together.
+     * @param executorServiceFactory   the {@link ExecutorServiceFactory} to use, or {@code null} if the default
+     *                                 should be used.
+     * @param maxEventsAtOnce   the maximum number of epoll events to handle per epollWait(...).
+     * @param rejectedExecutionHandler  the {@link RejectedExecutionHandler} to use when a task could not be added
+     *                                  because the task queue of an {@link EventLoop} is full. The task queue
+     *                                  is bounded by the {@code io.netty.eventLoop.maxPendingTasks} system property.
+     */
+    public EpollEventLoopGroup(int nEventLoops, ExecutorServiceFactory executorServiceFactory, int maxEventsAtOnce,
+                               RejectedExecutionHandler rejectedExecutionHandler) {
+        super(nEventLoops, executorServiceFactory, maxEventsAtOnce, rejectedExecutionHandler);
     }
 
     /**
@@ -118,6 +155,6 @@ public final class EpollEventLoopGroup extends MultithreadEventLoopGroup {
 
     @Override
     protected EventLoop newChild(Executor executor, Object... args) throws Exception {
-        return new EpollEventLoop(this, executor, (Integer) args[0]);
+        return new EpollEventLoop(this, executor, (Integer) args[0], (RejectedExecutionHandler) args[1]);
     }
 }
@@ -19,6 +19,7 @@ import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
+import io.netty.channel.RecvByteBufAllocator;
 import io.netty.channel.socket.ServerSocketChannel;
 
 import java.net.InetSocketAddress;
@@ -95,15 +96,21 @@ public final class EpollServerSocketChannel extends AbstractEpollChannel impleme
         void epollInReady() {
             assert eventLoop().inEventLoop();
             final ChannelPipeline pipeline = pipeline();
+            final RecvByteBufAllocator.Handle allocHandle = recvBufAllocHandle();
+            allocHandle.reset(config);
+
+            boolean drained = false;
             Throwable exception = null;
             try {
                 try {
-                    for (;;) {
+                    do {
                         int socketFd = Native.accept(fd);
                         if (socketFd == -1) {
                             // this means everything was handled for now
+                            drained = true;
                             break;
                         }
+                        allocHandle.incMessagesRead(1);
                         try {
                             readPending = false;
                             pipeline.fireChannelRead(new EpollSocketChannel(EpollServerSocketChannel.this, socketFd));
@@ -112,14 +119,18 @@ public final class EpollServerSocketChannel extends AbstractEpollChannel impleme
                             pipeline.fireChannelReadComplete();
                             pipeline.fireExceptionCaught(t);
                         }
-                    }
+                    } while (allocHandle.continueReading());
                 } catch (Throwable t) {
                     exception = t;
                 }
+                allocHandle.readComplete();
                 pipeline.fireChannelReadComplete();
 
                 if (exception != null) {
                     pipeline.fireExceptionCaught(exception);
+                } else if (!drained) {
+                    // The accept budget was exhausted before all pending connections were accepted.
+                    epollInReadyLater();
                 }
             } finally {
                 // Check if there is a readPending which was not processed yet.
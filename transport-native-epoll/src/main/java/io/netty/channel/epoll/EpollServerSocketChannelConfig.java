@@ -20,6 +20,7 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.DefaultChannelConfig;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 import io.netty.channel.socket.ServerSocketChannelConfig;
 import io.netty.util.NetUtil;
 
@@ -141,6 +142,12 @@ public final class EpollServerSocketChannelConfig extends DefaultChannelConfig
         return this;
     }
 
+    @Override
+    public EpollServerSocketChannelConfig setMaxBytesPerRead(int maxBytesPerRead) {
+        super.setMaxBytesPerRead(maxBytesPerRead);
+        return this;
+    }
+
     @Override
     public EpollServerSocketChannelConfig setWriteSpinCount(int writeSpinCount) {
         super.setWriteSpinCount(writeSpinCount);
@@ -177,12 +184,30 @@ public final class EpollServerSocketChannelConfig extends DefaultChannelConfig
         return this;
     }
 
+    @Override
+    public EpollServerSocketChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages) {
+        super.setWriteBufferHighWaterMarkMessages(writeBufferHighWaterMarkMessages);
+        return this;
+    }
+
+    @Override
+    public EpollServerSocketChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages) {
+        super.setWriteBufferLowWaterMarkMessages(writeBufferLowWaterMarkMessages);
+        return this;
+    }
+
     @Override
     public EpollServerSocketChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator) {
         super.setMessageSizeEstimator(estimator);
         return this;
     }
 
+    @Override
+    public EpollServerSocketChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy) {
+        super.setWriteBatchPolicy(policy);
+        return this;
+    }
+
     /**
      * Returns {@code true} if the SO_REUSEPORT option is set.
      */
@@ -30,6 +30,7 @@ import io.netty.channel.ConnectTimeoutException;
 import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.EventLoop;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 import io.netty.channel.socket.ChannelInputShutdownEvent;
 import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.channel.socket.SocketChannel;
@@ -165,13 +166,15 @@ public final class EpollSocketChannel extends AbstractEpollChannel implements So
             return done;
         } else {
             ByteBuffer[] nioBuffers = buf.nioBuffers();
-            return writeBytesMultiple(in, nioBuffers, nioBuffers.length, readableBytes);
+            return writeBytesMultiple(in, nioBuffers, nioBuffers.length, readableBytes, null);
         }
     }
 
-    private boolean writeBytesMultiple(ChannelOutboundBuffer in, IovArray array) throws IOException {
+    private boolean writeBytesMultiple(
+            ChannelOutboundBuffer in, IovArray array, WriteBatchPolicy.Handle batchHandle) throws IOException {
 
-        long expectedWrittenBytes = array.size();
+        final long attemptedBytes = array.size();
+        long expectedWrittenBytes = attemptedBytes;
         int cnt = array.count();
 
         assert expectedWrittenBytes != 0;
@@ -210,16 +213,18 @@ public final class EpollSocketChannel extends AbstractEpollChannel implements So
             } while (offset < end && localWrittenBytes > 0);
         }
 
+        batchHandle.record(attemptedBytes, writtenBytes);
         in.removeBytes(writtenBytes);
         return done;
     }
 
     private boolean writeBytesMultiple(
-            ChannelOutboundBuffer in, ByteBuffer[] nioBuffers,
-            int nioBufferCnt, long expectedWrittenBytes) throws IOException {
+            ChannelOutboundBuffer in, ByteBuffer[] nioBuffers, int nioBufferCnt, long expectedWrittenBytes,
+            WriteBatchPolicy.Handle batchHandle) throws IOException {
 
         assert expectedWrittenBytes != 0;
 
+        final long attemptedBytes = expectedWrittenBytes;
         boolean done = false;
         long writtenBytes = 0;
         int offset = 0;
@@ -255,6 +260,9 @@ public final class EpollSocketChannel extends AbstractEpollChannel implements So
             } while (offset < end && localWrittenBytes > 0);
         }
 
+        if (batchHandle != null) {
+            batchHandle.record(attemptedBytes, writtenBytes);
+        }
         in.removeBytes(writtenBytes);
         return done;
     }
@@ -356,13 +364,14 @@ public final class EpollSocketChannel extends AbstractEpollChannel implements So
     }
 
     private boolean doWriteMultiple(ChannelOutboundBuffer in) throws Exception {
+        final WriteBatchPolicy.Handle batchHandle = unsafe().writeBatchHandle();
         if (PlatformDependent.hasUnsafe()) {
             // this means we can cast to IovArray and write the IovArray directly.
-            IovArray array = IovArrayThreadLocal.get(in);
+            IovArray array = IovArrayThreadLocal.get(in, batchHandle.maxBuffers(), batchHandle.maxBytes());
             int cnt = array.count();
             if (cnt >= 1) {
                 // TODO: Handle the case where cnt == 1 specially.
-                if (!writeBytesMultiple(in, array)) {
+                if (!writeBytesMultiple(in, array, batchHandle)) {
                     // was not able to write everything so break here we will get notified later again once
                     // the network stack can handle more writes.
                     return false;
@@ -371,11 +380,11 @@ public final class EpollSocketChannel extends AbstractEpollChannel implements So
                 in.removeBytes(0);
             }
         } else {
-            ByteBuffer[] buffers = in.nioBuffers();
+            ByteBuffer[] buffers = in.nioBuffers(batchHandle.maxBuffers(), batchHandle.maxBytes());
             int cnt = in.nioBufferCount();
             if (cnt >= 1) {
                 // TODO: Handle the case where cnt == 1 specially.
-                if (!writeBytesMultiple(in, buffers, cnt, in.nioBufferSize())) {
+                if (!writeBytesMultiple(in, buffers, cnt, in.nioBufferSize(), batchHandle)) {
                     // was not able to write everything so break here we will get notified later again once
                     // the network stack can handle more writes.
                     return false;
@@ -685,6 +694,8 @@ public final class EpollSocketChannel extends AbstractEpollChannel implements So
             int localReadAmount;
             if (byteBuf.hasMemoryAddress()) {
                 localReadAmount = Native.readAddress(fd, byteBuf.memoryAddress(), writerIndex, byteBuf.capacity());
+            } else if (byteBuf instanceof CompositeByteBuf && byteBuf.isDirect() && PlatformDependent.hasUnsafe()) {
+                return doReadBytesScattering((CompositeByteBuf) byteBuf);
             } else {
                 ByteBuffer buf = byteBuf.internalNioBuffer(writerIndex, byteBuf.writableBytes());
                 localReadAmount = Native.read(fd, buf, buf.position(), buf.limit());
@@ -695,6 +706,38 @@ public final class EpollSocketChannel extends AbstractEpollChannel implements So
             return localReadAmount;
         }
 
+        /**
+         * Read into all components of the {@link CompositeByteBuf} with a single {@code readv(...)} call.
+         */
+        private int doReadBytesScattering(CompositeByteBuf byteBuf) throws Exception {
+            final int writerIndex = byteBuf.writerIndex();
+            IovArray array = IovArrayThreadLocal.getWritable(byteBuf);
+            int localReadAmount;
+            if (array != null) {
+                localReadAmount = (int) Native.readvAddresses(fd, array.memoryAddress(0), array.count());
+            } else {
+                // Too many components for one readv(...), fall back to reading one component after the other.
+                localReadAmount = 0;
+                for (ByteBuffer buf: byteBuf.nioBuffers(writerIndex, byteBuf.writableBytes())) {
+                    int n = Native.read(fd, buf, buf.position(), buf.limit());
+                    if (n < 0) {
+                        if (localReadAmount == 0) {
+                            localReadAmount = -1;
+                        }
+                        break;
+                    }
+                    localReadAmount += n;
+                    if (n < buf.remaining()) {
+                        break;
+                    }
+                }
+            }
+            if (localReadAmount > 0) {
+                byteBuf.writerIndex(writerIndex + localReadAmount);
+            }
+            return localReadAmount;
+        }
+
         @Override
         void epollRdHupReady() {
             if (isActive()) {
@@ -709,49 +752,39 @@ public final class EpollSocketChannel extends AbstractEpollChannel implements So
             final ChannelConfig config = config();
             final ChannelPipeline pipeline = pipeline();
             final ByteBufAllocator allocator = config.getAllocator();
-            RecvByteBufAllocator.Handle allocHandle = unsafe().recvBufAllocHandle();
+            final RecvByteBufAllocator.Handle allocHandle = unsafe().recvBufAllocHandle();
+            allocHandle.reset(config);
 
             ByteBuf byteBuf = null;
             boolean close = false;
             try {
-                int totalReadAmount = 0;
-                for (;;) {
+                do {
                     // we use a direct buffer here as the native implementations only be able
                     // to handle direct buffers.
                     byteBuf = allocHandle.allocate(allocator);
-                    int writable = byteBuf.writableBytes();
-                    int localReadAmount = doReadBytes(byteBuf);
-                    if (localReadAmount <= 0) {
+                    allocHandle.attemptedBytesRead(byteBuf.writableBytes());
+                    allocHandle.lastBytesRead(doReadBytes(byteBuf));
+                    if (allocHandle.lastBytesRead() <= 0) {
                         // not was read release the buffer
                         byteBuf.release();
-                        close = localReadAmount < 0;
+                        close = allocHandle.lastBytesRead() < 0;
                         break;
                     }
                     readPending = false;
+                    allocHandle.incMessagesRead(1);
                     pipeline.fireChannelRead(byteBuf);
                     byteBuf = null;
+                } while (allocHandle.continueReading());
 
-                    if (totalReadAmount >= Integer.MAX_VALUE - localReadAmount) {
-                        allocHandle.record(totalReadAmount);
-
-                        // Avoid overflow.
-                        totalReadAmount = localReadAmount;
-                    } else {
-                        totalReadAmount += localReadAmount;
-                    }
-
-                    if (localReadAmount < writable) {
-                        // Read less than what the buffer can hold,
-                        // which might mean we drained the recv buffer completely.
-                        break;
-                    }
-                }
+                allocHandle.readComplete();
                 pipeline.fireChannelReadComplete();
-                allocHandle.record(totalReadAmount);
 
                 if (close) {
                     closeOnRead(pipeline);
                     close = false;
+                } else if (allocHandle.lastBytesRead() == allocHandle.attemptedBytesRead()) {
+                    // The read budget was exhausted before the socket was drained.
+                    epollInReadyLater();
                 }
             } catch (Throwable t) {
                 boolean closed = handleReadException(pipeline, byteBuf, t, close);
@@ -20,6 +20,7 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.DefaultChannelConfig;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 import io.netty.channel.socket.SocketChannelConfig;
 import io.netty.util.internal.PlatformDependent;
 
@@ -42,6 +43,8 @@ public final class EpollSocketChannelConfig extends DefaultChannelConfig impleme
         if (PlatformDependent.canEnableTcpNoDelayByDefault()) {
             setTcpNoDelay(true);
         }
+        // Read multiple times per wakeup like NIO does, the read budgets are enforced by the RecvByteBufAllocator.
+        setMaxMessagesPerRead(16);
     }
 
     @Override
@@ -296,6 +299,12 @@ public final class EpollSocketChannelConfig extends DefaultChannelConfig impleme
         return this;
     }
 
+    @Override
+    public EpollSocketChannelConfig setMaxBytesPerRead(int maxBytesPerRead) {
+        super.setMaxBytesPerRead(maxBytesPerRead);
+        return this;
+    }
+
     @Override
     public EpollSocketChannelConfig setWriteSpinCount(int writeSpinCount) {
         super.setWriteSpinCount(writeSpinCount);
@@ -332,12 +341,30 @@ public final class EpollSocketChannelConfig extends DefaultChannelConfig impleme
         return this;
     }
 
+    @Override
+    public EpollSocketChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages) {
+        super.setWriteBufferHighWaterMarkMessages(writeBufferHighWaterMarkMessages);
+        return this;
+    }
+
+    @Override
+    public EpollSocketChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages) {
+        super.setWriteBufferLowWaterMarkMessages(writeBufferLowWaterMarkMessages);
+        return this;
+    }
+
     @Override
     public EpollSocketChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator) {
         super.setMessageSizeEstimator(estimator);
         return this;
     }
 
+    @Override
+    public EpollSocketChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy) {
+        super.setWriteBatchPolicy(policy);
+        return this;
+    }
+
     @Override
     protected void autoReadCleared() {
         channel.clearEpollIn();
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.epoll;
+
+import io.netty.util.concurrent.DefaultExecutorServiceFactory;
+import io.netty.util.concurrent.ThreadAffinity;
+
+import java.io.IOException;
+
+/**
+ * {@link ThreadAffinity} which uses {@code sched_setaffinity} to bind threads to CPUs. If
+ * <a href="http://netty.io/wiki/native-transports.html">{@code netty-transport-native-epoll}</a> is not available
+ * this is a no-op and {@link #bindCurrentThread(int)} returns {@code false}.
+ * <p>
+ * Use it together with {@link DefaultExecutorServiceFactory} to pin the threads of an {@link EpollEventLoopGroup}:
+ * <pre>
+ * new {@link EpollEventLoopGroup}(nThreads, new {@link DefaultExecutorServiceFactory}(
+ *         "epoll", {@link EpollThreadAffinity}.INSTANCE, 0, 1, 2, 3));
+ * </pre>
+ */
+public final class EpollThreadAffinity implements ThreadAffinity {
+
+    public static final EpollThreadAffinity INSTANCE = new EpollThreadAffinity();
+
+    private EpollThreadAffinity() { }
+
+    @Override
+    public boolean bindCurrentThread(int cpu) {
+        if (!Epoll.isAvailable()) {
+            return false;
+        }
+        try {
+            Native.setAffinity(cpu);
+            return true;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("failed to bind the current thread to CPU " + cpu, e);
+        }
+    }
+}
@@ -59,6 +59,8 @@ final class IovArray implements MessageProcessor {
     private final long memoryAddress;
     private int count;
     private long size;
+    private int maxCount = Native.IOV_MAX;
+    private long maxBytes = Long.MAX_VALUE;
 
     IovArray() {
         memoryAddress = PlatformDependent.allocateMemory(CAPACITY);
@@ -67,6 +69,17 @@ final class IovArray implements MessageProcessor {
     void clear() {
         count = 0;
         size = 0;
+        maxCount = Native.IOV_MAX;
+        maxBytes = Long.MAX_VALUE;
+    }
+
+    /**
+     * Limit the number of iov entries and the number of bytes which will be added until the next {@link #clear()}.
+     * The first buffer is always added, even if it is larger than {@code maxBytes}.
+     */
+    void limit(int maxCount, long maxBytes) {
+        this.maxCount = Math.min(maxCount, Native.IOV_MAX);
+        this.maxBytes = maxBytes;
     }
 
     /**
@@ -74,7 +87,7 @@ final class IovArray implements MessageProcessor {
      * {@code false} otherwise.
      */
     boolean add(ByteBuf buf) {
-        if (count == Native.IOV_MAX) {
+        if (count == maxCount) {
             // No more room!
             return false;
         }
@@ -86,6 +99,10 @@ final class IovArray implements MessageProcessor {
             // fetching the next buffers.
             return true;
         }
+        if (count != 0 && maxBytes - len < size) {
+            // The batch is full, leave the buffer for the next write.
+            return false;
+        }
 
         final long addr = buf.memoryAddress();
         final int offset = buf.readerIndex();
@@ -121,10 +138,14 @@ final class IovArray implements MessageProcessor {
      */
     boolean add(CompositeByteBuf buf) {
         ByteBuffer[] buffers = buf.nioBuffers();
-        if (count + buffers.length >= Native.IOV_MAX) {
+        if (count + buffers.length >= maxCount) {
             // No more room!
             return false;
         }
+        if (count != 0 && maxBytes - buf.readableBytes() < size) {
+            // The batch is full, leave the buffer for the next write.
+            return false;
+        }
         for (int i = 0; i < buffers.length; i++) {
             ByteBuffer nioBuffer = buffers[i];
             int offset = nioBuffer.position();
@@ -140,6 +161,25 @@ final class IovArray implements MessageProcessor {
         return true;
     }
 
+    /**
+     * Add the writable bytes of the given {@link CompositeByteBuf}, so that a {@code readv(...)} call scatters the
+     * read bytes over its components. Returns {@code false} if there is not enough room left.
+     */
+    boolean addWritable(CompositeByteBuf buf) {
+        ByteBuffer[] buffers = buf.nioBuffers(buf.writerIndex(), buf.writableBytes());
+        if (count + buffers.length > maxCount) {
+            // No more room!
+            return false;
+        }
+        for (int i = 0; i < buffers.length; i++) {
+            ByteBuffer nioBuffer = buffers[i];
+            int offset = nioBuffer.position();
+            int len = nioBuffer.limit() - nioBuffer.position();
+            add(PlatformDependent.directBufferAddress(nioBuffer), offset, len);
+        }
+        return true;
+    }
+
     /**
      * Process the written iov entries. This will return the length of the iov entry on the given index if it is
      * smaller then the given {@code written} value. Otherwise it returns {@code -1}.
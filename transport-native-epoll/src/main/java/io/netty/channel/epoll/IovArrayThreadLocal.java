@@ -47,6 +47,18 @@ final class IovArrayThreadLocal {
         return array;
     }
 
+    /**
+     * Returns a {@link IovArray} which is filled with the flushed messages of {@link ChannelOutboundBuffer}, but
+     * holds no more than {@code maxCount} iov entries and {@code maxBytes} bytes.
+     */
+    static IovArray get(ChannelOutboundBuffer buffer, int maxCount, long maxBytes) throws Exception {
+        IovArray array = ARRAY.get();
+        array.clear();
+        array.limit(maxCount, maxBytes);
+        buffer.forEachFlushedMessage(array);
+        return array;
+    }
+
     /**
      * Returns a {@link IovArray} which is filled with the {@link CompositeByteBuf}.
      */
@@ -57,5 +69,15 @@ final class IovArrayThreadLocal {
         return array;
     }
 
+    /**
+     * Returns a {@link IovArray} which is filled with the writable bytes of the {@link CompositeByteBuf}, or
+     * {@code null} if the buffer has too many components.
+     */
+    static IovArray getWritable(CompositeByteBuf buf) {
+        IovArray array = ARRAY.get();
+        array.clear();
+        return array.addWritable(buf) ? array : null;
+    }
+
     private IovArrayThreadLocal() { }
 }
@@ -76,6 +76,7 @@ final class Native {
 
     public static native int read(int fd, ByteBuffer buf, int pos, int limit) throws IOException;
     public static native int readAddress(int fd, long address, int pos, int limit) throws IOException;
+    public static native long readvAddresses(int fd, long memoryAddress, int length) throws IOException;
 
     public static native long sendfile(
             int dest, DefaultFileRegion src, long baseOffset, long offset, long length) throws IOException;
@@ -251,6 +252,9 @@ final class Native {
 
     public static native String kernelVersion();
 
+    // cpu affinity
+    public static native void setAffinity(int cpu) throws IOException;
+
     private static native int iovMax();
 
     private static native int uioMaxIov();
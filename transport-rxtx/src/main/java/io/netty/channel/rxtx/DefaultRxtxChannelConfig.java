@@ -20,6 +20,7 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.DefaultChannelConfig;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 
 import java.util.Map;
 
@@ -210,6 +211,12 @@ final class DefaultRxtxChannelConfig extends DefaultChannelConfig implements Rxt
         return this;
     }
 
+    @Override
+    public RxtxChannelConfig setMaxBytesPerRead(int maxBytesPerRead) {
+        super.setMaxBytesPerRead(maxBytesPerRead);
+        return this;
+    }
+
     @Override
     public RxtxChannelConfig setWriteSpinCount(int writeSpinCount) {
         super.setWriteSpinCount(writeSpinCount);
@@ -246,9 +253,27 @@ final class DefaultRxtxChannelConfig extends DefaultChannelConfig implements Rxt
         return this;
     }
 
+    @Override
+    public RxtxChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages) {
+        super.setWriteBufferHighWaterMarkMessages(writeBufferHighWaterMarkMessages);
+        return this;
+    }
+
+    @Override
+    public RxtxChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages) {
+        super.setWriteBufferLowWaterMarkMessages(writeBufferLowWaterMarkMessages);
+        return this;
+    }
+
     @Override
     public RxtxChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator) {
         super.setMessageSizeEstimator(estimator);
         return this;
     }
+
+    @Override
+    public RxtxChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy) {
+        super.setWriteBatchPolicy(policy);
+        return this;
+    }
 }
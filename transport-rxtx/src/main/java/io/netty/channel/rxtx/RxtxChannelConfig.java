@@ -20,6 +20,7 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelConfig;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 
 /**
  * A configuration class for RXTX device connections.
@@ -276,6 +277,9 @@ public interface RxtxChannelConfig extends ChannelConfig {
     @Override
     RxtxChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead);
 
+    @Override
+    RxtxChannelConfig setMaxBytesPerRead(int maxBytesPerRead);
+
     @Override
     RxtxChannelConfig setWriteSpinCount(int writeSpinCount);
 
@@ -294,6 +298,15 @@ public interface RxtxChannelConfig extends ChannelConfig {
     @Override
     RxtxChannelConfig setWriteBufferLowWaterMark(int writeBufferLowWaterMark);
 
+    @Override
+    RxtxChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages);
+
+    @Override
+    RxtxChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages);
+
     @Override
     RxtxChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator);
+
+    @Override
+    RxtxChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy);
 }
@@ -24,6 +24,7 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.DefaultChannelConfig;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 import io.netty.util.internal.PlatformDependent;
 
 import java.io.IOException;
@@ -185,6 +186,12 @@ public class DefaultSctpChannelConfig extends DefaultChannelConfig implements Sc
         return this;
     }
 
+    @Override
+    public SctpChannelConfig setMaxBytesPerRead(int maxBytesPerRead) {
+        super.setMaxBytesPerRead(maxBytesPerRead);
+        return this;
+    }
+
     @Override
     public SctpChannelConfig setWriteSpinCount(int writeSpinCount) {
         super.setWriteSpinCount(writeSpinCount);
@@ -221,9 +228,27 @@ public class DefaultSctpChannelConfig extends DefaultChannelConfig implements Sc
         return this;
     }
 
+    @Override
+    public SctpChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages) {
+        super.setWriteBufferHighWaterMarkMessages(writeBufferHighWaterMarkMessages);
+        return this;
+    }
+
+    @Override
+    public SctpChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages) {
+        super.setWriteBufferLowWaterMarkMessages(writeBufferLowWaterMarkMessages);
+        return this;
+    }
+
     @Override
     public SctpChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator) {
         super.setMessageSizeEstimator(estimator);
         return this;
     }
+
+    @Override
+    public SctpChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy) {
+        super.setWriteBatchPolicy(policy);
+        return this;
+    }
 }
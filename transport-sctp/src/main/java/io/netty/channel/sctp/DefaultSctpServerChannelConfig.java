@@ -24,6 +24,7 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.DefaultChannelConfig;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 import io.netty.util.NetUtil;
 
 import java.io.IOException;
@@ -162,6 +163,12 @@ public class DefaultSctpServerChannelConfig extends DefaultChannelConfig impleme
         return this;
     }
 
+    @Override
+    public SctpServerChannelConfig setMaxBytesPerRead(int maxBytesPerRead) {
+        super.setMaxBytesPerRead(maxBytesPerRead);
+        return this;
+    }
+
     @Override
     public SctpServerChannelConfig setWriteSpinCount(int writeSpinCount) {
         super.setWriteSpinCount(writeSpinCount);
@@ -198,6 +205,18 @@ public class DefaultSctpServerChannelConfig extends DefaultChannelConfig impleme
         return this;
     }
 
+    @Override
+    public SctpServerChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages) {
+        super.setWriteBufferHighWaterMarkMessages(writeBufferHighWaterMarkMessages);
+        return this;
+    }
+
+    @Override
+    public SctpServerChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages) {
+        super.setWriteBufferLowWaterMarkMessages(writeBufferLowWaterMarkMessages);
+        return this;
+    }
+
     @Override
     public SctpServerChannelConfig setWriteBufferHighWaterMark(int writeBufferHighWaterMark) {
         super.setWriteBufferHighWaterMark(writeBufferHighWaterMark);
@@ -209,4 +228,10 @@ public class DefaultSctpServerChannelConfig extends DefaultChannelConfig impleme
         super.setMessageSizeEstimator(estimator);
         return this;
     }
+
+    @Override
+    public SctpServerChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy) {
+        super.setWriteBatchPolicy(policy);
+        return this;
+    }
 }
@@ -21,6 +21,7 @@ import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 
 /**
  * A {@link ChannelConfig} for a {@link SctpChannel}.
@@ -104,6 +105,9 @@ public interface SctpChannelConfig extends ChannelConfig {
     @Override
     SctpChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead);
 
+    @Override
+    SctpChannelConfig setMaxBytesPerRead(int maxBytesPerRead);
+
     @Override
     SctpChannelConfig setWriteSpinCount(int writeSpinCount);
 
@@ -122,6 +126,15 @@ public interface SctpChannelConfig extends ChannelConfig {
     @Override
     SctpChannelConfig setWriteBufferLowWaterMark(int writeBufferLowWaterMark);
 
+    @Override
+    SctpChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages);
+
+    @Override
+    SctpChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages);
+
     @Override
     SctpChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator);
+
+    @Override
+    SctpChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy);
 }
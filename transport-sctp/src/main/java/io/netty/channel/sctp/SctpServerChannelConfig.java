@@ -21,6 +21,7 @@ import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 
 /**
  * A {@link ChannelConfig} for a {@link SctpServerChannelConfig}.
@@ -96,6 +97,9 @@ public interface SctpServerChannelConfig extends ChannelConfig {
     @Override
     SctpServerChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead);
 
+    @Override
+    SctpServerChannelConfig setMaxBytesPerRead(int maxBytesPerRead);
+
     @Override
     SctpServerChannelConfig setWriteSpinCount(int writeSpinCount);
 
@@ -117,6 +121,15 @@ public interface SctpServerChannelConfig extends ChannelConfig {
     @Override
     SctpServerChannelConfig setWriteBufferLowWaterMark(int writeBufferLowWaterMark);
 
+    @Override
+    SctpServerChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages);
+
+    @Override
+    SctpServerChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages);
+
     @Override
     SctpServerChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator);
+
+    @Override
+    SctpServerChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy);
 }
@@ -23,6 +23,7 @@ import io.netty.channel.ChannelException;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 
 /**
  * A {@link ChannelConfig} for a {@link UdtChannel}.
@@ -118,6 +119,9 @@ public interface UdtChannelConfig extends ChannelConfig {
     @Override
     UdtChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead);
 
+    @Override
+    UdtChannelConfig setMaxBytesPerRead(int maxBytesPerRead);
+
     @Override
     UdtChannelConfig setWriteSpinCount(int writeSpinCount);
 
@@ -136,9 +140,18 @@ public interface UdtChannelConfig extends ChannelConfig {
     @Override
     UdtChannelConfig setWriteBufferLowWaterMark(int writeBufferLowWaterMark);
 
+    @Override
+    UdtChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages);
+
+    @Override
+    UdtChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages);
+
     @Override
     UdtChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator);
 
+    @Override
+    UdtChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy);
+
     /**
      * Sets {@link OptionUDT#Protocol_Receive_Buffer_Size}
      */
@@ -23,6 +23,7 @@ import io.netty.channel.ChannelException;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 
 /**
  * A {@link ChannelConfig} for a {@link UdtServerChannel}.
@@ -52,6 +53,9 @@ public interface UdtServerChannelConfig extends UdtChannelConfig {
     @Override
     UdtServerChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead);
 
+    @Override
+    UdtServerChannelConfig setMaxBytesPerRead(int maxBytesPerRead);
+
     @Override
     UdtServerChannelConfig setWriteSpinCount(int writeSpinCount);
 
@@ -94,6 +98,15 @@ public interface UdtServerChannelConfig extends UdtChannelConfig {
     @Override
     UdtServerChannelConfig setWriteBufferLowWaterMark(int writeBufferLowWaterMark);
 
+    @Override
+    UdtServerChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages);
+
+    @Override
+    UdtServerChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages);
+
     @Override
     UdtServerChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator);
+
+    @Override
+    UdtServerChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy);
 }
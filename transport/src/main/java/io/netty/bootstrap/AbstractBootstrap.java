@@ -270,7 +270,14 @@ public abstract class AbstractBootstrap<B extends AbstractBootstrap<B, C>, C ext
     }
 
     private ChannelFuture doBind(final SocketAddress localAddress) {
-        final ChannelFuture regFuture = initAndRegister();
+        return doBind(localAddress, group());
+    }
+
+    /**
+     * Create a new {@link Channel}, register it with the given {@link EventLoopGroup} and bind it.
+     */
+    final ChannelFuture doBind(final SocketAddress localAddress, EventLoopGroup group) {
+        final ChannelFuture regFuture = initAndRegister(group);
         final Channel channel = regFuture.channel();
         if (regFuture.cause() != null) {
             return regFuture;
@@ -305,6 +312,10 @@ public abstract class AbstractBootstrap<B extends AbstractBootstrap<B, C>, C ext
     }
 
     final ChannelFuture initAndRegister() {
+        return initAndRegister(group());
+    }
+
+    private ChannelFuture initAndRegister(EventLoopGroup group) {
         final Channel channel = channelFactory().newChannel();
         try {
             init(channel);
@@ -314,7 +325,7 @@ public abstract class AbstractBootstrap<B extends AbstractBootstrap<B, C>, C ext
             return new DefaultChannelPromise(channel, GlobalEventExecutor.INSTANCE).setFailure(t);
         }
 
-        ChannelFuture regFuture = group().register(channel);
+        ChannelFuture regFuture = group.register(channel);
         if (regFuture.cause() != null) {
             if (channel.isRegistered()) {
                 channel.close();
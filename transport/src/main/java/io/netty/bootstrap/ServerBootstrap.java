@@ -25,15 +25,26 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
+import io.netty.channel.group.ChannelGroupFuture;
+import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.GlobalEventExecutor;
 import io.netty.util.internal.StringUtil;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
@@ -50,6 +61,8 @@ public final class ServerBootstrap extends AbstractBootstrap<ServerBootstrap, Se
     private final Map<AttributeKey<?>, Object> childAttrs = new LinkedHashMap<AttributeKey<?>, Object>();
     private volatile EventLoopGroup childGroup;
     private volatile ChannelHandler childHandler;
+    // Only set on the copy created by bindAll(...)
+    private boolean acceptIntoOwnLoop;
 
     public ServerBootstrap() { }
 
@@ -146,6 +159,80 @@ public final class ServerBootstrap extends AbstractBootstrap<ServerBootstrap, Se
         return childGroup;
     }
 
+    /**
+     * Create one {@link ServerChannel} per {@link EventLoop} of the child {@link EventLoopGroup} and bind all of them
+     * to the configured local address. {@link ChannelOption#SO_REUSEPORT} is set on every server channel, so the
+     * kernel balances incoming connections between them. Each server channel registers the channels it accepts with
+     * its own {@link EventLoop}, so accepting and serving a connection happen on the same thread and the parent
+     * {@link EventLoopGroup} is not used.
+     * <p>
+     * The returned future is notified once all server channels are bound, and {@link ChannelGroupFuture#group()}
+     * allows to close all of them at once. If one of them fails to bind, all of them are closed. This requires a
+     * transport which supports {@link ChannelOption#SO_REUSEPORT}, like the native epoll transport, unless the child
+     * {@link EventLoopGroup} has a single {@link EventLoop}.
+     */
+    public ChannelGroupFuture bindAll() {
+        SocketAddress localAddress = localAddress();
+        if (localAddress == null) {
+            throw new IllegalStateException("localAddress not set");
+        }
+        return bindAll(localAddress);
+    }
+
+    /**
+     * @see #bindAll()
+     */
+    public ChannelGroupFuture bindAll(int inetPort) {
+        return bindAll(new InetSocketAddress(inetPort));
+    }
+
+    /**
+     * @see #bindAll()
+     */
+    public ChannelGroupFuture bindAll(String inetHost, int inetPort) {
+        return bindAll(new InetSocketAddress(inetHost, inetPort));
+    }
+
+    /**
+     * @see #bindAll()
+     */
+    public ChannelGroupFuture bindAll(InetAddress inetHost, int inetPort) {
+        return bindAll(new InetSocketAddress(inetHost, inetPort));
+    }
+
+    /**
+     * @see #bindAll()
+     */
+    public ChannelGroupFuture bindAll(SocketAddress localAddress) {
+        validate();
+        if (localAddress == null) {
+            throw new NullPointerException("localAddress");
+        }
+
+        ServerBootstrap bootstrap = clone();
+        bootstrap.option(ChannelOption.SO_REUSEPORT, true);
+        bootstrap.acceptIntoOwnLoop = true;
+
+        final DefaultChannelGroup group = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+        List<ChannelFuture> futures = new ArrayList<ChannelFuture>();
+        for (EventLoop loop: childGroup.<EventLoop>children()) {
+            ChannelFuture future = bootstrap.doBind(localAddress, loop);
+            group.add(future.channel());
+            futures.add(future);
+        }
+
+        ChannelGroupFuture future = group.newGroupFuture(futures);
+        future.addListener(new FutureListener<Void>() {
+            @Override
+            public void operationComplete(Future<Void> future) throws Exception {
+                if (!future.isSuccess()) {
+                    group.close();
+                }
+            }
+        });
+        return future;
+    }
+
     @Override
     void init(Channel channel) throws Exception {
         final Map<ChannelOption<?>, Object> options = options();
@@ -167,7 +254,8 @@ public final class ServerBootstrap extends AbstractBootstrap<ServerBootstrap, Se
             p.addLast(handler());
         }
 
-        final EventLoopGroup currentChildGroup = childGroup;
+        // A null child group makes the acceptor register accepted channels with its own EventLoop.
+        final EventLoopGroup currentChildGroup = acceptIntoOwnLoop ? null : childGroup;
         final ChannelHandler currentChildHandler = childHandler;
         final Entry<ChannelOption<?>, Object>[] currentChildOptions;
         final Entry<AttributeKey<?>, Object>[] currentChildAttrs;
@@ -247,8 +335,9 @@ public final class ServerBootstrap extends AbstractBootstrap<ServerBootstrap, Se
                 child.attr((AttributeKey<Object>) e.getKey()).set(e.getValue());
             }
 
+            EventLoopGroup group = childGroup != null ? childGroup : ctx.channel().eventLoop().unwrap();
             try {
-                childGroup.register(child).addListener(new ChannelFutureListener() {
+                group.register(child).addListener(new ChannelFutureListener() {
                     @Override
                     public void operationComplete(ChannelFuture future) throws Exception {
                         if (!future.isSuccess()) {
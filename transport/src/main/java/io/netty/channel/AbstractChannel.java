@@ -18,6 +18,8 @@ package io.netty.channel;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.util.DefaultAttributeMap;
 import io.netty.util.ReferenceCountUtil;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
 import io.netty.util.internal.EmptyArrays;
 import io.netty.util.internal.OneTimeTask;
 import io.netty.util.internal.PlatformDependent;
@@ -29,6 +31,7 @@ import java.net.SocketAddress;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.NotYetConnectedException;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -420,6 +423,7 @@ public abstract class AbstractChannel extends DefaultAttributeMap implements Cha
 
         private ChannelOutboundBuffer outboundBuffer = new ChannelOutboundBuffer(AbstractChannel.this);
         private RecvByteBufAllocator.Handle recvHandle;
+        private WriteBatchPolicy.Handle writeBatchHandle;
         private boolean inFlush0;
 
         @Override
@@ -430,6 +434,14 @@ public abstract class AbstractChannel extends DefaultAttributeMap implements Cha
             return recvHandle;
         }
 
+        @Override
+        public WriteBatchPolicy.Handle writeBatchHandle() {
+            if (writeBatchHandle == null) {
+                writeBatchHandle = config().getWriteBatchPolicy().newHandle();
+            }
+            return writeBatchHandle;
+        }
+
         @Override
         public final ChannelHandlerInvoker invoker() {
             // return the unwrapped invoker.
@@ -1001,6 +1013,39 @@ public abstract class AbstractChannel extends DefaultAttributeMap implements Cha
             return unwrap().register(channel, promise);
         }
 
+        @Override
+        public Timeout scheduleCoarse(final TimerTask task, long delay, TimeUnit unit) {
+            if (task == null) {
+                throw new NullPointerException("task");
+            }
+            if (!isAcceptingNewTasks()) {
+                throw new RejectedExecutionException();
+            }
+
+            return unwrap().scheduleCoarse(new TimerTask() {
+                @Override
+                public void run(final Timeout timeout) throws Exception {
+                    EventLoop loop = unwrap();
+                    if (loop.inEventLoop()) {
+                        task.run(timeout);
+                        return;
+                    }
+
+                    // The Channel was moved to another EventLoop in the meantime, so hand the task over.
+                    loop.execute(new OneTimeTask() {
+                        @Override
+                        public void run() {
+                            try {
+                                task.run(timeout);
+                            } catch (Throwable t) {
+                                logger.warn("An exception was thrown by " + TimerTask.class.getSimpleName() + '.', t);
+                            }
+                        }
+                    });
+                }
+            }, delay, unit);
+        }
+
         @Override
         Channel channel() {
             return AbstractChannel.this;
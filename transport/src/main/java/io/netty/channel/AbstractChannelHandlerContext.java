@@ -61,25 +61,6 @@ abstract class AbstractChannelHandlerContext implements ChannelHandlerContext, R
     private static final int MASK_WRITE = 1 << 17;
     private static final int MASK_FLUSH = 1 << 18;
 
-    private static final int MASKGROUP_INBOUND = MASK_EXCEPTION_CAUGHT |
-            MASK_CHANNEL_REGISTERED |
-            MASK_CHANNEL_UNREGISTERED |
-            MASK_CHANNEL_ACTIVE |
-            MASK_CHANNEL_INACTIVE |
-            MASK_CHANNEL_READ |
-            MASK_CHANNEL_READ_COMPLETE |
-            MASK_CHANNEL_WRITABILITY_CHANGED |
-            MASK_USER_EVENT_TRIGGERED;
-
-    private static final int MASKGROUP_OUTBOUND = MASK_BIND |
-            MASK_CONNECT |
-            MASK_DISCONNECT |
-            MASK_CLOSE |
-            MASK_DEREGISTER |
-            MASK_READ |
-            MASK_WRITE |
-            MASK_FLUSH;
-
     /**
      * Cache the result of the costly generation of {@link #skipFlags} in the partitioned synchronized
      * {@link WeakHashMap}.
@@ -343,49 +324,49 @@ abstract class AbstractChannelHandlerContext implements ChannelHandlerContext, R
 
     @Override
     public ChannelHandlerContext fireChannelRegistered() {
-        AbstractChannelHandlerContext next = findContextInbound();
+        AbstractChannelHandlerContext next = findContextInbound(MASK_CHANNEL_REGISTERED);
         next.invoker().invokeChannelRegistered(next);
         return this;
     }
 
     @Override
     public ChannelHandlerContext fireChannelUnregistered() {
-        AbstractChannelHandlerContext next = findContextInbound();
+        AbstractChannelHandlerContext next = findContextInbound(MASK_CHANNEL_UNREGISTERED);
         next.invoker().invokeChannelUnregistered(next);
         return this;
     }
 
     @Override
     public ChannelHandlerContext fireChannelActive() {
-        AbstractChannelHandlerContext next = findContextInbound();
+        AbstractChannelHandlerContext next = findContextInbound(MASK_CHANNEL_ACTIVE);
         next.invoker().invokeChannelActive(next);
         return this;
     }
 
     @Override
     public ChannelHandlerContext fireChannelInactive() {
-        AbstractChannelHandlerContext next = findContextInbound();
+        AbstractChannelHandlerContext next = findContextInbound(MASK_CHANNEL_INACTIVE);
         next.invoker().invokeChannelInactive(next);
         return this;
     }
 
     @Override
     public ChannelHandlerContext fireExceptionCaught(Throwable cause) {
-        AbstractChannelHandlerContext next = findContextInbound();
+        AbstractChannelHandlerContext next = findContextInbound(MASK_EXCEPTION_CAUGHT);
         next.invoker().invokeExceptionCaught(next, cause);
         return this;
     }
 
     @Override
     public ChannelHandlerContext fireUserEventTriggered(Object event) {
-        AbstractChannelHandlerContext next = findContextInbound();
+        AbstractChannelHandlerContext next = findContextInbound(MASK_USER_EVENT_TRIGGERED);
         next.invoker().invokeUserEventTriggered(next, event);
         return this;
     }
 
     @Override
     public ChannelHandlerContext fireChannelRead(Object msg) {
-        AbstractChannelHandlerContext next = findContextInbound();
+        AbstractChannelHandlerContext next = findContextInbound(MASK_CHANNEL_READ);
         ReferenceCountUtil.touch(msg, next);
         next.invoker().invokeChannelRead(next, msg);
         return this;
@@ -393,14 +374,14 @@ abstract class AbstractChannelHandlerContext implements ChannelHandlerContext, R
 
     @Override
     public ChannelHandlerContext fireChannelReadComplete() {
-        AbstractChannelHandlerContext next = findContextInbound();
+        AbstractChannelHandlerContext next = findContextInbound(MASK_CHANNEL_READ_COMPLETE);
         next.invoker().invokeChannelReadComplete(next);
         return this;
     }
 
     @Override
     public ChannelHandlerContext fireChannelWritabilityChanged() {
-        AbstractChannelHandlerContext next = findContextInbound();
+        AbstractChannelHandlerContext next = findContextInbound(MASK_CHANNEL_WRITABILITY_CHANGED);
         next.invoker().invokeChannelWritabilityChanged(next);
         return this;
     }
@@ -437,7 +418,7 @@ abstract class AbstractChannelHandlerContext implements ChannelHandlerContext, R
 
     @Override
     public ChannelFuture bind(final SocketAddress localAddress, final ChannelPromise promise) {
-        AbstractChannelHandlerContext next = findContextOutbound();
+        AbstractChannelHandlerContext next = findContextOutbound(MASK_BIND);
         next.invoker().invokeBind(next, localAddress, promise);
         return promise;
     }
@@ -449,7 +430,7 @@ abstract class AbstractChannelHandlerContext implements ChannelHandlerContext, R
 
     @Override
     public ChannelFuture connect(SocketAddress remoteAddress, SocketAddress localAddress, ChannelPromise promise) {
-        AbstractChannelHandlerContext next = findContextOutbound();
+        AbstractChannelHandlerContext next = findContextOutbound(MASK_CONNECT);
         next.invoker().invokeConnect(next, remoteAddress, localAddress, promise);
         return promise;
     }
@@ -460,28 +441,28 @@ abstract class AbstractChannelHandlerContext implements ChannelHandlerContext, R
             return close(promise);
         }
 
-        AbstractChannelHandlerContext next = findContextOutbound();
+        AbstractChannelHandlerContext next = findContextOutbound(MASK_DISCONNECT);
         next.invoker().invokeDisconnect(next, promise);
         return promise;
     }
 
     @Override
     public ChannelFuture close(ChannelPromise promise) {
-        AbstractChannelHandlerContext next = findContextOutbound();
+        AbstractChannelHandlerContext next = findContextOutbound(MASK_CLOSE);
         next.invoker().invokeClose(next, promise);
         return promise;
     }
 
     @Override
     public ChannelFuture deregister(ChannelPromise promise) {
-        AbstractChannelHandlerContext next = findContextOutbound();
+        AbstractChannelHandlerContext next = findContextOutbound(MASK_DEREGISTER);
         next.invoker().invokeDeregister(next, promise);
         return promise;
     }
 
     @Override
     public ChannelHandlerContext read() {
-        AbstractChannelHandlerContext next = findContextOutbound();
+        AbstractChannelHandlerContext next = findContextOutbound(MASK_READ);
         next.invoker().invokeRead(next);
         return this;
     }
@@ -493,7 +474,7 @@ abstract class AbstractChannelHandlerContext implements ChannelHandlerContext, R
 
     @Override
     public ChannelFuture write(Object msg, ChannelPromise promise) {
-        AbstractChannelHandlerContext next = findContextOutbound();
+        AbstractChannelHandlerContext next = findContextOutbound(MASK_WRITE);
         ReferenceCountUtil.touch(msg, next);
         next.invoker().invokeWrite(next, msg, promise);
         return promise;
@@ -501,7 +482,7 @@ abstract class AbstractChannelHandlerContext implements ChannelHandlerContext, R
 
     @Override
     public ChannelHandlerContext flush() {
-        AbstractChannelHandlerContext next = findContextOutbound();
+        AbstractChannelHandlerContext next = findContextOutbound(MASK_FLUSH);
         next.invoker().invokeFlush(next);
         return this;
     }
@@ -509,10 +490,10 @@ abstract class AbstractChannelHandlerContext implements ChannelHandlerContext, R
     @Override
     public ChannelFuture writeAndFlush(Object msg, ChannelPromise promise) {
         AbstractChannelHandlerContext next;
-        next = findContextOutbound();
+        next = findContextOutbound(MASK_WRITE);
         ReferenceCountUtil.touch(msg, next);
         next.invoker().invokeWrite(next, msg, promise);
-        next = findContextOutbound();
+        next = findContextOutbound(MASK_FLUSH);
         next.invoker().invokeFlush(next);
         return promise;
     }
@@ -546,19 +527,27 @@ abstract class AbstractChannelHandlerContext implements ChannelHandlerContext, R
         return new FailedChannelFuture(channel(), executor(), cause);
     }
 
-    private AbstractChannelHandlerContext findContextInbound() {
+    /**
+     * Returns the next inbound context whose handler does not skip the handler method denoted by {@code mask}, so
+     * that handlers which do not override the method are not even invoked.
+     */
+    private AbstractChannelHandlerContext findContextInbound(int mask) {
         AbstractChannelHandlerContext ctx = this;
         do {
             ctx = ctx.next;
-        } while ((ctx.skipFlags & MASKGROUP_INBOUND) == MASKGROUP_INBOUND);
+        } while ((ctx.skipFlags & mask) != 0);
         return ctx;
     }
 
-    private AbstractChannelHandlerContext findContextOutbound() {
+    /**
+     * Returns the next outbound context whose handler does not skip the handler method denoted by {@code mask}, so
+     * that handlers which do not override the method are not even invoked.
+     */
+    private AbstractChannelHandlerContext findContextOutbound(int mask) {
         AbstractChannelHandlerContext ctx = this;
         do {
             ctx = ctx.prev;
-        } while ((ctx.skipFlags & MASKGROUP_OUTBOUND) == MASKGROUP_OUTBOUND);
+        } while ((ctx.skipFlags & mask) != 0);
         return ctx;
     }
 
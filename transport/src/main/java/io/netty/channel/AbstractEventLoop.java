@@ -16,13 +16,19 @@
 
 package io.netty.channel;
 
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
 import io.netty.util.concurrent.AbstractEventExecutor;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Skeletal implementation of {@link EventLoop}.
  */
 public abstract class AbstractEventLoop extends AbstractEventExecutor implements EventLoop {
 
+    private final CoarseTimerWheel coarseTimer = new CoarseTimerWheel(this);
+
     protected AbstractEventLoop() { }
 
     protected AbstractEventLoop(EventLoopGroup parent) {
@@ -39,6 +45,11 @@ public abstract class AbstractEventLoop extends AbstractEventExecutor implements
         return (EventLoop) super.next();
     }
 
+    @Override
+    public Timeout scheduleCoarse(TimerTask task, long delay, TimeUnit unit) {
+        return coarseTimer.newTimeout(task, delay, unit);
+    }
+
     @Override
     public EventLoop unwrap() {
         return this;
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+/**
+ * Skeletal {@link RecvByteBufAllocator.Handle} implementation which keeps track of the messages and bytes read in
+ * the current read loop, and stops the loop once the read budgets of the {@link ChannelConfig} are exhausted.
+ * Sub-classes only need to predict the size of the next buffer.
+ */
+public abstract class AbstractRecvByteBufAllocatorHandle implements RecvByteBufAllocator.Handle {
+
+    private ChannelConfig config;
+    private int maxMessagesPerRead;
+    private int maxBytesPerRead;
+    private int totalMessages;
+    private int totalBytesRead;
+    private int attemptedBytesRead;
+    private int lastBytesRead;
+
+    @Override
+    public ByteBuf allocate(ByteBufAllocator alloc) {
+        return alloc.ioBuffer(guess());
+    }
+
+    @Override
+    public void reset(ChannelConfig config) {
+        this.config = config;
+        maxMessagesPerRead = config.getMaxMessagesPerRead();
+        maxBytesPerRead = config.getMaxBytesPerRead();
+        totalMessages = 0;
+        totalBytesRead = 0;
+        attemptedBytesRead = 0;
+        lastBytesRead = 0;
+    }
+
+    @Override
+    public final void incMessagesRead(int numMessages) {
+        totalMessages += numMessages;
+    }
+
+    @Override
+    public final void attemptedBytesRead(int bytes) {
+        attemptedBytesRead = bytes;
+    }
+
+    @Override
+    public final int attemptedBytesRead() {
+        return attemptedBytesRead;
+    }
+
+    @Override
+    public final void lastBytesRead(int bytes) {
+        lastBytesRead = bytes;
+        if (bytes > 0) {
+            if (totalBytesRead >= Integer.MAX_VALUE - bytes) {
+                // Avoid overflow.
+                totalBytesRead = Integer.MAX_VALUE;
+            } else {
+                totalBytesRead += bytes;
+            }
+        }
+    }
+
+    @Override
+    public final int lastBytesRead() {
+        return lastBytesRead;
+    }
+
+    @Override
+    public final int totalBytesRead() {
+        return totalBytesRead;
+    }
+
+    @Override
+    public boolean continueReading() {
+        return config.isAutoRead() &&
+               totalMessages < maxMessagesPerRead &&
+               totalBytesRead < maxBytesPerRead &&
+               // A short read means we most likely drained the receive buffer of the socket completely.
+               (attemptedBytesRead == 0 || lastBytesRead == attemptedBytesRead);
+    }
+
+    @Override
+    public void readComplete() {
+        if (totalBytesRead > 0) {
+            record(totalBytesRead);
+        }
+    }
+}
@@ -15,9 +15,6 @@
  */
 package io.netty.channel;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
-
 import java.util.ArrayList;
 import java.util.List;
 
@@ -84,7 +81,7 @@ public class AdaptiveRecvByteBufAllocator implements RecvByteBufAllocator {
         }
     }
 
-    private static final class HandleImpl implements Handle {
+    private static final class HandleImpl extends AbstractRecvByteBufAllocatorHandle {
         private final int minIndex;
         private final int maxIndex;
         private int index;
@@ -99,11 +96,6 @@ public class AdaptiveRecvByteBufAllocator implements RecvByteBufAllocator {
             nextReceiveBufferSize = SIZE_TABLE[index];
         }
 
-        @Override
-        public ByteBuf allocate(ByteBufAllocator alloc) {
-            return alloc.ioBuffer(nextReceiveBufferSize);
-        }
-
         @Override
         public int guess() {
             return nextReceiveBufferSize;
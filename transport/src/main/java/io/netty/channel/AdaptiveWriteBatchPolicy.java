@@ -0,0 +1,121 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+/**
+ * The {@link WriteBatchPolicy} that automatically increases and decreases the number of bytes gathered per write on
+ * feed back.
+ * <p>
+ * It doubles the number of bytes gathered for the next write if the previous write was accepted completely and
+ * gathered (nearly) as much bytes as allowed. It halves the number of bytes if less than half of the gathered bytes
+ * were accepted two times consecutively, which usually means the socket send buffer is smaller than the batch.
+ * Otherwise, it keeps using the same limit. This cuts the churn of partial writes, which have to update the indexes
+ * of all the gathered buffers.
+ */
+public class AdaptiveWriteBatchPolicy implements WriteBatchPolicy {
+
+    static final int DEFAULT_MINIMUM = 4096;
+    static final int DEFAULT_INITIAL = 65536;
+    static final int DEFAULT_MAXIMUM = 4 * 1024 * 1024;
+
+    public static final AdaptiveWriteBatchPolicy DEFAULT = new AdaptiveWriteBatchPolicy();
+
+    private static final class HandleImpl implements Handle {
+        private final long minimum;
+        private final long maximum;
+        private final int maxBuffers;
+        private long maxBytes;
+        private boolean decreaseNow;
+
+        HandleImpl(long minimum, long initial, long maximum, int maxBuffers) {
+            this.minimum = minimum;
+            this.maximum = maximum;
+            this.maxBuffers = maxBuffers;
+            maxBytes = initial;
+        }
+
+        @Override
+        public int maxBuffers() {
+            return maxBuffers;
+        }
+
+        @Override
+        public long maxBytes() {
+            return maxBytes;
+        }
+
+        @Override
+        public void record(long attemptedBytes, long writtenBytes) {
+            if (writtenBytes < attemptedBytes >>> 1) {
+                if (decreaseNow) {
+                    maxBytes = Math.max(maxBytes >>> 1, minimum);
+                    decreaseNow = false;
+                } else {
+                    decreaseNow = true;
+                }
+            } else if (writtenBytes == attemptedBytes && attemptedBytes >= maxBytes - (maxBytes >>> 3)) {
+                maxBytes = Math.min(maxBytes << 1, maximum);
+                decreaseNow = false;
+            }
+        }
+    }
+
+    private final long minimum;
+    private final long initial;
+    private final long maximum;
+    private final int maxBuffers;
+
+    /**
+     * Creates a new policy with the default parameters.  With the default parameters, the number of bytes per
+     * write starts from {@code 65536}, does not go down below {@code 4096}, and does not go up above {@code 4194304}.
+     * Up to {@code 1024} buffers are gathered per write.
+     */
+    private AdaptiveWriteBatchPolicy() {
+        this(DEFAULT_MINIMUM, DEFAULT_INITIAL, DEFAULT_MAXIMUM, FixedWriteBatchPolicy.DEFAULT_MAX_BUFFERS);
+    }
+
+    /**
+     * Creates a new policy with the specified parameters.
+     *
+     * @param minimum  the inclusive lower bound of the number of bytes per write
+     * @param initial  the initial number of bytes per write when no feed back was received
+     * @param maximum  the inclusive upper bound of the number of bytes per write
+     * @param maxBuffers the maximum number of buffers per write
+     */
+    public AdaptiveWriteBatchPolicy(long minimum, long initial, long maximum, int maxBuffers) {
+        if (minimum <= 0) {
+            throw new IllegalArgumentException("minimum: " + minimum);
+        }
+        if (initial < minimum) {
+            throw new IllegalArgumentException("initial: " + initial);
+        }
+        if (maximum < initial) {
+            throw new IllegalArgumentException("maximum: " + maximum);
+        }
+        if (maxBuffers <= 0) {
+            throw new IllegalArgumentException("maxBuffers: " + maxBuffers);
+        }
+        this.minimum = minimum;
+        this.initial = initial;
+        this.maximum = maximum;
+        this.maxBuffers = maxBuffers;
+    }
+
+    @Override
+    public Handle newHandle() {
+        return new HandleImpl(minimum, initial, maximum, maxBuffers);
+    }
+}
@@ -470,6 +470,12 @@ public interface Channel extends AttributeMap, Comparable<Channel> {
          */
         RecvByteBufAllocator.Handle recvBufAllocHandle();
 
+        /**
+         * Return the assigned {@link WriteBatchPolicy.Handle} which limits how many buffers and bytes are gathered
+         * into a single write operation.
+         */
+        WriteBatchPolicy.Handle writeBatchHandle();
+
         /**
          * Returns the {@link ChannelHandlerInvoker} which is used by default unless specified by a user.
          */
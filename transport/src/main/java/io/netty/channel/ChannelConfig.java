@@ -131,6 +131,19 @@ public interface ChannelConfig {
      */
     ChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead);
 
+    /**
+     * Returns the maximum number of bytes to read per read loop.  Once this many bytes were read, the channel
+     * stops reading and gives the other channels of the event loop a chance, even if there is more data to read.
+     * The default value is {@code 1048576}.
+     */
+    int getMaxBytesPerRead();
+
+    /**
+     * Sets the maximum number of bytes to read per read loop.  Once this many bytes were read, the channel
+     * stops reading and gives the other channels of the event loop a chance, even if there is more data to read.
+     */
+    ChannelConfig setMaxBytesPerRead(int maxBytesPerRead);
+
     /**
      * Returns the maximum loop count for a write operation until
      * {@link WritableByteChannel#write(ByteBuffer)} returns a non-zero value.
@@ -176,6 +189,18 @@ public interface ChannelConfig {
      */
     ChannelConfig setRecvByteBufAllocator(RecvByteBufAllocator allocator);
 
+    /**
+     * Returns the {@link WriteBatchPolicy} which limits how many buffers and bytes the channel
+     * gathers into a single write operation.
+     */
+    WriteBatchPolicy getWriteBatchPolicy();
+
+    /**
+     * Set the {@link WriteBatchPolicy} which limits how many buffers and bytes the channel
+     * gathers into a single write operation. The default is {@link FixedWriteBatchPolicy#DEFAULT}.
+     */
+    ChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy);
+
     /**
      * Returns {@code true} if and only if {@link ChannelHandlerContext#read()} will be invoked automatically so that
      * a user application doesn't need to call it at all. The default value is {@code true}.
@@ -220,6 +245,39 @@ public interface ChannelConfig {
      */
     ChannelConfig setWriteBufferLowWaterMark(int writeBufferLowWaterMark);
 
+    /**
+     * Returns the high water mark of the write buffer in messages.  If the number of messages
+     * queued in the write buffer exceeds this value, {@link Channel#isWritable()}
+     * will start to return {@code false}.  The default value is {@link Integer#MAX_VALUE}, which means
+     * only the number of bytes is taken into account.
+     */
+    int getWriteBufferHighWaterMarkMessages();
+
+    /**
+     * Sets the high water mark of the write buffer in messages.  If the number of messages
+     * queued in the write buffer exceeds this value, {@link Channel#isWritable()}
+     * will start to return {@code false}.
+     */
+    ChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages);
+
+    /**
+     * Returns the low water mark of the write buffer in messages.  Once the number of messages
+     * queued in the write buffer exceeded the
+     * {@linkplain #setWriteBufferHighWaterMarkMessages(int) high water mark} and then
+     * dropped down below this value, {@link Channel#isWritable()} will start to return
+     * {@code true} again, unless the water marks in bytes are still exceeded.  The default value is {@code 0}.
+     */
+    int getWriteBufferLowWaterMarkMessages();
+
+    /**
+     * Sets the low water mark of the write buffer in messages.  Once the number of messages
+     * queued in the write buffer exceeded the
+     * {@linkplain #setWriteBufferHighWaterMarkMessages(int) high water mark} and then
+     * dropped down below this value, {@link Channel#isWritable()} will start to return
+     * {@code true} again, unless the water marks in bytes are still exceeded.
+     */
+    ChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages);
+
     /**
      * Returns {@link MessageSizeEstimator} which is used for the channel
      * to detect the size of a message.
@@ -73,18 +73,36 @@ public final class ChannelOutboundBuffer {
     @SuppressWarnings("unused")
     private volatile long totalPendingSize;
 
-    private static final AtomicIntegerFieldUpdater<ChannelOutboundBuffer> WRITABLE_UPDATER;
+    private static final AtomicIntegerFieldUpdater<ChannelOutboundBuffer> TOTAL_PENDING_MESSAGES_UPDATER;
+
+    @SuppressWarnings("unused")
+    private volatile int totalPendingMessages;
+
+    // Bit 0 is set while the pending bytes exceeded the write buffer water mark, bit 31 while the pending messages
+    // exceeded the message water mark, and the bits 1 - 30 are left to the user. See setUserDefinedWritability().
+    private static final int BYTES_UNWRITABLE = 1;
+    private static final int MESSAGES_UNWRITABLE = 1 << 31;
+
+    private static final AtomicIntegerFieldUpdater<ChannelOutboundBuffer> UNWRITABLE_UPDATER;
 
     @SuppressWarnings("FieldMayBeFinal")
-    private volatile int writable = 1;
+    private volatile int unwritable;
 
     static {
-        AtomicIntegerFieldUpdater<ChannelOutboundBuffer> writableUpdater =
-                PlatformDependent.newAtomicIntegerFieldUpdater(ChannelOutboundBuffer.class, "writable");
-        if (writableUpdater == null) {
-            writableUpdater = AtomicIntegerFieldUpdater.newUpdater(ChannelOutboundBuffer.class, "writable");
+        AtomicIntegerFieldUpdater<ChannelOutboundBuffer> unwritableUpdater =
+                PlatformDependent.newAtomicIntegerFieldUpdater(ChannelOutboundBuffer.class, "unwritable");
+        if (unwritableUpdater == null) {
+            unwritableUpdater = AtomicIntegerFieldUpdater.newUpdater(ChannelOutboundBuffer.class, "unwritable");
         }
-        WRITABLE_UPDATER = writableUpdater;
+        UNWRITABLE_UPDATER = unwritableUpdater;
+
+        AtomicIntegerFieldUpdater<ChannelOutboundBuffer> pendingMessagesUpdater =
+                PlatformDependent.newAtomicIntegerFieldUpdater(ChannelOutboundBuffer.class, "totalPendingMessages");
+        if (pendingMessagesUpdater == null) {
+            pendingMessagesUpdater =
+                    AtomicIntegerFieldUpdater.newUpdater(ChannelOutboundBuffer.class, "totalPendingMessages");
+        }
+        TOTAL_PENDING_MESSAGES_UPDATER = pendingMessagesUpdater;
 
         AtomicLongFieldUpdater<ChannelOutboundBuffer> pendingSizeUpdater =
                 PlatformDependent.newAtomicLongFieldUpdater(ChannelOutboundBuffer.class, "totalPendingSize");
@@ -119,6 +137,7 @@ public final class ChannelOutboundBuffer {
         // increment pending bytes after adding message to the unflushed arrays.
         // See https://github.com/netty/netty/issues/1619
         incrementPendingOutboundBytes(size);
+        incrementPendingOutboundMessages();
     }
 
     /**
@@ -142,6 +161,7 @@ public final class ChannelOutboundBuffer {
                     // Was cancelled so make sure we free up memory and notify about the freed bytes
                     int pending = entry.cancel();
                     decrementPendingOutboundBytes(pending);
+                    decrementPendingOutboundMessages();
                 }
                 entry = entry.next;
             } while (entry != null);
@@ -162,9 +182,7 @@ public final class ChannelOutboundBuffer {
 
         long newWriteBufferSize = TOTAL_PENDING_SIZE_UPDATER.addAndGet(this, size);
         if (newWriteBufferSize > channel.config().getWriteBufferHighWaterMark()) {
-            if (WRITABLE_UPDATER.compareAndSet(this, 1, 0)) {
-                channel.pipeline().fireChannelWritabilityChanged();
-            }
+            setUnwritable(BYTES_UNWRITABLE);
         }
     }
 
@@ -179,9 +197,29 @@ public final class ChannelOutboundBuffer {
 
         long newWriteBufferSize = TOTAL_PENDING_SIZE_UPDATER.addAndGet(this, -size);
         if (newWriteBufferSize == 0 || newWriteBufferSize < channel.config().getWriteBufferLowWaterMark()) {
-            if (WRITABLE_UPDATER.compareAndSet(this, 0, 1)) {
-                channel.pipeline().fireChannelWritabilityChanged();
-            }
+            setWritable(BYTES_UNWRITABLE);
+        }
+    }
+
+    /**
+     * Increment the number of pending messages which will be written at some point.
+     * This method is thread-safe!
+     */
+    void incrementPendingOutboundMessages() {
+        int newMessageCount = TOTAL_PENDING_MESSAGES_UPDATER.incrementAndGet(this);
+        if (newMessageCount > channel.config().getWriteBufferHighWaterMarkMessages()) {
+            setUnwritable(MESSAGES_UNWRITABLE);
+        }
+    }
+
+    /**
+     * Decrement the number of pending messages which will be written at some point.
+     * This method is thread-safe!
+     */
+    void decrementPendingOutboundMessages() {
+        int newMessageCount = TOTAL_PENDING_MESSAGES_UPDATER.decrementAndGet(this);
+        if (newMessageCount == 0 || newMessageCount < channel.config().getWriteBufferLowWaterMarkMessages()) {
+            setWritable(MESSAGES_UNWRITABLE);
         }
     }
 
@@ -246,6 +284,7 @@ public final class ChannelOutboundBuffer {
             ReferenceCountUtil.safeRelease(msg);
             safeSuccess(promise);
             decrementPendingOutboundBytes(size);
+            decrementPendingOutboundMessages();
         }
 
         // recycle the entry
@@ -277,6 +316,7 @@ public final class ChannelOutboundBuffer {
 
             safeFail(promise, cause);
             decrementPendingOutboundBytes(size);
+            decrementPendingOutboundMessages();
         }
 
         // recycle the entry
@@ -341,6 +381,30 @@ public final class ChannelOutboundBuffer {
      * </p>
      */
     public ByteBuffer[] nioBuffers() {
+        return nioBuffers(Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns an array of direct NIO buffers if the currently pending messages are made of {@link ByteBuf} only.
+     * {@link #nioBufferCount()} and {@link #nioBufferSize()} will return the number of NIO buffers in the returned
+     * array and the total number of readable bytes of the NIO buffers respectively.
+     * <p>
+     * Unlike {@link #nioBuffers()} this stops gathering once either {@code maxCount} NIO buffers or
+     * {@code maxBytes} bytes were gathered, which are usually obtained from the {@link WriteBatchPolicy.Handle} of
+     * the {@link Channel}. The first message is always gathered, even if it is larger than {@code maxBytes}.
+     * </p>
+     * <p>
+     * Note that the returned array is reused and thus should not escape
+     * {@link AbstractChannel#doWrite(ChannelOutboundBuffer)}.
+     * Refer to {@link NioSocketChannel#doWrite(ChannelOutboundBuffer)} for an example.
+     * </p>
+     *
+     * @param maxCount the maximum number of NIO buffers to gather
+     * @param maxBytes the maximum number of bytes to gather
+     */
+    public ByteBuffer[] nioBuffers(int maxCount, long maxBytes) {
+        assert maxCount > 0;
+        assert maxBytes > 0;
         long nioBufferSize = 0;
         int nioBufferCount = 0;
         final InternalThreadLocalMap threadLocalMap = InternalThreadLocalMap.get();
@@ -353,13 +417,22 @@ public final class ChannelOutboundBuffer {
                 final int readableBytes = buf.writerIndex() - readerIndex;
 
                 if (readableBytes > 0) {
-                    nioBufferSize += readableBytes;
+                    if (maxBytes - readableBytes < nioBufferSize && nioBufferCount != 0) {
+                        // If the nioBufferSize + readableBytes will overflow maxBytes, and there is at least one
+                        // entry we stop populate the ByteBuffer array.
+                        break;
+                    }
                     int count = entry.count;
                     if (count == -1) {
                         //noinspection ConstantValueVariableUse
                         entry.count = count =  buf.nioBufferCount();
                     }
-                    int neededSpace = nioBufferCount + count;
+                    if (count > maxCount - nioBufferCount && nioBufferCount != 0) {
+                        // Gathering this entry would exceed maxCount, so leave it for the next write.
+                        break;
+                    }
+                    nioBufferSize += readableBytes;
+                    int neededSpace = Math.min(maxCount, nioBufferCount + count);
                     if (neededSpace > nioBuffers.length) {
                         nioBuffers = expandNioBufferArray(nioBuffers, neededSpace, nioBufferCount);
                         NIO_BUFFERS.set(threadLocalMap, nioBuffers);
@@ -379,7 +452,18 @@ public final class ChannelOutboundBuffer {
                             // of Object allocation
                             entry.bufs = nioBufs = buf.nioBuffers();
                         }
-                        nioBufferCount = fillBufferArray(nioBufs, nioBuffers, nioBufferCount);
+                        int start = nioBufferCount;
+                        nioBufferCount = fillBufferArray(nioBufs, nioBuffers, nioBufferCount, maxCount);
+                        if (nioBufferCount - start < count) {
+                            // Only a part of the buffer fits, so only count the bytes which were gathered.
+                            nioBufferSize -= readableBytes;
+                            for (int i = start; i < nioBufferCount; i ++) {
+                                nioBufferSize += nioBuffers[i].remaining();
+                            }
+                        }
+                    }
+                    if (nioBufferCount == maxCount) {
+                        break;
                     }
                 }
             }
@@ -391,9 +475,10 @@ public final class ChannelOutboundBuffer {
         return nioBuffers;
     }
 
-    private static int fillBufferArray(ByteBuffer[] nioBufs, ByteBuffer[] nioBuffers, int nioBufferCount) {
+    private static int fillBufferArray(ByteBuffer[] nioBufs, ByteBuffer[] nioBuffers, int nioBufferCount,
+                                       int maxCount) {
         for (ByteBuffer nioBuf: nioBufs) {
-            if (nioBuf == null) {
+            if (nioBuf == null || nioBufferCount == maxCount) {
                 break;
             }
             nioBuffers[nioBufferCount ++] = nioBuf;
@@ -439,7 +524,74 @@ public final class ChannelOutboundBuffer {
     }
 
     boolean isWritable() {
-        return writable != 0;
+        return unwritable == 0;
+    }
+
+    /**
+     * Returns {@code true} if and only if the user-defined writability flag at the specified index is set to
+     * {@code true}.
+     *
+     * @param index a value in the range of {@code 1} to {@code 30}
+     */
+    public boolean getUserDefinedWritability(int index) {
+        return (unwritable & writabilityMask(index)) == 0;
+    }
+
+    /**
+     * Sets a user-defined writability flag at the specified index. {@link Channel#isWritable()} returns
+     * {@code true} only if the water marks are not exceeded and all user-defined writability flags are
+     * {@code true}, so handlers can apply their own back-pressure (like a traffic shaper or a stream which ran out
+     * of flow-control window) without messing with the write buffer water marks. Every change of
+     * {@link Channel#isWritable()} is signalled via {@link ChannelPipeline#fireChannelWritabilityChanged()}.
+     * This method is thread-safe!
+     *
+     * @param index a value in the range of {@code 1} to {@code 30}
+     */
+    public void setUserDefinedWritability(int index, boolean writable) {
+        if (writable) {
+            setWritable(writabilityMask(index));
+        } else {
+            setUnwritable(writabilityMask(index));
+        }
+    }
+
+    private static int writabilityMask(int index) {
+        if (index < 1 || index > 30) {
+            throw new IllegalArgumentException("index: " + index + " (expected: 1~30)");
+        }
+        return 1 << index;
+    }
+
+    private void setWritable(int mask) {
+        for (;;) {
+            final int oldValue = unwritable;
+            if ((oldValue & mask) == 0) {
+                return;
+            }
+            final int newValue = oldValue & ~mask;
+            if (UNWRITABLE_UPDATER.compareAndSet(this, oldValue, newValue)) {
+                if (newValue == 0) {
+                    channel.pipeline().fireChannelWritabilityChanged();
+                }
+                return;
+            }
+        }
+    }
+
+    private void setUnwritable(int mask) {
+        for (;;) {
+            final int oldValue = unwritable;
+            if ((oldValue & mask) != 0) {
+                return;
+            }
+            final int newValue = oldValue | mask;
+            if (UNWRITABLE_UPDATER.compareAndSet(this, oldValue, newValue)) {
+                if (oldValue == 0) {
+                    channel.pipeline().fireChannelWritabilityChanged();
+                }
+                return;
+            }
+        }
     }
 
     /**
@@ -509,6 +661,7 @@ public final class ChannelOutboundBuffer {
                 TOTAL_PENDING_SIZE_UPDATER.addAndGet(this, -size);
 
                 if (!e.cancelled) {
+                    TOTAL_PENDING_MESSAGES_UPDATER.decrementAndGet(this);
                     ReferenceCountUtil.safeRelease(e.msg);
                     safeFail(e.promise, cause);
                 }
@@ -540,6 +693,13 @@ public final class ChannelOutboundBuffer {
         return totalPendingSize;
     }
 
+    /**
+     * Returns the number of messages which are pending to be written, flushed or not.
+     */
+    public int totalPendingWriteMessages() {
+        return totalPendingMessages;
+    }
+
     /**
      * Call {@link MessageProcessor#processMessage(Object)} for each flushed message
      * in this {@link ChannelOutboundBuffer} until {@link MessageProcessor#processMessage(Object)}
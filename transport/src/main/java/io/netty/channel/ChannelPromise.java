@@ -63,6 +63,8 @@ public interface ChannelPromise extends ChannelFuture, Promise<Void> {
 
     /**
      * Returns a new {@link ChannelPromise} if {@link #isVoid()} returns {@code true} otherwise itself.
+     * The promise returned for a void promise may be pooled, so do not keep a reference to it once it is done and
+     * your listeners were notified.
      */
     ChannelPromise unvoid();
 }
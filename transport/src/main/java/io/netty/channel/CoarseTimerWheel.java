@@ -0,0 +1,405 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.StringUtil;
+import io.netty.util.internal.SystemPropertyUtil;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A coarse-grained timer wheel which is owned by a single {@link EventExecutor} and only ever touched from its
+ * thread. Timeouts are kept in intrusive doubly-linked buckets, so inserting and cancelling them is O(1), and the
+ * whole wheel is driven by a single scheduled task which only exists while there are pending timeouts.
+ *
+ * Timeouts never expire before their deadline but may expire up to one tick duration late.
+ *
+ * @see EventLoop#scheduleCoarse(TimerTask, long, TimeUnit)
+ */
+final class CoarseTimerWheel implements Timer {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(CoarseTimerWheel.class);
+
+    static final long DEFAULT_TICK_DURATION_NANOS = TimeUnit.MILLISECONDS.toNanos(Math.max(1,
+            SystemPropertyUtil.getLong("io.netty.eventLoop.coarseTimerTickMillis", 100)));
+    static final int DEFAULT_TICKS_PER_WHEEL = Math.max(16,
+            SystemPropertyUtil.getInt("io.netty.eventLoop.coarseTimerTicksPerWheel", 512));
+
+    static {
+        if (logger.isDebugEnabled()) {
+            logger.debug("-Dio.netty.eventLoop.coarseTimerTickMillis: {}",
+                    TimeUnit.NANOSECONDS.toMillis(DEFAULT_TICK_DURATION_NANOS));
+            logger.debug("-Dio.netty.eventLoop.coarseTimerTicksPerWheel: {}", DEFAULT_TICKS_PER_WHEEL);
+        }
+    }
+
+    private final EventExecutor executor;
+    private final long tickDuration;
+    private final int ticksPerWheel;
+    private final long startTime = System.nanoTime();
+    private final Runnable tickTask = new Runnable() {
+        @Override
+        public void run() {
+            tick();
+        }
+    };
+
+    // All of the following fields are only accessed from the executor thread.
+    private CoarseTimeout[] wheel;
+    private int mask;
+    private long currentTick;
+    private int pendingTimeouts;
+    private boolean ticking;
+
+    CoarseTimerWheel(EventExecutor executor) {
+        this(executor, DEFAULT_TICK_DURATION_NANOS, TimeUnit.NANOSECONDS, DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    CoarseTimerWheel(EventExecutor executor, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (executor == null) {
+            throw new NullPointerException("executor");
+        }
+        if (unit == null) {
+            throw new NullPointerException("unit");
+        }
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("ticksPerWheel must be greater than 0: " + ticksPerWheel);
+        }
+        if (ticksPerWheel > 1073741824) {
+            throw new IllegalArgumentException("ticksPerWheel may not be greater than 2^30: " + ticksPerWheel);
+        }
+
+        this.executor = executor;
+        this.tickDuration = unit.toNanos(tickDuration);
+        int normalized = 1;
+        while (normalized < ticksPerWheel) {
+            normalized <<= 1;
+        }
+        this.ticksPerWheel = normalized;
+    }
+
+    @Override
+    public Timeout newTimeout(TimerTask task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        if (unit == null) {
+            throw new NullPointerException("unit");
+        }
+
+        long deadline = System.nanoTime() + Math.max(0, unit.toNanos(delay));
+        final CoarseTimeout timeout = new CoarseTimeout(this, task, deadline);
+        if (executor.inEventLoop()) {
+            add(timeout);
+        } else {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    add(timeout);
+                }
+            });
+        }
+        return timeout;
+    }
+
+    /**
+     * Cancels all pending timeouts. Must be called from the thread of the owning {@link EventExecutor}.
+     */
+    @Override
+    public Set<Timeout> stop() {
+        if (!executor.inEventLoop()) {
+            throw new IllegalStateException(
+                    CoarseTimerWheel.class.getSimpleName() + ".stop() must be called from the event loop");
+        }
+        CoarseTimeout[] wheel = this.wheel;
+        if (wheel == null || pendingTimeouts == 0) {
+            return Collections.emptySet();
+        }
+        Set<Timeout> cancelled = new HashSet<Timeout>();
+        for (CoarseTimeout head: wheel) {
+            CoarseTimeout timeout = head;
+            while (timeout != null) {
+                CoarseTimeout next = timeout.next;
+                remove(timeout);
+                if (timeout.compareAndSetState(CoarseTimeout.ST_INIT, CoarseTimeout.ST_CANCELLED)) {
+                    cancelled.add(timeout);
+                }
+                timeout = next;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Returns the number of timeouts which are currently linked into the wheel. Must be called from the thread of
+     * the owning {@link EventExecutor}.
+     */
+    int pendingTimeouts() {
+        return pendingTimeouts;
+    }
+
+    private long tickOf(long nanoTime) {
+        return (nanoTime - startTime) / tickDuration;
+    }
+
+    private void add(CoarseTimeout timeout) {
+        if (timeout.state() != CoarseTimeout.ST_INIT) {
+            // Cancelled before we had a chance to add it.
+            return;
+        }
+
+        CoarseTimeout[] wheel = this.wheel;
+        if (wheel == null) {
+            this.wheel = wheel = new CoarseTimeout[ticksPerWheel];
+            mask = wheel.length - 1;
+        }
+
+        if (!ticking) {
+            long now = System.nanoTime();
+            currentTick = tickOf(now);
+            ticking = true;
+            executor.schedule(tickTask, startTime + (currentTick + 1) * tickDuration - now, TimeUnit.NANOSECONDS);
+        }
+
+        // Round up so a timeout never expires before its deadline.
+        long deadlineTick = (timeout.deadline - startTime + tickDuration - 1) / tickDuration;
+        if (deadlineTick <= currentTick) {
+            deadlineTick = currentTick + 1;
+        }
+        timeout.deadlineTick = deadlineTick;
+
+        int idx = (int) (deadlineTick & mask);
+        CoarseTimeout head = wheel[idx];
+        timeout.bucket = idx;
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        wheel[idx] = timeout;
+        pendingTimeouts ++;
+    }
+
+    private void remove(CoarseTimeout timeout) {
+        int idx = timeout.bucket;
+        if (idx < 0) {
+            // Not linked (anymore).
+            return;
+        }
+        CoarseTimeout prev = timeout.prev;
+        CoarseTimeout next = timeout.next;
+        if (prev == null) {
+            wheel[idx] = next;
+        } else {
+            prev.next = next;
+        }
+        if (next != null) {
+            next.prev = prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+        pendingTimeouts --;
+    }
+
+    private void tick() {
+        final long now = System.nanoTime();
+        final long tick = tickOf(now);
+        final long lastTick = currentTick;
+        // Advance before running any task so timeouts added by a TimerTask always land in a future tick.
+        currentTick = tick;
+
+        // If the executor fell behind by more than one rotation every bucket is visited only once.
+        long ticks = Math.min(tick - lastTick, ticksPerWheel);
+        CoarseTimeout expired = null;
+        for (long i = 1; i <= ticks; i ++) {
+            expired = unlinkExpired((int) ((lastTick + i) & mask), tick, expired);
+        }
+
+        // Run the tasks only after all buckets were processed as a TimerTask may add or cancel timeouts.
+        while (expired != null) {
+            CoarseTimeout next = expired.next;
+            expired.next = null;
+            expired.expire();
+            expired = next;
+        }
+
+        if (pendingTimeouts == 0) {
+            ticking = false;
+        } else {
+            executor.schedule(tickTask, startTime + (currentTick + 1) * tickDuration - System.nanoTime(),
+                    TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private CoarseTimeout unlinkExpired(int idx, long tick, CoarseTimeout expired) {
+        CoarseTimeout timeout = wheel[idx];
+        while (timeout != null) {
+            CoarseTimeout next = timeout.next;
+            if (timeout.deadlineTick <= tick) {
+                remove(timeout);
+                timeout.next = expired;
+                expired = timeout;
+            }
+            timeout = next;
+        }
+        return expired;
+    }
+
+    private static final class CoarseTimeout implements Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<CoarseTimeout> STATE_UPDATER;
+
+        static {
+            AtomicIntegerFieldUpdater<CoarseTimeout> updater =
+                    PlatformDependent.newAtomicIntegerFieldUpdater(CoarseTimeout.class, "state");
+            if (updater == null) {
+                updater = AtomicIntegerFieldUpdater.newUpdater(CoarseTimeout.class, "state");
+            }
+            STATE_UPDATER = updater;
+        }
+
+        private final CoarseTimerWheel timer;
+        private final TimerTask task;
+        private final long deadline;
+
+        @SuppressWarnings({"unused", "FieldMayBeFinal", "RedundantFieldInitialization" })
+        private volatile int state = ST_INIT;
+
+        // Only accessed from the executor thread.
+        long deadlineTick;
+        int bucket = -1;
+        CoarseTimeout next;
+        CoarseTimeout prev;
+
+        CoarseTimeout(CoarseTimerWheel timer, TimerTask task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Timer timer() {
+            return timer;
+        }
+
+        @Override
+        public TimerTask task() {
+            return task;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!compareAndSetState(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+
+            if (timer.executor.inEventLoop()) {
+                timer.remove(this);
+            } else {
+                try {
+                    timer.executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            timer.remove(CoarseTimeout.this);
+                        }
+                    });
+                } catch (RejectedExecutionException ignore) {
+                    // The executor was shut down, so the timeout will never expire anyway.
+                }
+            }
+            return true;
+        }
+
+        boolean compareAndSetState(int expected, int state) {
+            return STATE_UPDATER.compareAndSet(this, expected, state);
+        }
+
+        int state() {
+            return state;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state() == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state() == ST_EXPIRED;
+        }
+
+        void expire() {
+            if (!compareAndSetState(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+
+            try {
+                task.run(this);
+            } catch (Throwable t) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("An exception was thrown by " + TimerTask.class.getSimpleName() + '.', t);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            final long remaining = deadline - System.nanoTime();
+
+            StringBuilder buf = new StringBuilder(192)
+                    .append(StringUtil.simpleClassName(this))
+                    .append('(')
+                    .append("deadline: ");
+            if (remaining > 0) {
+                buf.append(remaining)
+                   .append(" ns later");
+            } else if (remaining < 0) {
+                buf.append(-remaining)
+                   .append(" ns ago");
+            } else {
+                buf.append("now");
+            }
+
+            if (isCancelled()) {
+                buf.append(", cancelled");
+            }
+
+            return buf.append(", task: ")
+                      .append(task())
+                      .append(')')
+                      .toString();
+        }
+    }
+}
@@ -36,6 +36,7 @@ public class DefaultChannelConfig implements ChannelConfig {
     private static final MessageSizeEstimator DEFAULT_MSG_SIZE_ESTIMATOR = DefaultMessageSizeEstimator.DEFAULT;
 
     private static final int DEFAULT_CONNECT_TIMEOUT = 30000;
+    private static final int DEFAULT_MAX_BYTES_PER_READ = 1024 * 1024;
 
     private static final AtomicIntegerFieldUpdater<DefaultChannelConfig> AUTOREAD_UPDATER;
 
@@ -53,13 +54,17 @@ public class DefaultChannelConfig implements ChannelConfig {
     private volatile ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
     private volatile RecvByteBufAllocator rcvBufAllocator = DEFAULT_RCVBUF_ALLOCATOR;
     private volatile MessageSizeEstimator msgSizeEstimator = DEFAULT_MSG_SIZE_ESTIMATOR;
+    private volatile WriteBatchPolicy writeBatchPolicy = FixedWriteBatchPolicy.DEFAULT;
 
     private volatile int connectTimeoutMillis = DEFAULT_CONNECT_TIMEOUT;
     private volatile int maxMessagesPerRead;
+    private volatile int maxBytesPerRead = DEFAULT_MAX_BYTES_PER_READ;
     private volatile int writeSpinCount = 16;
     private volatile int autoRead = 1;
     private volatile int writeBufferHighWaterMark = 64 * 1024;
     private volatile int writeBufferLowWaterMark = 32 * 1024;
+    private volatile int writeBufferHighWaterMarkMessages = Integer.MAX_VALUE;
+    private volatile int writeBufferLowWaterMarkMessages;
 
     public DefaultChannelConfig(Channel channel) {
         if (channel == null) {
@@ -82,9 +87,10 @@ public class DefaultChannelConfig implements ChannelConfig {
     public Map<ChannelOption<?>, Object> getOptions() {
         return getOptions(
                 null,
-                CONNECT_TIMEOUT_MILLIS, MAX_MESSAGES_PER_READ, WRITE_SPIN_COUNT,
+                CONNECT_TIMEOUT_MILLIS, MAX_MESSAGES_PER_READ, MAX_BYTES_PER_READ, WRITE_SPIN_COUNT,
                 ALLOCATOR, AUTO_READ, RCVBUF_ALLOCATOR, WRITE_BUFFER_HIGH_WATER_MARK,
-                WRITE_BUFFER_LOW_WATER_MARK, MESSAGE_SIZE_ESTIMATOR);
+                WRITE_BUFFER_LOW_WATER_MARK, WRITE_BUFFER_HIGH_WATER_MARK_MESSAGES,
+                WRITE_BUFFER_LOW_WATER_MARK_MESSAGES, MESSAGE_SIZE_ESTIMATOR, WRITE_BATCH_POLICY);
     }
 
     protected Map<ChannelOption<?>, Object> getOptions(
@@ -128,6 +134,9 @@ public class DefaultChannelConfig implements ChannelConfig {
         if (option == MAX_MESSAGES_PER_READ) {
             return (T) Integer.valueOf(getMaxMessagesPerRead());
         }
+        if (option == MAX_BYTES_PER_READ) {
+            return (T) Integer.valueOf(getMaxBytesPerRead());
+        }
         if (option == WRITE_SPIN_COUNT) {
             return (T) Integer.valueOf(getWriteSpinCount());
         }
@@ -146,9 +155,18 @@ public class DefaultChannelConfig implements ChannelConfig {
         if (option == WRITE_BUFFER_LOW_WATER_MARK) {
             return (T) Integer.valueOf(getWriteBufferLowWaterMark());
         }
+        if (option == WRITE_BUFFER_HIGH_WATER_MARK_MESSAGES) {
+            return (T) Integer.valueOf(getWriteBufferHighWaterMarkMessages());
+        }
+        if (option == WRITE_BUFFER_LOW_WATER_MARK_MESSAGES) {
+            return (T) Integer.valueOf(getWriteBufferLowWaterMarkMessages());
+        }
         if (option == MESSAGE_SIZE_ESTIMATOR) {
             return (T) getMessageSizeEstimator();
         }
+        if (option == WRITE_BATCH_POLICY) {
+            return (T) getWriteBatchPolicy();
+        }
         return null;
     }
 
@@ -160,6 +178,8 @@ public class DefaultChannelConfig implements ChannelConfig {
             setConnectTimeoutMillis((Integer) value);
         } else if (option == MAX_MESSAGES_PER_READ) {
             setMaxMessagesPerRead((Integer) value);
+        } else if (option == MAX_BYTES_PER_READ) {
+            setMaxBytesPerRead((Integer) value);
         } else if (option == WRITE_SPIN_COUNT) {
             setWriteSpinCount((Integer) value);
         } else if (option == ALLOCATOR) {
@@ -172,8 +192,14 @@ public class DefaultChannelConfig implements ChannelConfig {
             setWriteBufferHighWaterMark((Integer) value);
         } else if (option == WRITE_BUFFER_LOW_WATER_MARK) {
             setWriteBufferLowWaterMark((Integer) value);
+        } else if (option == WRITE_BUFFER_HIGH_WATER_MARK_MESSAGES) {
+            setWriteBufferHighWaterMarkMessages((Integer) value);
+        } else if (option == WRITE_BUFFER_LOW_WATER_MARK_MESSAGES) {
+            setWriteBufferLowWaterMarkMessages((Integer) value);
         } else if (option == MESSAGE_SIZE_ESTIMATOR) {
             setMessageSizeEstimator((MessageSizeEstimator) value);
+        } else if (option == WRITE_BATCH_POLICY) {
+            setWriteBatchPolicy((WriteBatchPolicy) value);
         } else {
             return false;
         }
@@ -217,6 +243,20 @@ public class DefaultChannelConfig implements ChannelConfig {
         return this;
     }
 
+    @Override
+    public int getMaxBytesPerRead() {
+        return maxBytesPerRead;
+    }
+
+    @Override
+    public ChannelConfig setMaxBytesPerRead(int maxBytesPerRead) {
+        if (maxBytesPerRead <= 0) {
+            throw new IllegalArgumentException("maxBytesPerRead: " + maxBytesPerRead + " (expected: > 0)");
+        }
+        this.maxBytesPerRead = maxBytesPerRead;
+        return this;
+    }
+
     @Override
     public int getWriteSpinCount() {
         return writeSpinCount;
@@ -260,6 +300,20 @@ public class DefaultChannelConfig implements ChannelConfig {
         return this;
     }
 
+    @Override
+    public WriteBatchPolicy getWriteBatchPolicy() {
+        return writeBatchPolicy;
+    }
+
+    @Override
+    public ChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy) {
+        if (policy == null) {
+            throw new NullPointerException("policy");
+        }
+        writeBatchPolicy = policy;
+        return this;
+    }
+
     @Override
     public boolean isAutoRead() {
         return autoRead == 1;
@@ -324,6 +378,48 @@ public class DefaultChannelConfig implements ChannelConfig {
         return this;
     }
 
+    @Override
+    public int getWriteBufferHighWaterMarkMessages() {
+        return writeBufferHighWaterMarkMessages;
+    }
+
+    @Override
+    public ChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages) {
+        if (writeBufferHighWaterMarkMessages < getWriteBufferLowWaterMarkMessages()) {
+            throw new IllegalArgumentException(
+                    "writeBufferHighWaterMarkMessages cannot be less than " +
+                            "writeBufferLowWaterMarkMessages (" + getWriteBufferLowWaterMarkMessages() + "): " +
+                            writeBufferHighWaterMarkMessages);
+        }
+        if (writeBufferHighWaterMarkMessages < 0) {
+            throw new IllegalArgumentException(
+                    "writeBufferHighWaterMarkMessages must be >= 0");
+        }
+        this.writeBufferHighWaterMarkMessages = writeBufferHighWaterMarkMessages;
+        return this;
+    }
+
+    @Override
+    public int getWriteBufferLowWaterMarkMessages() {
+        return writeBufferLowWaterMarkMessages;
+    }
+
+    @Override
+    public ChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages) {
+        if (writeBufferLowWaterMarkMessages > getWriteBufferHighWaterMarkMessages()) {
+            throw new IllegalArgumentException(
+                    "writeBufferLowWaterMarkMessages cannot be greater than " +
+                            "writeBufferHighWaterMarkMessages (" + getWriteBufferHighWaterMarkMessages() + "): " +
+                            writeBufferLowWaterMarkMessages);
+        }
+        if (writeBufferLowWaterMarkMessages < 0) {
+            throw new IllegalArgumentException(
+                    "writeBufferLowWaterMarkMessages must be >= 0");
+        }
+        this.writeBufferLowWaterMarkMessages = writeBufferLowWaterMarkMessages;
+        return this;
+    }
+
     @Override
     public MessageSizeEstimator getMessageSizeEstimator() {
         return msgSizeEstimator;
@@ -16,8 +16,12 @@
 
 package io.netty.channel;
 
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
 import io.netty.util.concurrent.EventExecutor;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Will handle all the I/O-Operations for a {@link Channel} once it was registered.
  *
@@ -37,4 +41,16 @@ public interface EventLoop extends EventExecutor, EventLoopGroup {
      * invoke event handler methods.
      */
     ChannelHandlerInvoker asInvoker();
+
+    /**
+     * Schedules the given {@link TimerTask} for one-time execution by this {@link EventLoop} after the given delay.
+     * Unlike {@link #schedule(Runnable, long, TimeUnit)} the task is kept in a coarse-grained timer wheel which is
+     * owned by this {@link EventLoop}, so adding and cancelling it is O(1). The task never runs before its deadline
+     * but may run up to one tick late, which makes this the method of choice for per-{@link Channel} timeouts
+     * which are usually cancelled or rescheduled long before they expire.
+     *
+     * The length of a tick can be adjusted with {@code -Dio.netty.eventLoop.coarseTimerTickMillis} and defaults to
+     * {@code 100} milliseconds.
+     */
+    Timeout scheduleCoarse(TimerTask task, long delay, TimeUnit unit);
 }
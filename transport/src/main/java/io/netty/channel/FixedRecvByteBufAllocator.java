@@ -15,17 +15,13 @@
  */
 package io.netty.channel;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
-
-
 /**
  * The {@link RecvByteBufAllocator} that always yields the same buffer
  * size prediction.  This predictor ignores the feed back from the I/O thread.
  */
 public class FixedRecvByteBufAllocator implements RecvByteBufAllocator {
 
-    private static final class HandleImpl implements Handle {
+    private static final class HandleImpl extends AbstractRecvByteBufAllocatorHandle {
 
         private final int bufferSize;
 
@@ -33,11 +29,6 @@ public class FixedRecvByteBufAllocator implements RecvByteBufAllocator {
             this.bufferSize = bufferSize;
         }
 
-        @Override
-        public ByteBuf allocate(ByteBufAllocator alloc) {
-            return alloc.ioBuffer(bufferSize);
-        }
-
         @Override
         public int guess() {
             return bufferSize;
@@ -47,7 +38,7 @@ public class FixedRecvByteBufAllocator implements RecvByteBufAllocator {
         public void record(int actualReadBytes) { }
     }
 
-    private final Handle handle;
+    private final int bufferSize;
 
     /**
      * Creates a new predictor that always returns the same prediction of
@@ -59,11 +50,11 @@ public class FixedRecvByteBufAllocator implements RecvByteBufAllocator {
                     "bufferSize must greater than 0: " + bufferSize);
         }
 
-        handle = new HandleImpl(bufferSize);
+        this.bufferSize = bufferSize;
     }
 
     @Override
     public Handle newHandle() {
-        return handle;
+        return new HandleImpl(bufferSize);
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+/**
+ * The {@link WriteBatchPolicy} that always uses the same limits.  This policy ignores the feed back from the I/O
+ * thread.
+ */
+public class FixedWriteBatchPolicy implements WriteBatchPolicy {
+
+    /**
+     * The default number of buffers per gathering write, which matches the {@code IOV_MAX} of most platforms.
+     */
+    static final int DEFAULT_MAX_BUFFERS = 1024;
+
+    /**
+     * The {@link FixedWriteBatchPolicy} which does not limit the number of bytes and gathers up to {@code 1024}
+     * buffers per write.
+     */
+    public static final FixedWriteBatchPolicy DEFAULT = new FixedWriteBatchPolicy(Long.MAX_VALUE, DEFAULT_MAX_BUFFERS);
+
+    private static final class HandleImpl implements Handle {
+
+        private final long maxBytes;
+        private final int maxBuffers;
+
+        HandleImpl(long maxBytes, int maxBuffers) {
+            this.maxBytes = maxBytes;
+            this.maxBuffers = maxBuffers;
+        }
+
+        @Override
+        public int maxBuffers() {
+            return maxBuffers;
+        }
+
+        @Override
+        public long maxBytes() {
+            return maxBytes;
+        }
+
+        @Override
+        public void record(long attemptedBytes, long writtenBytes) { }
+    }
+
+    private final Handle handle;
+
+    /**
+     * Creates a new policy that always gathers at most the given number of bytes and buffers per write.
+     */
+    public FixedWriteBatchPolicy(long maxBytes, int maxBuffers) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "maxBytes must greater than 0: " + maxBytes);
+        }
+        if (maxBuffers <= 0) {
+            throw new IllegalArgumentException(
+                    "maxBuffers must greater than 0: " + maxBuffers);
+        }
+
+        handle = new HandleImpl(maxBytes, maxBuffers);
+    }
+
+    @Override
+    public Handle newHandle() {
+        return handle;
+    }
+}
@@ -88,6 +88,7 @@ public final class PendingWriteQueue {
         }
         size ++;
         buffer.incrementPendingOutboundBytes(write.size);
+        buffer.incrementPendingOutboundMessages();
     }
 
     /**
@@ -220,6 +221,7 @@ public final class PendingWriteQueue {
         PendingWrite next = write.next;
 
         buffer.decrementPendingOutboundBytes(write.size);
+        buffer.decrementPendingOutboundMessages();
         write.recycle();
         size --;
         if (next == null) {
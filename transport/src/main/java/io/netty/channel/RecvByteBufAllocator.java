@@ -50,5 +50,62 @@ public interface RecvByteBufAllocator {
          * @param actualReadBytes the actual number of read bytes in the previous read operation
          */
         void record(int actualReadBytes);
+
+        /**
+         * Resets the counters of this handle before a new read loop starts, taking the read budgets from the given
+         * {@link ChannelConfig}.
+         *
+         * @see ChannelConfig#getMaxMessagesPerRead()
+         * @see ChannelConfig#getMaxBytesPerRead()
+         */
+        void reset(ChannelConfig config);
+
+        /**
+         * Increments the number of messages which were read in the current read loop.
+         */
+        void incMessagesRead(int numMessages);
+
+        /**
+         * Sets the number of bytes which the transport tried to read in the current read operation, which usually
+         * is the number of writable bytes of the buffer. If this is not called in the current read loop,
+         * {@link #continueReading()} only checks the read budgets. This is the case for message-oriented transports,
+         * as a short read does not tell anything about the remaining messages.
+         */
+        void attemptedBytesRead(int bytes);
+
+        /**
+         * Returns the number of bytes which the transport tried to read in the current read operation.
+         */
+        int attemptedBytesRead();
+
+        /**
+         * Sets the number of bytes which were read by the current read operation, and adds it to the total number
+         * of bytes read in the current read loop.
+         */
+        void lastBytesRead(int bytes);
+
+        /**
+         * Returns the number of bytes which were read by the current read operation.
+         */
+        int lastBytesRead();
+
+        /**
+         * Returns the total number of bytes which were read in the current read loop.
+         */
+        int totalBytesRead();
+
+        /**
+         * Returns {@code true} if the current read loop should continue. This is the case if
+         * {@link ChannelConfig#isAutoRead()} is {@code true}, neither the message nor the byte budget of this read
+         * loop is exhausted, and the last read operation filled the buffer completely, which means there might be
+         * more data to read.
+         */
+        boolean continueReading();
+
+        /**
+         * Notifies this handle that the current read loop is done, so the size of the next buffers can be adjusted
+         * according to the number of bytes read.
+         */
+        void readComplete();
     }
 }
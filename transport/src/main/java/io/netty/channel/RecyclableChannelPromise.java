@@ -0,0 +1,234 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.channel.ChannelFlushPromiseNotifier.FlushCheckpoint;
+import io.netty.util.Recycler;
+import io.netty.util.Recycler.Handle;
+import io.netty.util.ResourceLeakDetector;
+import io.netty.util.concurrent.DefaultPromise;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+
+/**
+ * A {@link ChannelPromise} which is handed back to a {@link Recycler} once it is done and all of its listeners were
+ * notified. It is returned by {@link VoidChannelPromise#unvoid()}: the caller of the operation discarded the future
+ * by passing a void promise, so the only parties which may hold a reference are the handlers that needed to listen
+ * to the outcome.
+ *
+ * Handlers must not keep a reference to the promise once their listener was notified. When the leak detection level
+ * is {@link ResourceLeakDetector.Level#PARANOID} the promise is never reused, and touching it after it was released
+ * raises an {@link IllegalStateException} instead of silently interfering with an unrelated operation.
+ */
+final class RecyclableChannelPromise extends DefaultPromise<Void> implements ChannelPromise, FlushCheckpoint {
+
+    private static final Recycler<RecyclableChannelPromise> RECYCLER = new Recycler<RecyclableChannelPromise>() {
+        @Override
+        protected RecyclableChannelPromise newObject(Handle<RecyclableChannelPromise> handle) {
+            return new RecyclableChannelPromise(handle);
+        }
+    };
+
+    private final Handle<RecyclableChannelPromise> handle;
+    private Channel channel;
+    private boolean fireException;
+    private long checkpoint;
+    private boolean recycled;
+
+    static RecyclableChannelPromise newInstance(Channel channel, boolean fireException) {
+        RecyclableChannelPromise promise = RECYCLER.get();
+        promise.channel = channel;
+        promise.fireException = fireException;
+        promise.recycled = false;
+        return promise;
+    }
+
+    private RecyclableChannelPromise(Handle<RecyclableChannelPromise> handle) {
+        this.handle = handle;
+    }
+
+    @Override
+    protected EventExecutor executor() {
+        return channel().eventLoop();
+    }
+
+    @Override
+    public Channel channel() {
+        ensureNotRecycled();
+        return channel;
+    }
+
+    @Override
+    protected void listenersNotified() {
+        Throwable cause = cause();
+        if (cause != null && fireException && channel.isRegistered()) {
+            // Same as VoidChannelPromise: nobody else is interested in the outcome, so make the failure visible.
+            channel.pipeline().fireExceptionCaught(cause);
+        }
+
+        recycled = true;
+        if (ResourceLeakDetector.getLevel() == ResourceLeakDetector.Level.PARANOID) {
+            // Keep the instance out of the pool so any later access is detected by ensureNotRecycled().
+            return;
+        }
+        if (resetForReuse()) {
+            channel = null;
+            checkpoint = 0;
+            RECYCLER.recycle(this, handle);
+        }
+    }
+
+    private void ensureNotRecycled() {
+        if (recycled) {
+            throw new IllegalStateException("promise used after it was released");
+        }
+    }
+
+    @Override
+    public ChannelPromise setSuccess() {
+        return setSuccess(null);
+    }
+
+    @Override
+    public ChannelPromise setSuccess(Void result) {
+        ensureNotRecycled();
+        super.setSuccess(result);
+        return this;
+    }
+
+    @Override
+    public boolean trySuccess() {
+        return trySuccess(null);
+    }
+
+    @Override
+    public boolean trySuccess(Void result) {
+        ensureNotRecycled();
+        return super.trySuccess(result);
+    }
+
+    @Override
+    public ChannelPromise setFailure(Throwable cause) {
+        ensureNotRecycled();
+        super.setFailure(cause);
+        return this;
+    }
+
+    @Override
+    public boolean tryFailure(Throwable cause) {
+        ensureNotRecycled();
+        return super.tryFailure(cause);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        ensureNotRecycled();
+        return super.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public boolean setUncancellable() {
+        ensureNotRecycled();
+        return super.setUncancellable();
+    }
+
+    @Override
+    public ChannelPromise addListener(GenericFutureListener<? extends Future<? super Void>> listener) {
+        ensureNotRecycled();
+        super.addListener(listener);
+        return this;
+    }
+
+    @Override
+    public ChannelPromise addListeners(GenericFutureListener<? extends Future<? super Void>>... listeners) {
+        ensureNotRecycled();
+        super.addListeners(listeners);
+        return this;
+    }
+
+    @Override
+    public ChannelPromise removeListener(GenericFutureListener<? extends Future<? super Void>> listener) {
+        super.removeListener(listener);
+        return this;
+    }
+
+    @Override
+    public ChannelPromise removeListeners(GenericFutureListener<? extends Future<? super Void>>... listeners) {
+        super.removeListeners(listeners);
+        return this;
+    }
+
+    @Override
+    public ChannelPromise sync() throws InterruptedException {
+        ensureNotRecycled();
+        super.sync();
+        return this;
+    }
+
+    @Override
+    public ChannelPromise syncUninterruptibly() {
+        ensureNotRecycled();
+        super.syncUninterruptibly();
+        return this;
+    }
+
+    @Override
+    public ChannelPromise await() throws InterruptedException {
+        ensureNotRecycled();
+        super.await();
+        return this;
+    }
+
+    @Override
+    public ChannelPromise awaitUninterruptibly() {
+        ensureNotRecycled();
+        super.awaitUninterruptibly();
+        return this;
+    }
+
+    @Override
+    public long flushCheckpoint() {
+        return checkpoint;
+    }
+
+    @Override
+    public void flushCheckpoint(long checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    @Override
+    public ChannelPromise promise() {
+        return this;
+    }
+
+    @Override
+    protected void checkDeadLock() {
+        if (channel().isRegistered()) {
+            super.checkDeadLock();
+        }
+    }
+
+    @Override
+    public ChannelPromise unvoid() {
+        return this;
+    }
+
+    @Override
+    public boolean isVoid() {
+        return false;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+
+/**
+ * A {@link RecvByteBufAllocator} which splits large receive buffers into several page-sized components of a
+ * {@link CompositeByteBuf}. Transports read into all components with a single scattering read
+ * ({@code readv(...)} or {@link java.nio.channels.ScatteringByteChannel#read(java.nio.ByteBuffer[])}), so a bulk
+ * transfer needs fewer system calls, and the pooled allocator never has to hand out or copy huge contiguous buffers.
+ * Components which were left empty by a short read are released right away.
+ * <p>
+ * The size of the receive buffer is still predicted by the wrapped {@link RecvByteBufAllocator}. Buffers which are
+ * not larger than one component are allocated as usual.
+ */
+public class ScatteringRecvByteBufAllocator implements RecvByteBufAllocator {
+
+    static final int DEFAULT_COMPONENT_SIZE = 8192;
+    static final int DEFAULT_MAX_COMPONENTS = 128;
+
+    private final RecvByteBufAllocator allocator;
+    private final int componentSize;
+    private final int maxComponents;
+
+    /**
+     * Creates a new instance which adapts the receive buffer size between {@code 64} bytes and {@code 1 MiB}, using
+     * components of {@code 8 KiB}.
+     */
+    public ScatteringRecvByteBufAllocator() {
+        this(new AdaptiveRecvByteBufAllocator(
+                AdaptiveRecvByteBufAllocator.DEFAULT_MINIMUM, AdaptiveRecvByteBufAllocator.DEFAULT_INITIAL,
+                DEFAULT_COMPONENT_SIZE * DEFAULT_MAX_COMPONENTS), DEFAULT_COMPONENT_SIZE, DEFAULT_MAX_COMPONENTS);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param allocator     the {@link RecvByteBufAllocator} which predicts the size of the receive buffer
+     * @param componentSize the capacity of each component
+     * @param maxComponents the maximum number of components of a receive buffer
+     */
+    public ScatteringRecvByteBufAllocator(RecvByteBufAllocator allocator, int componentSize, int maxComponents) {
+        if (allocator == null) {
+            throw new NullPointerException("allocator");
+        }
+        if (componentSize <= 0) {
+            throw new IllegalArgumentException("componentSize: " + componentSize + " (expected: > 0)");
+        }
+        if (maxComponents < 2) {
+            throw new IllegalArgumentException("maxComponents: " + maxComponents + " (expected: >= 2)");
+        }
+        this.allocator = allocator;
+        this.componentSize = componentSize;
+        this.maxComponents = maxComponents;
+    }
+
+    @Override
+    public Handle newHandle() {
+        return new HandleImpl(allocator.newHandle(), componentSize, maxComponents);
+    }
+
+    private static final class HandleImpl implements Handle {
+
+        private final Handle handle;
+        private final int componentSize;
+        private final int maxComponents;
+        private CompositeByteBuf lastBuffer;
+
+        HandleImpl(Handle handle, int componentSize, int maxComponents) {
+            this.handle = handle;
+            this.componentSize = componentSize;
+            this.maxComponents = maxComponents;
+        }
+
+        @Override
+        public ByteBuf allocate(ByteBufAllocator alloc) {
+            lastBuffer = null;
+            int capacity = guess();
+            if (capacity <= componentSize) {
+                return alloc.ioBuffer(capacity);
+            }
+
+            int numComponents = Math.min((capacity + componentSize - 1) / componentSize, maxComponents);
+            CompositeByteBuf buf = alloc.compositeBuffer(numComponents);
+            boolean success = false;
+            try {
+                for (int i = 0; i < numComponents; i ++) {
+                    // A component covers the readable bytes of the added buffer, so mark all of it as readable.
+                    // The writerIndex of the composite buffer stays at 0, which leaves the components writable.
+                    ByteBuf component = alloc.ioBuffer(componentSize, componentSize);
+                    buf.addComponent(component.writerIndex(componentSize));
+                }
+                success = true;
+            } finally {
+                if (!success) {
+                    buf.release();
+                }
+            }
+            lastBuffer = buf;
+            return buf;
+        }
+
+        @Override
+        public int guess() {
+            return handle.guess();
+        }
+
+        @Override
+        public void record(int actualReadBytes) {
+            handle.record(actualReadBytes);
+        }
+
+        @Override
+        public void reset(ChannelConfig config) {
+            handle.reset(config);
+        }
+
+        @Override
+        public void incMessagesRead(int numMessages) {
+            handle.incMessagesRead(numMessages);
+        }
+
+        @Override
+        public void attemptedBytesRead(int bytes) {
+            handle.attemptedBytesRead(bytes);
+        }
+
+        @Override
+        public int attemptedBytesRead() {
+            return handle.attemptedBytesRead();
+        }
+
+        @Override
+        public void lastBytesRead(int bytes) {
+            handle.lastBytesRead(bytes);
+
+            CompositeByteBuf buf = lastBuffer;
+            if (buf != null) {
+                lastBuffer = null;
+                if (bytes > 0 && buf.writerIndex() > 0) {
+                    // Give the components which did not receive any data back to the allocator.
+                    int used = buf.toComponentIndex(buf.writerIndex() - 1) + 1;
+                    int unused = buf.numComponents() - used;
+                    if (unused > 0) {
+                        buf.removeComponents(used, unused);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public int lastBytesRead() {
+            return handle.lastBytesRead();
+        }
+
+        @Override
+        public int totalBytesRead() {
+            return handle.totalBytesRead();
+        }
+
+        @Override
+        public boolean continueReading() {
+            return handle.continueReading();
+        }
+
+        @Override
+        public void readComplete() {
+            handle.readComplete();
+        }
+    }
+}
@@ -195,18 +195,8 @@ final class VoidChannelPromise extends AbstractFuture<Void> implements ChannelPr
 
     @Override
     public ChannelPromise unvoid() {
-        ChannelPromise promise = new DefaultChannelPromise(channel);
-        if (fireException) {
-            promise.addListener(new ChannelFutureListener() {
-                @Override
-                public void operationComplete(ChannelFuture future) throws Exception {
-                    if (!future.isSuccess()) {
-                        fireException(future.cause());
-                    }
-                }
-            });
-        }
-        return promise;
+        // The caller discarded the future, so a pooled promise is safe here and saves an allocation per write.
+        return RecyclableChannelPromise.newInstance(channel, fireException);
     }
 
     @Override
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+/**
+ * Limits how many buffers and bytes are gathered from the {@link ChannelOutboundBuffer} for a single gathering
+ * write (like {@code writev}) by transports which support them.
+ *
+ * @see ChannelOutboundBuffer#nioBuffers(int, long)
+ */
+public interface WriteBatchPolicy {
+
+    /**
+     * Creates a new handle.  The handle provides the actual limits and keeps the internal information which is
+     * required for predicting the optimal number of bytes per gathering write.
+     */
+    Handle newHandle();
+
+    interface Handle {
+        /**
+         * Returns the maximum number of buffers to gather for the next write.
+         */
+        int maxBuffers();
+
+        /**
+         * Returns the maximum number of bytes to gather for the next write. At least one buffer is always
+         * gathered, even if it is larger than this limit.
+         */
+        long maxBytes();
+
+        /**
+         * Records the number of bytes which were gathered by the previous write and the number of bytes which the
+         * transport actually accepted, so the handle can adjust the limits for the next write.
+         *
+         * @param attemptedBytes the number of bytes which were gathered for the previous write
+         * @param writtenBytes the number of bytes which were actually written by the previous write
+         */
+        void record(long attemptedBytes, long writtenBytes);
+    }
+}
@@ -179,6 +179,14 @@ public class DefaultChannelGroup extends AbstractSet<Channel> implements Channel
         return channels.toArray(a);
     }
 
+    /**
+     * Returns a new {@link ChannelGroupFuture} of this group which is notified once all of the given
+     * {@link ChannelFuture}s are done.
+     */
+    public ChannelGroupFuture newGroupFuture(Collection<ChannelFuture> futures) {
+        return new DefaultChannelGroupFuture(this, futures, executor);
+    }
+
     @Override
     public ChannelGroupFuture close() {
         return close(ChannelMatchers.all());
@@ -19,6 +19,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.RecvByteBufAllocator;
 import io.netty.channel.ServerChannel;
 
 import java.io.IOException;
@@ -58,13 +59,15 @@ public abstract class AbstractNioMessageChannel extends AbstractNioChannel {
                 return;
             }
 
-            final int maxMessagesPerRead = config.getMaxMessagesPerRead();
             final ChannelPipeline pipeline = pipeline();
+            final RecvByteBufAllocator.Handle allocHandle = recvBufAllocHandle();
+            allocHandle.reset(config);
+
             boolean closed = false;
             Throwable exception = null;
             try {
                 try {
-                    for (;;) {
+                    do {
                         int localRead = doReadMessages(readBuf);
                         if (localRead == 0) {
                             break;
@@ -74,15 +77,8 @@ public abstract class AbstractNioMessageChannel extends AbstractNioChannel {
                             break;
                         }
 
-                        // stop reading and remove op
-                        if (!config.isAutoRead()) {
-                            break;
-                        }
-
-                        if (readBuf.size() >= maxMessagesPerRead) {
-                            break;
-                        }
-                    }
+                        allocHandle.incMessagesRead(localRead);
+                    } while (allocHandle.continueReading());
                 } catch (Throwable t) {
                     exception = t;
                 }
@@ -93,6 +89,7 @@ public abstract class AbstractNioMessageChannel extends AbstractNioChannel {
                 }
 
                 readBuf.clear();
+                allocHandle.readComplete();
                 pipeline.fireChannelReadComplete();
 
                 if (exception != null) {
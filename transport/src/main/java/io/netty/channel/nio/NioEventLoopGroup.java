@@ -20,6 +20,8 @@ import io.netty.channel.EventLoop;
 import io.netty.channel.MultithreadEventLoopGroup;
 import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.ExecutorServiceFactory;
+import io.netty.util.concurrent.RejectedExecutionHandler;
+import io.netty.util.concurrent.RejectedExecutionHandlers;
 
 import java.nio.channels.Selector;
 import java.nio.channels.spi.SelectorProvider;
@@ -97,7 +99,24 @@ public class NioEventLoopGroup extends MultithreadEventLoopGroup {
      * @param selectorProvider  the {@link SelectorProvider} to use. This value must not be {@code null}.
      */
     public NioEventLoopGroup(int nEventLoops, Executor executor, final SelectorProvider selectorProvider) {
-        super(nEventLoops, executor, selectorProvider);
+        this(nEventLoops, executor, selectorProvider, RejectedExecutionHandlers.reject());
+    }
+
+    /**
+     * @param nEventLoops   the number of {@link EventLoop}s that will be used by this instance.
+     *                      If {@code executor} is {@code null} this number will also be the parallelism
+     *                      requested from the default executor. It is generally advised for the number
+     *                      of {@link EventLoop}s and the number of {@link Thread}s used by the
+     *                      {@code executor} to lie very close together.
+     * @param executor  the {@link Executor} to use, or {@code null} if the default should be used.
+     * @param selectorProvider  the {@link SelectorProvider} to use. This value must not be {@code null}.
+     * @param rejectedExecutionHandler  the {@link RejectedExecutionHandler} to use when a task could not be added
+     *                                  because the task queue of an {@link EventLoop} is full. The task queue
+     *                                  is bounded by the {@code io.netty.eventLoop.maxPendingTasks} system property.
+     */
+    public NioEventLoopGroup(int nEventLoops, Executor executor, final SelectorProvider selectorProvider,
+                             RejectedExecutionHandler rejectedExecutionHandler) {
+        super(nEventLoops, executor, selectorProvider, rejectedExecutionHandler);
     }
 
     /**
@@ -112,7 +131,26 @@ public class NioEventLoopGroup extends MultithreadEventLoopGroup {
      */
     public NioEventLoopGroup(
             int nEventLoops, ExecutorServiceFactory executorServiceFactory, final SelectorProvider selectorProvider) {
-        super(nEventLoops, executorServiceFactory, selectorProvider);
+        this(nEventLoops, executorServiceFactory, selectorProvider, RejectedExecutionHandlers.reject());
+    }
+
+    /**
+     * @param nEventLoops   the number of {@link EventLoop}s that will be used by this instance.
+     *                      If {@code executor} is {@code null} this number will also be the parallelism
+     *                      requested from the default executor. It is generally advised for the number
+     *                      of {@link EventLoop}s and the number of {@link Thread}s used by the
+     *                      {@code executor} to lie very close together.
+     * @param executorServiceFactory   the {@link ExecutorServiceFactory} to use, or {@code null} if the
+     *                                 default should be used.
+     * @param selectorProvider  the {@link SelectorProvider} to use. This value must not be {@code null}.
+     * @param rejectedExecutionHandler  the {@link RejectedExecutionHandler} to use when a task could not be added
+     *                                  because the task queue of an {@link EventLoop} is full. The task queue
+     *                                  is bounded by the {@code io.netty.eventLoop.maxPendingTasks} system property.
+     */
+    public NioEventLoopGroup(
+            int nEventLoops, ExecutorServiceFactory executorServiceFactory, final SelectorProvider selectorProvider,
+            RejectedExecutionHandler rejectedExecutionHandler) {
+        super(nEventLoops, executorServiceFactory, selectorProvider, rejectedExecutionHandler);
     }
 
     /**
@@ -137,6 +175,6 @@ public class NioEventLoopGroup extends MultithreadEventLoopGroup {
 
     @Override
     protected EventLoop newChild(Executor executor, Object... args) throws Exception {
-        return new NioEventLoop(this, executor, (SelectorProvider) args[0]);
+        return new NioEventLoop(this, executor, (SelectorProvider) args[0], (RejectedExecutionHandler) args[1]);
     }
 }
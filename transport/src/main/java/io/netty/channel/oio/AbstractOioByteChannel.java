@@ -81,7 +81,8 @@ public abstract class AbstractOioByteChannel extends AbstractOioChannel {
         final ChannelConfig config = config();
         final ChannelPipeline pipeline = pipeline();
 
-        RecvByteBufAllocator.Handle allocHandle = unsafe().recvBufAllocHandle();
+        final RecvByteBufAllocator.Handle allocHandle = unsafe().recvBufAllocHandle();
+        allocHandle.reset(config);
 
         ByteBuf byteBuf = allocHandle.allocate(alloc());
 
@@ -90,10 +91,9 @@ public abstract class AbstractOioByteChannel extends AbstractOioChannel {
         Throwable exception = null;
         int localReadAmount = 0;
         try {
-            int totalReadAmount = 0;
-
             for (;;) {
                 localReadAmount = doReadBytes(byteBuf);
+                allocHandle.lastBytesRead(localReadAmount);
                 if (localReadAmount > 0) {
                     read = true;
                 } else if (localReadAmount < 0) {
@@ -111,6 +111,7 @@ public abstract class AbstractOioByteChannel extends AbstractOioChannel {
                     if (capacity == maxCapacity) {
                         if (read) {
                             read = false;
+                            allocHandle.incMessagesRead(1);
                             pipeline.fireChannelRead(byteBuf);
                             byteBuf = alloc().buffer();
                         }
@@ -124,21 +125,13 @@ public abstract class AbstractOioByteChannel extends AbstractOioChannel {
                     }
                 }
 
-                if (totalReadAmount >= Integer.MAX_VALUE - localReadAmount) {
-                    // Avoid overflow.
-                    totalReadAmount = Integer.MAX_VALUE;
-                    break;
-                }
-
-                totalReadAmount += localReadAmount;
-
-                if (!config.isAutoRead()) {
+                if (!allocHandle.continueReading()) {
                     // stop reading until next Channel.read() call
                     // See https://github.com/netty/netty/issues/1363
                     break;
                 }
             }
-            allocHandle.record(totalReadAmount);
+            allocHandle.readComplete();
 
         } catch (Throwable t) {
             exception = t;
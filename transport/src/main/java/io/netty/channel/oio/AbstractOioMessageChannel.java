@@ -18,6 +18,7 @@ package io.netty.channel.oio;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.RecvByteBufAllocator;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -38,13 +39,14 @@ public abstract class AbstractOioMessageChannel extends AbstractOioChannel {
     protected void doRead() {
         final ChannelConfig config = config();
         final ChannelPipeline pipeline = pipeline();
-        boolean closed = false;
-        final int maxMessagesPerRead = config.getMaxMessagesPerRead();
+        final RecvByteBufAllocator.Handle allocHandle = unsafe().recvBufAllocHandle();
+        allocHandle.reset(config);
 
+        boolean closed = false;
         Throwable exception = null;
         int localRead = 0;
         try {
-            for (;;) {
+            do {
                 localRead = doReadMessages(readBuf);
                 if (localRead == 0) {
                     break;
@@ -54,10 +56,8 @@ public abstract class AbstractOioMessageChannel extends AbstractOioChannel {
                     break;
                 }
 
-                if (readBuf.size() >= maxMessagesPerRead || !config.isAutoRead()) {
-                    break;
-                }
-            }
+                allocHandle.incMessagesRead(localRead);
+            } while (allocHandle.continueReading());
         } catch (Throwable t) {
             exception = t;
         }
@@ -67,6 +67,7 @@ public abstract class AbstractOioMessageChannel extends AbstractOioChannel {
             pipeline.fireChannelRead(readBuf.get(i));
         }
         readBuf.clear();
+        allocHandle.readComplete();
         pipeline.fireChannelReadComplete();
 
         if (exception != null) {
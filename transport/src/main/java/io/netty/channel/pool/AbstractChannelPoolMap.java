@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.util.internal.PlatformDependent;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A skeletal {@link ChannelPoolMap} which creates the {@link ChannelPool}s lazily via {@link #newPool(Object)}.
+ */
+public abstract class AbstractChannelPoolMap<K, P extends ChannelPool>
+        implements ChannelPoolMap<K, P>, Iterable<Entry<K, P>>, Closeable {
+
+    private final ConcurrentMap<K, P> map = PlatformDependent.newConcurrentHashMap();
+
+    @Override
+    public final P get(K key) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+
+        P pool = map.get(key);
+        if (pool == null) {
+            pool = newPool(key);
+            P old = map.putIfAbsent(key, pool);
+            if (old != null) {
+                // Lost the race, close the pool which was created in the meantime.
+                pool.close();
+                pool = old;
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Removes and closes the {@link ChannelPool} for the given {@code key}.
+     *
+     * @return {@code true} if a {@link ChannelPool} was removed
+     */
+    public final boolean remove(K key) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+
+        P pool = map.remove(key);
+        if (pool != null) {
+            pool.close();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public final boolean contains(K key) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+        return map.containsKey(key);
+    }
+
+    @Override
+    public final Iterator<Entry<K, P>> iterator() {
+        return map.entrySet().iterator();
+    }
+
+    /**
+     * Returns the number of {@link ChannelPool}s in this map.
+     */
+    public final int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns {@code true} if this map contains no {@link ChannelPool}s.
+     */
+    public final boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Removes and closes all {@link ChannelPool}s.
+     */
+    @Override
+    public void close() {
+        for (K key: map.keySet()) {
+            remove(key);
+        }
+    }
+
+    /**
+     * Creates a new {@link ChannelPool} for the given {@code key}.
+     */
+    protected abstract P newPool(K key);
+}
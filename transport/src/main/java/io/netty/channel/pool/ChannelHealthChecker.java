@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.Future;
+
+/**
+ * Called before a {@link Channel} is handed out by a {@link ChannelPool} and before it is kept for reuse, to make
+ * sure that the {@link Channel} can still be used.
+ */
+public interface ChannelHealthChecker {
+
+    /**
+     * Considers a {@link Channel} healthy as long as {@link Channel#isActive()} returns {@code true}.
+     */
+    ChannelHealthChecker ACTIVE = new ChannelHealthChecker() {
+        @Override
+        public Future<Boolean> isHealthy(Channel channel) {
+            return channel.eventLoop().newSucceededFuture(channel.isActive() ? Boolean.TRUE : Boolean.FALSE);
+        }
+    };
+
+    /**
+     * Checks if the given {@link Channel} is healthy.  The returned {@link Future} is notified with {@code true} if
+     * the {@link Channel} can be used, and with {@code false} or a failure if it should be closed.
+     */
+    Future<Boolean> isHealthy(Channel channel);
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+
+import java.io.Closeable;
+
+/**
+ * Allows to acquire and release {@link Channel}s and so act as a pool of these.
+ */
+public interface ChannelPool extends Closeable {
+
+    /**
+     * Acquires a {@link Channel} from this {@link ChannelPool}.  The returned {@link Future} is notified once the
+     * {@link Channel} is ready to be used.
+     * <p>
+     * It is important that an acquired {@link Channel} is always released to the pool again via
+     * {@link #release(Channel)}, even if the {@link Channel} was closed in the meantime.
+     */
+    Future<Channel> acquire();
+
+    /**
+     * Acquires a {@link Channel} from this {@link ChannelPool} and notifies the given {@link Promise}.
+     */
+    Future<Channel> acquire(Promise<Channel> promise);
+
+    /**
+     * Releases a {@link Channel} back to this {@link ChannelPool}.  A released {@link Channel} must not be used
+     * anymore by the caller.
+     */
+    Future<Void> release(Channel channel);
+
+    /**
+     * Releases a {@link Channel} back to this {@link ChannelPool} and notifies the given {@link Promise}.
+     */
+    Future<Void> release(Channel channel, Promise<Void> promise);
+
+    /**
+     * Closes all idle {@link Channel}s and fails all pending acquire operations.  {@link Channel}s which are
+     * acquired at this moment are closed when they are released.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+
+/**
+ * Handler which is called for various actions done by a {@link ChannelPool}.  {@link #channelCreated(Channel)} is
+ * called from the {@link EventLoop} of the {@link Channel}, the other methods from the thread which manages the
+ * state of the {@link ChannelPool}.
+ */
+public interface ChannelPoolHandler {
+
+    /**
+     * Called once a new {@link Channel} is created by the {@link ChannelPool}, before it is connected.  This is the
+     * place to set up the {@link io.netty.channel.ChannelPipeline}.
+     */
+    void channelCreated(Channel ch) throws Exception;
+
+    /**
+     * Called once a {@link Channel} was acquired from the {@link ChannelPool}.
+     */
+    void channelAcquired(Channel ch) throws Exception;
+
+    /**
+     * Called once a healthy {@link Channel} was released to the {@link ChannelPool} and is about to be kept for
+     * reuse.
+     */
+    void channelReleased(Channel ch) throws Exception;
+}
@@ -0,0 +1,480 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelInitializer;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+import io.netty.util.internal.OneTimeTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A {@link ChannelPool} which connects to the remote address of its {@link Bootstrap} and keeps at most
+ * {@code maxConnections} {@link Channel}s open at the same time.
+ * <ul>
+ * <li>Idle {@link Channel}s are reused last-in first-out, so the most recently used connection, whose TCP window
+ *     and TLS session are warm, is handed out first and the others can time out.</li>
+ * <li>If all connections are in use, up to {@code maxPendingAcquires} acquire operations wait for a
+ *     {@link Channel} to be released, failing with a {@link TimeoutException} after {@code acquireTimeoutMillis}.</li>
+ * <li>A {@link Channel} is checked with the {@link ChannelHealthChecker} both when it is released and when it is
+ *     handed out again.  Unhealthy {@link Channel}s are closed.</li>
+ * <li>Idle {@link Channel}s which were not used for {@code idleTimeoutMillis} are closed.</li>
+ * </ul>
+ * All state of the pool is managed by a single {@link io.netty.channel.EventLoop} of the {@link Bootstrap}'s group,
+ * so no locks are involved.  Use an {@link AbstractChannelPoolMap} to maintain one pool per remote address.
+ */
+public class FixedChannelPool implements ChannelPool {
+
+    private static final AttributeKey<FixedChannelPool> POOL_KEY = AttributeKey.valueOf("FixedChannelPool.pool");
+
+    private static final IllegalStateException POOL_CLOSED_EXCEPTION =
+            new IllegalStateException("FixedChannelPool was closed");
+    private static final IllegalStateException FULL_EXCEPTION =
+            new IllegalStateException("Too many outstanding acquire operations");
+    private static final TimeoutException TIMEOUT_EXCEPTION =
+            new TimeoutException("Acquire operation took longer than the configured maximum time");
+
+    static {
+        POOL_CLOSED_EXCEPTION.setStackTrace(new StackTraceElement[0]);
+        FULL_EXCEPTION.setStackTrace(new StackTraceElement[0]);
+        TIMEOUT_EXCEPTION.setStackTrace(new StackTraceElement[0]);
+    }
+
+    private final Bootstrap bootstrap;
+    private final ChannelPoolHandler handler;
+    private final ChannelHealthChecker healthCheck;
+    private final EventExecutor executor;
+    private final int maxConnections;
+    private final int maxPendingAcquires;
+    private final long acquireTimeoutNanos;
+    private final long idleTimeoutNanos;
+
+    // Only accessed from the executor.
+    private final Deque<IdleChannel> idleChannels = new ArrayDeque<IdleChannel>();
+    private final Queue<PendingAcquire> pendingAcquires = new ArrayDeque<PendingAcquire>();
+    private int acquiredCount;
+    private ScheduledFuture<?> evictionFuture;
+    private boolean closed;
+
+    /**
+     * Creates a new instance which uses {@link ChannelHealthChecker#ACTIVE}, allows {@link Integer#MAX_VALUE}
+     * pending acquire operations without timeout and never closes idle {@link Channel}s.
+     */
+    public FixedChannelPool(Bootstrap bootstrap, ChannelPoolHandler handler, int maxConnections) {
+        this(bootstrap, handler, ChannelHealthChecker.ACTIVE, maxConnections, Integer.MAX_VALUE, 0, 0);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param bootstrap             the {@link Bootstrap} used to connect, including the remote address
+     * @param handler               the {@link ChannelPoolHandler} notified about pool operations
+     * @param healthCheck           the {@link ChannelHealthChecker} used on acquire and release
+     * @param maxConnections        the maximum number of {@link Channel}s open at the same time
+     * @param maxPendingAcquires    the maximum number of acquire operations waiting for a {@link Channel}
+     * @param acquireTimeoutMillis  the time after which a waiting acquire operation fails, or {@code 0} to wait
+     *                              forever
+     * @param idleTimeoutMillis     the time after which an idle {@link Channel} is closed, or {@code 0} to keep it
+     *                              until it is closed by the remote peer
+     */
+    public FixedChannelPool(Bootstrap bootstrap, final ChannelPoolHandler handler, ChannelHealthChecker healthCheck,
+                            int maxConnections, int maxPendingAcquires,
+                            long acquireTimeoutMillis, long idleTimeoutMillis) {
+        if (bootstrap == null) {
+            throw new NullPointerException("bootstrap");
+        }
+        if (handler == null) {
+            throw new NullPointerException("handler");
+        }
+        if (healthCheck == null) {
+            throw new NullPointerException("healthCheck");
+        }
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("maxConnections: " + maxConnections + " (expected: > 0)");
+        }
+        if (maxPendingAcquires < 0) {
+            throw new IllegalArgumentException("maxPendingAcquires: " + maxPendingAcquires + " (expected: >= 0)");
+        }
+        if (acquireTimeoutMillis < 0) {
+            throw new IllegalArgumentException("acquireTimeoutMillis: " + acquireTimeoutMillis + " (expected: >= 0)");
+        }
+        if (idleTimeoutMillis < 0) {
+            throw new IllegalArgumentException("idleTimeoutMillis: " + idleTimeoutMillis + " (expected: >= 0)");
+        }
+
+        this.handler = handler;
+        this.healthCheck = healthCheck;
+        this.maxConnections = maxConnections;
+        this.maxPendingAcquires = maxPendingAcquires;
+        acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+
+        this.bootstrap = bootstrap.clone();
+        this.bootstrap.handler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) throws Exception {
+                handler.channelCreated(ch);
+            }
+        });
+        executor = this.bootstrap.group().next();
+
+        if (idleTimeoutNanos > 0) {
+            evictionFuture = executor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    evictIdleChannels();
+                }
+            }, idleTimeoutNanos, idleTimeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public final Future<Channel> acquire() {
+        return acquire(executor.<Channel>newPromise());
+    }
+
+    @Override
+    public Future<Channel> acquire(final Promise<Channel> promise) {
+        if (promise == null) {
+            throw new NullPointerException("promise");
+        }
+
+        if (executor.inEventLoop()) {
+            acquire0(promise);
+        } else {
+            executor.execute(new OneTimeTask() {
+                @Override
+                public void run() {
+                    acquire0(promise);
+                }
+            });
+        }
+        return promise;
+    }
+
+    private void acquire0(Promise<Channel> promise) {
+        assert executor.inEventLoop();
+
+        if (closed) {
+            promise.setFailure(POOL_CLOSED_EXCEPTION);
+            return;
+        }
+
+        if (acquiredCount < maxConnections) {
+            acquiredCount ++;
+            IdleChannel idle = idleChannels.pollLast();
+            if (idle != null) {
+                checkHealthOnAcquire(idle.channel, promise);
+            } else {
+                connect(promise);
+            }
+        } else if (pendingAcquires.size() >= maxPendingAcquires) {
+            promise.setFailure(FULL_EXCEPTION);
+        } else {
+            PendingAcquire pending = new PendingAcquire(promise);
+            if (acquireTimeoutNanos > 0) {
+                pending.timeoutFuture = executor.schedule(pending, acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+            }
+            pendingAcquires.add(pending);
+        }
+    }
+
+    private void checkHealthOnAcquire(final Channel channel, final Promise<Channel> promise) {
+        final Future<Boolean> f = healthCheck.isHealthy(channel);
+        if (f.isDone()) {
+            onHealthCheckedOnAcquire(f, channel, promise);
+        } else {
+            f.addListener(new FutureListener<Boolean>() {
+                @Override
+                public void operationComplete(final Future<Boolean> future) throws Exception {
+                    runInExecutor(new OneTimeTask() {
+                        @Override
+                        public void run() {
+                            onHealthCheckedOnAcquire(future, channel, promise);
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    private void onHealthCheckedOnAcquire(Future<Boolean> future, Channel channel, Promise<Channel> promise) {
+        if (isHealthy(future)) {
+            notifyAcquired(channel, promise);
+            return;
+        }
+
+        // Close it and try the next idle channel or a new connection.
+        channel.close();
+        acquiredCount --;
+        acquire0(promise);
+    }
+
+    private void connect(final Promise<Channel> promise) {
+        bootstrap.connect().addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(final ChannelFuture future) throws Exception {
+                runInExecutor(new OneTimeTask() {
+                    @Override
+                    public void run() {
+                        if (future.isSuccess()) {
+                            notifyAcquired(future.channel(), promise);
+                        } else {
+                            acquiredCount --;
+                            promise.tryFailure(future.cause());
+                            runPendingAcquires();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private void notifyAcquired(Channel channel, Promise<Channel> promise) {
+        channel.attr(POOL_KEY).set(this);
+        try {
+            handler.channelAcquired(channel);
+        } catch (Throwable cause) {
+            closeAndRelease(channel, cause, promise);
+            return;
+        }
+        if (!promise.trySuccess(channel)) {
+            // The caller gave up in the meantime (e.g. cancelled the future), so put the channel back.
+            release(channel);
+        }
+    }
+
+    private void closeAndRelease(Channel channel, Throwable cause, Promise<Channel> promise) {
+        channel.attr(POOL_KEY).set(null);
+        channel.close();
+        acquiredCount --;
+        promise.tryFailure(cause);
+        runPendingAcquires();
+    }
+
+    @Override
+    public final Future<Void> release(Channel channel) {
+        return release(channel, executor.<Void>newPromise());
+    }
+
+    @Override
+    public Future<Void> release(final Channel channel, final Promise<Void> promise) {
+        if (channel == null) {
+            throw new NullPointerException("channel");
+        }
+        if (promise == null) {
+            throw new NullPointerException("promise");
+        }
+
+        if (executor.inEventLoop()) {
+            release0(channel, promise);
+        } else {
+            executor.execute(new OneTimeTask() {
+                @Override
+                public void run() {
+                    release0(channel, promise);
+                }
+            });
+        }
+        return promise;
+    }
+
+    private void release0(final Channel channel, final Promise<Void> promise) {
+        assert executor.inEventLoop();
+
+        Attribute<FixedChannelPool> attr = channel.attr(POOL_KEY);
+        if (attr.get() != this) {
+            channel.close();
+            promise.setFailure(new IllegalArgumentException(
+                    "Channel " + channel + " was not acquired from this ChannelPool"));
+            return;
+        }
+        attr.set(null);
+
+        if (closed) {
+            acquiredCount --;
+            channel.close();
+            promise.setSuccess(null);
+            return;
+        }
+
+        final Future<Boolean> f = healthCheck.isHealthy(channel);
+        if (f.isDone()) {
+            onHealthCheckedOnRelease(f, channel, promise);
+        } else {
+            f.addListener(new FutureListener<Boolean>() {
+                @Override
+                public void operationComplete(final Future<Boolean> future) throws Exception {
+                    runInExecutor(new OneTimeTask() {
+                        @Override
+                        public void run() {
+                            onHealthCheckedOnRelease(future, channel, promise);
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    private void onHealthCheckedOnRelease(Future<Boolean> future, Channel channel, Promise<Void> promise) {
+        acquiredCount --;
+        if (!closed && isHealthy(future)) {
+            try {
+                handler.channelReleased(channel);
+                idleChannels.addLast(new IdleChannel(channel, System.nanoTime()));
+            } catch (Throwable cause) {
+                channel.close();
+                promise.setFailure(cause);
+                runPendingAcquires();
+                return;
+            }
+        } else {
+            channel.close();
+        }
+        promise.setSuccess(null);
+        runPendingAcquires();
+    }
+
+    private void runPendingAcquires() {
+        while (acquiredCount < maxConnections) {
+            PendingAcquire pending = pendingAcquires.poll();
+            if (pending == null) {
+                break;
+            }
+            ScheduledFuture<?> timeoutFuture = pending.timeoutFuture;
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel(false);
+            }
+            acquire0(pending.promise);
+        }
+    }
+
+    private void evictIdleChannels() {
+        long deadline = System.nanoTime() - idleTimeoutNanos;
+        // The least recently used channels are at the head.
+        for (;;) {
+            IdleChannel idle = idleChannels.peekFirst();
+            if (idle == null || idle.releaseTime - deadline > 0 && idle.channel.isActive()) {
+                break;
+            }
+            idleChannels.pollFirst();
+            idle.channel.close();
+        }
+    }
+
+    /**
+     * Returns the number of {@link Channel}s which are currently kept for reuse.  Must be called from the
+     * {@link EventExecutor} of this pool to get an exact value.
+     */
+    public int idleChannels() {
+        return idleChannels.size();
+    }
+
+    /**
+     * Returns the number of {@link Channel}s which are currently acquired or being connected.  Must be called from
+     * the {@link EventExecutor} of this pool to get an exact value.
+     */
+    public int acquiredChannels() {
+        return acquiredCount;
+    }
+
+    @Override
+    public void close() {
+        runInExecutor(new OneTimeTask() {
+            @Override
+            public void run() {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+
+                if (evictionFuture != null) {
+                    evictionFuture.cancel(false);
+                }
+                for (;;) {
+                    IdleChannel idle = idleChannels.poll();
+                    if (idle == null) {
+                        break;
+                    }
+                    idle.channel.close();
+                }
+                for (;;) {
+                    PendingAcquire pending = pendingAcquires.poll();
+                    if (pending == null) {
+                        break;
+                    }
+                    if (pending.timeoutFuture != null) {
+                        pending.timeoutFuture.cancel(false);
+                    }
+                    pending.promise.tryFailure(POOL_CLOSED_EXCEPTION);
+                }
+            }
+        });
+    }
+
+    private void runInExecutor(Runnable task) {
+        if (executor.inEventLoop()) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
+    }
+
+    private static boolean isHealthy(Future<Boolean> future) {
+        return future.isSuccess() && future.getNow() == Boolean.TRUE;
+    }
+
+    private static final class IdleChannel {
+        final Channel channel;
+        final long releaseTime;
+
+        IdleChannel(Channel channel, long releaseTime) {
+            this.channel = channel;
+            this.releaseTime = releaseTime;
+        }
+    }
+
+    private final class PendingAcquire extends OneTimeTask {
+        final Promise<Channel> promise;
+        ScheduledFuture<?> timeoutFuture;
+
+        PendingAcquire(Promise<Channel> promise) {
+            this.promise = promise;
+        }
+
+        @Override
+        public void run() {
+            // Acquire timed out.
+            if (pendingAcquires.remove(this)) {
+                promise.tryFailure(TIMEOUT_EXCEPTION);
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 
 import java.net.InetAddress;
 import java.net.NetworkInterface;
@@ -159,6 +160,9 @@ public interface DatagramChannelConfig extends ChannelConfig {
     @Override
     DatagramChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead);
 
+    @Override
+    DatagramChannelConfig setMaxBytesPerRead(int maxBytesPerRead);
+
     @Override
     DatagramChannelConfig setWriteSpinCount(int writeSpinCount);
 
@@ -176,4 +180,7 @@ public interface DatagramChannelConfig extends ChannelConfig {
 
     @Override
     DatagramChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator);
+
+    @Override
+    DatagramChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy);
 }
@@ -19,6 +19,7 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelConfig;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 
 import java.net.ServerSocket;
 import java.net.StandardSocketOptions;
@@ -90,6 +91,9 @@ public interface ServerSocketChannelConfig extends ChannelConfig {
     @Override
     ServerSocketChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead);
 
+    @Override
+    ServerSocketChannelConfig setMaxBytesPerRead(int maxBytesPerRead);
+
     @Override
     ServerSocketChannelConfig setWriteSpinCount(int writeSpinCount);
 
@@ -104,4 +108,7 @@ public interface ServerSocketChannelConfig extends ChannelConfig {
 
     @Override
     ServerSocketChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator);
+
+    @Override
+    ServerSocketChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy);
 }
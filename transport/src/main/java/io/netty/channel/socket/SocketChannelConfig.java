@@ -22,6 +22,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 
 import java.net.Socket;
 import java.net.StandardSocketOptions;
@@ -163,6 +164,9 @@ public interface SocketChannelConfig extends ChannelConfig {
     @Override
     SocketChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead);
 
+    @Override
+    SocketChannelConfig setMaxBytesPerRead(int maxBytesPerRead);
+
     @Override
     SocketChannelConfig setWriteSpinCount(int writeSpinCount);
 
@@ -177,4 +181,7 @@ public interface SocketChannelConfig extends ChannelConfig {
 
     @Override
     SocketChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator);
+
+    @Override
+    SocketChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy);
 }
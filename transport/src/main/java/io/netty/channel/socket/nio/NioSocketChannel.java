@@ -24,6 +24,7 @@ import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
 import io.netty.channel.FileRegion;
+import io.netty.channel.WriteBatchPolicy;
 import io.netty.channel.nio.AbstractNioByteChannel;
 import io.netty.channel.socket.DefaultSocketChannelConfig;
 import io.netty.channel.socket.ServerSocketChannel;
@@ -238,6 +239,7 @@ public class NioSocketChannel extends AbstractNioByteChannel implements io.netty
 
     @Override
     protected void doWrite(ChannelOutboundBuffer in) throws Exception {
+        final WriteBatchPolicy.Handle batchHandle = unsafe().writeBatchHandle();
         for (;;) {
             int size = in.size();
             if (size == 0) {
@@ -250,9 +252,10 @@ public class NioSocketChannel extends AbstractNioByteChannel implements io.netty
             boolean setOpWrite = false;
 
             // Ensure the pending writes are made of ByteBufs only.
-            ByteBuffer[] nioBuffers = in.nioBuffers();
+            ByteBuffer[] nioBuffers = in.nioBuffers(batchHandle.maxBuffers(), batchHandle.maxBytes());
             int nioBufferCnt = in.nioBufferCount();
-            long expectedWrittenBytes = in.nioBufferSize();
+            final long attemptedBytes = in.nioBufferSize();
+            long expectedWrittenBytes = attemptedBytes;
             SocketChannel ch = javaChannel();
 
             // Always us nioBuffers() to workaround data-corruption.
@@ -296,6 +299,8 @@ public class NioSocketChannel extends AbstractNioByteChannel implements io.netty
                     break;
             }
 
+            batchHandle.record(attemptedBytes, writtenBytes);
+
             // Release the fully written buffers, and update the indexes of the partially written buffer.
             in.removeBytes(writtenBytes);
 
@@ -19,6 +19,7 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 import io.netty.channel.socket.ServerSocketChannelConfig;
 
 
@@ -69,6 +70,9 @@ public interface OioServerSocketChannelConfig extends ServerSocketChannelConfig
     @Override
     OioServerSocketChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead);
 
+    @Override
+    OioServerSocketChannelConfig setMaxBytesPerRead(int maxBytesPerRead);
+
     @Override
     OioServerSocketChannelConfig setWriteSpinCount(int writeSpinCount);
 
@@ -87,6 +91,15 @@ public interface OioServerSocketChannelConfig extends ServerSocketChannelConfig
     @Override
     OioServerSocketChannelConfig setWriteBufferLowWaterMark(int writeBufferLowWaterMark);
 
+    @Override
+    OioServerSocketChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages);
+
+    @Override
+    OioServerSocketChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages);
+
     @Override
     OioServerSocketChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator);
+
+    @Override
+    OioServerSocketChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy);
 }
@@ -20,6 +20,7 @@ import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.WriteBatchPolicy;
 import io.netty.channel.socket.SocketChannelConfig;
 
 /**
@@ -84,6 +85,9 @@ public interface OioSocketChannelConfig extends SocketChannelConfig {
     @Override
     OioSocketChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead);
 
+    @Override
+    OioSocketChannelConfig setMaxBytesPerRead(int maxBytesPerRead);
+
     @Override
     OioSocketChannelConfig setWriteSpinCount(int writeSpinCount);
 
@@ -102,6 +106,15 @@ public interface OioSocketChannelConfig extends SocketChannelConfig {
     @Override
     OioSocketChannelConfig setWriteBufferLowWaterMark(int writeBufferLowWaterMark);
 
+    @Override
+    OioSocketChannelConfig setWriteBufferHighWaterMarkMessages(int writeBufferHighWaterMarkMessages);
+
+    @Override
+    OioSocketChannelConfig setWriteBufferLowWaterMarkMessages(int writeBufferLowWaterMarkMessages);
+
     @Override
     OioSocketChannelConfig setMessageSizeEstimator(MessageSizeEstimator estimator);
+
+    @Override
+    OioSocketChannelConfig setWriteBatchPolicy(WriteBatchPolicy policy);
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.bootstrap;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.group.ChannelGroupFuture;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ServerBootstrapTest {
+
+    @Test(timeout = 10000)
+    public void testBindAllAcceptsIntoOwnEventLoop() throws Exception {
+        EventLoopGroup group = new DefaultEventLoopGroup(1);
+        EventLoopGroup clientGroup = new DefaultEventLoopGroup(1);
+        final BlockingQueue<EventLoop> childLoops = new LinkedBlockingQueue<EventLoop>();
+        try {
+            ServerBootstrap sb = new ServerBootstrap();
+            sb.group(group)
+              .channel(LocalServerChannel.class)
+              .childHandler(new ChannelHandlerAdapter() {
+                  @Override
+                  public void channelActive(ChannelHandlerContext ctx) {
+                      childLoops.add(ctx.channel().eventLoop().unwrap());
+                  }
+              });
+
+            LocalAddress address = new LocalAddress("testBindAllAcceptsIntoOwnEventLoop");
+            ChannelGroupFuture future = sb.bindAll(address).sync();
+            assertEquals(1, future.group().size());
+            Channel serverChannel = future.group().iterator().next();
+            assertTrue(serverChannel.isActive());
+
+            Bootstrap cb = new Bootstrap();
+            cb.group(clientGroup).channel(LocalChannel.class).handler(new ChannelHandlerAdapter());
+            Channel client = cb.connect(address).sync().channel();
+
+            assertSame(serverChannel.eventLoop().unwrap(), childLoops.take());
+
+            client.close().sync();
+            future.group().close().sync();
+            assertFalse(serverChannel.isOpen());
+        } finally {
+            group.shutdownGracefully();
+            clientGroup.shutdownGracefully();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testBindAllClosesAllChannelsOnFailure() throws Exception {
+        // The local transport does not support SO_REUSEPORT, so the second bind fails.
+        EventLoopGroup group = new DefaultEventLoopGroup(2);
+        try {
+            ServerBootstrap sb = new ServerBootstrap();
+            sb.group(group)
+              .channel(LocalServerChannel.class)
+              .childHandler(new ChannelHandlerAdapter());
+
+            ChannelGroupFuture future =
+                    sb.bindAll(new LocalAddress("testBindAllClosesAllChannelsOnFailure")).awaitUninterruptibly();
+            assertFalse(future.isSuccess());
+            for (ChannelFuture f: future) {
+                assertTrue(f.channel().closeFuture().await(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            group.shutdownGracefully();
+        }
+    }
+}
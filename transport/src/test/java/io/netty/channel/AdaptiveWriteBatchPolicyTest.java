@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AdaptiveWriteBatchPolicyTest {
+
+    @Test
+    public void testIncreaseAfterCompleteWrite() {
+        WriteBatchPolicy.Handle handle = new AdaptiveWriteBatchPolicy(1024, 4096, 16384, 64).newHandle();
+        assertEquals(4096, handle.maxBytes());
+        assertEquals(64, handle.maxBuffers());
+
+        // Small batches say nothing about the capacity of the socket.
+        handle.record(100, 100);
+        assertEquals(4096, handle.maxBytes());
+
+        handle.record(4096, 4096);
+        assertEquals(8192, handle.maxBytes());
+        handle.record(8192, 8192);
+        assertEquals(16384, handle.maxBytes());
+        handle.record(16384, 16384);
+        assertEquals(16384, handle.maxBytes());
+    }
+
+    @Test
+    public void testDecreaseAfterTwoShortWrites() {
+        WriteBatchPolicy.Handle handle = new AdaptiveWriteBatchPolicy(1024, 4096, 16384, 64).newHandle();
+        handle.record(4096, 1000);
+        assertEquals(4096, handle.maxBytes());
+        handle.record(4096, 1000);
+        assertEquals(2048, handle.maxBytes());
+        handle.record(2048, 0);
+        handle.record(2048, 0);
+        assertEquals(1024, handle.maxBytes());
+        handle.record(1024, 0);
+        handle.record(1024, 0);
+        assertEquals(1024, handle.maxBytes());
+    }
+}
@@ -17,6 +17,7 @@ package io.netty.channel;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.util.CharsetUtil;
 import org.junit.Test;
 
@@ -116,6 +117,151 @@ public class ChannelOutboundBufferTest {
         buf.release();
     }
 
+    @Test
+    public void testNioBuffersMaxCount() {
+        TestChannel channel = new TestChannel();
+
+        ChannelOutboundBuffer buffer = new ChannelOutboundBuffer(channel);
+
+        ByteBuf buf = directBuffer().writeBytes("buf1".getBytes(CharsetUtil.US_ASCII));
+        for (int i = 0; i < 64; i++) {
+            buffer.addMessage(buf.copy(), buf.readableBytes(), channel.voidPromise());
+        }
+        buffer.addFlush();
+        buffer.nioBuffers(16, Long.MAX_VALUE);
+        assertEquals(16, buffer.nioBufferCount());
+        assertEquals(16 * buf.readableBytes(), buffer.nioBufferSize());
+        release(buffer);
+        buf.release();
+    }
+
+    @Test
+    public void testNioBuffersMaxBytes() {
+        TestChannel channel = new TestChannel();
+
+        ChannelOutboundBuffer buffer = new ChannelOutboundBuffer(channel);
+
+        ByteBuf buf = directBuffer().writeBytes("buf1".getBytes(CharsetUtil.US_ASCII));
+        for (int i = 0; i < 64; i++) {
+            buffer.addMessage(buf.copy(), buf.readableBytes(), channel.voidPromise());
+        }
+        buffer.addFlush();
+        buffer.nioBuffers(Integer.MAX_VALUE, 10);
+        assertEquals(2, buffer.nioBufferCount());
+        assertEquals(8, buffer.nioBufferSize());
+
+        // The first buffer is always gathered even if it exceeds the limit.
+        buffer.nioBuffers(Integer.MAX_VALUE, 1);
+        assertEquals(1, buffer.nioBufferCount());
+        assertEquals(4, buffer.nioBufferSize());
+        release(buffer);
+        buf.release();
+    }
+
+    @Test
+    public void testNioBuffersMaxCountPartialComposite() {
+        TestChannel channel = new TestChannel();
+
+        ChannelOutboundBuffer buffer = new ChannelOutboundBuffer(channel);
+
+        CompositeByteBuf comp = compositeBuffer(256);
+        ByteBuf buf = directBuffer().writeBytes("buf1".getBytes(CharsetUtil.US_ASCII));
+        for (int i = 0; i < 65; i++) {
+            comp.addComponent(buf.copy()).writerIndex(comp.writerIndex() + buf.readableBytes());
+        }
+        buffer.addMessage(comp, comp.readableBytes(), channel.voidPromise());
+        buffer.addFlush();
+        buffer.nioBuffers(8, Long.MAX_VALUE);
+        assertEquals(8, buffer.nioBufferCount());
+        assertEquals(8 * buf.readableBytes(), buffer.nioBufferSize());
+        release(buffer);
+        buf.release();
+    }
+
+    @Test
+    public void testWritabilityMessageWaterMarks() {
+        final StringBuilder events = new StringBuilder();
+        EmbeddedChannel ch = new EmbeddedChannel(new WritabilityRecorder(events));
+        ch.config().setWriteBufferHighWaterMarkMessages(3);
+        ch.config().setWriteBufferLowWaterMarkMessages(2);
+        ChannelOutboundBuffer cob = ch.unsafe().outboundBuffer();
+
+        for (int i = 0; i < 3; i++) {
+            ch.write(buffer(1).writeByte(i));
+        }
+        assertEquals(3, cob.totalPendingWriteMessages());
+        assertTrue(ch.isWritable());
+
+        ch.write(buffer(1).writeByte(3));
+        assertFalse(ch.isWritable());
+        assertEquals("false ", events.toString());
+
+        cob.addFlush();
+        assertTrue(cob.remove());
+        assertTrue(cob.remove());
+        assertFalse(ch.isWritable());
+        assertTrue(cob.remove());
+        assertTrue(ch.isWritable());
+        assertEquals("false true ", events.toString());
+
+        release(cob);
+        assertEquals(0, cob.totalPendingWriteMessages());
+        assertFalse(ch.finish());
+    }
+
+    @Test
+    public void testUserDefinedWritability() {
+        final StringBuilder events = new StringBuilder();
+        EmbeddedChannel ch = new EmbeddedChannel(new WritabilityRecorder(events));
+        ch.config().setWriteBufferLowWaterMark(128);
+        ch.config().setWriteBufferHighWaterMark(256);
+        ChannelOutboundBuffer cob = ch.unsafe().outboundBuffer();
+
+        assertTrue(cob.getUserDefinedWritability(1));
+        cob.setUserDefinedWritability(1, false);
+        assertFalse(cob.getUserDefinedWritability(1));
+        assertTrue(cob.getUserDefinedWritability(2));
+        assertFalse(ch.isWritable());
+        cob.setUserDefinedWritability(2, false);
+        assertEquals("false ", events.toString());
+
+        // Exceeding the water marks does not change the writability which is already false.
+        ch.write(buffer().writeZero(512));
+        cob.setUserDefinedWritability(1, true);
+        cob.setUserDefinedWritability(2, true);
+        assertFalse(ch.isWritable());
+        assertEquals("false ", events.toString());
+
+        cob.addFlush();
+        release(cob);
+        assertTrue(ch.isWritable());
+        assertEquals("false true ", events.toString());
+        assertFalse(ch.finish());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUserDefinedWritabilityInvalidIndex() {
+        EmbeddedChannel ch = new EmbeddedChannel(new ChannelHandlerAdapter());
+        try {
+            ch.unsafe().outboundBuffer().setUserDefinedWritability(31, false);
+        } finally {
+            ch.finish();
+        }
+    }
+
+    private static final class WritabilityRecorder extends ChannelHandlerAdapter {
+        private final StringBuilder events;
+
+        WritabilityRecorder(StringBuilder events) {
+            this.events = events;
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+            events.append(ctx.channel().isWritable()).append(' ');
+        }
+    }
+
     private static void release(ChannelOutboundBuffer buffer) {
         for (;;) {
             if (!buffer.remove()) {
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class CoarseTimerWheelTest {
+
+    private EventLoop loop;
+    private CoarseTimerWheel wheel;
+
+    @Before
+    public void setUp() {
+        loop = new DefaultEventLoop();
+        wheel = new CoarseTimerWheel(loop, 10, TimeUnit.MILLISECONDS, 16);
+    }
+
+    @After
+    public void tearDown() {
+        loop.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).syncUninterruptibly();
+    }
+
+    @Test(timeout = 5000)
+    public void testNeverExpiresEarly() throws Exception {
+        final long startTime = System.nanoTime();
+        final AtomicLong endTime = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(1);
+        Timeout timeout = wheel.newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) {
+                endTime.set(System.nanoTime());
+                latch.countDown();
+            }
+        }, 100, TimeUnit.MILLISECONDS);
+
+        latch.await();
+        assertTrue(timeout.isExpired());
+        assertTrue(endTime.get() - startTime >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test(timeout = 5000)
+    public void testExpiresAfterMultipleRotations() throws Exception {
+        // 16 ticks of 10ms each, so this needs more than two rotations of the wheel.
+        final long startTime = System.nanoTime();
+        final AtomicLong endTime = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(1);
+        wheel.newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) {
+                endTime.set(System.nanoTime());
+                latch.countDown();
+            }
+        }, 400, TimeUnit.MILLISECONDS);
+
+        latch.await();
+        assertTrue(endTime.get() - startTime >= TimeUnit.MILLISECONDS.toNanos(400));
+    }
+
+    @Test(timeout = 5000)
+    public void testCancel() throws Exception {
+        final AtomicInteger expired = new AtomicInteger();
+        TimerTask task = new TimerTask() {
+            @Override
+            public void run(Timeout timeout) {
+                expired.incrementAndGet();
+            }
+        };
+
+        // Cancelled from outside the event loop.
+        Timeout timeout = wheel.newTimeout(task, 50, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+
+        // Cancelled from within the event loop.
+        final Timeout timeout2 = wheel.newTimeout(task, 50, TimeUnit.MILLISECONDS);
+        assertTrue(loop.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return timeout2.cancel();
+            }
+        }).get());
+
+        Thread.sleep(200);
+        assertEquals(0, expired.get());
+        assertEquals(0, pendingTimeouts());
+    }
+
+    @Test(timeout = 5000)
+    public void testRescheduleFromTask() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(5);
+        wheel.newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) {
+                latch.countDown();
+                if (latch.getCount() > 0) {
+                    wheel.newTimeout(this, 0, TimeUnit.MILLISECONDS);
+                }
+            }
+        }, 0, TimeUnit.MILLISECONDS);
+
+        latch.await();
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        for (int i = 0; i < 10; i ++) {
+            wheel.newTimeout(new TimerTask() {
+                @Override
+                public void run(Timeout timeout) {
+                    fail();
+                }
+            }, 10, TimeUnit.SECONDS);
+        }
+
+        Set<Timeout> cancelled = loop.submit(new Callable<Set<Timeout>>() {
+            @Override
+            public Set<Timeout> call() {
+                return wheel.stop();
+            }
+        }).get();
+        assertEquals(10, cancelled.size());
+        for (Timeout timeout: cancelled) {
+            assertTrue(timeout.isCancelled());
+        }
+        assertEquals(0, pendingTimeouts());
+    }
+
+    @Test(timeout = 5000)
+    public void testScheduleCoarse() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        loop.scheduleCoarse(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) {
+                assertTrue(loop.inEventLoop());
+                latch.countDown();
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+        latch.await();
+    }
+
+    private int pendingTimeouts() throws Exception {
+        return loop.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return wheel.pendingTimeouts();
+            }
+        }).get();
+    }
+}
@@ -21,6 +21,8 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandler.Skip;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.channel.local.LocalAddress;
 import io.netty.channel.local.LocalChannel;
 import io.netty.channel.local.LocalServerChannel;
@@ -624,6 +626,47 @@ public class DefaultChannelPipelineTest {
         }
     }
 
+    @Test
+    public void testSkipPerMethod() {
+        final StringBuilder invoked = new StringBuilder();
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelHandlerAdapter() {
+            @Skip
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+                invoked.append("channelRead ");
+                ctx.fireChannelRead(msg);
+            }
+
+            @Skip
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+                invoked.append("write ");
+                ctx.write(msg, promise);
+            }
+
+            @Override
+            public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+                invoked.append("channelReadComplete ");
+                ctx.fireChannelReadComplete();
+            }
+
+            @Override
+            public void flush(ChannelHandlerContext ctx) throws Exception {
+                invoked.append("flush ");
+                ctx.flush();
+            }
+        });
+
+        // The handler overrides other inbound and outbound methods, but must still be skipped for the events
+        // whose methods are annotated with @Skip.
+        assertTrue(channel.writeInbound("msg"));
+        assertTrue(channel.writeOutbound("msg"));
+        assertEquals("channelReadComplete flush ", invoked.toString());
+        assertEquals("msg", channel.readInbound());
+        assertEquals("msg", channel.readOutbound());
+        assertFalse(channel.finish());
+    }
+
     /** Test handler to validate life-cycle aware behavior. */
     private static final class LifeCycleAwareTestHandler extends ChannelHandlerAdapter {
         private final String name;
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RecvByteBufAllocatorHandleTest {
+
+    private EmbeddedChannel channel;
+    private RecvByteBufAllocator.Handle handle;
+
+    @Before
+    public void setUp() {
+        channel = new EmbeddedChannel(new ChannelHandlerAdapter());
+        handle = new FixedRecvByteBufAllocator(1024).newHandle();
+    }
+
+    @After
+    public void tearDown() {
+        channel.finish();
+    }
+
+    @Test
+    public void testStopOnShortRead() {
+        ChannelConfig config = channel.config().setMaxMessagesPerRead(16);
+        handle.reset(config);
+        read(1024, 1024);
+        assertTrue(handle.continueReading());
+        read(1024, 100);
+        assertFalse(handle.continueReading());
+        assertEquals(1124, handle.totalBytesRead());
+    }
+
+    @Test
+    public void testStopOnMessageBudget() {
+        ChannelConfig config = channel.config().setMaxMessagesPerRead(2);
+        handle.reset(config);
+        read(1024, 1024);
+        assertTrue(handle.continueReading());
+        read(1024, 1024);
+        assertFalse(handle.continueReading());
+    }
+
+    @Test
+    public void testStopOnByteBudget() {
+        ChannelConfig config = channel.config().setMaxMessagesPerRead(16).setMaxBytesPerRead(3000);
+        handle.reset(config);
+        read(1024, 1024);
+        read(1024, 1024);
+        assertTrue(handle.continueReading());
+        read(1024, 1024);
+        assertFalse(handle.continueReading());
+
+        // The counters start from scratch for the next read loop.
+        handle.reset(config);
+        read(1024, 1024);
+        assertTrue(handle.continueReading());
+        assertEquals(1024, handle.totalBytesRead());
+    }
+
+    @Test
+    public void testStopOnAutoReadDisabled() {
+        ChannelConfig config = channel.config().setMaxMessagesPerRead(16);
+        handle.reset(config);
+        read(1024, 1024);
+        config.setAutoRead(false);
+        assertFalse(handle.continueReading());
+    }
+
+    @Test
+    public void testMessageReadsIgnoreBytes() {
+        ChannelConfig config = channel.config().setMaxMessagesPerRead(3);
+        handle.reset(config);
+        handle.incMessagesRead(1);
+        assertTrue(handle.continueReading());
+        handle.incMessagesRead(2);
+        assertFalse(handle.continueReading());
+    }
+
+    private void read(int attempted, int read) {
+        handle.attemptedBytesRead(attempted);
+        handle.lastBytesRead(read);
+        handle.incMessagesRead(1);
+    }
+}
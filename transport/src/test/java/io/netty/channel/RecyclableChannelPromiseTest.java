@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ResourceLeakDetector;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class RecyclableChannelPromiseTest {
+
+    @Test
+    public void testUnvoidReusesPromiseOnceNotified() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelHandlerAdapter());
+        final AtomicInteger notified = new AtomicInteger();
+
+        ChannelPromise promise = channel.voidPromise().unvoid();
+        assertTrue(promise instanceof RecyclableChannelPromise);
+        assertFalse(promise.isVoid());
+        assertSame(channel, promise.channel());
+        promise.addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) {
+                assertTrue(future.isSuccess());
+                notified.incrementAndGet();
+            }
+        });
+        assertTrue(promise.trySuccess());
+        assertEquals(1, notified.get());
+
+        ChannelPromise promise2 = channel.voidPromise().unvoid();
+        assertSame(promise, promise2);
+        assertFalse(promise2.isDone());
+        assertSame(channel, promise2.channel());
+        promise2.setSuccess();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testWriteWithUnvoidedPromise() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelHandlerAdapter() {
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+                final ChannelPromise unvoid = promise.unvoid();
+                unvoid.addListener(new ChannelFutureListener() {
+                    @Override
+                    public void operationComplete(ChannelFuture future) {
+                        assertSame(unvoid, future);
+                        assertTrue(future.isSuccess());
+                    }
+                });
+                ctx.write(msg, unvoid);
+            }
+        });
+        channel.writeAndFlush("msg", channel.voidPromise());
+        assertEquals("msg", channel.readOutbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailureIsFiredThroughPipeline() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelHandlerAdapter());
+        channel.voidPromise().unvoid().setFailure(new IllegalStateException());
+        channel.checkException();
+    }
+
+    @Test
+    public void testUseAfterReleaseDetectedInParanoidMode() {
+        ResourceLeakDetector.Level level = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+        try {
+            EmbeddedChannel channel = new EmbeddedChannel(new ChannelHandlerAdapter());
+            ChannelPromise promise = channel.voidPromise().unvoid();
+            promise.setSuccess();
+            try {
+                promise.addListener(ChannelFutureListener.CLOSE);
+                fail();
+            } catch (IllegalStateException expected) {
+                // expected
+            }
+            assertNotSame(promise, channel.voidPromise().unvoid());
+            assertFalse(channel.finish());
+        } finally {
+            ResourceLeakDetector.setLevel(level);
+        }
+    }
+}
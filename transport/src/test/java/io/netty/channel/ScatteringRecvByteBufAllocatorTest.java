@@ -0,0 +1,73 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ScatteringRecvByteBufAllocatorTest {
+
+    @Test
+    public void testSmallBufferIsNotComposite() {
+        RecvByteBufAllocator.Handle handle = new ScatteringRecvByteBufAllocator(
+                new FixedRecvByteBufAllocator(512), 1024, 4).newHandle();
+        ByteBuf buf = handle.allocate(UnpooledByteBufAllocator.DEFAULT);
+        assertFalse(buf instanceof CompositeByteBuf);
+        assertEquals(512, buf.capacity());
+        buf.release();
+    }
+
+    @Test
+    public void testLargeBufferIsSplitIntoComponents() {
+        RecvByteBufAllocator.Handle handle = new ScatteringRecvByteBufAllocator(
+                new FixedRecvByteBufAllocator(3000), 1024, 8).newHandle();
+        CompositeByteBuf buf = (CompositeByteBuf) handle.allocate(UnpooledByteBufAllocator.DEFAULT);
+        assertEquals(3, buf.numComponents());
+        assertEquals(3072, buf.writableBytes());
+        buf.release();
+    }
+
+    @Test
+    public void testNumberOfComponentsIsLimited() {
+        RecvByteBufAllocator.Handle handle = new ScatteringRecvByteBufAllocator(
+                new FixedRecvByteBufAllocator(65536), 1024, 4).newHandle();
+        CompositeByteBuf buf = (CompositeByteBuf) handle.allocate(UnpooledByteBufAllocator.DEFAULT);
+        assertEquals(4, buf.numComponents());
+        assertEquals(4096, buf.writableBytes());
+        buf.release();
+    }
+
+    @Test
+    public void testUnusedComponentsAreReleasedAfterShortRead() {
+        RecvByteBufAllocator.Handle handle = new ScatteringRecvByteBufAllocator(
+                new FixedRecvByteBufAllocator(4096), 1024, 4).newHandle();
+        CompositeByteBuf buf = (CompositeByteBuf) handle.allocate(UnpooledByteBufAllocator.DEFAULT);
+        ByteBuf last = buf.component(3);
+        handle.attemptedBytesRead(buf.writableBytes());
+        buf.writeZero(1500);
+        handle.lastBytesRead(1500);
+
+        assertEquals(2, buf.numComponents());
+        assertEquals(0, last.refCnt());
+        assertEquals(1500, buf.readableBytes());
+        assertEquals(2048, buf.capacity());
+        buf.release();
+    }
+}
@@ -708,6 +708,32 @@ public class SingleThreadEventLoopTest {
         assertTrue(oneTimeScheduledTaskExecuted.get());
     }
 
+    @Test(timeout = 10000)
+    public void testLegacyTaskQueueOverrideIsUsed() throws Exception {
+        final AtomicBoolean offered = new AtomicBoolean();
+        SingleThreadEventLoopA loop = new SingleThreadEventLoopA() {
+            @Override
+            @SuppressWarnings("deprecation")
+            protected Queue<Runnable> newTaskQueue() {
+                return new LinkedBlockingQueue<Runnable>() {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public boolean offer(Runnable task) {
+                        offered.set(true);
+                        return super.offer(task);
+                    }
+                };
+            }
+        };
+        try {
+            loop.submit(NOOP).sync();
+            assertTrue(offered.get());
+        } finally {
+            loop.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+        }
+    }
+
     private static class SingleThreadEventLoopA extends SingleThreadEventLoop {
 
         final AtomicInteger cleanedUp = new AtomicInteger();
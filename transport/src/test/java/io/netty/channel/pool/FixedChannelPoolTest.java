@@ -0,0 +1,192 @@
+/*
+ * Copyright 2015 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class FixedChannelPoolTest {
+
+    private static final String LOCAL_ADDR_ID = "test.id";
+
+    private EventLoopGroup group;
+    private Channel serverChannel;
+    private Bootstrap bootstrap;
+    private CountingHandler handler;
+
+    @Before
+    public void setUp() throws Exception {
+        group = new DefaultEventLoopGroup();
+        LocalAddress addr = new LocalAddress(LOCAL_ADDR_ID);
+        serverChannel = new ServerBootstrap().group(group).channel(LocalServerChannel.class)
+                .childHandler(new ChannelInitializer<LocalChannel>() {
+                    @Override
+                    protected void initChannel(LocalChannel ch) throws Exception {
+                        // NOOP
+                    }
+                }).bind(addr).sync().channel();
+        bootstrap = new Bootstrap().group(group).channel(LocalChannel.class).remoteAddress(addr);
+        handler = new CountingHandler();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        serverChannel.close().sync();
+        group.shutdownGracefully().sync();
+    }
+
+    @Test
+    public void testReleasedChannelIsReusedLastInFirstOut() throws Exception {
+        FixedChannelPool pool = new FixedChannelPool(bootstrap, handler, 2);
+        Channel a = pool.acquire().sync().getNow();
+        Channel b = pool.acquire().sync().getNow();
+        assertNotSame(a, b);
+
+        pool.release(a).sync();
+        pool.release(b).sync();
+
+        assertSame(b, pool.acquire().sync().getNow());
+        assertSame(a, pool.acquire().sync().getNow());
+        assertEquals(2, handler.created.get());
+        assertEquals(4, handler.acquired.get());
+        assertEquals(2, handler.released.get());
+        pool.close();
+    }
+
+    @Test
+    public void testAcquireWaitsForRelease() throws Exception {
+        FixedChannelPool pool = new FixedChannelPool(bootstrap, handler, 1);
+        Channel channel = pool.acquire().sync().getNow();
+        Future<Channel> pending = pool.acquire();
+        assertFalse(pending.await(100));
+
+        pool.release(channel).sync();
+        assertSame(channel, pending.sync().getNow());
+        assertEquals(1, handler.created.get());
+        pool.close();
+    }
+
+    @Test
+    public void testAcquireTimeout() throws Exception {
+        FixedChannelPool pool = new FixedChannelPool(
+                bootstrap, handler, ChannelHealthChecker.ACTIVE, 1, Integer.MAX_VALUE, 100, 0);
+        pool.acquire().sync();
+        Future<Channel> pending = pool.acquire().await();
+        assertTrue(pending.cause() instanceof TimeoutException);
+        pool.close();
+    }
+
+    @Test
+    public void testTooManyPendingAcquires() throws Exception {
+        FixedChannelPool pool = new FixedChannelPool(
+                bootstrap, handler, ChannelHealthChecker.ACTIVE, 1, 0, 0, 0);
+        pool.acquire().sync();
+        Future<Channel> rejected = pool.acquire().await();
+        assertTrue(rejected.cause() instanceof IllegalStateException);
+        pool.close();
+    }
+
+    @Test
+    public void testClosedChannelIsNotReused() throws Exception {
+        FixedChannelPool pool = new FixedChannelPool(bootstrap, handler, 1);
+        Channel channel = pool.acquire().sync().getNow();
+        channel.close().sync();
+        pool.release(channel).sync();
+
+        Channel channel2 = pool.acquire().sync().getNow();
+        assertNotSame(channel, channel2);
+        assertTrue(channel2.isActive());
+        assertEquals(2, handler.created.get());
+        pool.close();
+    }
+
+    @Test
+    public void testReleaseForeignChannelFails() throws Exception {
+        FixedChannelPool pool = new FixedChannelPool(bootstrap, handler, 1);
+        FixedChannelPool pool2 = new FixedChannelPool(bootstrap, handler, 1);
+        Channel channel = pool.acquire().sync().getNow();
+
+        assertTrue(pool2.release(channel).await().cause() instanceof IllegalArgumentException);
+        // Releasing twice must fail as well.
+        Channel channel2 = pool2.acquire().sync().getNow();
+        pool2.release(channel2).sync();
+        assertTrue(pool2.release(channel2).await().cause() instanceof IllegalArgumentException);
+        pool.close();
+        pool2.close();
+    }
+
+    @Test
+    public void testIdleChannelIsEvicted() throws Exception {
+        FixedChannelPool pool = new FixedChannelPool(
+                bootstrap, handler, ChannelHealthChecker.ACTIVE, 1, Integer.MAX_VALUE, 0, 100);
+        Channel channel = pool.acquire().sync().getNow();
+        pool.release(channel).sync();
+
+        channel.closeFuture().await(5000);
+        assertFalse(channel.isActive());
+        assertNotSame(channel, pool.acquire().sync().getNow());
+        pool.close();
+    }
+
+    @Test
+    public void testCloseFailsPendingAcquires() throws Exception {
+        FixedChannelPool pool = new FixedChannelPool(bootstrap, handler, 1);
+        Channel channel = pool.acquire().sync().getNow();
+        Future<Channel> pending = pool.acquire();
+        pool.close();
+
+        assertTrue(pending.await().cause() instanceof IllegalStateException);
+        pool.release(channel).sync();
+        channel.closeFuture().sync();
+    }
+
+    private static final class CountingHandler implements ChannelPoolHandler {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger acquired = new AtomicInteger();
+        final AtomicInteger released = new AtomicInteger();
+
+        @Override
+        public void channelCreated(Channel ch) throws Exception {
+            created.incrementAndGet();
+        }
+
+        @Override
+        public void channelAcquired(Channel ch) throws Exception {
+            acquired.incrementAndGet();
+        }
+
+        @Override
+        public void channelReleased(Channel ch) throws Exception {
+            released.incrementAndGet();
+        }
+    }
+}